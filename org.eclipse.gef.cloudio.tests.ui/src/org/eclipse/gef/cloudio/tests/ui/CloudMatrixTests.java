@@ -0,0 +1,178 @@
+/******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.cloudio.tests.ui;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.gef.cloudio.internal.ui.util.CloudMatrix;
+import org.eclipse.gef.cloudio.internal.ui.util.RectTree;
+import org.eclipse.gef.cloudio.internal.ui.util.WordMask;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link CloudMatrix#fits(WordMask, int, int)} and
+ * {@link CloudMatrix#place(WordMask, int, int, short)} against a plain
+ * <code>boolean</code> grid.
+ *
+ * @author agent
+ *
+ */
+public class CloudMatrixTests {
+
+	/**
+	 * A straightforward reference implementation of the cell occupancy.
+	 */
+	private static class BooleanGrid {
+
+		private final int size;
+		private final int minResolution;
+		private final short[][] ids;
+
+		BooleanGrid(int size, int minResolution) {
+			this.size = size;
+			this.minResolution = minResolution;
+			this.ids = new short[size][size];
+			for (short[] row : ids) {
+				Arrays.fill(row, RectTree.EMPTY);
+			}
+		}
+
+		boolean fits(WordMask mask, int x, int y) {
+			int cx = Math.floorDiv(x, minResolution);
+			int cy = Math.floorDiv(y, minResolution);
+			if (cx < 0 || cy < 0 || cx + mask.getWidth() > size || cy + mask.getHeight() > size) {
+				return false;
+			}
+			for (int r = 0; r < mask.getHeight(); r++) {
+				for (int c = 0; c < mask.getWidth(); c++) {
+					if (mask.isSet(c, r) && ids[cy + r][cx + c] != RectTree.EMPTY) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		void place(WordMask mask, int x, int y, short id) {
+			int cx = Math.floorDiv(x, minResolution);
+			int cy = Math.floorDiv(y, minResolution);
+			for (int r = 0; r < mask.getHeight(); r++) {
+				for (int c = 0; c < mask.getWidth(); c++) {
+					if (mask.isSet(c, r) && cx + c < size && cy + r < size) {
+						ids[cy + r][cx + c] = id;
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void wideMaskAcrossWordBoundaries() {
+		CloudMatrix matrix = new CloudMatrix(200, 1);
+		// a mask that spans three longs per row, with set cells in each
+		WordMask mask = new WordMask(130, 2);
+		mask.set(0, 0);
+		mask.set(63, 0);
+		mask.set(64, 1);
+		mask.set(129, 1);
+
+		// occupy the cell the last column of the mask covers when placed at
+		// an unaligned position
+		WordMask dot = new WordMask(1, 1);
+		dot.set(0, 0);
+		matrix.place(dot, 5 + 129, 11, (short) 1);
+
+		Assert.assertFalse(matrix.fits(mask, 5, 10));
+		Assert.assertTrue(matrix.fits(mask, 6, 10));
+		Assert.assertTrue(matrix.fits(mask, 4, 10));
+		Assert.assertTrue(matrix.fits(mask, 5, 11));
+
+		matrix.place(mask, 7, 20, (short) 2);
+		Assert.assertEquals(2, matrix.get(7, 20));
+		Assert.assertEquals(2, matrix.get(7 + 63, 20));
+		Assert.assertEquals(2, matrix.get(7 + 64, 21));
+		Assert.assertEquals(2, matrix.get(7 + 129, 21));
+		Assert.assertTrue(matrix.isEmpty(7 + 64, 20));
+		Assert.assertTrue(matrix.isEmpty(7 + 128, 21));
+	}
+
+	@Test
+	public void masksOutsideOfMatrixDoNotFit() {
+		CloudMatrix matrix = new CloudMatrix(100, 1);
+		WordMask mask = new WordMask(70, 3);
+		Assert.assertTrue(matrix.fits(mask, 30, 97));
+		Assert.assertFalse(matrix.fits(mask, 31, 97));
+		Assert.assertFalse(matrix.fits(mask, 30, 98));
+		Assert.assertFalse(matrix.fits(mask, -1, 0));
+
+		// pixel positions are rounded down to cells, also if they are negative
+		matrix = new CloudMatrix(100, 4);
+		mask = new WordMask(10, 2);
+		Assert.assertTrue(matrix.fits(mask, 60, 92));
+		Assert.assertTrue(matrix.fits(mask, 63, 95));
+		Assert.assertFalse(matrix.fits(mask, 64, 92));
+		Assert.assertFalse(matrix.fits(mask, 60, 96));
+		Assert.assertTrue(matrix.fits(mask, 0, 0));
+		Assert.assertFalse(matrix.fits(mask, -1, 0));
+		Assert.assertFalse(matrix.fits(mask, 0, -3));
+	}
+
+	@Test
+	public void randomPlacementsMatchBooleanGrid() {
+		assertMatchesBooleanGrid(150, 1, new Random(1));
+		assertMatchesBooleanGrid(200, 1, new Random(2));
+		// positions are given in pixels and rounded down to cells
+		assertMatchesBooleanGrid(600, 4, new Random(3));
+	}
+
+	private void assertMatchesBooleanGrid(int maxSize, int minResolution, Random random) {
+		CloudMatrix matrix = new CloudMatrix(maxSize, minResolution);
+		int size = (maxSize + minResolution - 1) / minResolution;
+		BooleanGrid grid = new BooleanGrid(size, minResolution);
+		short id = 0;
+		for (int i = 0; i < 2000; i++) {
+			WordMask mask = createRandomMask(1 + random.nextInt(140), 1 + random.nextInt(8), random);
+			// include positions left of and above the matrix
+			int x = random.nextInt(maxSize + 10) - 10;
+			int y = random.nextInt(maxSize + 10) - 10;
+			boolean fits = grid.fits(mask, x, y);
+			Assert.assertEquals("fits at " + x + ", " + y + " (width " + mask.getWidth() + ")", fits,
+					matrix.fits(mask, x, y));
+			if (fits) {
+				matrix.place(mask, x, y, id);
+				grid.place(mask, x, y, id);
+				id++;
+			}
+		}
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				Assert.assertEquals(grid.ids[y][x], matrix.get(x, y));
+			}
+		}
+	}
+
+	private WordMask createRandomMask(int width, int height, Random random) {
+		WordMask mask = new WordMask(width, height);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// sparse masks, so that some placements succeed
+				if (random.nextInt(8) == 0) {
+					mask.set(x, y);
+				}
+			}
+		}
+		return mask;
+	}
+
+}
@@ -0,0 +1,144 @@
+/******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.cloudio.tests.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.gef.cloudio.internal.ui.Word;
+import org.eclipse.gef.cloudio.internal.ui.layout.DefaultLayouter;
+import org.eclipse.gef.cloudio.internal.ui.util.CloudMatrix;
+import org.eclipse.gef.cloudio.internal.ui.util.WordMask;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DefaultLayouter}.
+ *
+ * @author agent
+ *
+ */
+public class DefaultLayouterTests {
+
+	private static final int SIZE = 400;
+
+	private static final int ACCURACY = 4;
+
+	@Test
+	public void parallelPlacementEqualsSequentialPlacement() {
+		List<Word> sequentialWords = createWords(new Random(17));
+		CloudMatrix sequentialMatrix = new CloudMatrix(SIZE, ACCURACY);
+		boolean[] sequentialResults = layout(sequentialWords, sequentialMatrix, null);
+
+		List<Word> parallelWords = createWords(new Random(17));
+		CloudMatrix parallelMatrix = new CloudMatrix(SIZE, ACCURACY);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		boolean[] parallelResults;
+		try {
+			parallelResults = layout(parallelWords, parallelMatrix, executor);
+		} finally {
+			executor.shutdown();
+		}
+
+		int placed = 0;
+		for (int i = 0; i < sequentialWords.size(); i++) {
+			Word sequential = sequentialWords.get(i);
+			Word parallel = parallelWords.get(i);
+			Assert.assertEquals(sequential.string, sequentialResults[i], parallelResults[i]);
+			if (sequentialResults[i]) {
+				Assert.assertEquals(sequential.string, sequential.x, parallel.x);
+				Assert.assertEquals(sequential.string, sequential.y, parallel.y);
+				placed++;
+			}
+		}
+		// ensure that words were placed, and that some did not fit
+		Assert.assertTrue(placed > 0);
+		Assert.assertTrue(placed < sequentialWords.size());
+		for (int y = 0; y < SIZE / ACCURACY; y++) {
+			for (int x = 0; x < SIZE / ACCURACY; x++) {
+				Assert.assertEquals(sequentialMatrix.get(x, y), parallelMatrix.get(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void interruptionIsPreserved() throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		// block the executor, so that the candidates are not evaluated
+		final CountDownLatch release = new CountDownLatch(1);
+		executor.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				// terminate
+			}
+		});
+		DefaultLayouter layouter = new DefaultLayouter(0, 0, new Random(42));
+		layouter.setOption(DefaultLayouter.EXECUTOR, executor);
+		Word word = createWords(new Random(17)).get(0);
+		Rectangle cloudArea = new Rectangle(0, 0, SIZE, SIZE);
+		Point offset = layouter.getInitialOffset(word, cloudArea);
+		Thread.currentThread().interrupt();
+		try {
+			layouter.layout(offset, word, cloudArea, new CloudMatrix(SIZE, ACCURACY));
+			Assert.fail("Interrupted layout should not complete");
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getCause() instanceof InterruptedException);
+			// the interrupted status is restored
+			Assert.assertTrue(Thread.interrupted());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private boolean[] layout(List<Word> words, CloudMatrix matrix, ExecutorService executor) {
+		DefaultLayouter layouter = new DefaultLayouter(0, 0, new Random(42));
+		layouter.setOption(DefaultLayouter.EXECUTOR, executor);
+		Rectangle cloudArea = new Rectangle(0, 0, SIZE, SIZE);
+		boolean[] results = new boolean[words.size()];
+		for (int i = 0; i < words.size(); i++) {
+			Word word = words.get(i);
+			Point offset = layouter.getInitialOffset(word, cloudArea);
+			results[i] = layouter.layout(offset, word, cloudArea, matrix);
+		}
+		return results;
+	}
+
+	/**
+	 * Creates words of random extent, whose masks are filled completely.
+	 */
+	private List<Word> createWords(Random random) {
+		List<Word> words = new ArrayList<>();
+		for (short id = 0; id < 150; id++) {
+			Word word = new Word("word" + id);
+			word.id = id;
+			word.width = (2 + random.nextInt(80)) * ACCURACY;
+			word.height = (1 + random.nextInt(6)) * ACCURACY;
+			word.mask = new WordMask(word.width / ACCURACY, word.height / ACCURACY);
+			for (int y = 0; y < word.mask.getHeight(); y++) {
+				for (int x = 0; x < word.mask.getWidth(); x++) {
+					word.mask.set(x, y);
+				}
+			}
+			words.add(word);
+		}
+		return words;
+	}
+
+}
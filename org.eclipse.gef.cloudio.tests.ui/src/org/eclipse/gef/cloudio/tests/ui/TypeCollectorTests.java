@@ -0,0 +1,137 @@
+/******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.cloudio.tests.ui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.BreakIterator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.gef.cloudio.internal.ui.data.Type;
+import org.eclipse.gef.cloudio.internal.ui.data.TypeCollector;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TypeCollector}, which compare its results with those of
+ * a straightforward {@link String} based word count.
+ *
+ * @author agent
+ *
+ */
+public class TypeCollectorTests {
+
+	@Test
+	public void wordsAcrossChunkBoundaries() throws IOException {
+		StringBuilder text = new StringBuilder();
+		Random random = new Random(5);
+		// more distinct words than the initial capacity of the word counts, so
+		// that these have to be rehashed, and more characters than a single
+		// chunk, so that words cross the chunk boundaries
+		while (text.length() < 300 * 1024) {
+			int word = random.nextInt(3000);
+			text.append("word");
+			while (word > 0) {
+				text.append((char) ('a' + word % 26));
+				word /= 26;
+			}
+			switch (random.nextInt(6)) {
+			case 0:
+				text.append(", ");
+				break;
+			case 1:
+				text.append(".\n");
+				break;
+			case 2:
+				text.append("\t");
+				break;
+			default:
+				text.append(' ');
+			}
+		}
+		assertCountsEqual(text.toString());
+	}
+
+	@Test
+	public void wordLongerThanChunk() throws IOException {
+		StringBuilder text = new StringBuilder("some words before ");
+		// a single word that does not fit into the (initial) buffer, so that
+		// the buffer has to grow
+		for (int i = 0; i < 150 * 1024; i++) {
+			text.append((char) ('a' + i % 26));
+		}
+		text.append(" and some words after, and before the end");
+		assertCountsEqual(text.toString());
+	}
+
+	private void assertCountsEqual(String text) throws IOException {
+		File file = File.createTempFile("words", ".txt");
+		try {
+			Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8);
+			try {
+				writer.write(text);
+			} finally {
+				writer.close();
+			}
+			List<Type> types = TypeCollector.getData(file, "UTF-8");
+			Map<String, Integer> counts = new HashMap<>();
+			for (Type type : types) {
+				Assert.assertNull(type.getString(), counts.put(type.getString(), type.getOccurrences()));
+			}
+			Assert.assertEquals(countWords(text), counts);
+			// most frequent types first
+			for (int i = 1; i < types.size(); i++) {
+				Assert.assertTrue(types.get(i - 1).getOccurrences() >= types.get(i).getOccurrences());
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Counts the words of the given text in memory, the way the
+	 * {@link TypeCollector} did before it streamed its input.
+	 */
+	private static Map<String, Integer> countWords(String text) {
+		BreakIterator iterator = BreakIterator.getWordInstance(Locale.getDefault());
+		iterator.setText(text);
+		Map<String, Integer> counts = new HashMap<>();
+		int lastBoundary = iterator.first();
+		int boundary = iterator.next();
+		while (boundary != BreakIterator.DONE) {
+			String string = text.substring(lastBoundary, boundary).trim();
+			lastBoundary = boundary;
+			boundary = iterator.next();
+			if (string.length() == 0) {
+				continue;
+			}
+			if (!Character.isLetter(string.charAt(string.length() - 1))) {
+				string = string.substring(0, string.length() - 1);
+			}
+			if (string.trim().length() <= 1) {
+				continue;
+			}
+			Integer count = counts.get(string);
+			counts.put(string, count == null ? 1 : count + 1);
+		}
+		return counts;
+	}
+
+}
@@ -12,13 +12,16 @@
 package org.eclipse.gef.cloudio.internal.ui;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EventListener;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -29,7 +32,7 @@ import org.eclipse.gef.cloudio.internal.ui.layout.DefaultLayouter;
 import org.eclipse.gef.cloudio.internal.ui.layout.ILayouter;
 import org.eclipse.gef.cloudio.internal.ui.util.CloudMatrix;
 import org.eclipse.gef.cloudio.internal.ui.util.RectTree;
-import org.eclipse.gef.cloudio.internal.ui.util.SmallRect;
+import org.eclipse.gef.cloudio.internal.ui.util.WordMask;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.DisposeEvent;
@@ -67,12 +70,12 @@ import org.eclipse.swt.widgets.ScrollBar;
 public class TagCloud extends Canvas {
 
 	/**
-	 * Minimum 'resolution' of the {@link RectTree} used for collision handling.
+	 * Minimum 'resolution' of the {@link CloudMatrix} used for collision handling.
 	 */
 	private final int accuracy;
 
 	/**
-	 * Maximum size of the {@link RectTree} used for collision handling.
+	 * Maximum size of the {@link CloudMatrix} used for collision handling.
 	 */
 	private final int maxSize;
 
@@ -150,7 +153,7 @@ public class TagCloud extends Canvas {
 	private CloudMatrix cloudMatrix;
 
 	/**
-	 * Executor service to process the creation of {@link RectTree} objects in
+	 * Executor service to process the creation of {@link WordMask} objects in
 	 * parallel.
 	 */
 	private ExecutorService executors;
@@ -205,6 +208,14 @@ public class TagCloud extends Canvas {
 
 	private ImageData mask;
 
+	/**
+	 * The extents of the words that were rendered by the last call to
+	 * {@link #calcExtents(IProgressMonitor)}, keyed by text, font, rotation,
+	 * and antialiasing, so that words do not need to be rendered again if only
+	 * their colors or the layout change.
+	 */
+	private final Map<List<Object>, Word> extentsCache = new ConcurrentHashMap<>();
+
 	/**
 	 * Creates a new Tag cloud on the given parent. When using this constructor,
 	 * please read the following carefully: <br>
@@ -279,6 +290,7 @@ public class TagCloud extends Canvas {
 		if (zoomLayerImage != null) {
 			zoomLayerImage.dispose();
 		}
+		extentsCache.clear();
 		if (!this.isDisposed()) {
 			gc.dispose();
 		}
@@ -461,30 +473,45 @@ public class TagCloud extends Canvas {
 		int next = 10;
 		executors = Executors.newFixedThreadPool(getNumberOfThreads());
 		final Color color = gc.getDevice().getSystemColor(SWT.COLOR_BLACK);
+		Set<List<Object>> usedKeys = new HashSet<>();
 		for (final Word word : wordsToUse) {
 			FontData[] fontData = word.getFontData();
 			int fontSize = (int) getFontSize(word);
 			for (FontData data : fontData) {
 				data.setHeight((int) fontSize);
 			}
-			final Font font = new Font(gc.getDevice(), fontData);
-			gc.setFont(font);
-			final Point stringExtent = gc.stringExtent(word.string);
-			FontMetrics fm = gc.getFontMetrics();
-			stringExtent.y = fm.getHeight();
-			executors.execute(new Runnable() {
-				@Override
-				public void run() {
-					double radian = Math.toRadians(word.angle);
-					final double sin = Math.abs(Math.sin(radian));
-					final double cos = Math.abs(Math.cos(radian));
-					final int x = (int) ((cos * stringExtent.x) + (sin * stringExtent.y));
-					final int y = (int) ((cos * stringExtent.y) + (sin * stringExtent.x));
-					ImageData id = createImageData(word, font, stringExtent, sin, cos, x, y, color);
-					calcWordExtents(word, id);
-					font.dispose();
-				}
-			});
+			// reuse the extents of a word that was rendered with the same
+			// text, font, and rotation before
+			final List<Object> key = Arrays.<Object> asList(word.string, Arrays.toString(fontData), word.angle,
+					antialias);
+			usedKeys.add(key);
+			Word cached = extentsCache.get(key);
+			if (cached != null) {
+				copyExtents(cached, word);
+			} else {
+				final Font font = new Font(gc.getDevice(), fontData);
+				gc.setFont(font);
+				final Point stringExtent = gc.stringExtent(word.string);
+				FontMetrics fm = gc.getFontMetrics();
+				stringExtent.y = fm.getHeight();
+				executors.execute(new Runnable() {
+					@Override
+					public void run() {
+						double radian = Math.toRadians(word.angle);
+						final double sin = Math.abs(Math.sin(radian));
+						final double cos = Math.abs(Math.cos(radian));
+						final int x = (int) ((cos * stringExtent.x) + (sin * stringExtent.y));
+						final int y = (int) ((cos * stringExtent.y) + (sin * stringExtent.x));
+						ImageData id = createImageData(word, font, stringExtent, sin, cos, x, y, color);
+						calcWordExtents(word, id);
+						font.dispose();
+						// the word itself may be changed later on, so cache a copy
+						Word extents = new Word(word.string);
+						copyExtents(word, extents);
+						extentsCache.put(key, extents);
+					}
+				});
+			}
 			if (monitor != null) {
 				current += step;
 				if (current > next) {
@@ -499,6 +526,8 @@ public class TagCloud extends Canvas {
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
+		// only keep the extents of the current words
+		extentsCache.keySet().retainAll(usedKeys);
 		Collections.sort(wordsToUse, new Comparator<Word>() {
 
 			@Override
@@ -512,6 +541,13 @@ public class TagCloud extends Canvas {
 		}
 	}
 
+	private static void copyExtents(Word source, Word target) {
+		target.mask = source.mask;
+		target.width = source.width;
+		target.height = source.height;
+		target.stringExtent = new Point(source.stringExtent.x, source.stringExtent.y);
+	}
+
 	private ImageData createImageData(final Word word, Font font, Point stringExtent, final double sin,
 			final double cos, int x, int y, Color color) {
 		Image img = new Image(null, x, y);
@@ -533,14 +569,6 @@ public class TagCloud extends Canvas {
 		// Why is drawString so slow? between 30 and 90 percent of the whole
 		// draw time...
 		g.drawString(word.string, 0, 0, false);
-		int max = Math.max(x, y);
-		int tmp = maxSize;
-		while (max < tmp) {
-			tmp = tmp / 2;
-		}
-		tmp = tmp * 2;
-		SmallRect root = new SmallRect(0, 0, tmp, tmp);
-		word.tree = new RectTree(root, accuracy);
 		final ImageData id = img.getImageData();
 		g.dispose();
 		img.dispose();
@@ -548,12 +576,13 @@ public class TagCloud extends Canvas {
 	}
 
 	/**
-	 * Calculates the extents of a word, based on its rendered image.
+	 * Calculates the extents of a word, based on its rendered image, in form
+	 * of a {@link WordMask}.
 	 */
 	private void calcWordExtents(final Word word, final ImageData id) {
 		final int[] pixels = new int[id.width];
 		final PaletteData palette = id.palette;
-		Set<SmallRect> inserted = new HashSet<>();
+		word.mask = new WordMask((id.width + accuracy - 1) / accuracy, (id.height + accuracy - 1) / accuracy);
 		for (int y = 0; y < id.height; y++) {
 			id.getPixels(0, y, id.width, pixels, 0);
 			for (int i = 0; i < pixels.length; i++) {
@@ -566,17 +595,11 @@ public class TagCloud extends Canvas {
 				int b = pixel & palette.blueMask;
 				b = (palette.blueShift < 0) ? b >>> -palette.blueShift : b << palette.blueShift;
 				if (r < 250 || g < 250 || b < 250) {
-					SmallRect rect = new SmallRect((i / accuracy) * accuracy, (y / accuracy) * accuracy, accuracy,
-							accuracy);
-					if (!inserted.contains(rect)) {
-						word.tree.insert(rect, word.id);
-						inserted.add(rect);
-					}
+					word.mask.set(i / accuracy, y / accuracy);
 					i += accuracy - 1;
 				}
 			}
 		}
-		word.tree.releaseRects();
 	}
 
 	/**
@@ -605,52 +628,67 @@ public class TagCloud extends Canvas {
 		gc.setBackground(getBackground());
 		gc.fillRectangle(tmpImage.getBounds());
 		executors = Executors.newFixedThreadPool(1);
+		// evaluate candidate positions of a word in parallel (words are still
+		// placed one after another)
+		ExecutorService placementExecutor = null;
+		if (layouter instanceof DefaultLayouter && getNumberOfThreads() > 1) {
+			placementExecutor = Executors.newFixedThreadPool(getNumberOfThreads());
+			layouter.setOption(DefaultLayouter.EXECUTOR, placementExecutor);
+		}
 		int success = 0;
-		if (wordsToUse != null) {
-			double step = 100D / wordsToUse.size();
-			final GC g = gc;
-			for (Word word : wordsToUse) {
-				Point point = layouter.getInitialOffset(word, cloudArea);
-				boolean result = layouter.layout(point, word, cloudArea, cloudMatrix);
-				if (!result) {
-					System.err.println("Failed to place " + word.string);
-					continue;
-				}
-				success++;
-				if (word.x < r.x) {
-					r.x = word.x;
-				}
-				if (word.y < r.y) {
-					r.y = word.y;
-				}
-				if (word.x + word.width > r.width) {
-					r.width = word.x + word.width;
-				}
-				if (word.y + word.height > r.height) {
-					r.height = word.y + word.height;
-				}
-				final Word wrd = word;
-				executors.execute(new Runnable() {
-
-					@Override
-					public void run() {
-						drawWord(g, wrd, wrd.getColor());
+		try {
+			if (wordsToUse != null) {
+				double step = 100D / wordsToUse.size();
+				final GC g = gc;
+				for (Word word : wordsToUse) {
+					Point point = layouter.getInitialOffset(word, cloudArea);
+					boolean result = layouter.layout(point, word, cloudArea, cloudMatrix);
+					if (!result) {
+						System.err.println("Failed to place " + word.string);
+						continue;
 					}
-				});
-				current += step;
-				if (current > next) {
-					next += 5;
-					if (monitor != null) {
-						monitor.worked(5);
+					success++;
+					if (word.x < r.x) {
+						r.x = word.x;
+					}
+					if (word.y < r.y) {
+						r.y = word.y;
+					}
+					if (word.x + word.width > r.width) {
+						r.width = word.x + word.width;
+					}
+					if (word.y + word.height > r.height) {
+						r.height = word.y + word.height;
+					}
+					final Word wrd = word;
+					executors.execute(new Runnable() {
+
+						@Override
+						public void run() {
+							drawWord(g, wrd, wrd.getColor());
+						}
+					});
+					current += step;
+					if (current > next) {
+						next += 5;
+						if (monitor != null) {
+							monitor.worked(5);
+						}
 					}
-				}
 
+				}
+				executors.shutdown();
+				try {
+					executors.awaitTermination(Integer.MAX_VALUE, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
 			}
-			executors.shutdown();
-			try {
-				executors.awaitTermination(Integer.MAX_VALUE, TimeUnit.SECONDS);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
+		} finally {
+			// also release the placement threads if placing a word failed
+			if (placementExecutor != null) {
+				layouter.setOption(DefaultLayouter.EXECUTOR, null);
+				placementExecutor.shutdown();
 			}
 		}
 		// drawRects(gc);
@@ -763,9 +801,8 @@ public class TagCloud extends Canvas {
 
 	private void resetMask() {
 		Word word = new Word("mask");
-		word.tree = new RectTree(new SmallRect(0, 0, cloudArea.width, cloudArea.height), accuracy);
 		calcWordExtents(word, mask);
-		word.tree.place(cloudMatrix, RectTree.BACKGROUND);
+		cloudMatrix.place(word.mask, 0, 0, RectTree.BACKGROUND);
 	}
 
 	private int getNumberOfThreads() {
@@ -12,7 +12,7 @@
 package org.eclipse.gef.cloudio.internal.ui;
 
 import org.eclipse.core.runtime.Assert;
-import org.eclipse.gef.cloudio.internal.ui.util.RectTree;
+import org.eclipse.gef.cloudio.internal.ui.util.WordMask;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
@@ -39,7 +39,7 @@ public class Word {
 
 	private Color color;
 
-	public RectTree tree;
+	public WordMask mask;
 
 	public float angle;
 
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Stephan Schwiebert - initial API and implementation
+ *     agent - stream and count words without boxing
  *     
  *******************************************************************************/
 package org.eclipse.gef.cloudio.internal.ui.data;
@@ -17,17 +18,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
 import java.text.BreakIterator;
-import java.util.ArrayList;
+import java.text.CharacterIterator;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 /**
@@ -39,65 +38,184 @@ public class TypeCollector {
 
 	private static String stopWords;
 
+	private static final int BUFFER_SIZE = 64 * 1024;
+
 	public static List<Type> getData(File file, String encoding) throws IOException {
-		BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file));
-		BufferedReader br = new BufferedReader(new InputStreamReader(bis, encoding));
-		StringBuffer text = new StringBuffer();
-		String s;
-		while ((s = br.readLine()) != null) {
-			text.append(s + "\n");
-		}
-		br.close();
 		Set<String> stops = new HashSet<>();
 		if (stopWords != null) {
-			bis = new BufferedInputStream(new FileInputStream(stopWords));
-			br = new BufferedReader(new InputStreamReader(bis, encoding));
+			BufferedInputStream bis = new BufferedInputStream(new FileInputStream(stopWords));
+			BufferedReader br = new BufferedReader(new InputStreamReader(bis, encoding));
+			String s;
 			while ((s = br.readLine()) != null) {
 				stops.add(s.toLowerCase().trim());
 			}
 			br.close();
 		}
 		BreakIterator iterator = BreakIterator.getWordInstance(Locale.getDefault());
-		String txt = text.toString();
-		iterator.setText(txt);
-		final Map<String, Integer> strings = new HashMap<>();
-		int boundary = iterator.first();
+		CharArrayIterator text = new CharArrayIterator();
+		WordCounts counts = new WordCounts();
+		// stream through the file, counting the words of each chunk up to its
+		// last whitespace, so that no word is split between two chunks
+		CharBuffer buffer = CharBuffer.allocate(BUFFER_SIZE);
+		Reader reader = new InputStreamReader(new FileInputStream(file), encoding);
+		try {
+			boolean eof = false;
+			while (!eof) {
+				eof = reader.read(buffer) < 0;
+				if (!eof && buffer.hasRemaining()) {
+					continue;
+				}
+				buffer.flip();
+				int end = eof ? buffer.limit() : getLastWhitespace(buffer) + 1;
+				if (end == 0 && !eof) {
+					// a single word fills the whole buffer
+					buffer = CharBuffer.allocate(buffer.capacity() * 2).put(buffer);
+					continue;
+				}
+				text.setText(buffer.array(), end);
+				count(text, iterator, stops, counts);
+				buffer.position(end);
+				buffer.compact();
+			}
+		} finally {
+			reader.close();
+		}
+		return getMostImportantTypes(counts);
+	}
+
+	private static void count(CharArrayIterator text, BreakIterator iterator, Set<String> stops,
+			WordCounts counts) {
+		// iterate the buffer in place, rather than copying it into a String
+		iterator.setText(text);
+		char[] chars = text.chars;
 		int lastBoundary = iterator.first();
+		int boundary = iterator.next();
 		while (boundary != BreakIterator.DONE) {
+			int start = lastBoundary;
+			int end = boundary;
+			lastBoundary = boundary;
 			boundary = iterator.next();
-			if (boundary != -1) {
-				String string = txt.substring(lastBoundary, boundary).trim();
-				if (string.length() != 0) {
-					if (!Character.isLetter(string.charAt(string.length() - 1))) {
-						string = string.substring(0, string.length() - 1);
-					}
-					if (stops.contains(string.toLowerCase()) || string.trim().length() <= 1) {
-						lastBoundary = boundary;
-						continue;
-					}
-					Integer count = strings.get(string);
-					if (count == null) {
-						strings.put(string, 1);
-					} else {
-						count = count + 1;
-						strings.put(string, count);
-					}
-				}
+			while (start < end && chars[start] <= ' ') {
+				start++;
 			}
-			lastBoundary = boundary;
+			while (end > start && chars[end - 1] <= ' ') {
+				end--;
+			}
+			if (start == end) {
+				continue;
+			}
+			if (!Character.isLetter(chars[end - 1])) {
+				end--;
+			}
+			int trimmedEnd = end;
+			while (trimmedEnd > start && chars[trimmedEnd - 1] <= ' ') {
+				trimmedEnd--;
+			}
+			if (trimmedEnd - start <= 1) {
+				continue;
+			}
+			if (!stops.isEmpty() && stops.contains(new String(chars, start, end - start).toLowerCase())) {
+				continue;
+			}
+			counts.increment(chars, start, end - start);
 		}
-		return getMostImportantTypes(strings);
 	}
 
-	private static List<Type> getMostImportantTypes(final Map<String, Integer> strings) {
-		List<Type> types = new ArrayList<>();
-		Iterator<Entry<String, Integer>> iterator = strings.entrySet().iterator();
-		while (iterator.hasNext()) {
-			Entry<String, Integer> entry = iterator.next();
-			Type type = new Type(entry.getKey(), entry.getValue());
-			types.add(type);
+	/**
+	 * A {@link CharacterIterator} over the first characters of a
+	 * <code>char</code> array, which can be reset to another array or range.
+	 */
+	private static class CharArrayIterator implements CharacterIterator {
+
+		private char[] chars;
+		private int end;
+		private int index;
+
+		void setText(char[] chars, int end) {
+			this.chars = chars;
+			this.end = end;
+			this.index = 0;
+		}
+
+		@Override
+		public char first() {
+			index = 0;
+			return current();
+		}
+
+		@Override
+		public char last() {
+			index = end == 0 ? 0 : end - 1;
+			return current();
+		}
+
+		@Override
+		public char current() {
+			return index < end ? chars[index] : DONE;
 		}
-		List<Type> sorted = new ArrayList<>(types);
+
+		@Override
+		public char next() {
+			if (index < end) {
+				index++;
+			}
+			return current();
+		}
+
+		@Override
+		public char previous() {
+			if (index == 0) {
+				return DONE;
+			}
+			index--;
+			return current();
+		}
+
+		@Override
+		public char setIndex(int position) {
+			if (position < 0 || position > end) {
+				throw new IllegalArgumentException("Invalid index: " + position);
+			}
+			index = position;
+			return current();
+		}
+
+		@Override
+		public int getBeginIndex() {
+			return 0;
+		}
+
+		@Override
+		public int getEndIndex() {
+			return end;
+		}
+
+		@Override
+		public int getIndex() {
+			return index;
+		}
+
+		@Override
+		public Object clone() {
+			try {
+				return super.clone();
+			} catch (CloneNotSupportedException e) {
+				throw new InternalError(e);
+			}
+		}
+	}
+
+	private static int getLastWhitespace(CharBuffer buffer) {
+		for (int i = buffer.limit() - 1; i >= 0; i--) {
+			if (Character.isWhitespace(buffer.get(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static List<Type> getMostImportantTypes(WordCounts counts) {
+		List<Type> sorted = counts.getTypes();
 		Collections.sort(sorted, new Comparator<Type>() {
 
 			@Override
@@ -0,0 +1,116 @@
+/******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.cloudio.internal.ui.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An open-addressing hash map from words to their number of occurrences. Words
+ * are looked up by a range of characters, so that a {@link String} is only
+ * created when a word is counted for the first time, and counts are stored as
+ * primitive <code>int</code> values.
+ *
+ * @author agent
+ *
+ */
+class WordCounts {
+
+	private String[] words = new String[1024];
+	private int[] counts = new int[1024];
+	private int size;
+
+	/**
+	 * Increments the number of occurrences of the word that is represented by
+	 * the given range of characters.
+	 *
+	 * @param chars
+	 *            The characters.
+	 * @param offset
+	 *            The index of the first character of the word.
+	 * @param length
+	 *            The number of characters of the word.
+	 */
+	public void increment(char[] chars, int offset, int length) {
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + chars[offset + i];
+		}
+		int mask = words.length - 1;
+		int index = mix(hash) & mask;
+		while (words[index] != null) {
+			if (matches(words[index], chars, offset, length)) {
+				counts[index]++;
+				return;
+			}
+			index = (index + 1) & mask;
+		}
+		words[index] = new String(chars, offset, length);
+		counts[index] = 1;
+		// keep the load factor below 1/2
+		if (++size > words.length >>> 1) {
+			rehash();
+		}
+	}
+
+	/**
+	 * Returns a {@link Type} for each counted word.
+	 *
+	 * @return A list of {@link Type}s in no particular order.
+	 */
+	public List<Type> getTypes() {
+		List<Type> types = new ArrayList<>(size);
+		for (int i = 0; i < words.length; i++) {
+			if (words[i] != null) {
+				types.add(new Type(words[i], counts[i]));
+			}
+		}
+		return types;
+	}
+
+	private static boolean matches(String word, char[] chars, int offset, int length) {
+		if (word.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (word.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int mix(int hash) {
+		// spread the bits of String#hashCode(), which is weak in its low bits
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	private void rehash() {
+		String[] oldWords = words;
+		int[] oldCounts = counts;
+		words = new String[oldWords.length << 1];
+		counts = new int[oldCounts.length << 1];
+		int mask = words.length - 1;
+		for (int i = 0; i < oldWords.length; i++) {
+			if (oldWords[i] != null) {
+				int index = mix(oldWords[i].hashCode()) & mask;
+				while (words[index] != null) {
+					index = (index + 1) & mask;
+				}
+				words[index] = oldWords[i];
+				counts[index] = oldCounts[i];
+			}
+		}
+	}
+
+}
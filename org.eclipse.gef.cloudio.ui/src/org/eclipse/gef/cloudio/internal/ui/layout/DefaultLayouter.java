@@ -11,12 +11,19 @@
  *******************************************************************************/
 package org.eclipse.gef.cloudio.internal.ui.layout;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.gef.cloudio.internal.ui.Word;
 import org.eclipse.gef.cloudio.internal.ui.util.CloudMatrix;
-import org.eclipse.gef.cloudio.internal.ui.util.RectTree;
+import org.eclipse.gef.cloudio.internal.ui.util.WordMask;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 
@@ -31,7 +38,24 @@ public class DefaultLayouter implements ILayouter {
 
 	public static final String Y_AXIS_VARIATION = "yaxis";
 
-	private Random random = new Random();
+	/**
+	 * Option to specify an {@link ExecutorService} that is used to evaluate
+	 * candidate positions in parallel, or <code>null</code> to evaluate them
+	 * sequentially.
+	 */
+	public static final String EXECUTOR = "executor";
+
+	/**
+	 * Maximum number of spiral steps per word.
+	 */
+	private static final int MAX_STEPS = 5000;
+
+	/**
+	 * Number of candidate positions that are evaluated in parallel.
+	 */
+	private static final int BATCH_SIZE = 1024;
+
+	private Random random;
 
 	/**
 	 * Percentage of the x axis variation. By default, searching for free space is
@@ -49,9 +73,27 @@ public class DefaultLayouter implements ILayouter {
 	 */
 	private int yAxisVariation;
 
+	private ExecutorService executor;
+
 	public DefaultLayouter(int i, int j) {
+		this(i, j, new Random());
+	}
+
+	/**
+	 * Creates a new {@link DefaultLayouter} that uses the given {@link Random}
+	 * to determine start points, so that layouts can be reproduced.
+	 * 
+	 * @param i
+	 *            The x axis variation.
+	 * @param j
+	 *            The y axis variation.
+	 * @param random
+	 *            The {@link Random} to use.
+	 */
+	public DefaultLayouter(int i, int j, Random random) {
 		this.xAxisVariation = i;
 		this.yAxisVariation = j;
+		this.random = random;
 	}
 
 	public Point getInitialOffset(Word word, Rectangle cloudArea) {
@@ -79,10 +121,15 @@ public class DefaultLayouter implements ILayouter {
 
 	/**
 	 * Tries to position the given word in the given area. First a start point
-	 * is chosen, then the {@link RectTree} of the word and the main area is
+	 * is chosen, then the {@link WordMask} of the word and the main area is
 	 * used to detect whether the word can be placed at the given position, or
 	 * not. If not, the current point is moved slightly in a spiral manner,
 	 * similar to the approach of Wordle.
+	 * <p>
+	 * If an {@link #EXECUTOR} is set, the candidate positions are evaluated
+	 * speculatively in batches, in parallel. The first valid position in
+	 * spiral order is chosen, so that the result is the same as for a
+	 * sequential evaluation.
 	 * 
 	 * @param word
 	 * @param cloudArea
@@ -97,33 +144,21 @@ public class DefaultLayouter implements ILayouter {
 		double growFactor = 1.6;
 		offset.x += cloudArea.width / 2;
 		offset.y += cloudArea.height / 2;
+		if (executor != null && word.mask != null) {
+			return layoutParallel(offset, next, word, cloudArea, mainTree);
+		}
 		final int accuracy = mainTree.getMinResolution();
-		for (int i = 0; i < 5000; i++) {
-			final double radius = Math.sqrt((double) (next.x * next.x + next.y * next.y)) + growFactor;
-			double atan = Math.atan2(next.y, next.x);
-			if (growFactor > 1.1) {
-				growFactor -= 0.0007;
-			}
-			if (radius < 80) {
-				atan += 0.7;
-			} else {
-				atan += 20 / radius;
-			}
-			if (growFactor < 0.0005) {
-				growFactor = 0.0005;
-			}
-			next.x = (int) (radius * Math.cos(atan));
-			next.y = (int) (radius * Math.sin(atan));
+		for (int i = 0; i < MAX_STEPS; i++) {
+			growFactor = nextCandidate(next, growFactor);
 			word.x = ((next.x + offset.x) / accuracy) * accuracy;
 			word.y = ((next.y + offset.y) / accuracy) * accuracy;
-			RectTree rt = word.tree;
-			if (rt == null)
+			WordMask mask = word.mask;
+			if (mask == null)
 				break;
-			rt.move(word.x, word.y);
 			if (cloudArea.x <= word.x && cloudArea.y <= word.y && cloudArea.x + cloudArea.width >= word.x + word.width
 					&& cloudArea.y + cloudArea.height >= word.y + word.height) {
-				if (rt.fits(mainTree)) {
-					rt.place(mainTree, word.id);
+				if (mainTree.fits(mask, word.x, word.y)) {
+					mainTree.place(mask, word.x, word.y, word.id);
 					return true;
 				}
 			}
@@ -131,6 +166,115 @@ public class DefaultLayouter implements ILayouter {
 		return false;
 	}
 
+	/**
+	 * Moves the given point one step further along the spiral, relative to its
+	 * center.
+	 * 
+	 * @param next
+	 *            The current point, which is updated to the next point.
+	 * @param growFactor
+	 *            The grow factor of the current step.
+	 * @return The grow factor of the next step.
+	 */
+	private static double nextCandidate(Point next, double growFactor) {
+		final double radius = Math.sqrt((double) (next.x * next.x + next.y * next.y)) + growFactor;
+		double atan = Math.atan2(next.y, next.x);
+		if (growFactor > 1.1) {
+			growFactor -= 0.0007;
+		}
+		if (radius < 80) {
+			atan += 0.7;
+		} else {
+			atan += 20 / radius;
+		}
+		if (growFactor < 0.0005) {
+			growFactor = 0.0005;
+		}
+		next.x = (int) (radius * Math.cos(atan));
+		next.y = (int) (radius * Math.sin(atan));
+		return growFactor;
+	}
+
+	private boolean layoutParallel(final Point offset, final Point next, final Word word, final Rectangle cloudArea,
+			final CloudMatrix mainTree) {
+		final int accuracy = mainTree.getMinResolution();
+		final WordMask mask = word.mask;
+		double growFactor = 1.6;
+		final int[] xs = new int[BATCH_SIZE];
+		final int[] ys = new int[BATCH_SIZE];
+		for (int i = 0; i < MAX_STEPS; i += BATCH_SIZE) {
+			// compute the next batch of candidate positions (in spiral order)
+			int count = 0;
+			for (int j = i; j < Math.min(i + BATCH_SIZE, MAX_STEPS); j++) {
+				growFactor = nextCandidate(next, growFactor);
+				int x = ((next.x + offset.x) / accuracy) * accuracy;
+				int y = ((next.y + offset.y) / accuracy) * accuracy;
+				if (cloudArea.x <= x && cloudArea.y <= y && cloudArea.x + cloudArea.width >= x + word.width
+						&& cloudArea.y + cloudArea.height >= y + word.height) {
+					xs[count] = x;
+					ys[count] = y;
+					count++;
+				}
+			}
+			// evaluate the candidates in parallel and choose the first fit
+			int index = findFirstFit(mask, xs, ys, count, mainTree);
+			if (index >= 0) {
+				word.x = xs[index];
+				word.y = ys[index];
+				mainTree.place(mask, word.x, word.y, word.id);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the index of the first of the given candidate positions at which
+	 * the given mask fits, or <code>-1</code> if it does not fit at any of
+	 * them. The candidates are split into consecutive chunks, which are
+	 * evaluated in parallel. A chunk is abandoned as soon as a fit in a
+	 * preceding chunk is found.
+	 */
+	private int findFirstFit(final WordMask mask, final int[] xs, final int[] ys, final int count,
+			final CloudMatrix mainTree) {
+		final AtomicInteger firstFit = new AtomicInteger(Integer.MAX_VALUE);
+		int chunkSize = Math.max(1, (count + 7) / 8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int start = 0; start < count; start += chunkSize) {
+			final int from = start;
+			final int to = Math.min(start + chunkSize, count);
+			futures.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() {
+					for (int k = from; k < to && k < firstFit.get(); k++) {
+						if (mainTree.fits(mask, xs[k], ys[k])) {
+							int current = firstFit.get();
+							while (k < current && !firstFit.compareAndSet(current, k)) {
+								current = firstFit.get();
+							}
+							break;
+						}
+					}
+					return null;
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				for (Future<?> f : futures) {
+					f.cancel(true);
+				}
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return firstFit.get() == Integer.MAX_VALUE ? -1 : firstFit.get();
+	}
+
 	public void setOption(String optionName, Object object) {
 		if (X_AXIS_VARIATION.equals(optionName)) {
 			Integer value = (Integer) object;
@@ -146,6 +290,12 @@ public class DefaultLayouter implements ILayouter {
 			this.yAxisVariation = value;
 			return;
 		}
+		if (EXECUTOR.equals(optionName)) {
+			Assert.isLegal(object == null || object instanceof ExecutorService,
+					"Parameter must be an ExecutorService or null: " + object);
+			this.executor = (ExecutorService) object;
+			return;
+		}
 		System.err.println("Unrecognized option: " + optionName);
 	}
 
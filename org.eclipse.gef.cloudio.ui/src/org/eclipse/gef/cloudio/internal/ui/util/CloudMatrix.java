@@ -7,28 +7,47 @@
  *
  * Contributors:
  *     Stephan Schwiebert - initial API and implementation
+ *     agent - flat occupancy bitmap
  *     
  *******************************************************************************/
 
 package org.eclipse.gef.cloudio.internal.ui.util;
 
+import java.util.Arrays;
+
 import org.eclipse.gef.cloudio.internal.ui.util.RectTree.RectNode;
 
 /**
  * This class contains all global information about the drawable area and the
- * layouted words in form of a {@link RectTree}.
+ * layouted words. The area is divided into cells of the minimum resolution,
+ * whose occupancy is stored in a flat bitmap (one bit per cell), while the id
+ * of the word that occupies a cell is stored in a separate array. This way,
+ * whether a {@link WordMask} fits at a given position can be tested using a
+ * few bitwise operations per row.
  * 
  * @author sschwieb
  *
  */
 public class CloudMatrix {
 
-	private RectTree tree;
-
 	private final int max;
 
 	private final int minResolution;
 
+	/**
+	 * The number of cells per row and column.
+	 */
+	private final int size;
+
+	/**
+	 * The number of <code>long</code> values per row of the bitmap.
+	 */
+	private final int rowLength;
+
+	private long[] occupied;
+
+	private short[] ids;
+
 	public int getMinResolution() {
 		return minResolution;
 	}
@@ -36,28 +55,105 @@ public class CloudMatrix {
 	public CloudMatrix(int maxSize, int minResolution) {
 		this.max = maxSize;
 		this.minResolution = minResolution;
+		this.size = (max + minResolution - 1) / minResolution;
+		this.rowLength = (size + 63) >>> 6;
 		reset();
 	}
 
 	public short get(int x, int y) {
-		return tree.getRoot().getWordId(x * minResolution, y * minResolution);
+		if (x < 0 || y < 0 || x >= size || y >= size) {
+			return RectTree.EMPTY;
+		}
+		return ids[y * size + x];
 	}
 
 	public boolean isEmpty(int x, int y) {
-		short id = tree.getRoot().getWordId(x * minResolution, y * minResolution);
-		return id == RectTree.EMPTY;
+		return get(x, y) == RectTree.EMPTY;
 	}
 
 	public void reset() {
-		SmallRect root = new SmallRect(0, 0, max, max);
-		tree = new RectTree(root, minResolution);
+		occupied = new long[size * rowLength];
+		ids = new short[size * size];
+		Arrays.fill(ids, RectTree.EMPTY);
 	}
 
 	public void set(RectNode node, short id, short xOffset, short yOffset, int minResolution) {
-		int cleanX = ((xOffset + node.rect.x) / minResolution) * minResolution;
-		int cleanY = ((yOffset + node.rect.y) / minResolution) * minResolution;
-		SmallRect rect = new SmallRect(cleanX, cleanY, minResolution, minResolution);
-		tree.insert(rect, id);
+		set(Math.floorDiv(xOffset + node.rect.x, minResolution), Math.floorDiv(yOffset + node.rect.y, minResolution),
+				id);
+	}
+
+	private void set(int x, int y, short id) {
+		if (x < 0 || y < 0 || x >= size || y >= size) {
+			return;
+		}
+		occupied[y * rowLength + (x >>> 6)] |= 1L << (x & 63);
+		ids[y * size + x] = id;
+	}
+
+	/**
+	 * Tests whether the given {@link WordMask} can be placed at the given
+	 * position, i.e. whether all cells covered by the mask are empty.
+	 * 
+	 * @param mask
+	 *            The {@link WordMask} to test.
+	 * @param x
+	 *            The x coordinate (in pixels) of the position.
+	 * @param y
+	 *            The y coordinate (in pixels) of the position.
+	 * @return <code>true</code> if the mask fits, <code>false</code> otherwise.
+	 */
+	public boolean fits(WordMask mask, int x, int y) {
+		final int cx = Math.floorDiv(x, minResolution);
+		final int cy = Math.floorDiv(y, minResolution);
+		if (cx < 0 || cy < 0 || cx + mask.getWidth() > size || cy + mask.getHeight() > size) {
+			return false;
+		}
+		final int shift = cx & 63;
+		final int offset = cx >>> 6;
+		for (int r = 0; r < mask.getHeight(); r++) {
+			final long[] row = mask.getRow(r);
+			final int base = (cy + r) * rowLength + offset;
+			long carry = 0;
+			for (int i = 0; i < row.length; i++) {
+				final long bits = row[i];
+				if (((bits << shift | carry) & occupied[base + i]) != 0) {
+					return false;
+				}
+				carry = shift == 0 ? 0 : bits >>> (64 - shift);
+			}
+			if (carry != 0 && (carry & occupied[base + row.length]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Marks all cells covered by the given {@link WordMask} at the given
+	 * position as occupied by the word with the given id.
+	 * 
+	 * @param mask
+	 *            The {@link WordMask} to place.
+	 * @param x
+	 *            The x coordinate (in pixels) of the position.
+	 * @param y
+	 *            The y coordinate (in pixels) of the position.
+	 * @param id
+	 *            The id of the word.
+	 */
+	public void place(WordMask mask, int x, int y, short id) {
+		final int cx = Math.floorDiv(x, minResolution);
+		final int cy = Math.floorDiv(y, minResolution);
+		for (int r = 0; r < mask.getHeight(); r++) {
+			final long[] row = mask.getRow(r);
+			for (int i = 0; i < row.length; i++) {
+				long bits = row[i];
+				while (bits != 0) {
+					set(cx + (i << 6) + Long.numberOfTrailingZeros(bits), cy + r, id);
+					bits &= bits - 1;
+				}
+			}
+		}
 	}
 
 }
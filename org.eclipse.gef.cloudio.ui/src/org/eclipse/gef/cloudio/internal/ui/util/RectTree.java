@@ -174,7 +174,8 @@ public class RectTree {
 		Iterator<RectNode> nodes = leaves.iterator();
 		while (nodes.hasNext()) {
 			RectNode node = nodes.next();
-			if (!mainTree.isEmpty((node.rect.x + xOffset) / minResolution, (node.rect.y + yOffset) / minResolution)) {
+			if (!mainTree.isEmpty(Math.floorDiv(node.rect.x + xOffset, minResolution),
+					Math.floorDiv(node.rect.y + yOffset, minResolution))) {
 				nodes.remove();
 				leaves.addFirst(node);
 				return false;
@@ -0,0 +1,76 @@
+/******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.cloudio.internal.ui.util;
+
+/**
+ * A rasterized representation of the area occupied by a word, where each cell
+ * (of the size of the minimum resolution of the {@link CloudMatrix}) is
+ * represented by a single bit. Each row of cells is stored as an array of
+ * <code>long</code> values, so that a row can be tested against the
+ * {@link CloudMatrix} using a few bitwise operations.
+ *
+ * @author agent
+ *
+ */
+public class WordMask {
+
+	private final int width;
+
+	private final int height;
+
+	private final long[][] rows;
+
+	/**
+	 * Creates a new empty {@link WordMask} with the given number of columns and
+	 * rows.
+	 *
+	 * @param width
+	 *            The number of columns (cells).
+	 * @param height
+	 *            The number of rows (cells).
+	 */
+	public WordMask(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.rows = new long[height][(width + 63) >>> 6];
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the bits of the given row, where bit <code>i % 64</code> of the
+	 * element at index <code>i / 64</code> represents column <code>i</code>.
+	 * The returned array must not be modified.
+	 *
+	 * @param y
+	 *            The row index.
+	 * @return The bits of the given row.
+	 */
+	long[] getRow(int y) {
+		return rows[y];
+	}
+
+	public boolean isSet(int x, int y) {
+		return (rows[y][x >>> 6] & (1L << (x & 63))) != 0;
+	}
+
+	public void set(int x, int y) {
+		rows[y][x >>> 6] |= 1L << (x & 63);
+	}
+
+}
@@ -408,6 +408,40 @@ public class AdapterInjectorTests {
 				}, "a3")));
 	}
 
+	/**
+	 * Tests that the adapters are injected into all instances of an adaptable
+	 * type, i.e. that the injection plan, which is computed for the first
+	 * instance, is applied to subsequent instances as well, providing new
+	 * adapter instances.
+	 */
+	@Test
+	public void injectAdaptersToMultipleInstances() {
+		Module module = new AbstractModule() {
+			@Override
+			protected void configure() {
+				install(new AdapterInjectionSupport());
+
+				MapBinder<AdapterKey<?>, Object> adapterMapBinder = AdapterMaps
+						.getAdapterMapBinder(binder(), AdapterStore.class);
+				adapterMapBinder.addBinding(AdapterKey.role("a1"))
+						.to(RawType.class);
+			}
+		};
+		Injector injector = Guice.createInjector(module);
+		AdapterStore first = new AdapterStore();
+		injector.injectMembers(first);
+		AdapterStore second = new AdapterStore();
+		injector.injectMembers(second);
+
+		RawType firstAdapter = first
+				.getAdapter(AdapterKey.get(RawType.class, "a1"));
+		RawType secondAdapter = second
+				.getAdapter(AdapterKey.get(RawType.class, "a1"));
+		assertNotNull(firstAdapter);
+		assertNotNull(secondAdapter);
+		assertTrue(firstAdapter != secondAdapter);
+	}
+
 	/**
 	 * Tests that adapters, which are bound to an adaptable of a certain role
 	 * are injected to an adaptable, that is itself bound as an adapter with the
@@ -16,12 +16,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.common.beans.binding.MultisetExpressionHelper;
+import org.eclipse.gef.common.beans.property.MultisetProperty;
 import org.eclipse.gef.common.beans.property.ReadOnlyMultisetWrapper;
 import org.eclipse.gef.common.beans.property.SimpleMultisetProperty;
 import org.eclipse.gef.common.collections.CollectionUtils;
@@ -33,6 +38,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
+import com.google.common.collect.ForwardingMultiset;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
 import com.google.inject.Provider;
@@ -323,6 +329,102 @@ public class ObservableMultisetTests {
 		checkListeners();
 	}
 
+	/**
+	 * Checks that attaching and detaching a large number of elements (as done
+	 * for the anchoreds of a visual part) does not require quadratic time.
+	 */
+	@Test
+	public void attachDetachPerformance() {
+		final int[] changeCount = new int[1];
+		observable.addListener(new MultisetChangeListener<Integer>() {
+			@Override
+			public void onChanged(
+					MultisetChangeListener.Change<? extends Integer> change) {
+				while (change.next()) {
+					changeCount[0]++;
+				}
+			}
+		});
+
+		long startMillis = System.currentTimeMillis();
+		for (int i = 0; i < 10000; i++) {
+			observable.add(i);
+		}
+		for (int i = 0; i < 10000; i++) {
+			observable.remove(i);
+		}
+		long endMillis = System.currentTimeMillis();
+		assertEquals(20000, changeCount[0]);
+		assertTrue(observable.isEmpty());
+		assertTrue(endMillis - startMillis < 1000);
+	}
+
+	/**
+	 * Checks that attaching and detaching a large number of elements (as done
+	 * for the anchoreds of a visual part) does not copy the contents of the
+	 * multiset upon each change, which would require quadratic time.
+	 */
+	@Test
+	public void attachDetachDoesNotCopyContents() {
+		// use a backing multiset that counts the accesses to its contents
+		final int[] contentAccesses = new int[1];
+		Multiset<Integer> backingMultiset = new ForwardingMultiset<Integer>() {
+			private Multiset<Integer> delegate = HashMultiset.create();
+
+			@Override
+			protected Multiset<Integer> delegate() {
+				return delegate;
+			}
+
+			@Override
+			public Set<Integer> elementSet() {
+				contentAccesses[0]++;
+				return super.elementSet();
+			}
+
+			@Override
+			public Set<Multiset.Entry<Integer>> entrySet() {
+				contentAccesses[0]++;
+				return super.entrySet();
+			}
+
+			@Override
+			public Iterator<Integer> iterator() {
+				contentAccesses[0]++;
+				return super.iterator();
+			}
+		};
+		ObservableMultiset<Integer> source = CollectionUtils
+				.observableMultiset(backingMultiset);
+		if (observable instanceof MultisetProperty) {
+			((MultisetProperty<Integer>) observable).set(source);
+		} else {
+			observable = source;
+		}
+
+		final int[] changeCount = new int[1];
+		observable.addListener(new MultisetChangeListener<Integer>() {
+			@Override
+			public void onChanged(
+					MultisetChangeListener.Change<? extends Integer> change) {
+				while (change.next()) {
+					changeCount[0]++;
+				}
+			}
+		});
+		contentAccesses[0] = 0;
+
+		for (int i = 0; i < 10000; i++) {
+			observable.add(i);
+		}
+		for (int i = 0; i < 10000; i++) {
+			observable.remove(i);
+		}
+		assertEquals(20000, changeCount[0]);
+		assertTrue(observable.isEmpty());
+		assertEquals(0, contentAccesses[0]);
+	}
+
 	@Before
 	public void before() {
 		observable = observableProvider.get();
@@ -578,6 +680,66 @@ public class ObservableMultisetTests {
 		observable.addListener(multisetChangeListener);
 	}
 
+	/**
+	 * Checks that the previous contents of a change are correct, when being
+	 * accessed during the notification as well as after succeeding changes
+	 * (including changes that are applied by listeners during the
+	 * notification).
+	 */
+	@Test
+	public void previousContents() {
+		final List<MultisetChangeListener.Change<? extends Integer>> changes = new ArrayList<>();
+		final List<Multiset<Integer>> expectedPreviousContents = new ArrayList<>();
+		final List<Multiset<Integer>> contents = new ArrayList<>();
+		contents.add(HashMultiset.<Integer> create());
+		observable.addListener(new MultisetChangeListener<Integer>() {
+			@Override
+			public void onChanged(
+					MultisetChangeListener.Change<? extends Integer> change) {
+				changes.add(change);
+				expectedPreviousContents.add(contents.get(0));
+				contents.set(0, HashMultiset.create(change.getMultiset()));
+				// access the previous contents of every other change during
+				// the notification
+				if (changes.size() % 2 == 0) {
+					assertEquals(
+							expectedPreviousContents
+									.get(expectedPreviousContents.size() - 1),
+							change.getPreviousContents());
+				}
+				// modify the observable during the notification
+				if (change.getMultiset().count(3) == 2
+						&& !change.getMultiset().contains(4)) {
+					observable.add(4);
+				}
+			}
+		});
+
+		observable.add(1);
+		observable.add(1, 3);
+		observable.addAll(Arrays.asList(2, 2, 3));
+		observable.remove(1);
+		observable.add(3);
+		observable.remove(1, 2);
+		observable.removeAll(Arrays.asList(2, 5));
+		observable.setCount(5, 2);
+		observable.setCount(5, 2, 1);
+		HashMultiset<Integer> replacement = HashMultiset.create(observable);
+		replacement.remove(4);
+		replacement.add(6);
+		observable.replaceAll(replacement);
+		observable.retainAll(Arrays.asList(1, 3, 4, 6));
+		observable.add(6);
+		observable.clear();
+		observable.add(7);
+
+		assertEquals(16, changes.size());
+		for (int i = 0; i < changes.size(); i++) {
+			assertEquals(expectedPreviousContents.get(i),
+					changes.get(i).getPreviousContents());
+		}
+	}
+
 	@Test
 	public void remove() {
 		// initialize multiset with some values
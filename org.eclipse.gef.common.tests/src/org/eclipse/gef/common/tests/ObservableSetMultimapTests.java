@@ -17,16 +17,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.gef.common.beans.binding.SetMultimapExpressionHelper;
 import org.eclipse.gef.common.beans.property.ReadOnlySetMultimapWrapper;
+import org.eclipse.gef.common.beans.property.SetMultimapProperty;
 import org.eclipse.gef.common.beans.property.SimpleSetMultimapProperty;
 import org.eclipse.gef.common.collections.CollectionUtils;
 import org.eclipse.gef.common.collections.ObservableSetMultimap;
@@ -38,6 +42,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
+import com.google.common.collect.ForwardingSetMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
@@ -267,6 +272,105 @@ public class ObservableSetMultimapTests {
 		setMultimapChangeListener.check();
 	}
 
+	/**
+	 * Checks that attaching and detaching a large number of values to and from
+	 * a single key (as done for the anchorages of a visual part) does not
+	 * require quadratic time.
+	 */
+	@Test
+	public void attachDetachPerformance() {
+		final int[] changeCount = new int[1];
+		observable.addListener(new SetMultimapChangeListener<Integer, String>() {
+			@Override
+			public void onChanged(
+					SetMultimapChangeListener.Change<? extends Integer, ? extends String> change) {
+				while (change.next()) {
+					changeCount[0]++;
+				}
+			}
+		});
+
+		long startMillis = System.currentTimeMillis();
+		for (int i = 0; i < 10000; i++) {
+			observable.put(1, "1-" + i);
+		}
+		for (int i = 0; i < 10000; i++) {
+			observable.remove(1, "1-" + i);
+		}
+		long endMillis = System.currentTimeMillis();
+		assertEquals(20000, changeCount[0]);
+		assertTrue(observable.isEmpty());
+		assertTrue(endMillis - startMillis < 1000);
+	}
+
+	/**
+	 * Checks that attaching and detaching a large number of values to and from
+	 * a single key (as done for the anchorages of a visual part) does not copy
+	 * the contents of the multimap upon each change, which would require
+	 * quadratic time.
+	 */
+	@Test
+	public void attachDetachDoesNotCopyContents() {
+		// use a backing multimap that counts the accesses to its contents
+		final int[] contentAccesses = new int[1];
+		SetMultimap<Integer, String> backingMultimap = new ForwardingSetMultimap<Integer, String>() {
+			private SetMultimap<Integer, String> delegate = HashMultimap
+					.create();
+
+			@Override
+			protected SetMultimap<Integer, String> delegate() {
+				return delegate;
+			}
+
+			@Override
+			public Map<Integer, Collection<String>> asMap() {
+				contentAccesses[0]++;
+				return super.asMap();
+			}
+
+			@Override
+			public Set<Map.Entry<Integer, String>> entries() {
+				contentAccesses[0]++;
+				return super.entries();
+			}
+
+			@Override
+			public Set<Integer> keySet() {
+				contentAccesses[0]++;
+				return super.keySet();
+			}
+		};
+		ObservableSetMultimap<Integer, String> source = CollectionUtils
+				.observableSetMultimap(backingMultimap);
+		if (observable instanceof SetMultimapProperty) {
+			((SetMultimapProperty<Integer, String>) observable).set(source);
+		} else {
+			observable = source;
+		}
+
+		final int[] changeCount = new int[1];
+		observable.addListener(new SetMultimapChangeListener<Integer, String>() {
+			@Override
+			public void onChanged(
+					SetMultimapChangeListener.Change<? extends Integer, ? extends String> change) {
+				while (change.next()) {
+					changeCount[0]++;
+				}
+			}
+		});
+		contentAccesses[0] = 0;
+
+		for (int i = 0; i < 10000; i++) {
+			observable.put(1, "1-" + i);
+		}
+		for (int i = 0; i < 10000; i++) {
+			observable.remove(1, "1-" + i);
+		}
+		assertEquals(20000, changeCount[0]);
+		assertTrue(observable.isEmpty());
+		assertEquals(0, contentAccesses[0]);
+	}
+
 	@Test
 	public void clear() {
 		// initialize maps with some values
@@ -539,6 +643,71 @@ public class ObservableSetMultimapTests {
 		setMultimapChangeListener.check();
 	}
 
+	/**
+	 * Checks that the previous contents of a change are correct, when being
+	 * accessed during the notification as well as after succeeding changes
+	 * (including changes that are applied by listeners during the
+	 * notification).
+	 */
+	@Test
+	public void previousContents() {
+		final List<SetMultimapChangeListener.Change<? extends Integer, ? extends String>> changes = new ArrayList<>();
+		final List<SetMultimap<Integer, String>> expectedPreviousContents = new ArrayList<>();
+		final List<SetMultimap<Integer, String>> contents = new ArrayList<>();
+		contents.add(HashMultimap.<Integer, String> create());
+		observable.addListener(new SetMultimapChangeListener<Integer, String>() {
+			@Override
+			public void onChanged(
+					SetMultimapChangeListener.Change<? extends Integer, ? extends String> change) {
+				changes.add(change);
+				expectedPreviousContents.add(contents.get(0));
+				contents.set(0, HashMultimap.create(change.getSetMultimap()));
+				// access the previous contents of every other change during
+				// the notification
+				if (changes.size() % 2 == 0) {
+					assertEquals(
+							expectedPreviousContents
+									.get(expectedPreviousContents.size() - 1),
+							change.getPreviousContents());
+				}
+				// modify the observable during the notification
+				if (change.getSetMultimap().containsEntry(1, "1-3")
+						&& !change.getSetMultimap().containsKey(4)) {
+					observable.put(4, "4-1");
+				}
+			}
+		});
+
+		observable.put(1, "1-1");
+		observable.put(1, "1-2");
+		observable.putAll(2, Sets.newHashSet("2-1", "2-2"));
+		observable.remove(1, "1-1");
+		observable.put(1, "1-3");
+		SetMultimap<Integer, String> toAdd = HashMultimap.create();
+		toAdd.putAll(1, Sets.newHashSet("1-3", "1-4"));
+		toAdd.putAll(3, Sets.newHashSet("3-1"));
+		observable.putAll(toAdd);
+		// values for a new key are added without notification
+		observable.replaceValues(5, Sets.newHashSet("5-1"));
+		contents.set(0, HashMultimap.create(observable));
+		observable.replaceValues(2, Sets.newHashSet("2-2", "2-3"));
+		observable.removeAll(3);
+		SetMultimap<Integer, String> replacement = HashMultimap
+				.create(observable);
+		replacement.remove(4, "4-1");
+		replacement.put(6, "6-1");
+		observable.replaceAll(replacement);
+		observable.put(6, "6-2");
+		observable.clear();
+		observable.put(7, "7-1");
+
+		assertEquals(14, changes.size());
+		for (int i = 0; i < changes.size(); i++) {
+			assertEquals(expectedPreviousContents.get(i),
+					changes.get(i).getPreviousContents());
+		}
+	}
+
 	@Test
 	public void put() {
 		// prepare backup map
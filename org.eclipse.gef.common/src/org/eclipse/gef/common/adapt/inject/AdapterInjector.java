@@ -16,8 +16,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.common.adapt.IAdaptable;
@@ -72,6 +75,11 @@ import javafx.beans.value.ObservableValue;
  * infer the actual adapter type from respective bindings, or fall back to the
  * type inferred from the adapter instance (which will not be adequate for
  * generic types because of type erasure) in such a case.
+ * <p>
+ * The applicable adapter map bindings, as well as the adapter types that can
+ * be inferred from the bindings, are determined only once per adaptable type
+ * and recorded within an injection plan, which is executed for all instances
+ * of that type.
  *
  * @see AdapterMap
  * @see AdaptableTypeListener
@@ -79,6 +87,39 @@ import javafx.beans.value.ObservableValue;
  */
 public class AdapterInjector implements MembersInjector<IAdaptable> {
 
+	/**
+	 * An adapter binding (of an adapter map binding) that is part of an
+	 * injection plan.
+	 */
+	private static final class AdapterBindingPlan {
+		private final AdapterKey<?> adapterKey;
+		private final Binding<?> binding;
+		private final TypeToken<?> bindingInferredType;
+
+		public AdapterBindingPlan(AdapterKey<?> adapterKey, Binding<?> binding,
+				TypeToken<?> bindingInferredType) {
+			this.adapterKey = adapterKey;
+			this.binding = binding;
+			this.bindingInferredType = bindingInferredType;
+		}
+	}
+
+	/**
+	 * An adapter map binding that is applicable to an adaptable type, provided
+	 * that its adaptable context (if any) is matched by the adaptable
+	 * instance.
+	 */
+	private static final class AdapterMapBindingPlan {
+		private final BoundAdapter[] adaptableContext;
+		private final List<AdapterBindingPlan> adapterBindings;
+
+		public AdapterMapBindingPlan(BoundAdapter[] adaptableContext,
+				List<AdapterBindingPlan> adapterBindings) {
+			this.adaptableContext = adaptableContext;
+			this.adapterBindings = adapterBindings;
+		}
+	}
+
 	private BindingTargetVisitor<Object, TypeToken<?>> ADAPTER_TYPE_INFERRER = new BindingTargetVisitor<Object, TypeToken<?>>() {
 
 		@Override
@@ -208,6 +249,10 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 
 	private final List<IAdaptable> deferredInstances = new ArrayList<>();
 
+	// injection plans per adaptable type (invalidated when the injector
+	// changes)
+	private final Map<Class<?>, List<AdapterMapBindingPlan>> injectionPlans = new ConcurrentHashMap<>();
+
 	private Injector injector;
 
 	private final Method method;
@@ -271,6 +316,9 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 	 *            The key of the map binding, which is an {@link AdapterKey}.
 	 * @param binding
 	 *            The binding related to the {@link AdapterKey}.
+	 * @param bindingInferredType
+	 *            The type that was inferred from the binding, or
+	 *            <code>null</code>.
 	 * @param adapter
 	 *            The adapter instance.
 	 * @param issues
@@ -281,11 +329,8 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 	 *         instance.
 	 */
 	private TypeToken<?> inferAdapterType(AdapterKey<?> adapterKey,
-			Binding<?> binding, Object adapter, List<String> issues) {
-		// try to infer the actual type of the adapter from the binding
-		TypeToken<?> bindingInferredType = binding
-				.acceptTargetVisitor(ADAPTER_TYPE_INFERRER);
-
+			Binding<?> binding, TypeToken<?> bindingInferredType,
+			Object adapter, List<String> issues) {
 		// perform some sanity checks
 		validateAdapterBinding(adapterKey, binding, adapter,
 				bindingInferredType, issues);
@@ -373,6 +418,78 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 		return false;
 	}
 
+	/**
+	 * Computes the injection plan for the given adaptable type, i.e. collects
+	 * all adapter map bindings that are qualified by an {@link AdapterMap}
+	 * annotation whose {@link AdapterMap#adaptableType()} is the same or a
+	 * super type of the given type, and infers the adapter types from the
+	 * adapter bindings.
+	 *
+	 * @param adaptableType
+	 *            The runtime type of the adaptable.
+	 * @return The injection plan for the given adaptable type.
+	 */
+	private List<AdapterMapBindingPlan> computeInjectionPlan(
+			Class<?> adaptableType) {
+		List<AdapterMapBindingPlan> plan = new ArrayList<>();
+		for (final Entry<Key<?>, Binding<?>> entry : injector.getAllBindings()
+				.entrySet()) {
+			// only consider bindings that are qualified by an AdapterMap
+			// binding annotation.
+			Key<?> key = entry.getKey();
+			if ((key.getAnnotationType() == null)
+					|| !AdapterMap.class.equals(key.getAnnotationType())) {
+				continue;
+			}
+			// XXX: All adapter (map) bindings that are bound to the adaptable
+			// type, or to a super type or super interface will be considered.
+			final AdapterMap keyAnnotation = (AdapterMap) key.getAnnotation();
+			if (!keyAnnotation.adaptableType()
+					.isAssignableFrom(adaptableType)) {
+				continue;
+			}
+			// XXX: The MapBinderBindings of relevance are wrapped into
+			// ProviderInstanceBindings, so they an instance check is not
+			// sufficient to retrieve them, but a MultibindingsTargetVisitor is
+			// to be used.
+			MapBinderBinding<?> adapterMapBinding = entry.getValue()
+					.acceptTargetVisitor(ADAPTER_MAP_BINDING_FILTER);
+			if (adapterMapBinding == null) {
+				continue;
+			}
+			List<AdapterBindingPlan> adapterBindings = new ArrayList<>();
+			for (final Entry<?, Binding<?>> adapterBinding : adapterMapBinding
+					.getEntries()) {
+				// try to infer the actual type of the adapter from the binding
+				adapterBindings.add(new AdapterBindingPlan(
+						(AdapterKey<?>) adapterBinding.getKey(),
+						adapterBinding.getValue(), adapterBinding.getValue()
+								.acceptTargetVisitor(ADAPTER_TYPE_INFERRER)));
+			}
+			plan.add(new AdapterMapBindingPlan(keyAnnotation.adaptableContext(),
+					adapterBindings));
+		}
+		return Collections.unmodifiableList(plan);
+	}
+
+	/**
+	 * Returns the injection plan for the given adaptable type, computing it if
+	 * it was not yet computed.
+	 *
+	 * @param adaptableType
+	 *            The runtime type of the adaptable.
+	 * @return The injection plan for the given adaptable type.
+	 */
+	private List<AdapterMapBindingPlan> getInjectionPlan(
+			Class<?> adaptableType) {
+		List<AdapterMapBindingPlan> plan = injectionPlans.get(adaptableType);
+		if (plan == null) {
+			plan = computeInjectionPlan(adaptableType);
+			injectionPlans.put(adaptableType, plan);
+		}
+		return plan;
+	}
+
 	/**
 	 * Performs the adapter map injection for the given adaptable instance.
 	 *
@@ -387,90 +504,40 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 		// System.out.println("Entering scope of " + adaptable);
 		AdaptableScopes.enter(adaptable);
 
-		// check which bindings are applicable
-		for (final Entry<Key<?>, Binding<?>> entry : injector.getAllBindings()
-				.entrySet()) {
-			// keep track of the applicable adapter map binding (so it can be
-			// used for injection later)
-			MapBinderBinding<?> adapterMapBinding = null;
-
-			// only consider bindings that are qualified by an AdapterMap
-			// binding annotation.
-			Key<?> key = entry.getKey();
-			Binding<?> binding = entry.getValue();
-
-			if ((key.getAnnotationType() != null)
-					&& AdapterMap.class.equals(key.getAnnotationType())) {
-				final AdapterMap keyAnnotation = (AdapterMap) key
-						.getAnnotation();
-				if (keyAnnotation.adaptableType()
-						.isAssignableFrom(adaptable.getClass())) {
-					if (keyAnnotation.adaptableContext().length != 0) {
-						// the adapter map binding is targeting a specific
-						// context
-						// if the adaptable is itself Adaptable.Bound and uses a
-						// role for its registration, consider that role here
-						if (isContextApplicable(adaptable,
-								keyAnnotation.adaptableContext())) {
-							// XXX: The MapBinderBindings of relevance are
-							// wrapped into
-							// ProviderInstanceBindings, so they an instance
-							// check is not
-							// sufficient
-							// to retrieve them, but a
-							// MultibindingsTargetVisitor is to be used.
-							adapterMapBinding = binding.acceptTargetVisitor(
-									ADAPTER_MAP_BINDING_FILTER);
-						}
-					} else {
-						// XXX: All adapter (map) bindings that are bound to the
-						// adaptable type, or to a super type or super interface
-						// will be considered.
-
-						// System.out.println("Applying binding for " +
-						// keyAnnotation.value() + " to " + type +
-						// " as subtype of " + methodAnnotation.value());
-
-						// XXX: The MapBinderBindings of relevance are wrapped
-						// into
-						// ProviderInstanceBindings, so they an instance check
-						// is not
-						// sufficient
-						// to retrieve them, but a MultibindingsTargetVisitor is
-						// to be used.
-						adapterMapBinding = binding.acceptTargetVisitor(
-								ADAPTER_MAP_BINDING_FILTER);
-					}
-				}
+		// execute the injection plan for the adaptable type
+		for (AdapterMapBindingPlan adapterMapBinding : getInjectionPlan(
+				adaptable.getClass())) {
+			// if the adapter map binding is targeting a specific context,
+			// check that the adaptable (chain) matches it
+			if (adapterMapBinding.adaptableContext.length != 0
+					&& !isContextApplicable(adaptable,
+							adapterMapBinding.adaptableContext)) {
+				continue;
 			}
 
-			if (adapterMapBinding != null) {
-				for (final Entry<?, Binding<?>> adapterBinding : adapterMapBinding
-						.getEntries()) {
-					AdapterKey<?> adapterKey = (AdapterKey<?>) adapterBinding
-							.getKey();
-					Object adapter = adapterBinding.getValue().getProvider()
-							.get();
-
-					// determine adapter type
-					TypeToken<?> adapterType = inferAdapterType(adapterKey,
-							adapterBinding.getValue(), adapter, issues);
-
-					// inject the adapter
-					try {
-						// System.out.println("Inject adapter " + adapter
-						// + " with type " + adapterType + " for key "
-						// + key + " to adaptable " + adaptable);
-						method.setAccessible(true);
-						method.invoke(adaptable, new Object[] { adapterType,
-								adapter, adapterKey.getRole() });
-					} catch (final IllegalAccessException e) {
-						throw new IllegalStateException(e);
-					} catch (final InvocationTargetException e) {
-						issues.add("*** ERROR: Cannot inject binding "
-								+ adapterBinding.getValue().getSource() + ": "
-								+ e.getCause().getMessage());
-					}
+			for (AdapterBindingPlan adapterBinding : adapterMapBinding.adapterBindings) {
+				AdapterKey<?> adapterKey = adapterBinding.adapterKey;
+				Object adapter = adapterBinding.binding.getProvider().get();
+
+				// determine adapter type
+				TypeToken<?> adapterType = inferAdapterType(adapterKey,
+						adapterBinding.binding,
+						adapterBinding.bindingInferredType, adapter, issues);
+
+				// inject the adapter
+				try {
+					// System.out.println("Inject adapter " + adapter
+					// + " with type " + adapterType + " for key "
+					// + key + " to adaptable " + adaptable);
+					method.setAccessible(true);
+					method.invoke(adaptable, new Object[] { adapterType,
+							adapter, adapterKey.getRole() });
+				} catch (final IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				} catch (final InvocationTargetException e) {
+					issues.add("*** ERROR: Cannot inject binding "
+							+ adapterBinding.binding.getSource() + ": "
+							+ e.getCause().getMessage());
 				}
 			}
 		}
@@ -491,6 +558,8 @@ public class AdapterInjector implements MembersInjector<IAdaptable> {
 	@Inject
 	public void setInjector(final Injector injector) {
 		this.injector = injector;
+		// injection plans are computed from the bindings of the injector
+		injectionPlans.clear();
 		// perform injections for those instances that had to be exercised
 		// before the injector was available (if there have been any)
 		for (final IAdaptable instance : deferredInstances) {
@@ -49,6 +49,8 @@ public class MultisetListenerHelper<E> {
 		private int cursor = -1;
 		private ElementarySubChange<E>[] elementarySubChanges;
 		private Multiset<E> previousContents;
+		private MultisetChangeListener.Change<? extends E> previousContentsChange;
+		private AtomicChange<E> successor;
 
 		/**
 		 * Creates a new {@link MultisetListenerHelper.AtomicChange} that
@@ -97,6 +99,27 @@ public class MultisetListenerHelper<E> {
 					.toArray(new ElementarySubChange[] {});
 		}
 
+		/**
+		 * Creates a new {@link MultisetListenerHelper.AtomicChange} that
+		 * represents a change comprising multiple elementary sub-changes, whose
+		 * previous contents are inferred lazily (see
+		 * {@link #getPreviousContents()}) from the current contents of the
+		 * source {@link ObservableMultiset}. The change has to be created
+		 * directly after it was applied, and all succeeding changes of the
+		 * source have to be registered via {@link #setSuccessor(AtomicChange)}.
+		 *
+		 * @param source
+		 *            The source {@link ObservableMultiset} from which the
+		 *            change originated.
+		 * @param elementarySubChanges
+		 *            The elementary sub-changes that have been applied as part
+		 *            of this change.
+		 */
+		AtomicChange(ObservableMultiset<E> source,
+				List<ElementarySubChange<E>> elementarySubChanges) {
+			this(source, (Multiset<E>) null, elementarySubChanges);
+		}
+
 		/**
 		 * Creates a new {@link MultisetListenerHelper.AtomicChange} for the
 		 * passed in source, based on the data provided in the passed-in change.
@@ -117,9 +140,9 @@ public class MultisetListenerHelper<E> {
 				MultisetChangeListener.Change<? extends E> change) {
 			super(source);
 
-			// copy previous contents
-			this.previousContents = HashMultiset
-					.create(change.getPreviousContents());
+			// previous contents are retrieved from the passed-in change on
+			// demand
+			this.previousContentsChange = change;
 
 			// retrieve elementary sub-changes by iterating them
 			// TODO: we could introduce an initialized field inside Change
@@ -137,17 +160,23 @@ public class MultisetListenerHelper<E> {
 		}
 
 		private void checkCursor() {
-			String methodName = Thread.currentThread().getStackTrace()[2]
-					.getMethodName();
+			// only retrieve the name of the calling method in case of an
+			// invalid cursor, as retrieving the stack trace is expensive
 			if (cursor == -1) {
 				throw new IllegalStateException("Need to call next() before "
-						+ methodName + "() can be called.");
+						+ getCallingMethodName() + "() can be called.");
 			} else if (cursor >= elementarySubChanges.length) {
-				throw new IllegalStateException("May only call " + methodName
+				throw new IllegalStateException("May only call "
+						+ getCallingMethodName()
 						+ "() if next() returned true.");
 			}
 		}
 
+		private String getCallingMethodName() {
+			// skip getStackTrace(), getCallingMethodName(), and checkCursor()
+			return Thread.currentThread().getStackTrace()[3].getMethodName();
+		}
+
 		@Override
 		public int getAddCount() {
 			checkCursor();
@@ -160,8 +189,33 @@ public class MultisetListenerHelper<E> {
 			return elementarySubChanges[cursor].getElement();
 		}
 
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * In case the previous contents were not provided upon construction,
+		 * they are computed when first requested, by reverting this change
+		 * and all succeeding changes (in reverse order) on a copy of the
+		 * current contents of the source {@link ObservableMultiset}. This way,
+		 * no copy has to be created when the change is applied, while the
+		 * previous contents remain accessible after further changes.
+		 */
+		@SuppressWarnings("unchecked")
 		@Override
 		public Multiset<E> getPreviousContents() {
+			if (previousContents == null) {
+				if (previousContentsChange != null) {
+					// previous contents are unmodifiable, so that the cast is
+					// safe
+					previousContents = (Multiset<E>) previousContentsChange
+							.getPreviousContents();
+					previousContentsChange = null;
+				} else {
+					previousContents = inferPreviousContents();
+				}
+				// the succeeding changes are no longer needed, so that they
+				// are no longer kept alive by this change
+				successor = null;
+			}
 			return Multisets.unmodifiableMultiset(previousContents);
 		}
 
@@ -171,6 +225,30 @@ public class MultisetListenerHelper<E> {
 			return elementarySubChanges[cursor].getRemoveCount();
 		}
 
+		private Multiset<E> inferPreviousContents() {
+			// collect succeeding changes up to the first change for which the
+			// previous contents are known
+			List<AtomicChange<E>> changes = new ArrayList<>();
+			Multiset<E> contents = null;
+			AtomicChange<E> change = this;
+			while (change != null) {
+				if (change.previousContents != null) {
+					contents = HashMultiset.create(change.previousContents);
+					break;
+				}
+				changes.add(change);
+				change = change.successor;
+			}
+			if (contents == null) {
+				contents = HashMultiset.create(getMultiset());
+			}
+			// revert the changes in reverse order
+			for (int i = changes.size() - 1; i >= 0; i--) {
+				changes.get(i).revert(contents);
+			}
+			return contents;
+		}
+
 		@Override
 		public boolean next() {
 			cursor++;
@@ -182,6 +260,31 @@ public class MultisetListenerHelper<E> {
 			cursor = -1;
 		}
 
+		private void revert(Multiset<E> contents) {
+			for (int i = elementarySubChanges.length - 1; i >= 0; i--) {
+				ElementarySubChange<E> subChange = elementarySubChanges[i];
+				contents.remove(subChange.getElement(),
+						subChange.getAddCount());
+				contents.add(subChange.getElement(),
+						subChange.getRemoveCount());
+			}
+		}
+
+		/**
+		 * Registers the given {@link AtomicChange} as the change that was
+		 * applied to the source {@link ObservableMultiset} directly after this
+		 * change, so that it can be reverted when inferring the previous
+		 * contents of this change.
+		 *
+		 * @param successor
+		 *            The succeeding {@link AtomicChange}.
+		 */
+		void setSuccessor(AtomicChange<E> successor) {
+			if (previousContents == null && previousContentsChange == null) {
+				this.successor = successor;
+			}
+		}
+
 		@Override
 		public String toString() {
 			StringBuffer sb = new StringBuffer();
@@ -13,8 +13,11 @@ package org.eclipse.gef.common.collections;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.gef.common.collections.MultisetListenerHelper.ElementarySubChange;
 
@@ -40,6 +43,9 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 	private MultisetListenerHelper<E> helper = new MultisetListenerHelper<>(
 			this);
 	private Multiset<E> backingMultiset;
+	// the last change that was fired; the previous contents of changes are
+	// inferred lazily by reverting this change and all of its predecessors
+	private MultisetListenerHelper.AtomicChange<E> lastChange;
 
 	/**
 	 * Creates a new {@link ObservableMultiset} wrapping the given
@@ -55,56 +61,44 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 
 	@Override
 	public boolean add(E element) {
-		Multiset<E> previousContents = delegateCopy();
 		boolean changed = super.add(element);
 		if (changed) {
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents,
-							new ElementarySubChange<>(element, 0, 1)));
+			fireValueChangedEvent(element, 0, 1);
 		}
 		return changed;
 	}
 
 	@Override
 	public int add(E element, int occurrences) {
-		Multiset<E> previousContents = delegateCopy();
 		int countBefore = super.add(element, occurrences);
 		if (count(element) > countBefore) {
 			// only fire change if occurrences have really been added.
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, new ElementarySubChange<>(element,
-									0, count(element) - countBefore)));
+			fireValueChangedEvent(element, 0, count(element) - countBefore);
 		}
 		return countBefore;
 	}
 
 	@Override
 	public boolean addAll(Collection<? extends E> collection) {
-		Multiset<E> previousContents = delegateCopy();
+		// collection may contain element multiple times; as we only want to
+		// notify once per element, we have to iterate over the set of unique
+		// elements (recording their counts, so that no copy is needed)
+		Map<E, Integer> previousCounts = new HashMap<>();
+		for (E e : new HashSet<>(collection)) {
+			previousCounts.put(e, count(e));
+		}
 		boolean changed = super.addAll(collection);
 		if (changed) {
 			List<ElementarySubChange<E>> elementaryChanges = new ArrayList<>();
-			// collection may contain element multiple times; as we only want to
-			// notify once per element, we have to iterate over the set of
-			// unique elements
-			for (E e : new HashSet<>(collection)) {
-				if (previousContents.contains(e)) {
-					// already contained
-					if (count(e) > previousContents.count(e)) {
-						elementaryChanges.add(new ElementarySubChange<>(e, 0,
-								count(e) - previousContents.count(e)));
-					}
-				} else {
-					// newly added
-					elementaryChanges
-							.add(new ElementarySubChange<>(e, 0, count(e)));
+			for (E e : previousCounts.keySet()) {
+				int previousCount = previousCounts.get(e);
+				if (count(e) > previousCount) {
+					elementaryChanges.add(new ElementarySubChange<>(e, 0,
+							count(e) - previousCount));
 				}
 			}
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new MultisetListenerHelper.AtomicChange<>(
+					this, elementaryChanges));
 		}
 		return changed;
 	}
@@ -129,9 +123,8 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 				elementaryChanges.add(new ElementarySubChange<>(e,
 						previousContents.count(e), 0));
 			}
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new MultisetListenerHelper.AtomicChange<>(
+					this, previousContents, elementaryChanges));
 		}
 	}
 
@@ -150,17 +143,49 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 		return HashMultiset.create(backingMultiset);
 	}
 
+	/**
+	 * Notifies all listeners about a change comprising a single elementary
+	 * sub-change.
+	 *
+	 * @param element
+	 *            The element that was added or removed.
+	 * @param removeCount
+	 *            The number of occurrences that were removed.
+	 * @param addCount
+	 *            The number of occurrences that were added.
+	 */
+	private void fireValueChangedEvent(E element, int removeCount,
+			int addCount) {
+		fireValueChangedEvent(new MultisetListenerHelper.AtomicChange<>(this,
+				Collections.singletonList(new ElementarySubChange<>(element,
+						removeCount, addCount))));
+	}
+
+	/**
+	 * Notifies all listeners about the given change. The change is registered
+	 * as the successor of the previously fired change, so that the previous
+	 * contents of the changes can be inferred lazily, i.e. without copying
+	 * the backing {@link Multiset} upon each modification.
+	 *
+	 * @param change
+	 *            The change to fire.
+	 */
+	private void fireValueChangedEvent(
+			MultisetListenerHelper.AtomicChange<E> change) {
+		if (lastChange != null) {
+			lastChange.setSuccessor(change);
+		}
+		lastChange = change;
+		helper.fireValueChangedEvent(change);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public boolean remove(Object object) {
-		Multiset<E> previousContents = delegateCopy();
 		boolean changed = super.remove(object);
 		if (changed) {
 			// if remove was successful, the cast to E should be safe.
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents,
-							new ElementarySubChange<>((E) object, 1, 0)));
+			fireValueChangedEvent((E) object, 1, 0);
 		}
 		return changed;
 	}
@@ -168,18 +193,14 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 	@SuppressWarnings("unchecked")
 	@Override
 	public int remove(Object element, int occurrences) {
-		Multiset<E> previousContents = delegateCopy();
 		int countBefore = super.remove(element, occurrences);
 		if (countBefore > count(element)) {
 			// if the element has been removed, the cast to E should be safe
 			// here; we may actually remove fewer then the specified
 			// occurrences, thus we have to compute how many have actually be
 			// removed.
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents,
-							new ElementarySubChange<>((E) element,
-									countBefore - count(element), 0)));
+			fireValueChangedEvent((E) element, countBefore - count(element),
+					0);
 		}
 		return countBefore;
 	}
@@ -187,26 +208,29 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 	@SuppressWarnings("unchecked")
 	@Override
 	public boolean removeAll(Collection<?> collection) {
-		Multiset<E> previousContents = delegateCopy();
+		// collection may contain element multiple times; as we only want to
+		// notify once per element, we have to iterate over the set of unique
+		// elements (recording their counts, so that no copy is needed)
+		Map<Object, Integer> previousCounts = new HashMap<>();
+		for (Object e : new HashSet<>(collection)) {
+			if (contains(e)) {
+				previousCounts.put(e, count(e));
+			}
+		}
 		boolean changed = super.removeAll(collection);
 		if (changed) {
 			List<ElementarySubChange<E>> elementaryChanges = new ArrayList<>();
-			// collection may contain element multiple times; as we only want to
-			// notify once per element, we have to iterate over the set of
-			// unique elements
-			for (Object e : new HashSet<>(collection)) {
-				if (previousContents.contains(e)) {
-					// if the element was contained, its safe to cast to E in
-					// the following
-					if (previousContents.count(e) > count(e)) {
-						elementaryChanges.add(new ElementarySubChange<>((E) e,
-								previousContents.count(e), 0));
-					}
+			for (Object e : previousCounts.keySet()) {
+				// if the element was contained, its safe to cast to E in the
+				// following
+				int previousCount = previousCounts.get(e);
+				if (previousCount > count(e)) {
+					elementaryChanges.add(
+							new ElementarySubChange<>((E) e, previousCount, 0));
 				}
 			}
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new MultisetListenerHelper.AtomicChange<>(
+					this, elementaryChanges));
 		}
 		return changed;
 	}
@@ -244,9 +268,8 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 				elementaryChanges.add(new ElementarySubChange<>(e, 0,
 						addedElements.count(e)));
 			}
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new MultisetListenerHelper.AtomicChange<>(
+					this, previousContents, elementaryChanges));
 			return true;
 		}
 		return false;
@@ -268,48 +291,33 @@ class ObservableMultisetWrapper<E> extends ForwardingMultiset<E>
 
 				}
 			}
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new MultisetListenerHelper.AtomicChange<>(
+					this, previousContents, elementaryChanges));
 		}
 		return changed;
 	}
 
 	@Override
 	public int setCount(E element, int count) {
-		Multiset<E> previousContents = delegateCopy();
 		int countBefore = super.setCount(element, count);
 		if (count(element) > countBefore) {
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, new ElementarySubChange<>(element,
-									0, count(element) - countBefore)));
+			fireValueChangedEvent(element, 0, count(element) - countBefore);
 		} else if (count(element) < countBefore) {
-			helper.fireValueChangedEvent(
-					new MultisetListenerHelper.AtomicChange<>(this,
-							previousContents, new ElementarySubChange<>(element,
-									countBefore - count(element), 0)));
+			fireValueChangedEvent(element, countBefore - count(element), 0);
 		}
 		return countBefore;
 	}
 
 	@Override
 	public boolean setCount(E element, int oldCount, int newCount) {
-		Multiset<E> previousContents = delegateCopy();
 		boolean changed = super.setCount(element, oldCount, newCount);
 		// if changed it means that the oldCound was matched and that now we
 		// have the new count
 		if (changed) {
 			if (newCount > oldCount) {
-				helper.fireValueChangedEvent(
-						new MultisetListenerHelper.AtomicChange<>(this,
-								previousContents, new ElementarySubChange<>(
-										element, 0, newCount - oldCount)));
+				fireValueChangedEvent(element, 0, newCount - oldCount);
 			} else if (oldCount > newCount) {
-				helper.fireValueChangedEvent(
-						new MultisetListenerHelper.AtomicChange<>(this,
-								previousContents, new ElementarySubChange<>(
-										element, oldCount - newCount, 0)));
+				fireValueChangedEvent(element, oldCount - newCount, 0);
 			}
 		}
 		return changed;
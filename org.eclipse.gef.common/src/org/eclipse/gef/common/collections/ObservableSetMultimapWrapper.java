@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.gef.common.collections.SetMultimapListenerHelper.ElementarySubChange;
@@ -44,6 +45,9 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 	private SetMultimap<K, V> backingSetMultiMap;
 	private SetMultimapListenerHelper<K, V> helper = new SetMultimapListenerHelper<>(
 			this);
+	// the last change that was fired; the previous contents of changes are
+	// inferred lazily by reverting this change and all of its predecessors
+	private SetMultimapListenerHelper.AtomicChange<K, V> lastChange;
 
 	/**
 	 * Creates a new {@link ObservableSetMultimap} wrapping the given
@@ -78,9 +82,8 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 				elementaryChanges.add(new ElementarySubChange<>(key,
 						previousContents.get(key), Collections.<V> emptySet()));
 			}
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this, previousContents, elementaryChanges));
 		}
 	}
 
@@ -99,16 +102,43 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 		return HashMultimap.create(backingSetMultiMap);
 	}
 
+	/**
+	 * Notifies all listeners about the given change. The change is registered
+	 * as the successor of the previously fired change, so that the previous
+	 * contents of the changes can be inferred lazily, i.e. without copying
+	 * the backing {@link SetMultimap} upon each modification.
+	 *
+	 * @param change
+	 *            The change to fire.
+	 */
+	private void fireValueChangedEvent(
+			SetMultimapListenerHelper.AtomicChange<K, V> change) {
+		if (lastChange != null) {
+			lastChange.setSuccessor(change);
+		}
+		lastChange = change;
+		helper.fireValueChangedEvent(change);
+	}
+
+	/**
+	 * Computes the previous contents of the last fired change, so that the
+	 * backing {@link SetMultimap} can be modified without firing a change.
+	 */
+	private void inferLastPreviousContents() {
+		if (lastChange != null) {
+			lastChange.getPreviousContents();
+			lastChange = null;
+		}
+	}
+
 	@Override
 	public boolean put(K key, V value) {
-		SetMultimap<K, V> previousContents = delegateCopy();
 		if (super.put(key, value)) {
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents,
-							new ElementarySubChange<>(key,
-									Collections.<V> emptySet(),
-									Collections.singleton(value))));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this,
+					Collections.singletonList(new ElementarySubChange<>(key,
+							Collections.<V> emptySet(),
+							Collections.singleton(value)))));
 			return true;
 		}
 		return false;
@@ -116,16 +146,18 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 
 	@Override
 	public boolean putAll(K key, Iterable<? extends V> values) {
-		SetMultimap<K, V> previousContents = delegateCopy();
-		if (super.putAll(key, values)) {
-			Set<V> removedValues = new HashSet<>(previousContents.get(key));
-			removedValues.removeAll(get(key));
-			Set<V> addedValues = new HashSet<>(get(key));
-			addedValues.removeAll(previousContents.get(key));
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents, new ElementarySubChange<>(key,
-									removedValues, addedValues)));
+		// determine the added values in advance, so that no copy is needed
+		Set<V> addedValues = new HashSet<>();
+		for (V value : values) {
+			if (!containsEntry(key, value)) {
+				addedValues.add(value);
+			}
+		}
+		if (super.putAll(key, addedValues)) {
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this,
+					Collections.singletonList(new ElementarySubChange<>(key,
+							Collections.<V> emptySet(), addedValues))));
 			return true;
 		}
 		return false;
@@ -133,22 +165,23 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 
 	@Override
 	public boolean putAll(Multimap<? extends K, ? extends V> multimap) {
-		SetMultimap<K, V> previousContents = delegateCopy();
-		if (super.putAll(multimap)) {
+		// determine the added values in advance, so that no copy is needed
+		SetMultimap<K, V> addedEntries = HashMultimap.create();
+		for (Entry<? extends K, ? extends V> entry : multimap.entries()) {
+			if (!containsEntry(entry.getKey(), entry.getValue())) {
+				addedEntries.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (super.putAll(addedEntries)) {
 			List<ElementarySubChange<K, V>> elementaryChanges = new ArrayList<>();
 			for (K key : multimap.keySet()) {
 				// this causes multiple change notifications, as an elementary
 				// change is related to a single key only
-				Set<V> removedValues = new HashSet<>(previousContents.get(key));
-				removedValues.removeAll(get(key));
-				Set<V> addedValues = new HashSet<>(get(key));
-				addedValues.removeAll(previousContents.get(key));
 				elementaryChanges.add(new ElementarySubChange<>(key,
-						removedValues, addedValues));
+						Collections.<V> emptySet(), addedEntries.get(key)));
 			}
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this, elementaryChanges));
 			return true;
 		}
 		return false;
@@ -157,16 +190,14 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 	@SuppressWarnings("unchecked")
 	@Override
 	public boolean remove(Object key, Object value) {
-		SetMultimap<K, V> previousContents = delegateCopy();
 		if (super.remove(key, value)) {
 			// XXX: If the key or value are not of matching type, the super call
 			// should not have an effect; as such, the cast should be safe here.
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents,
-							new ElementarySubChange<>((K) key,
-									Collections.singleton((V) value),
-									Collections.<V> emptySet())));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this,
+					Collections.singletonList(new ElementarySubChange<>((K) key,
+							Collections.singleton((V) value),
+							Collections.<V> emptySet()))));
 			return true;
 		}
 		return false;
@@ -175,15 +206,14 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 	@SuppressWarnings("unchecked")
 	@Override
 	public Set<V> removeAll(Object key) {
-		SetMultimap<K, V> previousContents = delegateCopy();
 		Set<V> oldValues = super.removeAll(key);
 		if (!oldValues.isEmpty()) {
 			// XXX: If values could be removed, the key should have the
 			// appropriate type. As such the cast here should be safe.
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents, new ElementarySubChange<>((K) key,
-									oldValues, Collections.<V> emptySet())));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this,
+					Collections.singletonList(new ElementarySubChange<>((K) key,
+							oldValues, Collections.<V> emptySet()))));
 		}
 		return oldValues;
 	}
@@ -234,9 +264,8 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 							new HashSet<>(get(key))));
 				}
 			}
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents, elementaryChanges));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this, previousContents, elementaryChanges));
 			return true;
 		}
 		return false;
@@ -244,13 +273,16 @@ class ObservableSetMultimapWrapper<K, V> extends ForwardingSetMultimap<K, V>
 
 	@Override
 	public Set<V> replaceValues(K key, Iterable<? extends V> values) {
-		SetMultimap<K, V> previousContents = delegateCopy();
+		if (!containsKey(key) && values.iterator().hasNext()) {
+			// values for a new key are added without firing a change
+			inferLastPreviousContents();
+		}
 		Set<V> replacedValues = super.replaceValues(key, values);
 		if (!replacedValues.isEmpty()) {
-			helper.fireValueChangedEvent(
-					new SetMultimapListenerHelper.AtomicChange<>(this,
-							previousContents, new ElementarySubChange<>(key,
-									replacedValues, Sets.newHashSet(values))));
+			fireValueChangedEvent(new SetMultimapListenerHelper.AtomicChange<>(
+					this,
+					Collections.singletonList(new ElementarySubChange<>(key,
+							replacedValues, Sets.newHashSet(values)))));
 
 		}
 		return replacedValues;
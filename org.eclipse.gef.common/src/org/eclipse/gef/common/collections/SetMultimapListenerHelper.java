@@ -54,6 +54,8 @@ public class SetMultimapListenerHelper<K, V> {
 			extends SetMultimapChangeListener.Change<K, V> {
 
 		private SetMultimap<K, V> previousContents;
+		private SetMultimapChangeListener.Change<? extends K, ? extends V> previousContentsChange;
+		private AtomicChange<K, V> successor;
 		private ElementarySubChange<K, V>[] elementarySubChanges;
 		private int cursor = -1;
 
@@ -104,6 +106,27 @@ public class SetMultimapListenerHelper<K, V> {
 					.toArray(new ElementarySubChange[] {});
 		}
 
+		/**
+		 * Creates a new {@link SetMultimapListenerHelper.AtomicChange} that
+		 * represents a change comprising multiple elementary sub-changes,
+		 * whose previous contents are inferred lazily (see
+		 * {@link #getPreviousContents()}) from the current contents of the
+		 * source {@link ObservableSetMultimap}. The change has to be created
+		 * directly after it was applied, and all succeeding changes of the
+		 * source have to be registered via {@link #setSuccessor(AtomicChange)}.
+		 *
+		 * @param source
+		 *            The source {@link ObservableSetMultimap} from which the
+		 *            change originated.
+		 * @param elementarySubChanges
+		 *            The elementary sub-changes that have been applied as part
+		 *            of this change.
+		 */
+		AtomicChange(ObservableSetMultimap<K, V> source,
+				List<ElementarySubChange<K, V>> elementarySubChanges) {
+			this(source, (SetMultimap<K, V>) null, elementarySubChanges);
+		}
+
 		/**
 		 * Creates a new {@link MultisetListenerHelper.AtomicChange} for the
 		 * passed in source, based on the data provided in the passed-in change.
@@ -124,9 +147,9 @@ public class SetMultimapListenerHelper<K, V> {
 				SetMultimapChangeListener.Change<? extends K, ? extends V> change) {
 			super(source);
 
-			// copy previous contents
-			this.previousContents = HashMultimap
-					.create(change.getPreviousContents());
+			// previous contents are retrieved from the passed-in change on
+			// demand
+			this.previousContentsChange = change;
 			// retrieve elementary sub-changes by iterating them
 			// TODO: we could introduce an initialized field inside Change
 			// already, so we could check the passed in change is not already
@@ -143,25 +166,56 @@ public class SetMultimapListenerHelper<K, V> {
 		}
 
 		private void checkCursor() {
-			String methodName = Thread.currentThread().getStackTrace()[2]
-					.getMethodName();
+			// only retrieve the name of the calling method in case of an
+			// invalid cursor, as retrieving the stack trace is expensive
 			if (cursor == -1) {
 				throw new IllegalStateException("Need to call next() before "
-						+ methodName + "() can be called.");
+						+ getCallingMethodName() + "() can be called.");
 			} else if (cursor >= elementarySubChanges.length) {
-				throw new IllegalStateException("May only call " + methodName
+				throw new IllegalStateException("May only call "
+						+ getCallingMethodName()
 						+ "() if next() returned true.");
 			}
 		}
 
+		private String getCallingMethodName() {
+			// skip getStackTrace(), getCallingMethodName(), and checkCursor()
+			return Thread.currentThread().getStackTrace()[3].getMethodName();
+		}
+
 		@Override
 		public K getKey() {
 			checkCursor();
 			return elementarySubChanges[cursor].getKey();
 		}
 
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * In case the previous contents were not provided upon construction,
+		 * they are computed when first requested, by reverting this change
+		 * and all succeeding changes (in reverse order) on a copy of the
+		 * current contents of the source {@link ObservableSetMultimap}. This
+		 * way, no copy has to be created when the change is applied, while
+		 * the previous contents remain accessible after further changes.
+		 */
+		@SuppressWarnings("unchecked")
 		@Override
 		public SetMultimap<K, V> getPreviousContents() {
+			if (previousContents == null) {
+				if (previousContentsChange != null) {
+					// previous contents are unmodifiable, so that the cast is
+					// safe
+					previousContents = (SetMultimap<K, V>) previousContentsChange
+							.getPreviousContents();
+					previousContentsChange = null;
+				} else {
+					previousContents = inferPreviousContents();
+				}
+				// the succeeding changes are no longer needed, so that they
+				// are no longer kept alive by this change
+				successor = null;
+			}
 			return Multimaps.unmodifiableSetMultimap(previousContents);
 		}
 
@@ -177,6 +231,30 @@ public class SetMultimapListenerHelper<K, V> {
 			return elementarySubChanges[cursor].getValuesRemoved();
 		}
 
+		private SetMultimap<K, V> inferPreviousContents() {
+			// collect succeeding changes up to the first change for which the
+			// previous contents are known
+			List<AtomicChange<K, V>> changes = new ArrayList<>();
+			SetMultimap<K, V> contents = null;
+			AtomicChange<K, V> change = this;
+			while (change != null) {
+				if (change.previousContents != null) {
+					contents = HashMultimap.create(change.previousContents);
+					break;
+				}
+				changes.add(change);
+				change = change.successor;
+			}
+			if (contents == null) {
+				contents = HashMultimap.create(getSetMultimap());
+			}
+			// revert the changes in reverse order
+			for (int i = changes.size() - 1; i >= 0; i--) {
+				changes.get(i).revert(contents);
+			}
+			return contents;
+		}
+
 		@Override
 		public boolean next() {
 			cursor++;
@@ -188,6 +266,31 @@ public class SetMultimapListenerHelper<K, V> {
 			cursor = -1;
 		}
 
+		private void revert(SetMultimap<K, V> contents) {
+			for (int i = elementarySubChanges.length - 1; i >= 0; i--) {
+				ElementarySubChange<K, V> subChange = elementarySubChanges[i];
+				contents.get(subChange.getKey())
+						.removeAll(subChange.getValuesAdded());
+				contents.putAll(subChange.getKey(),
+						subChange.getValuesRemoved());
+			}
+		}
+
+		/**
+		 * Registers the given {@link AtomicChange} as the change that was
+		 * applied to the source {@link ObservableSetMultimap} directly after
+		 * this change, so that it can be reverted when inferring the previous
+		 * contents of this change.
+		 *
+		 * @param successor
+		 *            The succeeding {@link AtomicChange}.
+		 */
+		void setSuccessor(AtomicChange<K, V> successor) {
+			if (previousContents == null && previousContentsChange == null) {
+				this.successor = successor;
+			}
+		}
+
 		@Override
 		public String toString() {
 			StringBuffer sb = new StringBuffer();
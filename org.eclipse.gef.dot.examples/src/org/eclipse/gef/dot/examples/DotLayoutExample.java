@@ -19,7 +19,6 @@ import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.DotExecutableUtils;
 import org.eclipse.gef.dot.internal.DotExport;
-import org.eclipse.gef.dot.internal.DotFileUtils;
 import org.eclipse.gef.dot.internal.DotImport;
 import org.eclipse.gef.dot.internal.language.dot.GraphType;
 import org.eclipse.gef.dot.internal.language.layout.Layout;
@@ -85,14 +84,12 @@ public class DotLayoutExample extends AbstractZestExample {
 
 			// export the Graph with DotAttributs to a DOT string and call the
 			// dot executable to add layout info to it
-			File tmpFile = DotFileUtils
-					.write(new DotExport().exportDot(dotGraph));
 			String[] dotResult = DotExecutableUtils.executeDot(
-					new File(dotExecutablePath), true, tmpFile, null, null);
+					new File(dotExecutablePath), true,
+					new DotExport().exportDot(dotGraph), null, null);
 			if (!dotResult[1].isEmpty()) {
 				System.err.println(dotResult[1]);
 			}
-			tmpFile.delete();
 			Graph layoutedDotGraph = new DotImport().importDot(dotResult[0])
 					.get(0);
 
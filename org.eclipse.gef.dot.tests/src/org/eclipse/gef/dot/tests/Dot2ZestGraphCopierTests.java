@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.language.DotUiInjectorProvider;
+import org.eclipse.gef.dot.internal.ui.Dot2ZestGraphCopier;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.xtext.junit4.InjectWith;
+import org.eclipse.xtext.junit4.XtextRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for the incremental update of the {@link Dot2ZestGraphCopier}. The
+ * result of each update is compared against a fresh copy of the updated DOT
+ * graph.
+ *
+ * @author agent
+ *
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(DotUiInjectorProvider.class)
+public class Dot2ZestGraphCopierTests {
+
+	private final DotImport dotImport = new DotImport();
+
+	@Test
+	public void changedNodeAttribute() {
+		Graph zestGraph = assertUpdate(
+				"graph { a [color=red]; b; a -- b }", //$NON-NLS-1$
+				"graph { a [color=blue]; b; a -- b }"); //$NON-NLS-1$
+		assertEquals(2, zestGraph.getNodes().size());
+		assertEquals(1, zestGraph.getEdges().size());
+	}
+
+	@Test
+	public void removedAttribute() {
+		assertUpdate("graph { a [label=A, xlabel=X]; b; a -- b [label=E] }", //$NON-NLS-1$
+				"graph { a [label=A]; b; a -- b }"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void addedAndRemovedNodesAndEdges() {
+		assertUpdate("graph { a; b; c; a -- b; b -- c }", //$NON-NLS-1$
+				"graph { a; b; d; a -- b; b -- d; a -- d }"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void parallelEdges() {
+		// change the attributes of one of several edges between two nodes
+		assertUpdate("digraph { a; b; a -> b [color=red]; a -> b }", //$NON-NLS-1$
+				"digraph { a; b; a -> b [color=red]; a -> b [color=blue] }"); //$NON-NLS-1$
+		// add and remove one of several edges between two nodes
+		assertUpdate("digraph { a; b; a -> b; a -> b [label=x] }", //$NON-NLS-1$
+				"digraph { a; b; a -> b; a -> b [label=x]; a -> b [label=y] }"); //$NON-NLS-1$
+		assertUpdate("digraph { a; b; a -> b [label=x]; a -> b [label=y] }", //$NON-NLS-1$
+				"digraph { a; b; a -> b [label=y] }"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void unchangedNodesAndEdgesAreRetained() {
+		Dot2ZestGraphCopier copier = new Dot2ZestGraphCopier();
+		Graph zestGraph = copier
+				.copy(importDot("graph { a; b [color=red]; a -- b }")); //$NON-NLS-1$
+		Node a = zestGraph.getNodes().get(0);
+		Node b = zestGraph.getNodes().get(1);
+		Edge ab = zestGraph.getEdges().get(0);
+
+		assertTrue(copier.update(
+				importDot("graph { a; b [color=blue]; a -- b }"), zestGraph)); //$NON-NLS-1$
+		assertSame(a, zestGraph.getNodes().get(0));
+		assertSame(b, zestGraph.getNodes().get(1));
+		assertSame(ab, zestGraph.getEdges().get(0));
+	}
+
+	@Test
+	public void changedGraphAttributeRequiresCopy() {
+		Dot2ZestGraphCopier copier = new Dot2ZestGraphCopier();
+		Graph zestGraph = copier
+				.copy(importDot("graph { rankdir=TB; a; b; a -- b }")); //$NON-NLS-1$
+		List<String> before = describe(zestGraph);
+
+		Graph dotGraph = importDot("graph { rankdir=LR; a; b; a -- b }"); //$NON-NLS-1$
+		assertFalse(copier.update(dotGraph, zestGraph));
+		// the Zest graph is left untouched
+		assertEquals(before, describe(zestGraph));
+
+		// the fallback copy can be updated again
+		Graph copy = copier.copy(dotGraph);
+		assertTrue(copier.update(
+				importDot("graph { rankdir=LR; a; b; c; a -- b }"), copy)); //$NON-NLS-1$
+		assertEquals(
+				describe(new Dot2ZestGraphCopier().copy(
+						importDot("graph { rankdir=LR; a; b; c; a -- b }"))), //$NON-NLS-1$
+				describe(copy));
+	}
+
+	@Test
+	public void changedOptionsRequireCopy() {
+		Dot2ZestGraphCopier copier = new Dot2ZestGraphCopier();
+		Graph zestGraph = copier.copy(importDot("graph { a; b; a -- b }")); //$NON-NLS-1$
+		copier.getAttributeCopier().options().emulateLayout = false;
+		assertFalse(copier.update(importDot("graph { a; b; a -- b }"), //$NON-NLS-1$
+				zestGraph));
+	}
+
+	/**
+	 * Copies the first DOT graph, updates the copy to reflect the second DOT
+	 * graph, and asserts that the result equals a fresh copy of the second
+	 * DOT graph.
+	 */
+	private Graph assertUpdate(String dotBefore, String dotAfter) {
+		Dot2ZestGraphCopier copier = new Dot2ZestGraphCopier();
+		Graph zestGraph = copier.copy(importDot(dotBefore));
+		assertTrue(copier.update(importDot(dotAfter), zestGraph));
+		assertEquals(
+				describe(new Dot2ZestGraphCopier().copy(importDot(dotAfter))),
+				describe(zestGraph));
+		return zestGraph;
+	}
+
+	private Graph importDot(String dotString) {
+		List<Graph> graphs = dotImport.importDot(dotString);
+		assertEquals(1, graphs.size());
+		return graphs.get(0);
+	}
+
+	/**
+	 * Returns a sorted description of the nodes and edges of the given Zest
+	 * graph. Edges are described by the attributes of their source and target
+	 * nodes, so that graphs can be compared independent of node identity.
+	 */
+	private static List<String> describe(Graph zestGraph) {
+		List<String> descriptions = new ArrayList<>();
+		for (Node node : zestGraph.getNodes()) {
+			descriptions.add("node " + describe(node.getAttributes())); //$NON-NLS-1$
+		}
+		for (Edge edge : zestGraph.getEdges()) {
+			descriptions.add("edge " //$NON-NLS-1$
+					+ describe(edge.getSource().getAttributes()) + " -> " //$NON-NLS-1$
+					+ describe(edge.getTarget().getAttributes()) + " " //$NON-NLS-1$
+					+ describe(edge.getAttributes()));
+		}
+		Collections.sort(descriptions);
+		return descriptions;
+	}
+
+	private static String describe(Map<String, Object> attributes) {
+		Map<String, String> values = new TreeMap<>();
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			Object value = entry.getValue();
+			String packageName = value == null ? null
+					: value.getClass().getPackage().getName();
+			// visuals, routers, and interpolators are created per conversion
+			// and do not implement equals(), so only compare their type
+			if (value == null || packageName.startsWith("java.") //$NON-NLS-1$
+					|| packageName.startsWith("org.eclipse.gef.geometry")) { //$NON-NLS-1$
+				values.put(entry.getKey(), String.valueOf(value));
+			} else {
+				values.put(entry.getKey(), value.getClass().getName());
+			}
+		}
+		return values.toString();
+	}
+}
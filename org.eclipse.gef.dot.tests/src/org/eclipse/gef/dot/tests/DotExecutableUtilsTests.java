@@ -12,19 +12,28 @@
  *                                - minor refactorings
  *     Darius Jockel (itemis AG)  - Added tests for calling dot with large 
  *                                  input files #492395
+ *     agent - Added tests for streamed execution
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.tests;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Future;
 
+import org.eclipse.gef.dot.internal.DotExecutableService;
 import org.eclipse.gef.dot.internal.DotExecutableUtils;
 import org.eclipse.gef.dot.internal.ui.GraphvizPreferencePage;
 import org.junit.Assert;
@@ -100,6 +109,97 @@ public class DotExecutableUtilsTests {
 		}
 	}
 
+	@Test(timeout = 10000)
+	public void testStreamedExecution() throws Exception {
+		File stub = createStubExecutable();
+		// the output exceeds the pipe buffers of the operating system
+		StringBuilder input = new StringBuilder("digraph {\n");
+		for (int i = 0; i < 50000; i++) {
+			input.append("\tn").append(i).append(" -> n").append(i + 1)
+					.append(";\n");
+		}
+		input.append("}\n");
+		String[] outputs = DotExecutableUtils.executeDot(stub, true,
+				input.toString(), null, "dot");
+		assertEquals(input.toString(), outputs[0]);
+		assertEquals("-y -Tdot" + System.lineSeparator(), outputs[1]);
+	}
+
+	@Test(timeout = 10000)
+	public void testParallelExecution() throws Exception {
+		File running = Files.createTempDirectory("dot_running").toFile();
+		File log = File.createTempFile("dot_concurrency", ".log");
+		log.deleteOnExit();
+		File stub = createCountingStubExecutable(running, log);
+		DotExecutableService service = new DotExecutableService(2);
+		try {
+			List<Future<String[]>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(service.submit(
+						DotExecutableService.getCommands(
+								stub.getAbsolutePath(), false, null, null),
+						"graph { " + i + " }"));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals("graph { " + i + " }" + System.lineSeparator(),
+						results.get(i).get()[0]);
+			}
+		} finally {
+			service.dispose();
+			running.delete();
+		}
+		// each process logged the number of processes running at its start
+		List<String> counts = Files.readAllLines(log.toPath(),
+				StandardCharsets.UTF_8);
+		assertEquals(8, counts.size());
+		int maxConcurrency = 0;
+		for (String count : counts) {
+			maxConcurrency = Math.max(maxConcurrency,
+					Integer.parseInt(count.trim()));
+		}
+		assertTrue("At most 2 processes should run in parallel, but "
+				+ maxConcurrency + " did", maxConcurrency <= 2);
+	}
+
+	/**
+	 * Creates a shell script that stands in for the 'dot' executable. It
+	 * copies its standard input to its standard output and its arguments to
+	 * its standard error.
+	 */
+	private File createStubExecutable() throws IOException {
+		assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+		File stub = File.createTempFile("dot_stub", ".sh");
+		stub.deleteOnExit();
+		Files.write(stub.toPath(), "#!/bin/sh\ncat\necho \"$@\" 1>&2\n"
+				.getBytes(StandardCharsets.UTF_8));
+		assertTrue(stub.setExecutable(true));
+		return stub;
+	}
+
+	/**
+	 * Creates a shell script that stands in for the 'dot' executable and
+	 * counts the number of its instances that run in parallel. While it runs,
+	 * each instance creates a marker file in the given directory, and appends
+	 * the number of markers it finds (i.e. a lower bound for the number of
+	 * instances running at that time) to the given log file.
+	 */
+	private File createCountingStubExecutable(File running, File log)
+			throws IOException {
+		assumeFalse(System.getProperty("os.name").startsWith("Windows"));
+		File stub = File.createTempFile("dot_stub", ".sh");
+		stub.deleteOnExit();
+		String marker = "\"" + running.getAbsolutePath() + "/$$\"";
+		Files.write(stub.toPath(), ("#!/bin/sh\n" //
+				+ "touch " + marker + "\n" //
+				+ "ls \"" + running.getAbsolutePath() + "\" | wc -l >> \""
+				+ log.getAbsolutePath() + "\"\n" //
+				+ "sleep 0.2\n" //
+				+ "rm " + marker + "\n" //
+				+ "cat\n").getBytes(StandardCharsets.UTF_8));
+		assertTrue(stub.setExecutable(true));
+		return stub;
+	}
+
 	private void testImageExport(String fileName) {
 		if (dotExecutablePath != null) {
 			File inputFile = new File(DotTestUtils.RESOURCES_TESTS + fileName);
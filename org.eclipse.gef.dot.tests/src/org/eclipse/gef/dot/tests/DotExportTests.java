@@ -19,11 +19,15 @@ import static org.junit.Assert.assertEquals;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Scanner;
 
+import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.DotExport;
 import org.eclipse.gef.dot.internal.DotFileUtils;
+import org.eclipse.gef.dot.internal.language.dot.GraphType;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -66,6 +70,52 @@ public class DotExportTests {
 		testDotExport(DotTestUtils.getClusteredGraph(), "clustered_graph.dot");
 	}
 
+	@Test
+	public void edgeOnlyAndEmptySubgraphs() {
+		/*
+		 * digraph { subgraph cluster1 { a; b } subgraph edges { a -> b }
+		 * subgraph empty { } }
+		 */
+		Node a = new Node.Builder().attr(DotAttributes::_setName, "a") //$NON-NLS-1$
+				.buildNode();
+		Node b = new Node.Builder().attr(DotAttributes::_setName, "b") //$NON-NLS-1$
+				.buildNode();
+		Node cluster1 = new Node.Builder().buildNode();
+		cluster1.setNestedGraph(
+				new Graph.Builder().attr(DotAttributes::_setName, "cluster1")
+						.nodes(a, b).build());
+		Node edges = new Node.Builder().buildNode();
+		edges.setNestedGraph(
+				new Graph.Builder().attr(DotAttributes::_setName, "edges")
+						.edge(a, b).build());
+		Node empty = new Node.Builder().buildNode();
+		empty.setNestedGraph(new Graph.Builder()
+				.attr(DotAttributes::_setName, "empty").build());
+		Graph graph = new Graph.Builder()
+				.attr(DotAttributes::_setType, GraphType.DIGRAPH)
+				.nodes(cluster1, edges, empty).build();
+
+		String nl = System.lineSeparator();
+		String expected = "digraph {" + nl //$NON-NLS-1$
+				+ "\tsubgraph cluster1 {" + nl //$NON-NLS-1$
+				+ "\t\ta; b" + nl //$NON-NLS-1$
+				+ "\t}; subgraph edges {" + nl //$NON-NLS-1$
+				+ "\t\ta->b" + nl //$NON-NLS-1$
+				+ "\t}; subgraph empty {" + nl //$NON-NLS-1$
+				+ "\t}" + nl //$NON-NLS-1$
+				+ "}" + nl; //$NON-NLS-1$
+		String actual = dotExport.exportDot(graph);
+		assertEquals(expected, actual);
+		assertNoBlankLines(actual);
+	}
+
+	@Test(expected = IOException.class)
+	public void exportIntoInvalidFile() throws IOException {
+		// a directory cannot be written as a file
+		dotExport.exportDot(DotTestUtils.getSimpleGraph(),
+				outputFolder.getRoot().getPath());
+	}
+
 	private void testDotExport(final Graph graph, String fileName) {
 		String expected = DotFileUtils
 				.read(new File(RESOURCES_TESTS + fileName));
@@ -75,6 +125,16 @@ public class DotExportTests {
 		assertEquals(expected, actual);
 		assertNoBlankLines(actual);
 
+		// test exporting the graph into a writer
+		StringWriter writer = new StringWriter();
+		try {
+			dotExport.exportDot(graph, writer);
+		} catch (IOException e) {
+			e.printStackTrace();
+			Assert.fail("Cannot export graph into writer " + e.getMessage());
+		}
+		assertEquals(expected, writer.toString());
+
 		// test exporting the graph into a file
 		File outputFile = null;
 		try {
@@ -85,7 +145,12 @@ public class DotExportTests {
 					+ e.getMessage());
 		}
 
-		dotExport.exportDot(graph, outputFile.getPath());
+		try {
+			dotExport.exportDot(graph, outputFile.getPath());
+		} catch (IOException e) {
+			e.printStackTrace();
+			Assert.fail("Cannot export graph into file " + e.getMessage());
+		}
 		Assert.assertTrue("Generated file " + outputFile.getName() //$NON-NLS-1$
 				+ " must exist!", outputFile.exists());
 		actual = DotFileUtils.read(outputFile);
@@ -18,11 +18,17 @@ import static org.eclipse.gef.dot.tests.DotTestUtils.RESOURCES_TESTS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.DotStreamParser;
+import org.eclipse.gef.dot.internal.DotStreamParser.UnsupportedInputException;
 import org.eclipse.gef.dot.internal.language.DotUiInjectorProvider;
 import org.eclipse.gef.dot.internal.language.dot.GraphType;
 import org.eclipse.gef.dot.internal.language.layout.Layout;
@@ -81,6 +87,162 @@ public final class DotImportTests {
 		Assert.assertNotNull("Created graph must not be null", graph); //$NON-NLS-1$
 	}
 
+	/**
+	 * Test that the streaming import yields the same graphs as the Xtext-based
+	 * import, including inputs that require a fall back (e.g. subgraphs).
+	 */
+	@Test
+	public void streamImport() {
+		String[] dotStrings = new String[] {
+				DotTestGraphs.TWO_NODES_AND_THREE_EDGES,
+				DotTestGraphs.GLOBAL_EDGE_NODE_COLORSCHEME,
+				DotTestGraphs.CLUSTERS };
+		for (String dotString : dotStrings) {
+			assertStreamImportEquals(dotString);
+		}
+	}
+
+	@Test
+	public void streamImportComments() {
+		String dotString = "// line comment\n" //$NON-NLS-1$
+				+ "/* block\n comment */ graph { # preprocessor output\n" //$NON-NLS-1$
+				+ "1; /* between */ 2 // trailing\n" //$NON-NLS-1$
+				+ "1 -- /**/ 2\n}"; //$NON-NLS-1$
+		assertStreamable(dotString);
+		assertStreamImportEquals(dotString);
+	}
+
+	@Test
+	public void streamImportHtmlLikeIds() {
+		String dotString = "graph { 1 [label=<<b>bold</b> <i>text</i>>]; " //$NON-NLS-1$
+				+ "<a> -- 2 [label=<<br/>>] }"; //$NON-NLS-1$
+		assertStreamable(dotString);
+		assertStreamImportEquals(dotString);
+	}
+
+	@Test
+	public void streamImportNumerals() {
+		String dotString = "graph { 1; 2.5; .5; 3. [width=1.25]; " //$NON-NLS-1$
+				+ "-.5 [height=.75]; 1 -- 2.5 [weight=2] }"; //$NON-NLS-1$
+		assertStreamable(dotString);
+		assertStreamImportEquals(dotString);
+	}
+
+	@Test
+	public void streamImportEdgeChains() {
+		String dotString = "digraph { a -> b -> c [color=red]; c -> a; " //$NON-NLS-1$
+				+ "d -> e -> f -> d }"; //$NON-NLS-1$
+		assertStreamable(dotString);
+		assertStreamImportEquals(dotString);
+	}
+
+	@Test
+	public void streamImportKeywordCase() {
+		String dotString = "STRICT DiGraph G { GRAPH [label=x]; " //$NON-NLS-1$
+				+ "Node [shape=box]; EDGE [color=red]; a -> b }"; //$NON-NLS-1$
+		assertStreamable(dotString);
+		assertStreamImportEquals(dotString);
+	}
+
+	@Test
+	public void streamImportRepeatedAttributes() {
+		String dotString = "graph { node [color=red, color=blue]; " //$NON-NLS-1$
+				+ "edge [style=dashed] [style=dotted]; label=a; label=b; " //$NON-NLS-1$
+				+ "1 [label=x, label=y] [label=z]; " //$NON-NLS-1$
+				+ "1 -- 2 [color=red; color=green] }"; //$NON-NLS-1$
+		assertStreamable(dotString);
+		assertStreamImportEquals(dotString);
+	}
+
+	@Test
+	public void streamImportFallback() {
+		// subgraphs, edges to subgraphs, and ports are not supported by the
+		// stream parser, but are imported by the Xtext-based parser
+		String[] dotStrings = new String[] {
+				"graph { 1; subgraph s { 2; 3 } 1 -- 2 }", //$NON-NLS-1$
+				"graph { 1 -- { 2 3 } }", //$NON-NLS-1$
+				"digraph { a:n -> b:s }" }; //$NON-NLS-1$
+		for (String dotString : dotStrings) {
+			try {
+				DotStreamParser parser = new DotStreamParser(
+						new StringReader(dotString));
+				while (parser.next() != DotStreamParser.END_DOCUMENT) {
+					// continue
+				}
+				Assert.fail("Stream parser should not support " + dotString); //$NON-NLS-1$
+			} catch (UnsupportedInputException e) {
+				// expected
+			} catch (IOException e) {
+				Assert.fail(e.getMessage());
+			}
+			assertStreamImportEquals(dotString);
+		}
+	}
+
+	private void assertStreamable(String dotString) {
+		DotStreamParser parser = new DotStreamParser(
+				new StringReader(dotString));
+		try {
+			while (parser.next() != DotStreamParser.END_DOCUMENT) {
+				// continue
+			}
+		} catch (UnsupportedInputException e) {
+			Assert.fail("Stream parser should support " + dotString); //$NON-NLS-1$
+		} catch (IOException e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	private void assertStreamImportEquals(String dotString) {
+		List<Graph> expected = dotImport.importDot(dotString);
+		List<Graph> actual = dotImport.importDot(new ByteArrayInputStream(
+				dotString.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(dotString, expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertGraphEquals(dotString, expected.get(i), actual.get(i));
+		}
+	}
+
+	private void assertGraphEquals(String message, Graph expected,
+			Graph actual) {
+		assertEquals(message, expected.getAttributes(),
+				actual.getAttributes());
+		assertEquals(message, expected.getNodes().size(),
+				actual.getNodes().size());
+		for (int i = 0; i < expected.getNodes().size(); i++) {
+			Node expectedNode = expected.getNodes().get(i);
+			Node actualNode = actual.getNodes().get(i);
+			assertEquals(message, expectedNode.getAttributes(),
+					actualNode.getAttributes());
+			assertEquals(message, expectedNode.getNestedGraph() == null,
+					actualNode.getNestedGraph() == null);
+			if (expectedNode.getNestedGraph() != null) {
+				assertGraphEquals(message, expectedNode.getNestedGraph(),
+						actualNode.getNestedGraph());
+			}
+		}
+		assertEquals(message, expected.getEdges().size(),
+				actual.getEdges().size());
+		for (int i = 0; i < expected.getEdges().size(); i++) {
+			Edge expectedEdge = expected.getEdges().get(i);
+			Edge actualEdge = actual.getEdges().get(i);
+			assertEquals(message, expectedEdge.getAttributes(),
+					actualEdge.getAttributes());
+			assertEquals(message,
+					expected.getNodes().indexOf(expectedEdge.getSource()),
+					actual.getNodes().indexOf(actualEdge.getSource()));
+			assertEquals(message,
+					expected.getNodes().indexOf(expectedEdge.getTarget()),
+					actual.getNodes().indexOf(actualEdge.getTarget()));
+			assertEquals(message,
+					DotAttributes._getName(expectedEdge.getSource()),
+					DotAttributes._getName(actualEdge.getSource()));
+			assertEquals(message,
+					DotAttributes._getName(expectedEdge.getTarget()),
+					DotAttributes._getName(actualEdge.getTarget()));
+		}
+	}
+
 	/**
 	 * Test error handling for invalid graph.
 	 */
@@ -12,12 +12,16 @@
  *     Tamas Miklossy   (itemis AG) - Add support for arrowType edge decorations (bug #477980)
  *                                  - Add support for polygon-based node shapes (bug #441352)
  *                                  - Add support for all dot attributes (bug #461506)
+ *     agent                        - Cache converted values during a copy
  *
  *******************************************************************************/
 package org.eclipse.gef.dot.internal.ui;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.gef.common.attributes.IAttributeCopier;
 import org.eclipse.gef.common.attributes.IAttributeStore;
@@ -50,6 +54,7 @@ import org.eclipse.gef.fx.nodes.StraightRouter;
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Ellipse;
 import org.eclipse.gef.geometry.planar.ICurve;
+import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Polygon;
 import org.eclipse.gef.geometry.planar.Rectangle;
@@ -70,6 +75,11 @@ import javafx.scene.text.Text;
  * A converter that transforms a {@link Graph} that is attributed with
  * {@link DotAttributes} into a {@link Graph} that is attributed with
  * {@link ZestProperties}.
+ * <p>
+ * While caching is enabled (see {@link #setCaching(boolean)}), values that
+ * are converted from raw DOT attribute values (e.g. colors, styles, shapes,
+ * positions, and label sizes) are cached by the raw values, so that values
+ * that are repeated across elements are only parsed and converted once.
  * 
  * @author anyssen
  *
@@ -103,6 +113,15 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		public boolean invertYAxis = false;
 	}
 
+	// caches of converted values, keyed by raw DOT attribute values
+	private boolean caching = false;
+	private Map<String, String> zestEdgeColors = new HashMap<>();
+	private Map<String, String> zestFillColors = new HashMap<>();
+	private Map<List<String>, String> zestNodeStyles = new HashMap<>();
+	private Map<String, IGeometry> zestShapeGeometries = new HashMap<>();
+	private Map<String, List<Point>> zestBSplineControlPoints = new HashMap<>();
+	private Map<String, Dimension> zestLabelSizes = new HashMap<>();
+
 	@Override
 	public void copy(IAttributeStore source, IAttributeStore target) {
 		if (source instanceof Node && target instanceof Node) {
@@ -184,14 +203,7 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		}
 
 		// color
-		Color dotColor = null;
-		ColorList colorList = DotAttributes.getColorParsed(dot);
-		if (colorList != null && !colorList.getColorValues().isEmpty()) {
-			// TODO: add support for colorList
-			dotColor = colorList.getColorValues().get(0).getColor();
-		}
-
-		String javaFxColor = computeZestColor(dotColor);
+		String javaFxColor = computeZestEdgeColor(dot);
 		if (javaFxColor != null) {
 			String zestStroke = "-fx-stroke: " + javaFxColor + ";"; //$NON-NLS-1$ //$NON-NLS-2$
 			connectionCssStyle += zestStroke;
@@ -212,8 +224,7 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		ZestProperties.setCurveCssStyle(zest, connectionCssStyle);
 
 		// fillcolor
-		Color dotFillColor = DotAttributes.getFillcolorParsed(dot);
-		String javaFxFillColor = computeZestColor(dotFillColor);
+		String javaFxFillColor = computeZestEdgeFillColor(dot);
 		if (javaFxFillColor != null) {
 			String zestSourceDecorationCssStyle = ZestProperties
 					.getSourceDecorationCssStyle(zest);
@@ -427,7 +438,56 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		return DotArrowShapeDecorations.get(arrowType, arrowSize);
 	}
 
+	private String computeZestEdgeColor(Edge dot) {
+		String dotColor = DotAttributes.getColor(dot);
+		if (caching && zestEdgeColors.containsKey(dotColor)) {
+			return zestEdgeColors.get(dotColor);
+		}
+		Color dotColorParsed = null;
+		ColorList colorList = DotAttributes.getColorParsed(dot);
+		if (colorList != null && !colorList.getColorValues().isEmpty()) {
+			// TODO: add support for colorList
+			dotColorParsed = colorList.getColorValues().get(0).getColor();
+		}
+		String javaFxColor = computeZestColor(dotColorParsed);
+		if (caching) {
+			zestEdgeColors.put(dotColor, javaFxColor);
+		}
+		return javaFxColor;
+	}
+
+	private String computeZestEdgeFillColor(Edge dot) {
+		String dotFillColor = DotAttributes.getFillcolor(dot);
+		if (caching && zestFillColors.containsKey(dotFillColor)) {
+			return zestFillColors.get(dotFillColor);
+		}
+		String javaFxFillColor = computeZestColor(
+				DotAttributes.getFillcolorParsed(dot));
+		if (caching) {
+			zestFillColors.put(dotFillColor, javaFxFillColor);
+		}
+		return javaFxFillColor;
+	}
+
 	private List<Point> computeZestBSplineControlPoints(Edge dot) {
+		if (!caching) {
+			return doComputeZestBSplineControlPoints(dot);
+		}
+		String dotPos = DotAttributes.getPos(dot);
+		List<Point> controlPoints = zestBSplineControlPoints.get(dotPos);
+		if (controlPoints == null) {
+			controlPoints = doComputeZestBSplineControlPoints(dot);
+			zestBSplineControlPoints.put(dotPos, controlPoints);
+		}
+		// return copies, as the points are passed into the Zest graph
+		List<Point> copies = new ArrayList<>(controlPoints.size());
+		for (Point p : controlPoints) {
+			copies.add(p.getCopy());
+		}
+		return copies;
+	}
+
+	private List<Point> doComputeZestBSplineControlPoints(Edge dot) {
 		SplineType splineType = DotAttributes.getPosParsed(dot);
 		List<Point> controlPoints = new ArrayList<>();
 		for (Spline spline : splineType.getSplines()) {
@@ -473,39 +533,12 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 
 		// style and color
 		String zestShapeStyle = computeZestStyle(dot);
-		org.eclipse.gef.dot.internal.language.shape.Shape dotShape = DotAttributes
-				.getShapeParsed(dot);
 		javafx.scene.Node zestShape = null;
-		if (dotShape == null) {
-			// ellipse is default shape
-			zestShape = new GeometryNode<>(new Ellipse(new Rectangle()));
-		} else if (dotShape.getShape() instanceof PolygonBasedShape) {
-			PolygonBasedNodeShape polygonShape = ((PolygonBasedShape) dotShape
-					.getShape()).getShape();
-			// handle different polygon shapes
-			if (PolygonBasedNodeShape.CIRCLE.equals(polygonShape)
-					|| PolygonBasedNodeShape.ELLIPSE.equals(polygonShape)
-					|| PolygonBasedNodeShape.OVAL.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(new Ellipse(new Rectangle()));
-			} else if (PolygonBasedNodeShape.BOX.equals(polygonShape)
-					|| PolygonBasedNodeShape.RECT.equals(polygonShape)
-					|| PolygonBasedNodeShape.RECTANGLE.equals(polygonShape)
-					|| PolygonBasedNodeShape.SQUARE.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(new Rectangle());
-			} else if (PolygonBasedNodeShape.DIAMOND.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(
-						new Polygon(0, 50, 50, 0, 100, 50, 50, 100, 0, 50));
-			} else if (PolygonBasedNodeShape.INVTRIANGLE.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(
-						new Polygon(0, 10, 100, 10, 50, 100, 0, 10));
-			} else if (PolygonBasedNodeShape.TRIANGLE.equals(polygonShape)) {
-				zestShape = new GeometryNode<>(
-						new Polygon(0, 50, 50, 0, 100, 50, 0, 50));
-			} else {
-				// TODO: handle other polygon shapes
-			}
-		} else {
-			// handle record and custom shapes
+		IGeometry zestShapeGeometry = computeZestShapeGeometry(dot);
+		if (zestShapeGeometry != null) {
+			// XXX: The geometry is copied, as it may be cached (while the
+			// shape node cannot be shared).
+			zestShape = new GeometryNode<>(zestShapeGeometry.getCopy());
 		}
 
 		if (zestShape != null) {
@@ -548,7 +581,7 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 			// if we are to emulate dot and fixedsize=true is not given, we have
 			// to compute the size to enclose image, label, and margin.
 			// TODO: also enclose image and margin
-			Dimension labelSize = computeZestLabelSize(dotLabel);
+			Dimension labelSize = getZestLabelSize(dotLabel);
 			ZestProperties.setSize(zest, Dimension
 					.max(new Dimension(zestWidth, zestHeight), labelSize));
 		} else {
@@ -579,7 +612,67 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		}
 	}
 
+	private IGeometry computeZestShapeGeometry(Node dot) {
+		String dotShape = DotAttributes.getShape(dot);
+		if (caching && zestShapeGeometries.containsKey(dotShape)) {
+			return zestShapeGeometries.get(dotShape);
+		}
+		IGeometry zestShapeGeometry = doComputeZestShapeGeometry(dot);
+		if (caching) {
+			zestShapeGeometries.put(dotShape, zestShapeGeometry);
+		}
+		return zestShapeGeometry;
+	}
+
+	private IGeometry doComputeZestShapeGeometry(Node dot) {
+		org.eclipse.gef.dot.internal.language.shape.Shape dotShape = DotAttributes
+				.getShapeParsed(dot);
+		if (dotShape == null) {
+			// ellipse is default shape
+			return new Ellipse(new Rectangle());
+		} else if (dotShape.getShape() instanceof PolygonBasedShape) {
+			PolygonBasedNodeShape polygonShape = ((PolygonBasedShape) dotShape
+					.getShape()).getShape();
+			// handle different polygon shapes
+			if (PolygonBasedNodeShape.CIRCLE.equals(polygonShape)
+					|| PolygonBasedNodeShape.ELLIPSE.equals(polygonShape)
+					|| PolygonBasedNodeShape.OVAL.equals(polygonShape)) {
+				return new Ellipse(new Rectangle());
+			} else if (PolygonBasedNodeShape.BOX.equals(polygonShape)
+					|| PolygonBasedNodeShape.RECT.equals(polygonShape)
+					|| PolygonBasedNodeShape.RECTANGLE.equals(polygonShape)
+					|| PolygonBasedNodeShape.SQUARE.equals(polygonShape)) {
+				return new Rectangle();
+			} else if (PolygonBasedNodeShape.DIAMOND.equals(polygonShape)) {
+				return new Polygon(0, 50, 50, 0, 100, 50, 50, 100, 0, 50);
+			} else if (PolygonBasedNodeShape.INVTRIANGLE.equals(polygonShape)) {
+				return new Polygon(0, 10, 100, 10, 50, 100, 0, 10);
+			} else if (PolygonBasedNodeShape.TRIANGLE.equals(polygonShape)) {
+				return new Polygon(0, 50, 50, 0, 100, 50, 0, 50);
+			} else {
+				// TODO: handle other polygon shapes
+			}
+		} else {
+			// handle record and custom shapes
+		}
+		return null;
+	}
+
 	private String computeZestStyle(Node dot) {
+		if (!caching) {
+			return doComputeZestStyle(dot);
+		}
+		List<String> key = Arrays.asList(DotAttributes.getColor(dot),
+				DotAttributes.getStyle(dot), DotAttributes.getFillcolor(dot));
+		if (zestNodeStyles.containsKey(key)) {
+			return zestNodeStyles.get(key);
+		}
+		String zestStyle = doComputeZestStyle(dot);
+		zestNodeStyles.put(key, zestStyle);
+		return zestStyle;
+	}
+
+	private String doComputeZestStyle(Node dot) {
 		String zestStyle = null;
 		// color
 		Color dotColor = DotAttributes.getColorParsed(dot);
@@ -633,11 +726,23 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 	private Point computeZestLabelPosition(
 			org.eclipse.gef.dot.internal.language.point.Point dotLabelPosition,
 			String labelText) {
-		Dimension labelSize = computeZestLabelSize(labelText);
+		Dimension labelSize = getZestLabelSize(labelText);
 		return computeZestPosition(dotLabelPosition, labelSize.getWidth(),
 				labelSize.getHeight());
 	}
 
+	private Dimension getZestLabelSize(String labelText) {
+		if (!caching) {
+			return computeZestLabelSize(labelText);
+		}
+		Dimension labelSize = zestLabelSizes.get(labelText);
+		if (labelSize == null) {
+			labelSize = computeZestLabelSize(labelText);
+			zestLabelSizes.put(labelText, labelSize);
+		}
+		return labelSize.getCopy();
+	}
+
 	static Dimension computeZestLabelSize(String labelText) {
 		// TODO: respect font settings (font name and size)
 		Bounds layoutBounds = new Text(labelText).getLayoutBounds();
@@ -717,4 +822,26 @@ public class Dot2ZestAttributesConverter implements IAttributeCopier {
 		return options;
 	}
 
+	/**
+	 * Enables or disables caching of converted values. As the cached values
+	 * depend on the {@link #options()}, caching should only be enabled for
+	 * the duration of a single copy operation. The caches are cleared when
+	 * caching is disabled.
+	 * 
+	 * @param caching
+	 *            <code>true</code> to enable caching, <code>false</code> to
+	 *            disable it.
+	 */
+	public void setCaching(boolean caching) {
+		this.caching = caching;
+		if (!caching) {
+			zestEdgeColors.clear();
+			zestFillColors.clear();
+			zestNodeStyles.clear();
+			zestShapeGeometries.clear();
+			zestBSplineControlPoints.clear();
+			zestLabelSizes.clear();
+		}
+	}
+
 }
@@ -13,8 +13,12 @@
 package org.eclipse.gef.dot.internal.ui;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.dot.internal.DotAttributes;
 import org.eclipse.gef.dot.internal.language.rect.Rect;
 import org.eclipse.gef.fx.nodes.GeometryNode;
@@ -29,6 +33,17 @@ import org.eclipse.gef.zest.fx.ZestProperties;
 
 public class Dot2ZestGraphCopier extends GraphCopier {
 
+	// state of the last copy, used to incrementally update its output
+	private Graph inputGraph;
+	private Graph outputGraph;
+	private boolean emulateLayout;
+	private boolean invertYAxis;
+	private boolean ignorePositions;
+	private Map<String, Node> inputNodes = new HashMap<>();
+	private Map<String, Node> outputNodes = new HashMap<>();
+	private Map<String, Edge> inputEdges = new HashMap<>();
+	private Map<String, Edge> outputEdges = new HashMap<>();
+
 	public Dot2ZestGraphCopier() {
 		super(new Dot2ZestAttributesConverter());
 	}
@@ -39,6 +54,16 @@ public class Dot2ZestGraphCopier extends GraphCopier {
 	}
 
 	public Graph copy(Graph graph) {
+		// cache converted attribute values for the duration of the copy
+		getAttributeCopier().setCaching(true);
+		try {
+			return doCopy(graph);
+		} finally {
+			getAttributeCopier().setCaching(false);
+		}
+	}
+
+	private Graph doCopy(Graph graph) {
 		Graph copiedGraph = super.copy(graph);
 		// post-process graph to 'flatten' non-cluster subgraphs
 		List<org.eclipse.gef.graph.Node> replacementNodes = new ArrayList<>();
@@ -127,6 +152,200 @@ public class Dot2ZestGraphCopier extends GraphCopier {
 		}
 		// add cluster nodes as lowest in z-order
 		copiedGraph.getNodes().setAll(replacementNodes);
+
+		// index nodes and edges, so the copied graph can be updated
+		// incrementally (not supported for nested graphs, as these are
+		// flattened)
+		inputGraph = null;
+		outputGraph = null;
+		inputNodes.clear();
+		outputNodes.clear();
+		inputEdges.clear();
+		outputEdges.clear();
+		if (graph != null && !hasNestedGraphs(graph)) {
+			inputGraph = graph;
+			outputGraph = copiedGraph;
+			emulateLayout = getAttributeCopier().options().emulateLayout;
+			invertYAxis = getAttributeCopier().options().invertYAxis;
+			ignorePositions = getAttributeCopier().options().ignorePositions;
+			for (Node node : graph.getNodes()) {
+				String name = DotAttributes._getName(node);
+				inputNodes.put(name, node);
+				outputNodes.put(name, getInputToOutputNodeMap().get(node));
+			}
+			for (Map.Entry<String, Edge> entry : getEdgeKeys(graph)
+					.entrySet()) {
+				inputEdges.put(entry.getKey(), entry.getValue());
+				outputEdges.put(entry.getKey(),
+						getInputToOutputEdgeMap().get(entry.getValue()));
+			}
+		}
 		return copiedGraph;
 	}
+
+	private void convertAttributes(IAttributeStore input,
+			IAttributeStore previousInput, IAttributeStore output) {
+		// convert the previous and current input attributes, so that
+		// attributes that are no longer converted can be removed from the
+		// output, while attributes set by others (e.g. layout) are preserved
+		IAttributeStore previous = input instanceof Node ? new Node()
+				: new Edge(new Node(), new Node());
+		IAttributeStore current = input instanceof Node ? new Node()
+				: new Edge(new Node(), new Node());
+		copyAttributes(previousInput, previous);
+		copyAttributes(input, current);
+		for (String key : previous.getAttributes().keySet()) {
+			if (!current.getAttributes().containsKey(key)) {
+				output.getAttributes().remove(key);
+			}
+		}
+		output.getAttributes().putAll(current.getAttributes());
+	}
+
+	/**
+	 * Returns the edges of the given graph, keyed by the names of their source
+	 * and target nodes and their index among the edges between these nodes.
+	 */
+	private Map<String, Edge> getEdgeKeys(Graph graph) {
+		Map<String, Edge> edges = new LinkedHashMap<>();
+		Map<String, Integer> counts = new HashMap<>();
+		for (Edge edge : graph.getEdges()) {
+			String nodes = DotAttributes._getName(edge.getSource()) + "->" //$NON-NLS-1$
+					+ DotAttributes._getName(edge.getTarget());
+			Integer count = counts.get(nodes);
+			count = count == null ? 0 : count + 1;
+			counts.put(nodes, count);
+			edges.put(nodes + "#" + count, edge); //$NON-NLS-1$
+		}
+		return edges;
+	}
+
+	private boolean hasNestedGraphs(Graph graph) {
+		for (Node node : graph.getNodes()) {
+			if (node.getNestedGraph() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Updates the given Zest graph, which has to be the result of the last
+	 * {@link #copy(Graph)} or {@link #update(Graph, Graph)} call, to reflect
+	 * the given DOT graph. Only the nodes and edges whose attributes changed
+	 * are updated, and only the nodes and edges that were added or removed
+	 * are added to or removed from the Zest graph, so that the other content
+	 * parts are retained. Nodes are identified by their names, edges by the
+	 * names of their source and target nodes.
+	 *
+	 * @param graph
+	 *            The DOT {@link Graph} to reflect.
+	 * @param zestGraph
+	 *            The Zest {@link Graph} to update.
+	 * @return <code>true</code> if the Zest graph could be updated,
+	 *         <code>false</code> if it needs to be replaced with a new
+	 *         {@link #copy(Graph)} of the given DOT graph (e.g. because the
+	 *         graph attributes or options changed, or because nested graphs
+	 *         are involved).
+	 */
+	public boolean update(Graph graph, Graph zestGraph) {
+		// cache converted attribute values for the duration of the update
+		getAttributeCopier().setCaching(true);
+		try {
+			return doUpdate(graph, zestGraph);
+		} finally {
+			getAttributeCopier().setCaching(false);
+		}
+	}
+
+	private boolean doUpdate(Graph graph, Graph zestGraph) {
+		if (inputGraph == null || graph == null || zestGraph != outputGraph
+				|| hasNestedGraphs(graph)
+				|| emulateLayout != getAttributeCopier()
+						.options().emulateLayout
+				|| invertYAxis != getAttributeCopier().options().invertYAxis
+				|| ignorePositions != getAttributeCopier()
+						.options().ignorePositions
+				|| !new HashMap<>(inputGraph.getAttributes())
+						.equals(new HashMap<>(graph.getAttributes()))) {
+			return false;
+		}
+
+		// diff nodes by name
+		Map<String, Node> newInputNodes = new HashMap<>();
+		Map<String, Node> newOutputNodes = new HashMap<>();
+		List<Node> addedNodes = new ArrayList<>();
+		for (Node node : graph.getNodes()) {
+			String name = DotAttributes._getName(node);
+			Node inputNode = inputNodes.get(name);
+			Node outputNode = outputNodes.get(name);
+			if (inputNode == null) {
+				outputNode = new Node();
+				copyAttributes(node, outputNode);
+				addedNodes.add(outputNode);
+			} else if (!new HashMap<>(inputNode.getAttributes())
+					.equals(new HashMap<>(node.getAttributes()))) {
+				convertAttributes(node, inputNode, outputNode);
+			}
+			newInputNodes.put(name, node);
+			newOutputNodes.put(name, outputNode);
+		}
+		List<Node> removedNodes = new ArrayList<>();
+		for (String name : outputNodes.keySet()) {
+			if (!newOutputNodes.containsKey(name)) {
+				removedNodes.add(outputNodes.get(name));
+			}
+		}
+
+		// diff edges by source and target node names
+		Map<String, Edge> newInputEdges = getEdgeKeys(graph);
+		Map<String, Edge> newOutputEdges = new HashMap<>();
+		List<Edge> addedEdges = new ArrayList<>();
+		for (Map.Entry<String, Edge> entry : newInputEdges.entrySet()) {
+			Edge edge = entry.getValue();
+			Edge inputEdge = inputEdges.get(entry.getKey());
+			Edge outputEdge = outputEdges.get(entry.getKey());
+			if (inputEdge == null) {
+				outputEdge = new Edge(
+						newOutputNodes
+								.get(DotAttributes._getName(edge.getSource())),
+						newOutputNodes.get(
+								DotAttributes._getName(edge.getTarget())));
+				copyAttributes(edge, outputEdge);
+				addedEdges.add(outputEdge);
+			} else if (!new HashMap<>(inputEdge.getAttributes())
+					.equals(new HashMap<>(edge.getAttributes()))) {
+				convertAttributes(edge, inputEdge, outputEdge);
+			}
+			newOutputEdges.put(entry.getKey(), outputEdge);
+		}
+		List<Edge> removedEdges = new ArrayList<>();
+		for (String key : outputEdges.keySet()) {
+			if (!newOutputEdges.containsKey(key)) {
+				removedEdges.add(outputEdges.get(key));
+			}
+		}
+
+		// apply changes in bulk (edges are removed before and added after
+		// their nodes)
+		if (!removedEdges.isEmpty()) {
+			zestGraph.getEdges().removeAll(removedEdges);
+		}
+		if (!removedNodes.isEmpty()) {
+			zestGraph.getNodes().removeAll(removedNodes);
+		}
+		if (!addedNodes.isEmpty()) {
+			zestGraph.getNodes().addAll(addedNodes);
+		}
+		if (!addedEdges.isEmpty()) {
+			zestGraph.getEdges().addAll(addedEdges);
+		}
+
+		inputGraph = graph;
+		inputNodes = newInputNodes;
+		outputNodes = newOutputNodes;
+		inputEdges = newInputEdges;
+		outputEdges = newOutputEdges;
+		return true;
+	}
 }
\ No newline at end of file
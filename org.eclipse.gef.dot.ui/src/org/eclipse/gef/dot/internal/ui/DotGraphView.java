@@ -319,6 +319,14 @@ public class DotGraphView extends ZestFxUiView {
 		dot2ZestGraphCopier.getAttributeCopier()
 				.options().emulateLayout = !isNativeMode;
 		dot2ZestGraphCopier.getAttributeCopier().options().invertYAxis = false;
+
+		// update the current Zest graph in place if possible, so that only the
+		// content parts of changed nodes and edges are refreshed
+		List<Object> contents = getContentViewer().getContents();
+		if (contents.size() == 1 && contents.get(0) instanceof Graph
+				&& dot2ZestGraphCopier.update(graph, (Graph) contents.get(0))) {
+			return;
+		}
 		super.setGraph(dot2ZestGraphCopier.copy(graph));
 
 		// adjust viewport to scroll to top-left
@@ -359,10 +367,8 @@ public class DotGraphView extends ZestFxUiView {
 		boolean isEmbeddedDotFile = !currentFile.getName()
 				.endsWith("." + EXTENSION); //$NON-NLS-1$
 
-		DotExtractor dotExtractor = null;
 		if (isEmbeddedDotFile) {
-			dotExtractor = new DotExtractor(currentFile);
-			currentDot = dotExtractor.getDotString();
+			currentDot = new DotExtractor(currentFile).getDotString();
 		} else {
 			currentDot = DotFileUtils.read(currentFile);
 		}
@@ -372,21 +378,11 @@ public class DotGraphView extends ZestFxUiView {
 		// algorithms.
 		if (isNativeMode()) {
 			// System.out.println("[DOT Input] [" + currentDot + "]");
-			String[] result;
-			if (isEmbeddedDotFile) {
-				File tempDotFile = dotExtractor.getDotTempFile();
-				if (tempDotFile == null) {
-					return false;
-				}
-				result = DotExecutableUtils.executeDot(
-						new File(GraphvizPreferencePage.getDotExecutablePath()),
-						true, tempDotFile, null, null);
-				tempDotFile.delete();
-			} else {
-				result = DotExecutableUtils.executeDot(
-						new File(GraphvizPreferencePage.getDotExecutablePath()),
-						true, file, null, null);
-			}
+			// stream the DOT input to the executable, so that no (temporary)
+			// input file is needed
+			String[] result = DotExecutableUtils.executeDot(
+					new File(GraphvizPreferencePage.getDotExecutablePath()),
+					true, currentDot, null, null);
 			currentDot = result[0];
 			// System.out.println("[DOT Output] [" + currentDot + "]");
 		}
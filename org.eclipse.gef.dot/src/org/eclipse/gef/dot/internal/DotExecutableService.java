@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.gef.common.dispose.IDisposable;
+
+/**
+ * The {@link DotExecutableService} runs the Graphviz 'dot' executable (or any
+ * other executable with a compatible command line interface). The DOT input is
+ * streamed to the process via its standard input. The standard output and
+ * error streams are drained concurrently, so no temporary files are needed and
+ * the process cannot block on full output buffers. The number of processes
+ * that run in parallel is limited, and the threads that drain the streams are
+ * pooled.
+ *
+ * @author agent
+ *
+ */
+public class DotExecutableService implements IDisposable {
+
+	private static DotExecutableService defaultInstance;
+
+	private final Semaphore permits;
+	private final ExecutorService executor;
+
+	/**
+	 * Creates a new {@link DotExecutableService} that runs at most the given
+	 * number of processes in parallel.
+	 *
+	 * @param maxParallelExecutions
+	 *            The maximum number of processes that run in parallel.
+	 */
+	public DotExecutableService(int maxParallelExecutions) {
+		if (maxParallelExecutions < 1) {
+			throw new IllegalArgumentException(
+					"maxParallelExecutions must be positive, but is "
+							+ maxParallelExecutions);
+		}
+		permits = new Semaphore(maxParallelExecutions, true);
+		executor = Executors.newCachedThreadPool(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "DotExecutableService");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Returns the shared {@link DotExecutableService}, which runs at most as
+	 * many processes in parallel as processors are available.
+	 *
+	 * @return The shared {@link DotExecutableService}.
+	 */
+	public static synchronized DotExecutableService getDefault() {
+		if (defaultInstance == null) {
+			defaultInstance = new DotExecutableService(
+					Runtime.getRuntime().availableProcessors());
+		}
+		return defaultInstance;
+	}
+
+	/**
+	 * Returns the commands to pass the given arguments to the 'dot'
+	 * executable, which reads its input from the standard input.
+	 *
+	 * @param dotExecutablePath
+	 *            The path of the local Graphviz 'dot' executable.
+	 * @param invertYAxis
+	 *            Whether to invert the y-axis or not.
+	 * @param outputFormat
+	 *            The output format to pass to 'dot' via the -T option. May be
+	 *            <code>null</code>.
+	 * @param outputFile
+	 *            The output file to pass to 'dot' via the -o option. May be
+	 *            <code>null</code>, in which case the output is written to the
+	 *            standard output.
+	 * @return The list of commands.
+	 */
+	public static List<String> getCommands(String dotExecutablePath,
+			boolean invertYAxis, String outputFormat, String outputFile) {
+		List<String> commands = new ArrayList<>();
+		commands.add(dotExecutablePath);
+		if (invertYAxis) {
+			commands.add("-y");
+		}
+		if (outputFormat != null) {
+			commands.add("-T" + outputFormat);
+		}
+		if (outputFile != null) {
+			commands.add("-o" + outputFile);
+		}
+		return commands;
+	}
+
+	@Override
+	public void dispose() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Executes the given commands and streams the given input to the standard
+	 * input of the process. Blocks until a process may be started (i.e. until
+	 * less than the maximum number of processes are running) and the process
+	 * has terminated.
+	 *
+	 * @param commands
+	 *            The commands to execute.
+	 * @param input
+	 *            The input to stream to the process, or <code>null</code> if
+	 *            the process does not read from its standard input.
+	 * @return A String array with two Strings, where the first contains the
+	 *         output of the input stream and the second contains the output of
+	 *         the error stream.
+	 */
+	public String[] execute(List<String> commands, String input) {
+		String[] outputs = { "", "" };
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			outputs[1] = "Cannot execute program: ?: " + e.getMessage();
+			return outputs;
+		}
+		Process p = null;
+		try {
+			p = new ProcessBuilder(commands).start();
+			// drain the output and error streams while writing the input, so
+			// that the process does not block on full buffers
+			Future<String> output = executor.submit(read(p.getInputStream()));
+			Future<String> errors = executor.submit(read(p.getErrorStream()));
+			try (Writer writer = new OutputStreamWriter(p.getOutputStream(),
+					StandardCharsets.UTF_8)) {
+				if (input != null) {
+					writer.write(input);
+				}
+			} catch (IOException e) {
+				// XXX: The process may terminate before it has consumed its
+				// input (e.g. due to a syntax error), which it reports via the
+				// error stream.
+			}
+			p.waitFor();
+			outputs[0] = output.get();
+			outputs[1] = errors.get();
+		} catch (Throwable e) {
+			String exitValue = p != null && !p.isAlive()
+					? Integer.toString(p.exitValue()) : "?";
+			if (p != null) {
+				p.destroy();
+			}
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			String errorMessage = e instanceof ExecutionException
+					? e.getCause().getMessage() : e.getMessage();
+			outputs[1] = "Cannot execute program: " + exitValue + ": "
+					+ errorMessage;
+		} finally {
+			permits.release();
+		}
+		return outputs;
+	}
+
+	/**
+	 * Executes the given commands asynchronously, streaming the given input to
+	 * the standard input of the process.
+	 *
+	 * @param commands
+	 *            The commands to execute.
+	 * @param input
+	 *            The input to stream to the process, or <code>null</code> if
+	 *            the process does not read from its standard input.
+	 * @return A {@link Future} that provides the outputs as specified by
+	 *         {@link #execute(List, String)}.
+	 */
+	public Future<String[]> submit(final List<String> commands,
+			final String input) {
+		return executor.submit(new Callable<String[]>() {
+			@Override
+			public String[] call() throws Exception {
+				return execute(commands, input);
+			}
+		});
+	}
+
+	private Callable<String> read(final InputStream is) {
+		return new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				return DotFileUtils.read(is);
+			}
+		};
+	}
+
+}
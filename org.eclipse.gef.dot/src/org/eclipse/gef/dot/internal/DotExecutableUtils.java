@@ -15,15 +15,13 @@
  *     Darius Jockel (itemis AG)    - Fixed problems when calling dot on windows with large 
  *                                    files (#492395)
  *     Matthias Wienand (itemis AG) - Remove sysouts and return exception message (#521230)
+ *     agent - Delegate to DotExecutableService
  *
  *********************************************************************************************/
 package org.eclipse.gef.dot.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -101,44 +99,42 @@ final public class DotExecutableUtils {
 	public static String[] executeDot(final File dotExecutablePath,
 			final boolean invertYAxis, final File dotInputFile,
 			final File outputFile, final String outputFormat) {
-		File buffer = null;
-		boolean hasBuffer = false;
-		List<String> commands = new ArrayList<>();
-		commands.add(dotExecutablePath.getAbsolutePath());
-		if (invertYAxis) {
-			commands.add("-y");
-		}
-		if (outputFormat != null) {
-			commands.add("-T" + outputFormat);
-		}
-		if (outputFile != null) {
-			buffer = outputFile;
-		} else {
-			try {
-				buffer = File.createTempFile("tmpResult", ".dot");
-				hasBuffer = true;
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
-		}
-		commands.add("-o" + buffer.toPath().toString());
+		List<String> commands = DotExecutableService.getCommands(
+				dotExecutablePath.getAbsolutePath(), invertYAxis, outputFormat,
+				outputFile == null ? null : outputFile.toPath().toString());
 		commands.add(dotInputFile.toPath().toString());
-		String[] call = call(commands.toArray(new String[] {}));
-		if (hasBuffer) {
-			FileInputStream input;
-			try {
-				input = new FileInputStream(buffer);
-				call[0] = read(input);
-				input.close();
-			} catch (Exception e) {
-				System.out.println("failed to read temp dot file");
-			} finally {
-				buffer.delete();
-			}
-			return call;
-		} else {
-			return call;
-		}
+		return DotExecutableService.getDefault().execute(commands, null);
+	}
+
+	/**
+	 * Calls the Graphviz 'dot' executable with the given arguments, streaming
+	 * the given DOT input to its standard input, so that no temporary files are
+	 * needed.
+	 * 
+	 * @param dotExecutablePath
+	 *            The path of the local Graphviz 'dot' executable, e.g.
+	 *            "C:\\Program Files (x86)\\Graphviz2.38\\bin\\dot.exe"
+	 * @param invertYAxis
+	 *            Whether to invert the y-axis or not.
+	 * @param dotInput
+	 *            The DOT input to pass to 'dot'.
+	 * @param outputFile
+	 *            The output file to pass to 'dot' via the -o option. May be
+	 *            <code>null</code>.
+	 * @param outputFormat
+	 *            The output format to pass to 'dot' via the -T option. May be
+	 *            <code>null</code>.
+	 * @return A String array with two Strings, where the first contains the
+	 *         output of the input stream and the second contains the output of
+	 *         the error stream.
+	 */
+	public static String[] executeDot(final File dotExecutablePath,
+			final boolean invertYAxis, final String dotInput,
+			final File outputFile, final String outputFormat) {
+		List<String> commands = DotExecutableService.getCommands(
+				dotExecutablePath.getAbsolutePath(), invertYAxis, outputFormat,
+				outputFile == null ? null : outputFile.toPath().toString());
+		return DotExecutableService.getDefault().execute(commands, dotInput);
 	}
 
 	/***
@@ -168,37 +164,7 @@ final public class DotExecutableUtils {
 	 *         of the error stream
 	 */
 	private static String[] call(final String[] commands) {
-		// System.out.print("Calling '" + Arrays.asList(commands) + "'");
-		// //$NON-NLS-1$ //$NON-NLS-2$
-		String[] outputs = { "", "" };
-		Runtime runtime = Runtime.getRuntime();
-		Process p = null;
-		try {
-			p = runtime.exec(commands);
-			p.waitFor();
-		} catch (Throwable e) {
-			String exitValue = p != null ? Integer.toString(p.exitValue())
-					: "?";
-			String errorMessage = e.getMessage();
-			outputs[1] = "Cannot execute program: " + exitValue + ": "
-					+ errorMessage;
-		}
-		// handle input and error stream only if process succeeded.
-		if (p != null) {
-			String output = read(p.getInputStream());
-			outputs[0] = output;
-			String errors = read(p.getErrorStream());
-			outputs[1] = errors;
-		}
-		return outputs;
-	}
-
-	private static String read(InputStream is) {
-		try {
-			return DotFileUtils.read(is);
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return "";
+		return DotExecutableService.getDefault().execute(Arrays.asList(commands),
+				null);
 	}
 }
@@ -12,7 +12,15 @@
  *******************************************************************************/
 package org.eclipse.gef.dot.internal
 
+import java.io.BufferedWriter
 import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.OutputStreamWriter
+import java.io.StringWriter
+import java.io.Writer
+import java.nio.channels.Channels
+import java.nio.channels.WritableByteChannel
 import java.util.List
 import org.eclipse.gef.common.attributes.IAttributeStore
 import org.eclipse.gef.dot.internal.language.dot.GraphType
@@ -24,19 +32,56 @@ import org.eclipse.gef.graph.Node
 import static extension org.eclipse.gef.dot.internal.DotAttributes.*
 
 /**
- * A serializer that creates a Graphviz DOT string or file from a {@link Graph} with {@link DotAttributes}.
+ * A serializer that creates a Graphviz DOT string or file from a {@link Graph} with {@link DotAttributes}. The
+ * DOT text can also be streamed to a {@link Writer}, so that large graphs can be exported without holding the
+ * complete DOT text in memory.
  * 
  * @author anyssen
  * 
  */
 class DotExport {
 
+	static val NL = System.lineSeparator
+
 	def String exportDot(Graph graph) {
 		newArrayList(graph).exportDot
 	}
 
 	def String exportDot(List<Graph> graphs) {
-		val builder = new StringBuilder
+		val writer = new StringWriter
+		graphs.exportDot(writer)
+		writer.toString
+	}
+
+	def File exportDot(Graph graph, String pathname) throws IOException {
+		newArrayList(graph).exportDot(pathname)
+	}
+
+	def File exportDot(List<Graph> graphs, String pathname) throws IOException {
+		val destination = new File(pathname)
+		val writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(destination), "UTF-8"))
+		try {
+			graphs.exportDot(writer)
+		} finally {
+			writer.close
+		}
+		destination
+	}
+
+	/**
+	 * Writes the DOT representation of the given {@link Graph} to the given {@link Writer}, element by element, so
+	 * that the DOT text of the graph is never held in memory as a whole. The {@link Writer} is flushed but not closed.
+	 */
+	def void exportDot(Graph graph, Writer writer) throws IOException {
+		newArrayList(graph).exportDot(writer)
+	}
+
+	/**
+	 * Writes the DOT representation of the given {@link Graph}s to the given {@link Writer}, element by element, so
+	 * that the DOT text of the graphs is never held in memory as a whole. The {@link Writer} is flushed but not
+	 * closed.
+	 */
+	def void exportDot(List<Graph> graphs, Writer writer) throws IOException {
 		for (graph : graphs) {
 
 			// graph type is mandatory meta-attribute
@@ -50,49 +95,93 @@ class DotExport {
 				throw new IllegalArgumentException(
 					"The " + _NAME__GNE + " attribute has to be set for all nodes of the input graph " + graph + ".")
 			}
-			builder.append(graph.print)
+			graph.print(writer)
 		}
-		builder.toString
+		writer.flush
 	}
 
-	def File exportDot(Graph graph, String pathname) {
-		DotFileUtils.write(graph.exportDot, new File(pathname))
+	/**
+	 * Writes the DOT representation of the given {@link Graph} to the given {@link WritableByteChannel} using UTF-8
+	 * encoding. The channel is not closed.
+	 */
+	def void exportDot(Graph graph, WritableByteChannel channel) throws IOException {
+		newArrayList(graph).exportDot(Channels.newWriter(channel, "UTF-8"))
 	}
 
-	def File exportDot(List<Graph> graphs, String pathname) {
-		DotFileUtils.write(graphs.exportDot, new File(pathname))
+	private def void print(Graph it, Writer writer) throws IOException {
+		writer.write(type.toString)
+		writer.write(" ")
+		if (hasName) {
+			writer.write(name)
+			writer.write(" ")
+		}
+		writer.write("{")
+		writer.write(NL)
+		printBody(writer, "\t")
+		writer.write("}")
+		writer.write(NL)
 	}
 
-	private def String print(Graph it) '''
-		«type» «IF hasName»«name» «ENDIF»{
-			«IF hasNonMetaAttributes»
-				«printNonMetaAttributes(";")»
-			«ENDIF»
-			«nodes.map[print].join("; ")»
-			«FOR edge : edges»
-				«edge.name»«IF edge.hasNonMetaAttributes» [«edge.printNonMetaAttributes(",")»]«ENDIF»
-			«ENDFOR»
+	/**
+	 * Writes the attributes, nodes, and edges of the given {@link Graph}, each line being prefixed with the given
+	 * indentation.
+	 */
+	private def void printBody(Graph it, Writer writer, String indent) throws IOException {
+		if (hasNonMetaAttributes) {
+			writer.write(indent)
+			writer.write(printNonMetaAttributes(";"))
+			writer.write(NL)
 		}
-	'''
+		if (!nodes.empty) {
+			writer.write(indent)
+			var first = true
+			for (node : nodes) {
+				if (!first) {
+					writer.write("; ")
+				}
+				first = false
+				node.print(writer, indent)
+			}
+			writer.write(NL)
+		}
+		for (edge : edges) {
+			writer.write(indent)
+			writer.write(edge.name)
+			if (edge.hasNonMetaAttributes) {
+				writer.write(" [")
+				writer.write(edge.printNonMetaAttributes(","))
+				writer.write("]")
+			}
+			writer.write(NL)
+		}
+	}
 
 	private def isMetaAttribute(String it) {
 		startsWith("_")
 	}
 
-	private def String print(Node it) {
+	/**
+	 * Writes the given {@link Node}, which is printed within a line that is prefixed with the given indentation.
+	 */
+	private def void print(Node it, Writer writer, String indent) throws IOException {
 		if (nestedGraph !== null) {
-			'''
-			subgraph «IF nestedGraph.hasName»«nestedGraph.name» «ENDIF»{
-				«IF nestedGraph.hasNonMetaAttributes»
-					«nestedGraph.printNonMetaAttributes(";")»
-				«ENDIF»
-				«nestedGraph.nodes.map[print].join("; ")»
-				«FOR edge : nestedGraph.edges»
-					«edge.name»«IF edge.hasNonMetaAttributes» [«edge.printNonMetaAttributes(",")»]«ENDIF»
-				«ENDFOR»
-			}'''
+			writer.write("subgraph ")
+			if (nestedGraph.hasName) {
+				writer.write(nestedGraph.name)
+				writer.write(" ")
+			}
+			writer.write("{")
+			writer.write(NL)
+			nestedGraph.printBody(writer, indent + "\t")
+			writer.write(indent)
+			writer.write("}")
 		} else {
-			name + if(hasNonMetaAttributes) " [" + printNonMetaAttributes(",") + "]" else ""
+			writer.write(name)
+			if (hasNonMetaAttributes) {
+				writer.write(" [")
+				writer.write(printNonMetaAttributes(","))
+				writer.write("]")
+			}
 		}
 	}
 
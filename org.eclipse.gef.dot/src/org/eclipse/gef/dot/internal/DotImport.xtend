@@ -15,6 +15,11 @@ package org.eclipse.gef.dot.internal
 
 import com.google.inject.Inject
 import java.io.File
+import java.io.FileInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.io.Reader
 import java.io.StringReader
 import java.util.List
 import java.util.Map
@@ -27,6 +32,7 @@ import org.eclipse.gef.dot.internal.language.dot.DotFactory
 import org.eclipse.gef.dot.internal.language.dot.DotGraph
 import org.eclipse.gef.dot.internal.language.dot.EdgeRhsNode
 import org.eclipse.gef.dot.internal.language.dot.EdgeStmtNode
+import org.eclipse.gef.dot.internal.language.dot.GraphType
 import org.eclipse.gef.dot.internal.language.dot.NodeId
 import org.eclipse.gef.dot.internal.language.dot.NodeStmt
 import org.eclipse.gef.dot.internal.language.dot.Stmt
@@ -47,6 +53,10 @@ import static extension org.eclipse.gef.dot.internal.language.DotAstHelper.*
  * Subgraphs (including clusters) are represented by a {@link Node} with a nested {@link Graph}, 
  * where the graph holds all attributes (like the name). If a node is used in multiple (sub-)graphs, 
  * it will be contained in the graph where it is defined (first occurrence).
+ * <p>
+ * Files and input streams are first processed by a {@link DotStreamParser}, which creates the {@link Graph}s
+ * statement by statement, without creating the DOT model. Only if the input contains constructs that are not
+ * supported by the {@link DotStreamParser} (e.g. subgraphs or ports), it is processed by the Xtext-based parser.
  * 
  * @author anyssen
  * 
@@ -66,11 +76,46 @@ class DotImport {
 	}
 
 	def List<Graph> importDot(File dotFile) {
+		try {
+			val reader = new InputStreamReader(new FileInputStream(dotFile), "UTF-8")
+			try {
+				return new DotStreamParser(reader).importDot
+			} finally {
+				reader.close
+			}
+		} catch (DotStreamParser.UnsupportedInputException e) {
+			// fall back to the Xtext-based parser
+		} catch (IOException e) {
+			// fall back to the Xtext-based parser
+		}
 		DotFileUtils.read(dotFile).importDot
 	}
 
+	/**
+	 * Imports the graphs from the given UTF-8 encoded DOT input stream. The input is recorded while it is processed
+	 * by the {@link DotStreamParser}, so that it can be processed by the Xtext-based parser in case it contains
+	 * constructs that are not supported by the {@link DotStreamParser}. As such, the characters that are read before
+	 * the fall back occurs (i.e. the complete input if no fall back occurs) are held in memory during the import, in
+	 * addition to the created {@link Graph}s. The remaining input is passed to the Xtext-based parser without being
+	 * buffered. Use {@link #importDot(File)} to avoid recording the input. The input stream is not closed.
+	 */
+	def List<Graph> importDot(InputStream dotStream) {
+		val parser = new DotStreamParser(new InputStreamReader(dotStream, "UTF-8"), true)
+		try {
+			return parser.importDot
+		} catch (DotStreamParser.UnsupportedInputException e) {
+
+			// fall back to the Xtext-based parser
+			return parser.input.parseDot
+		}
+	}
+
 	def List<Graph> importDot(String dotString) {
-		var parseResult = getDotParser.parse(new StringReader(dotString))
+		new StringReader(dotString).parseDot
+	}
+
+	private def List<Graph> parseDot(Reader dotReader) {
+		var parseResult = getDotParser.parse(dotReader)
 
 		if (parseResult.hasSyntaxErrors) {
 			throw new IllegalArgumentException(
@@ -82,6 +127,99 @@ class DotImport {
 		(parseResult.rootASTElement as DotAst).graphs.map[transformDotGraph].filterNull.toList
 	}
 
+	/**
+	 * Creates the {@link Graph}s from the events of the given {@link DotStreamParser}, applying the same attribute
+	 * semantics as {@link #transformDotGraph(DotGraph)}.
+	 */
+	private def List<Graph> importDot(DotStreamParser parser) {
+		val List<Graph> graphs = newArrayList
+		val Map<String, Node> nodes = newHashMap
+		val Map<String, ID> graphAttributes = newHashMap
+		val Map<String, ID> globalGraphAttributes = newHashMap
+		val Map<String, ID> globalNodeAttributes = newHashMap
+		val Map<String, ID> globalEdgeAttributes = newHashMap
+		var Graph.Builder graphBuilder = null
+
+		var event = parser.next
+		while (event != DotStreamParser.END_DOCUMENT) {
+			switch event {
+				case DotStreamParser.START_GRAPH: {
+
+					// clear global attributes, nodes, and graph attributes, which only hold for each respective graph
+					nodes.clear
+					graphAttributes.clear
+					globalGraphAttributes.clear
+					globalNodeAttributes.clear
+					globalEdgeAttributes.clear
+					graphBuilder = new Graph.Builder
+					if (parser.name !== null) {
+						graphBuilder.attr(_NAME__GNE, parser.name)
+					}
+					graphBuilder.attr(_TYPE__G, GraphType.get(parser.graphType))
+				}
+				case DotStreamParser.ATTR_STMT: {
+					switch parser.attributeType {
+						case "graph": globalGraphAttributes.putAll(parser.attributes)
+						case "node": globalNodeAttributes.putAll(parser.attributes)
+						case "edge": globalEdgeAttributes.putAll(parser.attributes)
+					}
+				}
+				case DotStreamParser.ATTRIBUTE: {
+
+					// the first assignment of a graph attribute holds
+					if (!graphAttributes.containsKey(parser.name.toValue)) {
+						graphAttributes.put(parser.name.toValue, parser.value)
+					}
+				}
+				case DotStreamParser.NODE_STMT: {
+					parser.nodeIds.head.importNode(parser.attributes, nodes, globalNodeAttributes, graphBuilder)
+				}
+				case DotStreamParser.EDGE_STMT: {
+					val attributes = parser.attributes
+					val nodeIds = parser.nodeIds
+					var sourceNode = nodeIds.head.importNode(emptyMap, nodes, globalNodeAttributes, graphBuilder)
+					for (i : 1 ..< nodeIds.size) {
+						val targetNode = nodeIds.get(i).importNode(emptyMap, nodes, globalNodeAttributes, graphBuilder)
+						val edge = new Edge.Builder(sourceNode, targetNode).buildEdge()
+						edge.setEdgeAttributes [ attributeName |
+							attributes.get(attributeName) ?: globalEdgeAttributes.get(attributeName)
+						]
+						graphBuilder.edges(edge)
+
+						// current target node may be source for next edge
+						sourceNode = targetNode
+					}
+				}
+				case DotStreamParser.END_GRAPH: {
+					val graph = graphBuilder.build
+					graph.setGraphAttributes [ attributeName |
+						graphAttributes.get(attributeName) ?: globalGraphAttributes.get(attributeName)
+					]
+					graphs.add(graph)
+				}
+			}
+			event = parser.next
+		}
+		graphs
+	}
+
+	private def Node importNode(ID nodeId, Map<String, ID> attributes, Map<String, Node> nodes,
+		Map<String, ID> globalNodeAttributes, Graph.Builder graphBuilder) {
+		val isExistingNode = nodes.containsKey(nodeId.toValue)
+		val node = if(isExistingNode) nodes.get(nodeId.toValue) else new Node.Builder().buildNode()
+		if (!isExistingNode) {
+			node._setNameRaw(nodeId)
+			nodes.put(nodeId.toValue, node)
+			graphBuilder.nodes(node)
+		}
+
+		// consider the global nodes attributes only if the node has just been created
+		node.setNodeAttributes [ attributeName |
+			attributes.get(attributeName) ?: if(!isExistingNode) globalNodeAttributes.get(attributeName)
+		]
+		node
+	}
+
 	private def Map<String, ID> create newHashMap globalGraphAttributes(Graph.Builder context) {
 	}
 
@@ -122,12 +260,17 @@ class DotImport {
 		val graph = graphBuilder.build
 
 		// apply all global graph attributes we have processed before
+		graph.setGraphAttributes [ attributeName |
+			getAttributeValue(attributeName) ?: globalGraphAttributes(graphBuilder).get(attributeName)
+		]
+		graph
+	}
+
+	private def void setGraphAttributes(Graph graph, (String)=>ID attributeValues) {
 		val setter = [ String attributeName, (Graph, ID)=>void f |
-			val attributeValue = getAttributeValue(attributeName)
+			val attributeValue = attributeValues.apply(attributeName)
 			if (attributeValue !== null) {
 				f.apply(graph, attributeValue)
-			} else if (globalGraphAttributes(graphBuilder).containsKey(attributeName)) {
-				f.apply(graph, globalGraphAttributes(graphBuilder).get(attributeName))
 			}
 		]
 
@@ -142,8 +285,6 @@ class DotImport {
 		setter.apply(PAGEDIR__G, [g, value|g.setPagedirRaw(value)])
 		setter.apply(RANKDIR__G, [g, value|g.setRankdirRaw(value)])
 		setter.apply(SPLINES__G, [g, value|g.setSplinesRaw(value)])
-		
-		graph
 	}
 
 	private def Node transformNodeId(NodeId it, Graph.Builder graphBuilder) {
@@ -161,13 +302,19 @@ class DotImport {
 			graphBuilder.nodes(node)
 		}
 
+		//XXX:  consider the global nodes attributes only if the node has just been created
+		node.setNodeAttributes [ attributeName |
+			attrLists.getAttributeValue(attributeName) ?:
+				if(!isExistingNode) globalNodeAttributes(graphBuilder).get(attributeName)
+		]
+		node
+	}
+
+	private def void setNodeAttributes(Node node, (String)=>ID attributeValues) {
 		val setter = [ String attributeName, (Node, ID)=>void f |
-			val attributeValue = attrLists.getAttributeValue(attributeName)
+			val attributeValue = attributeValues.apply(attributeName)
 			if (attributeValue !== null) {
 				f.apply(node, attributeValue)
-			} else if (!isExistingNode && globalNodeAttributes(graphBuilder).containsKey(attributeName)) {
-				//XXX:  consider the global nodes attributes only if the node has just been created
-				f.apply(node, globalNodeAttributes(graphBuilder).get(attributeName))
 			}
 		]
 
@@ -188,8 +335,6 @@ class DotImport {
 		setter.apply(WIDTH__N, [n, value|n.setWidthRaw(value)])
 		setter.apply(XLABEL__NE, [n, value|n.setXlabelRaw(value)])
 		setter.apply(XLP__NE, [n, value|n.setXlpRaw(value)])
-
-		node
 	}
 
 	/*
@@ -315,13 +460,17 @@ class DotImport {
 	def private Edge createEdge(Node sourceNode, String edgeOp, Node targetNode, List<AttrList> attrLists,
 		Graph.Builder graphBuilder) {
 		val edge = new Edge.Builder(sourceNode, targetNode).buildEdge()
+		edge.setEdgeAttributes [ attributeName |
+			attrLists.getAttributeValue(attributeName) ?: globalEdgeAttributes(graphBuilder).get(attributeName)
+		]
+		edge
+	}
 
+	private def void setEdgeAttributes(Edge edge, (String)=>ID attributeValues) {
 		val setter = [ String attributeName, (Edge, ID)=>void f |
-			val attributeValue = attrLists.getAttributeValue(attributeName)
+			val attributeValue = attributeValues.apply(attributeName)
 			if (attributeValue !== null) {
 				f.apply(edge, attributeValue)
-			} else if (globalEdgeAttributes(graphBuilder).containsKey(attributeName)) {
-				f.apply(edge, globalEdgeAttributes(graphBuilder).get(attributeName))
 			}
 		]
 
@@ -345,8 +494,6 @@ class DotImport {
 		setter.apply(TAIL_LP__E, [e, value|e.setTailLpRaw(value)])
 		setter.apply(XLABEL__NE, [e, value|e.setXlabelRaw(value)])
 		setter.apply(XLP__NE, [e, value|e.setXlpRaw(value)])
-
-		edge
 	}
 
 }
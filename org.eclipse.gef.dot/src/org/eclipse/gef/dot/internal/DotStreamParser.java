@@ -0,0 +1,638 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.gef.dot.internal.language.terminals.ID;
+import org.eclipse.gef.dot.internal.language.terminals.ID.Type;
+
+/**
+ * A light-weight pull parser that reads plain Graphviz DOT input statement by
+ * statement, without creating an EMF model. It is used by {@link DotImport} as
+ * a fast path for large (machine-generated) DOT input.
+ * <p>
+ * The parser supports graphs that consist of node statements, edge statements
+ * between node IDs, attribute statements, and graph attribute assignments. For
+ * all other constructs (i.e. subgraphs, ports, and any invalid input), an
+ * {@link UnsupportedInputException} is thrown by {@link #next()}, so that the
+ * input can be processed by the Xtext-based parser instead. In order to
+ * support this, the parser can record the input it reads (see
+ * {@link #DotStreamParser(Reader, boolean)} and {@link #getInput()}).
+ *
+ * @author agent
+ *
+ */
+public class DotStreamParser {
+
+	/**
+	 * Thrown by {@link DotStreamParser#next()} in case the input contains
+	 * constructs that are not supported by the {@link DotStreamParser}, or is
+	 * not valid.
+	 */
+	public static final class UnsupportedInputException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		private UnsupportedInputException() {
+			super("The DOT input cannot be processed by the stream parser.");
+		}
+	}
+
+	/**
+	 * Event that indicates the start of a graph. The graph type and name can
+	 * be obtained via {@link #getGraphType()} and {@link #getName()}.
+	 */
+	public static final int START_GRAPH = 0;
+
+	/**
+	 * Event that indicates the end of a graph.
+	 */
+	public static final int END_GRAPH = 1;
+
+	/**
+	 * Event that indicates an attribute statement. The attribute type and the
+	 * attributes can be obtained via {@link #getAttributeType()} and
+	 * {@link #getAttributes()}. If an attribute is specified multiple times,
+	 * the last value is provided.
+	 */
+	public static final int ATTR_STMT = 2;
+
+	/**
+	 * Event that indicates a graph attribute assignment. The attribute name and
+	 * value can be obtained via {@link #getName()} and {@link #getValue()}.
+	 */
+	public static final int ATTRIBUTE = 3;
+
+	/**
+	 * Event that indicates a node statement. The node ID and attributes can be
+	 * obtained via {@link #getNodeIds()} and {@link #getAttributes()}. If an
+	 * attribute is specified multiple times, the first value is provided.
+	 */
+	public static final int NODE_STMT = 4;
+
+	/**
+	 * Event that indicates an edge statement. The IDs of the connected nodes
+	 * and the attributes can be obtained via {@link #getNodeIds()} and
+	 * {@link #getAttributes()}. If an attribute is specified multiple times,
+	 * the first value is provided.
+	 */
+	public static final int EDGE_STMT = 5;
+
+	/**
+	 * Event that indicates the end of the input.
+	 */
+	public static final int END_DOCUMENT = 6;
+
+	// token kinds
+	private static final int T_EOF = 0;
+	private static final int T_ID = 1;
+	private static final int T_KEYWORD = 2;
+	private static final int T_EDGE_OP = 3;
+	private static final int T_LBRACE = 4;
+	private static final int T_RBRACE = 5;
+	private static final int T_LBRACKET = 6;
+	private static final int T_RBRACKET = 7;
+	private static final int T_EQUALS = 8;
+	private static final int T_SEMICOLON = 9;
+	private static final int T_COMMA = 10;
+	private static final int T_OTHER = 11;
+
+	private final Reader reader;
+	private final char[] buffer = new char[8192];
+	private int position = 0;
+	private int limit = 0;
+	private StringBuilder recorded;
+
+	// current token
+	private int token;
+	private String tokenText;
+	private ID tokenId;
+	private boolean pushedBack = false;
+
+	// parser state
+	private boolean inGraph = false;
+	private boolean afterStmt = false;
+	private String graphType;
+	private String attributeType;
+	private ID name;
+	private ID value;
+	private List<ID> nodeIds = new ArrayList<>();
+	private Map<String, ID> attributes = new HashMap<>();
+
+	/**
+	 * Creates a new {@link DotStreamParser} that reads from the given
+	 * {@link Reader} and does not record its input.
+	 *
+	 * @param reader
+	 *            The {@link Reader} from which the DOT input is read.
+	 */
+	public DotStreamParser(Reader reader) {
+		this(reader, false);
+	}
+
+	/**
+	 * Creates a new {@link DotStreamParser} that reads from the given
+	 * {@link Reader}. If <i>record</i> is <code>true</code>, the input that is
+	 * read is recorded, so that it can be obtained via {@link #getInput()}.
+	 *
+	 * @param reader
+	 *            The {@link Reader} from which the DOT input is read.
+	 * @param record
+	 *            <code>true</code> if the input should be recorded, otherwise
+	 *            <code>false</code>.
+	 */
+	public DotStreamParser(Reader reader, boolean record) {
+		if (reader == null) {
+			throw new IllegalArgumentException("Reader may not be null.");
+		}
+		this.reader = reader;
+		if (record) {
+			recorded = new StringBuilder();
+		}
+	}
+
+	/**
+	 * Returns the attributes of the current {@link #ATTR_STMT},
+	 * {@link #NODE_STMT}, or {@link #EDGE_STMT} event, keyed by the attribute
+	 * names.
+	 *
+	 * @return The attributes of the current statement.
+	 */
+	public Map<String, ID> getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * Returns the attribute type (<code>"graph"</code>, <code>"node"</code>,
+	 * or <code>"edge"</code>) of the current {@link #ATTR_STMT} event.
+	 *
+	 * @return The attribute type of the current attribute statement.
+	 */
+	public String getAttributeType() {
+		return attributeType;
+	}
+
+	/**
+	 * Returns the graph type (<code>"graph"</code> or <code>"digraph"</code>)
+	 * of the current {@link #START_GRAPH} event.
+	 *
+	 * @return The type of the current graph.
+	 */
+	public String getGraphType() {
+		return graphType;
+	}
+
+	/**
+	 * Returns a {@link Reader} for the complete input, which provides the
+	 * recorded input that was read so far, followed by the remaining input of
+	 * the {@link Reader} of this parser. The remaining input is not buffered,
+	 * and closing the returned {@link Reader} does not close the
+	 * {@link Reader} of this parser. May only be called once, if input
+	 * recording is enabled. The parser may not be used afterwards.
+	 *
+	 * @return A {@link Reader} for the complete input.
+	 */
+	public Reader getInput() {
+		if (recorded == null) {
+			throw new IllegalStateException("Input recording is not enabled.");
+		}
+		final StringBuilder prefix = recorded;
+		recorded = null;
+		return new Reader() {
+			private int offset = 0;
+
+			@Override
+			public void close() {
+			}
+
+			@Override
+			public int read(char[] chars, int off, int len) throws IOException {
+				if (len == 0) {
+					return 0;
+				}
+				if (offset < prefix.length()) {
+					int count = Math.min(len, prefix.length() - offset);
+					prefix.getChars(offset, offset + count, chars, off);
+					offset += count;
+					return count;
+				}
+				return reader.read(chars, off, len);
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the current {@link #START_GRAPH} (which may be
+	 * <code>null</code>) or {@link #ATTRIBUTE} event.
+	 *
+	 * @return The name of the current graph or attribute.
+	 */
+	public ID getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the IDs of the nodes of the current {@link #NODE_STMT} or
+	 * {@link #EDGE_STMT} event.
+	 *
+	 * @return The node IDs of the current statement.
+	 */
+	public List<ID> getNodeIds() {
+		return nodeIds;
+	}
+
+	/**
+	 * Returns the value of the current {@link #ATTRIBUTE} event.
+	 *
+	 * @return The value of the current attribute.
+	 */
+	public ID getValue() {
+		return value;
+	}
+
+	/**
+	 * Advances to the next event.
+	 *
+	 * @return The next event.
+	 * @throws IOException
+	 *             In case the input cannot be read.
+	 * @throws UnsupportedInputException
+	 *             In case the input contains constructs that are not supported
+	 *             by this parser, or is not valid.
+	 */
+	public int next() throws IOException, UnsupportedInputException {
+		name = null;
+		value = null;
+		nodeIds = new ArrayList<>();
+		attributes = new HashMap<>();
+		if (!inGraph) {
+			return nextGraph();
+		}
+		nextToken();
+		if (token == T_SEMICOLON && afterStmt) {
+			nextToken();
+		}
+		afterStmt = true;
+		switch (token) {
+		case T_RBRACE:
+			inGraph = false;
+			return END_GRAPH;
+		case T_KEYWORD:
+			if ("graph".equals(tokenText) || "node".equals(tokenText)
+					|| "edge".equals(tokenText)) {
+				attributeType = tokenText;
+				nextToken();
+				if (token != T_LBRACKET) {
+					throw unsupported();
+				}
+				while (token == T_LBRACKET) {
+					parseAttrList(true);
+					nextToken();
+				}
+				pushBack();
+				return ATTR_STMT;
+			}
+			throw unsupported();
+		case T_ID:
+			ID id = tokenId;
+			nextToken();
+			if (token == T_EQUALS) {
+				name = id;
+				value = expectId();
+				return ATTRIBUTE;
+			}
+			nodeIds.add(id);
+			int event = NODE_STMT;
+			while (token == T_EDGE_OP) {
+				nodeIds.add(expectId());
+				nextToken();
+				event = EDGE_STMT;
+			}
+			while (token == T_LBRACKET) {
+				parseAttrList(false);
+				nextToken();
+			}
+			// ports and subgraphs are not supported
+			pushBack();
+			return event;
+		default:
+			throw unsupported();
+		}
+	}
+
+	private ID expectId() throws IOException, UnsupportedInputException {
+		nextToken();
+		if (token != T_ID) {
+			throw unsupported();
+		}
+		return tokenId;
+	}
+
+	private boolean fill() throws IOException {
+		int read = reader.read(buffer, 0, buffer.length);
+		if (read <= 0) {
+			limit = 0;
+			position = 0;
+			return false;
+		}
+		if (recorded != null) {
+			recorded.append(buffer, 0, read);
+		}
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+	private boolean isIdPart(int c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+				|| c >= '\u0080' && c <= '\u00FF' || c == '_'
+				|| c >= '0' && c <= '9';
+	}
+
+	private boolean isIdStart(int c) {
+		return isIdPart(c) && !(c >= '0' && c <= '9');
+	}
+
+	private int nextGraph() throws IOException, UnsupportedInputException {
+		nextToken();
+		if (token == T_EOF) {
+			return END_DOCUMENT;
+		}
+		if (token == T_KEYWORD && "strict".equals(tokenText)) {
+			nextToken();
+		}
+		if (token != T_KEYWORD || !("graph".equals(tokenText)
+				|| "digraph".equals(tokenText))) {
+			throw unsupported();
+		}
+		graphType = tokenText;
+		nextToken();
+		if (token == T_ID) {
+			name = tokenId;
+			nextToken();
+		}
+		if (token != T_LBRACE) {
+			throw unsupported();
+		}
+		inGraph = true;
+		afterStmt = false;
+		return START_GRAPH;
+	}
+
+	private void nextToken() throws IOException, UnsupportedInputException {
+		if (pushedBack) {
+			pushedBack = false;
+			return;
+		}
+		tokenText = null;
+		tokenId = null;
+		int c = skipWhitespaceAndComments();
+		if (c < 0) {
+			token = T_EOF;
+			return;
+		}
+		position++;
+		switch (c) {
+		case '{':
+			token = T_LBRACE;
+			return;
+		case '}':
+			token = T_RBRACE;
+			return;
+		case '[':
+			token = T_LBRACKET;
+			return;
+		case ']':
+			token = T_RBRACKET;
+			return;
+		case '=':
+			token = T_EQUALS;
+			return;
+		case ';':
+			token = T_SEMICOLON;
+			return;
+		case ',':
+			token = T_COMMA;
+			return;
+		case '"':
+			readQuotedString();
+			return;
+		case '<':
+			readHtmlString();
+			return;
+		case '-':
+			int n = peek();
+			if (n == '>' || n == '-') {
+				position++;
+				token = T_EDGE_OP;
+				return;
+			}
+			if (n == '.') {
+				// only fractions without integer part may be negative
+				readNumeral(new StringBuilder("-"));
+				return;
+			}
+			token = T_OTHER;
+			return;
+		default:
+			if (c == '.' || c >= '0' && c <= '9') {
+				position--;
+				readNumeral(new StringBuilder());
+			} else if (isIdStart(c)) {
+				StringBuilder sb = new StringBuilder();
+				sb.append((char) c);
+				while (isIdPart(peek())) {
+					sb.append(buffer[position++]);
+				}
+				String text = sb.toString();
+				String keyword = text.toLowerCase(Locale.ENGLISH);
+				if ("graph".equals(keyword) || "digraph".equals(keyword)
+						|| "node".equals(keyword) || "edge".equals(keyword)
+						|| "subgraph".equals(keyword)
+						|| "strict".equals(keyword)) {
+					token = T_KEYWORD;
+					tokenText = keyword;
+				} else {
+					token = T_ID;
+					tokenId = ID.fromString(text, Type.STRING);
+				}
+			} else {
+				token = T_OTHER;
+			}
+		}
+	}
+
+	private void parseAttrList(boolean lastValueWins)
+			throws IOException, UnsupportedInputException {
+		nextToken();
+		while (token != T_RBRACKET) {
+			if (token != T_ID) {
+				throw unsupported();
+			}
+			ID attributeName = tokenId;
+			nextToken();
+			if (token != T_EQUALS) {
+				throw unsupported();
+			}
+			ID attributeValue = expectId();
+			if (lastValueWins) {
+				attributes.put(attributeName.toValue(), attributeValue);
+			} else {
+				attributes.putIfAbsent(attributeName.toValue(),
+						attributeValue);
+			}
+			nextToken();
+			if (token == T_COMMA || token == T_SEMICOLON) {
+				nextToken();
+			}
+		}
+	}
+
+	private int peek() throws IOException {
+		if (position >= limit && !fill()) {
+			return -1;
+		}
+		return buffer[position];
+	}
+
+	private void pushBack() {
+		pushedBack = true;
+	}
+
+	private void readHtmlString()
+			throws IOException, UnsupportedInputException {
+		StringBuilder sb = new StringBuilder("<");
+		int depth = 1;
+		while (depth > 0) {
+			int c = peek();
+			if (c < 0) {
+				throw unsupported();
+			}
+			position++;
+			if (c == '<') {
+				depth++;
+			} else if (c == '>') {
+				depth--;
+			}
+			sb.append((char) c);
+		}
+		token = T_ID;
+		tokenId = ID.fromString(sb.toString(), Type.HTML_STRING);
+	}
+
+	private void readNumeral(StringBuilder sb)
+			throws IOException, UnsupportedInputException {
+		// ('-')? ('.' ('0'..'9')+) | ('0'..'9')+ ('.' ('0'..'9')*)?
+		if (peek() == '.') {
+			sb.append(buffer[position++]);
+			if (!(peek() >= '0' && peek() <= '9')) {
+				throw unsupported();
+			}
+			while (peek() >= '0' && peek() <= '9') {
+				sb.append(buffer[position++]);
+			}
+		} else {
+			while (peek() >= '0' && peek() <= '9') {
+				sb.append(buffer[position++]);
+			}
+			if (peek() == '.') {
+				sb.append(buffer[position++]);
+				while (peek() >= '0' && peek() <= '9') {
+					sb.append(buffer[position++]);
+				}
+			}
+		}
+		token = T_ID;
+		tokenId = ID.fromString(sb.toString(), Type.NUMERAL);
+	}
+
+	private void readQuotedString()
+			throws IOException, UnsupportedInputException {
+		// ('"' ('\\' '"' | !('"'))* '"')
+		StringBuilder sb = new StringBuilder("\"");
+		while (true) {
+			int c = peek();
+			if (c < 0) {
+				throw unsupported();
+			}
+			position++;
+			sb.append((char) c);
+			if (c == '"') {
+				break;
+			}
+			if (c == '\\' && peek() == '"') {
+				sb.append(buffer[position++]);
+			}
+		}
+		token = T_ID;
+		tokenId = ID.fromString(sb.toString(), Type.QUOTED_STRING);
+	}
+
+	private int skipWhitespaceAndComments()
+			throws IOException, UnsupportedInputException {
+		while (true) {
+			int c = peek();
+			if (c == ' ' || c == '\t' || c == '\r' || c == '\n'
+					|| c == '\f') {
+				position++;
+			} else if (c == '#') {
+				skipToEndOfLine();
+			} else if (c == '/') {
+				position++;
+				int n = peek();
+				if (n == '/') {
+					skipToEndOfLine();
+				} else if (n == '*') {
+					position++;
+					int previous = -1;
+					while (true) {
+						int m = peek();
+						if (m < 0) {
+							throw unsupported();
+						}
+						position++;
+						if (previous == '*' && m == '/') {
+							break;
+						}
+						previous = m;
+					}
+				} else {
+					// a single slash is not valid
+					throw unsupported();
+				}
+			} else {
+				return c;
+			}
+		}
+	}
+
+	private void skipToEndOfLine() throws IOException {
+		int c = peek();
+		while (c >= 0 && c != '\n' && c != '\r') {
+			position++;
+			c = peek();
+		}
+	}
+
+	private UnsupportedInputException unsupported() {
+		return new UnsupportedInputException();
+	}
+
+}
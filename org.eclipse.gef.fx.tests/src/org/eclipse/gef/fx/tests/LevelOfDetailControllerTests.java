@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.LevelOfDetailController;
+import org.eclipse.gef.fx.nodes.PolyBezierInterpolator;
+import org.eclipse.gef.geometry.planar.Ellipse;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polyline;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Polygon;
+import javafx.scene.transform.Affine;
+
+public class LevelOfDetailControllerTests {
+
+	@Test
+	public void simplifiedConnection() {
+		Connection connection = new Connection();
+		connection.setInterpolator(new PolyBezierInterpolator());
+		connection.setStartDecoration(new Polygon(0, 0, 5, 5, 0, 10));
+		connection.setEndDecoration(new Polygon(0, 0, 5, 5, 0, 10));
+		connection.setPoints(Arrays.asList(new Point(0, 0),
+				new Point(50, 50), new Point(100, 0)));
+		assertEquals(3, connection.getChildren().size());
+
+		// simplified: straight polyline without decorations
+		connection.setSimplified(true);
+		assertEquals(1, connection.getChildren().size());
+		assertTrue(((GeometryNode<?>) connection.getCurve())
+				.getGeometry() instanceof Polyline);
+		assertNull(connection.getCurve().getClip());
+
+		// full fidelity is restored
+		connection.setSimplified(false);
+		assertEquals(3, connection.getChildren().size());
+		assertFalse(((GeometryNode<?>) connection.getCurve())
+				.getGeometry() instanceof Polyline);
+	}
+
+	@Test
+	public void thresholds() {
+		// XXX: Use a content group and transform instead of an InfiniteCanvas,
+		// because the latter requires the JavaFX toolkit to be initialized.
+		Group contentGroup = new Group();
+		Affine contentTransform = new Affine();
+		Group group = new Group();
+		GeometryNode<Ellipse> node = new GeometryNode<>(
+				new Ellipse(0, 0, 50, 30));
+		Connection connection = new Connection();
+		group.getChildren().add(node);
+		contentGroup.getChildren().add(group);
+
+		LevelOfDetailController controller = new LevelOfDetailController();
+		controller.install(contentGroup, contentTransform);
+		assertFalse(node.isSimplified());
+		assertFalse(connection.isSimplified());
+		int elements = node.getPath().getElements().size();
+
+		// below connection threshold
+		contentTransform.setToTransform(0.4, 0, 0, 0, 0.4, 0);
+		assertTrue(controller.isConnectionsSimplified());
+		assertFalse(node.isSimplified());
+
+		// nodes that are added later on adopt the level of detail
+		group.getChildren().add(connection);
+		assertTrue(connection.isSimplified());
+
+		// below geometry node threshold: bounds are rendered
+		contentTransform.setToTransform(0.2, 0, 0, 0, 0.2, 0);
+		assertTrue(node.isSimplified());
+		assertEquals(5, node.getPath().getElements().size());
+
+		// full fidelity is restored
+		contentTransform.setToTransform(1, 0, 0, 0, 1, 0);
+		assertFalse(node.isSimplified());
+		assertFalse(connection.isSimplified());
+		assertEquals(elements, node.getPath().getElements().size());
+
+		// uninstall restores full fidelity
+		contentTransform.setToTransform(0.2, 0, 0, 0, 0.2, 0);
+		controller.uninstall();
+		assertFalse(node.isSimplified());
+		assertFalse(connection.isSimplified());
+	}
+
+}
@@ -25,6 +25,7 @@ import org.eclipse.gef.geometry.planar.Rectangle;
 import org.junit.Test;
 
 import javafx.geometry.Orientation;
+import javafx.scene.Group;
 
 public class OrthogonalProjectionStrategyTests {
 
@@ -77,7 +78,39 @@ public class OrthogonalProjectionStrategyTests {
 		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(125, 12.5));
 		assertEquals(new Point(37.5, 12.5), a.getPosition(anchorKey));
 	}
-	
-	
+
+	@Test
+	public void projectionAfterAnchorageChanges() {
+		// the anchorage outline is cached, so ensure it is properly updated
+		// when the anchorage is transformed or the geometry changes
+		javafx.scene.shape.Rectangle anchorage = new javafx.scene.shape.Rectangle(0, 0, 50, 50);
+		javafx.scene.shape.Rectangle anchored = new javafx.scene.shape.Rectangle(100, 0, 50, 50);
+		new Group(anchorage, anchored);
+		DynamicAnchor a = new DynamicAnchor(anchorage, new OrthogonalProjectionStrategy());
+		AnchorageReferenceGeometry computationParameter = a.getComputationParameter(AnchorageReferenceGeometry.class);
+		if (computationParameter.isBound()) {
+			computationParameter.unbind();
+		}
+		computationParameter.set(new Rectangle(0, 0, 50, 50));
+
+		AnchorKey firstKey = new AnchorKey(anchored, "first");
+		AnchorKey secondKey = new AnchorKey(anchored, "second");
+		a.attach(firstKey);
+		a.attach(secondKey);
+		a.getComputationParameter(firstKey, AnchoredReferencePoint.class).set(new Point(125, 10));
+		a.getComputationParameter(secondKey, AnchoredReferencePoint.class).set(new Point(125, 40));
+		assertEquals(new Point(50, 10), a.getPosition(firstKey));
+		assertEquals(new Point(50, 40), a.getPosition(secondKey));
+
+		// transform anchorage
+		anchorage.setTranslateX(10);
+		assertEquals(new Point(60, 10), a.getPosition(firstKey));
+		assertEquals(new Point(60, 40), a.getPosition(secondKey));
+
+		// change geometry
+		computationParameter.set(new Rectangle(0, 0, 20, 50));
+		assertEquals(new Point(30, 10), a.getPosition(firstKey));
+		assertEquals(new Point(30, 40), a.getPosition(secondKey));
+	}
 
 }
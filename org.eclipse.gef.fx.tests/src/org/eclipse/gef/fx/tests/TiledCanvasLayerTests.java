@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.nodes.TiledCanvasLayer;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Scale;
+
+public class TiledCanvasLayerTests {
+
+	private static class CountingLayer extends TiledCanvasLayer {
+		int renderedTiles = 0;
+
+		public CountingLayer(Group contentGroup, Pane viewport) {
+			super(contentGroup, viewport, 100, 2);
+		}
+
+		@Override
+		protected Canvas renderTile(double scale, int i, int j) {
+			renderedTiles++;
+			return super.renderTile(scale, i, j);
+		}
+	}
+
+	@Test
+	public void tileCaching() {
+		// XXX: Use a viewport and content group instead of an InfiniteCanvas,
+		// because the latter requires the JavaFX toolkit to be initialized.
+		Pane viewport = new Pane();
+		Group contentGroup = new Group();
+		CountingLayer layer = new CountingLayer(contentGroup, viewport);
+		viewport.getChildren().addAll(layer, contentGroup);
+		viewport.resize(400, 400);
+
+		List<GeometryNode<Rectangle>> items = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			GeometryNode<Rectangle> item = new GeometryNode<>(
+					new Rectangle(40 * (i % 10), 40 * (i / 10), 20, 20));
+			item.setFill(Color.RED);
+			layer.addItem(item);
+			items.add(item);
+		}
+		assertEquals(items.size(), layer.getItems().size());
+
+		// all visible tiles are rendered once
+		layer.layout();
+		int visibleTiles = layer.getChildrenUnmodifiable().size();
+		assertEquals(visibleTiles, layer.renderedTiles);
+		layer.requestLayout();
+		layer.layout();
+		assertEquals(visibleTiles, layer.renderedTiles);
+
+		// only the tiles covered by a changed item are re-rendered
+		layer.renderedTiles = 0;
+		items.get(0).setGeometry(new Rectangle(5, 5, 20, 20));
+		layer.layout();
+		assertEquals(1, layer.renderedTiles);
+
+		// tiles are cached per zoom level
+		layer.renderedTiles = 0;
+		contentGroup.getTransforms().setAll(new Scale(0.5, 0.5));
+		layer.layout();
+		assertTrue(layer.renderedTiles > 0);
+		layer.renderedTiles = 0;
+		contentGroup.getTransforms().clear();
+		layer.layout();
+		assertEquals(0, layer.renderedTiles);
+		assertEquals(visibleTiles, layer.getChildrenUnmodifiable().size());
+	}
+
+	@Test
+	public void promotion() {
+		Pane viewport = new Pane();
+		Group contentGroup = new Group();
+		CountingLayer layer = new CountingLayer(contentGroup, viewport);
+		viewport.getChildren().addAll(layer, contentGroup);
+		viewport.resize(400, 400);
+
+		GeometryNode<Rectangle> item = new GeometryNode<>(
+				new Rectangle(150, 150, 20, 20));
+		item.setFill(Color.RED);
+		layer.addItem(item);
+		layer.layout();
+		assertSame(item, layer.getItemAt(new Point(160, 160)));
+		assertNull(layer.getItemAt(new Point(100, 100)));
+
+		// promoted items are live nodes and are not rendered into the tiles
+		layer.renderedTiles = 0;
+		layer.promote(item);
+		assertTrue(layer.isPromoted(item));
+		assertTrue(contentGroup.getChildren().contains(item));
+		layer.layout();
+		assertEquals(1, layer.renderedTiles);
+		assertNull(layer.getItemAt(new Point(160, 160)));
+
+		// demoted items are rendered into the tiles again
+		layer.demote(item);
+		assertFalse(layer.isPromoted(item));
+		assertFalse(contentGroup.getChildren().contains(item));
+		assertSame(item, layer.getItemAt(new Point(160, 160)));
+
+		// removing an item invalidates the covered tiles
+		layer.layout();
+		layer.renderedTiles = 0;
+		layer.removeItem(item);
+		layer.layout();
+		assertEquals(1, layer.renderedTiles);
+		assertTrue(layer.getItems().isEmpty());
+	}
+
+	@Test
+	public void zoomLevelsArePowersOfTwo() {
+		Pane viewport = new Pane();
+		Group contentGroup = new Group();
+		CountingLayer layer = new CountingLayer(contentGroup, viewport);
+		viewport.getChildren().addAll(layer, contentGroup);
+		viewport.resize(400, 400);
+		GeometryNode<Rectangle> item = new GeometryNode<>(
+				new Rectangle(150, 150, 20, 20));
+		item.setFill(Color.RED);
+		layer.addItem(item);
+		layer.layout();
+
+		// the tiles of the next power of two are scaled down
+		layer.renderedTiles = 0;
+		contentGroup.getTransforms().setAll(new Scale(0.9, 0.9));
+		layer.layout();
+		assertEquals(0, layer.renderedTiles);
+		Node tile = layer.getChildrenUnmodifiable().get(0);
+		assertEquals(0.9, tile.getLocalToParentTransform().getMxx(), 1e-9);
+
+		// the tiles of the next zoom level are rendered
+		contentGroup.getTransforms().setAll(new Scale(0.5, 0.5));
+		layer.layout();
+		assertTrue(layer.renderedTiles > 0);
+		layer.renderedTiles = 0;
+		int cachedTiles = layer.getChildrenUnmodifiable().size();
+		// only the tiles that become visible additionally are rendered
+		contentGroup.getTransforms().setAll(new Scale(0.3, 0.3));
+		layer.layout();
+		assertEquals(layer.getChildrenUnmodifiable().size() - cachedTiles,
+				layer.renderedTiles);
+	}
+
+	@Test
+	public void hitTestingInZOrder() {
+		Pane viewport = new Pane();
+		Group contentGroup = new Group();
+		CountingLayer layer = new CountingLayer(contentGroup, viewport);
+		viewport.getChildren().addAll(layer, contentGroup);
+		viewport.resize(400, 400);
+
+		// an item that covers many grid cells below a small item
+		GeometryNode<Rectangle> large = new GeometryNode<>(
+				new Rectangle(0, 0, 2000, 2000));
+		large.setFill(Color.BLUE);
+		layer.addItem(large);
+		GeometryNode<Rectangle> small = new GeometryNode<>(
+				new Rectangle(150, 150, 20, 20));
+		small.setFill(Color.RED);
+		layer.addItem(small);
+		layer.layout();
+		assertSame(small, layer.getItemAt(new Point(160, 160)));
+		assertSame(large, layer.getItemAt(new Point(1000, 1000)));
+		assertNull(layer.getItemAt(new Point(2100, 100)));
+
+		// changed items are found before the next layout pass
+		small.setGeometry(new Rectangle(1000, 990, 20, 20));
+		assertSame(large, layer.getItemAt(new Point(160, 160)));
+		assertSame(small, layer.getItemAt(new Point(1000, 1000)));
+
+		// promoted items are skipped
+		layer.promote(small);
+		assertSame(large, layer.getItemAt(new Point(1000, 1000)));
+	}
+
+	@Test
+	public void promotionRetainsZOrder() {
+		Pane viewport = new Pane();
+		Group contentGroup = new Group();
+		CountingLayer layer = new CountingLayer(contentGroup, viewport);
+		viewport.getChildren().addAll(layer, contentGroup);
+		viewport.resize(400, 400);
+		List<GeometryNode<Rectangle>> items = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			GeometryNode<Rectangle> item = new GeometryNode<>(
+					new Rectangle(10 * i, 10 * i, 20, 20));
+			layer.addItem(item);
+			items.add(item);
+		}
+
+		layer.promote(items.get(2));
+		layer.promote(items.get(0));
+		layer.promote(items.get(3));
+		layer.promote(items.get(1));
+		assertEquals(items, contentGroup.getChildren());
+	}
+
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+
+import org.eclipse.gef.fx.listeners.TransformChangeHub;
+import org.eclipse.gef.fx.listeners.TransformChangeHub.ITransformChangeHandler;
+import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.junit.Test;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Transform;
+
+public class TransformChangeHubTests {
+
+	private static class CountingHandler implements ITransformChangeHandler {
+		int count = 0;
+
+		@Override
+		public void localToParentTransformChanged(Node node,
+				Transform oldTransform, Transform newTransform) {
+			count++;
+		}
+	}
+
+	/**
+	 * Waits for the referent of the given {@link WeakReference} to be garbage
+	 * collected.
+	 */
+	private static void assertCollected(WeakReference<?> reference)
+			throws InterruptedException {
+		for (int i = 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+	}
+
+	@Test
+	public void coalesceCascadingChanges() {
+		final Rectangle first = new Rectangle(10, 10);
+		final Rectangle second = new Rectangle(10, 10);
+		final boolean[] dispatching = new boolean[1];
+		// relocates the second node twice when the first node changes
+		TransformChangeHub.subscribe(first, new ITransformChangeHandler() {
+			@Override
+			public void localToParentTransformChanged(Node node,
+					Transform oldTransform, Transform newTransform) {
+				dispatching[0] = true;
+				second.setTranslateX(second.getTranslateX() + 5);
+				second.setTranslateX(second.getTranslateX() + 5);
+				dispatching[0] = false;
+			}
+		});
+		final double[] translations = new double[2];
+		CountingHandler handler = new CountingHandler() {
+			@Override
+			public void localToParentTransformChanged(Node node,
+					Transform oldTransform, Transform newTransform) {
+				// not notified recursively
+				assertFalse(dispatching[0]);
+				super.localToParentTransformChanged(node, oldTransform,
+						newTransform);
+				translations[0] = oldTransform.getTx();
+				translations[1] = newTransform.getTx();
+			}
+		};
+		TransformChangeHub.subscribe(second, handler);
+
+		// both changes of the second node are dispatched at once, before the
+		// change notification of the first node returns
+		first.setTranslateX(5);
+		assertEquals(1, handler.count);
+		assertEquals(0, translations[0], 0);
+		assertEquals(10, translations[1], 0);
+
+		// direct changes are dispatched individually
+		second.setTranslateX(20);
+		second.setTranslateX(30);
+		assertEquals(3, handler.count);
+		assertEquals(20, translations[0], 0);
+		assertEquals(30, translations[1], 0);
+	}
+
+	@Test
+	public void referenceCounting() {
+		Rectangle node = new Rectangle(10, 10);
+		CountingHandler handler = new CountingHandler();
+		int listenerCount = TransformChangeHub.getListenerCount();
+
+		// subscribe twice, notify once
+		TransformChangeHub.subscribe(node, handler);
+		TransformChangeHub.subscribe(node, handler);
+		assertEquals(listenerCount + 1, TransformChangeHub.getListenerCount());
+		assertEquals(1, TransformChangeHub.getHandlerCount(node));
+		node.setTranslateX(5);
+		assertEquals(1, handler.count);
+
+		// still subscribed after first unsubscribe
+		TransformChangeHub.unsubscribe(node, handler);
+		node.setTranslateX(10);
+		assertEquals(2, handler.count);
+
+		// listener is removed after second unsubscribe
+		TransformChangeHub.unsubscribe(node, handler);
+		assertEquals(listenerCount, TransformChangeHub.getListenerCount());
+		assertEquals(0, TransformChangeHub.getHandlerCount(node));
+		node.setTranslateX(15);
+		assertEquals(2, handler.count);
+	}
+
+	@Test
+	public void sharedAncestorListeners() {
+		// anchorage and anchoreds share the root as their common ancestor,
+		// while the anchoreds share the intermediate group
+		Group root = new Group();
+		Rectangle anchorage = new Rectangle(10, 10);
+		Group group = new Group();
+		root.getChildren().addAll(anchorage, group);
+		int listenerCount = TransformChangeHub.getListenerCount();
+
+		final int n = 100;
+		final int[] notifications = new int[1];
+		VisualChangeListener[] vcls = new VisualChangeListener[n];
+		for (int i = 0; i < n; i++) {
+			Rectangle anchored = new Rectangle(10, 10);
+			group.getChildren().add(anchored);
+			vcls[i] = new VisualChangeListener() {
+				@Override
+				protected void boundsInLocalChanged(Bounds oldBounds,
+						Bounds newBounds) {
+				}
+
+				@Override
+				protected void localToParentTransformChanged(Node observed,
+						Transform oldTransform, Transform newTransform) {
+					notifications[0]++;
+				}
+			};
+			vcls[i].register(anchorage, anchored);
+		}
+
+		// one listener for the anchorage, the group, and each anchored
+		assertEquals(listenerCount + n + 2,
+				TransformChangeHub.getListenerCount());
+		assertEquals(n, TransformChangeHub.getHandlerCount(group));
+		assertEquals(n, TransformChangeHub.getHandlerCount(anchorage));
+		assertEquals(0, TransformChangeHub.getHandlerCount(root));
+
+		// each visual change listener is notified once
+		group.setTranslateX(20);
+		assertEquals(n, notifications[0]);
+		anchorage.setTranslateX(20);
+		assertEquals(2 * n, notifications[0]);
+
+		// all listeners are removed upon unregistering
+		for (VisualChangeListener vcl : vcls) {
+			vcl.unregister();
+		}
+		assertEquals(listenerCount, TransformChangeHub.getListenerCount());
+		group.setTranslateX(40);
+		assertEquals(2 * n, notifications[0]);
+	}
+
+	@Test
+	public void subscribedNodesCanBeCollected() throws InterruptedException {
+		Rectangle node = new Rectangle(10, 10);
+		CountingHandler handler = new CountingHandler();
+		TransformChangeHub.subscribe(node, handler);
+		WeakReference<Node> nodeReference = new WeakReference<Node>(node);
+		WeakReference<CountingHandler> handlerReference = new WeakReference<>(
+				handler);
+		// the node is not unsubscribed
+		node = null;
+		handler = null;
+		assertCollected(nodeReference);
+		assertCollected(handlerReference);
+	}
+
+	@Test
+	public void unregisteredNodesCanBeCollected() throws InterruptedException {
+		Group root = new Group();
+		Rectangle anchorage = new Rectangle(10, 10);
+		Rectangle anchored = new Rectangle(10, 10);
+		root.getChildren().addAll(anchorage, anchored);
+		VisualChangeListener vcl = new VisualChangeListener() {
+			@Override
+			protected void boundsInLocalChanged(Bounds oldBounds,
+					Bounds newBounds) {
+			}
+
+			@Override
+			protected void localToParentTransformChanged(Node observed,
+					Transform oldTransform, Transform newTransform) {
+			}
+		};
+		vcl.register(anchorage, anchored);
+		vcl.unregister();
+		WeakReference<Node> anchorageReference = new WeakReference<Node>(
+				anchorage);
+		WeakReference<Node> anchoredReference = new WeakReference<Node>(
+				anchored);
+		WeakReference<VisualChangeListener> vclReference = new WeakReference<>(
+				vcl);
+		root = null;
+		anchorage = null;
+		anchored = null;
+		vcl = null;
+		assertCollected(anchorageReference);
+		assertCollected(anchoredReference);
+		assertCollected(vclReference);
+	}
+
+}
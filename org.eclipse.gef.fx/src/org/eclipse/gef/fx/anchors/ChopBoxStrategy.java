@@ -135,10 +135,8 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 					parameters);
 		}
 
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
-				anchorageReferenceGeometryInLocal);
-		List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-				anchorageGeometryInScene);
+		List<ICurve> anchorageOutlinesInScene = getOutlineSegmentsInScene(
+				anchorage, anchorageReferenceGeometryInLocal);
 
 		Line referenceLineInScene = new Line(anchorageReferencePointInScene,
 				anchoredReferencePointInScene);
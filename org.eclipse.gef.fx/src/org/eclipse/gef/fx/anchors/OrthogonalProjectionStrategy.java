@@ -45,11 +45,17 @@ public class OrthogonalProjectionStrategy extends ProjectionStrategy {
 				PreferredOrientation.class);
 		Orientation orientationHint = parameter.get();
 
+		// the bounds of the outline segments are cached along with the
+		// outline segments
+		Rectangle[] segmentBounds = getOutlineSegmentBoundsInScene(
+				anchorageOutlinesInScene);
+
 		Point nearestOrthogonalProjectionInScene = null;
 		double nearestOrthogonalProjectionDistance = Double.MAX_VALUE;
-		for (ICurve segment : anchorageOutlinesInScene) {
+		for (int i = 0; i < segmentBounds.length; i++) {
 			// determine nearest orthogonal projection of each curve
-			Point projection = getOrthogonalProjection(segment,
+			Point projection = getOrthogonalProjection(
+					anchorageOutlinesInScene.get(i), segmentBounds[i],
 					anchoredReferencePointInScene, orientationHint);
 			if (projection != null) {
 				double distance = projection
@@ -81,17 +87,18 @@ public class OrthogonalProjectionStrategy extends ProjectionStrategy {
 	 * @param curve
 	 *            The {@link ICurve} to test. The returned {@link Point} has to
 	 *            be contained by it.
-	 *
+	 * @param bounds
+	 *            The bounds of the {@link ICurve}.
 	 * @param reference
 	 *            The reference point which is used to determine the distance.
 	 * @return The point on the {@link ICurve} that is horizontally nearest to
 	 *         the given reference point.
 	 */
-	private Point getHorizontalProjection(ICurve curve, Point reference) {
+	private Point getHorizontalProjection(ICurve curve, Rectangle bounds,
+			Point reference) {
 		// Determine points on curve with same y-coordinate; by computing a
 		// line with the respective y-coordinate inside its bounds; then
 		// computing the nearest intersection on the curve
-		Rectangle bounds = curve.getBounds();
 		Line line = new Line(bounds.getX(), reference.y,
 				bounds.getX() + bounds.getWidth(), reference.y);
 		Point projection = getNearestOrthogonalProjection(curve, reference,
@@ -143,7 +150,8 @@ public class OrthogonalProjectionStrategy extends ProjectionStrategy {
 	 * @param curve
 	 *            The {@link ICurve} to test. The returned {@link Point} has to
 	 *            be contained by it.
-	 *
+	 * @param bounds
+	 *            The bounds of the {@link ICurve}.
 	 * @param reference
 	 *            The reference point which is used to determine the distance.
 	 * @param orientationHint
@@ -152,19 +160,19 @@ public class OrthogonalProjectionStrategy extends ProjectionStrategy {
 	 * @return The point on the {@link ICurve} that is horizontally or
 	 *         vertically nearest to the given reference point.
 	 */
-	private Point getOrthogonalProjection(ICurve curve, Point reference,
-			Orientation orientationHint) {
+	private Point getOrthogonalProjection(ICurve curve, Rectangle bounds,
+			Point reference, Orientation orientationHint) {
 		Point nearestHorizonalProjection = getHorizontalProjection(curve,
-				reference);
+				bounds, reference);
 		if (nearestHorizonalProjection == null) {
 			// if there is no horizontal projection, the vertical one has to
 			// be minimal (if it exists)
-			return getVerticalProjection(curve, reference);
+			return getVerticalProjection(curve, bounds, reference);
 		} else if (orientationHint == Orientation.HORIZONTAL) {
 			return nearestHorizonalProjection;
 		} else {
 			Point nearestVerticalProjection = getVerticalProjection(curve,
-					reference);
+					bounds, reference);
 			if (nearestVerticalProjection == null) {
 				// if there is no vertical projection, the horizontal one
 				// has to be minimal
@@ -203,17 +211,18 @@ public class OrthogonalProjectionStrategy extends ProjectionStrategy {
 	 * @param curve
 	 *            The {@link ICurve} to test. The returned {@link Point} has to
 	 *            be contained by it.
-	 *
+	 * @param bounds
+	 *            The bounds of the {@link ICurve}.
 	 * @param reference
 	 *            The reference point which is used to determine the distance.
 	 * @return The point on the {@link ICurve} that is vertically nearest to the
 	 *         given reference point.
 	 */
-	private Point getVerticalProjection(ICurve curve, Point reference) {
+	private Point getVerticalProjection(ICurve curve, Rectangle bounds,
+			Point reference) {
 		// Determine points on curve with same x-coordinate; by computing a
 		// line with the respective x-coordinate inside its bounds; then
 		// computing the nearest intersection on the curve
-		Rectangle bounds = curve.getBounds();
 		Line line = new Line(reference.x, bounds.getY(), reference.x,
 				bounds.getY() + bounds.getHeight());
 		Point projection = getNearestOrthogonalProjection(curve, reference,
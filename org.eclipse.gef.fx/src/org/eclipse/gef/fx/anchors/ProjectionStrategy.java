@@ -12,19 +12,24 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.anchors;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
 import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.IShape;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 
 import javafx.scene.Node;
 
@@ -43,12 +48,35 @@ import javafx.scene.Node;
  * outlines.</li>
  * <li>Return the nearest projection to the anchored reference point.</li>
  * </ol>
+ * <p>
+ * The anchorage outlines (in scene) are the same for all anchored reference
+ * points that are projected onto an anchorage. Therefore, they are computed
+ * only once per anchorage and cached (see
+ * {@link #getOutlineSegmentsInScene(Node, IGeometry)}) until the anchorage
+ * reference geometry or the local-to-scene transformation of the anchorage
+ * changes.
  *
  * @author anyssen
  * @author mwienand
  */
 public class ProjectionStrategy implements IComputationStrategy {
 
+	/**
+	 * The outline segments of an anchorage reference geometry in scene
+	 * coordinates, along with the data they were computed from.
+	 */
+	private static class AnchorageOutline {
+		private IGeometry geometryInLocal;
+		private AffineTransform localToSceneTx;
+		private List<ICurve> segmentsInScene;
+		private Rectangle[] segmentBoundsInScene;
+	}
+
+	// outlines per anchorage (weak keys, so that the anchorages can be garbage
+	// collected when shared strategies are used)
+	private final Map<Node, AnchorageOutline> anchorageOutlines = new WeakHashMap<>();
+	private AnchorageOutline lastAnchorageOutline;
+
 	@Override
 	public Point computePositionInScene(Node anchorage, Node anchored,
 			Set<Parameter<?>> parameters) {
@@ -58,13 +86,9 @@ public class ProjectionStrategy implements IComputationStrategy {
 		Point anchoredReferencePointInLocal = Parameter
 				.get(parameters, AnchoredReferencePoint.class).get();
 
-		// determine anchorage geometry in scene
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
-				anchorageReferenceGeometryInLocal);
-
 		// determine anchorage outlines in scene
-		List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-				anchorageGeometryInScene);
+		List<ICurve> anchorageOutlinesInScene = getOutlineSegmentsInScene(
+				anchorage, anchorageReferenceGeometryInLocal);
 
 		// transform anchored reference point to scene
 		Point anchoredReferencePointInScene = NodeUtils.localToScene(anchored,
@@ -124,6 +148,72 @@ public class ProjectionStrategy implements IComputationStrategy {
 		}
 	}
 
+	/**
+	 * Returns the bounds (in scene coordinates) of the given outline segments,
+	 * as returned by {@link #getOutlineSegmentsInScene(Node, IGeometry)}. The
+	 * bounds are cached along with the outline segments.
+	 *
+	 * @param segmentsInScene
+	 *            The outline segments (in scene coordinates).
+	 * @return An array containing the bounds of the given outline segments (in
+	 *         the order of the segments).
+	 */
+	protected Rectangle[] getOutlineSegmentBoundsInScene(
+			List<ICurve> segmentsInScene) {
+		AnchorageOutline outline = lastAnchorageOutline;
+		if (outline != null && outline.segmentsInScene == segmentsInScene) {
+			if (outline.segmentBoundsInScene == null) {
+				outline.segmentBoundsInScene = computeBounds(segmentsInScene);
+			}
+			return outline.segmentBoundsInScene;
+		}
+		return computeBounds(segmentsInScene);
+	}
+
+	private static Rectangle[] computeBounds(List<ICurve> segments) {
+		Rectangle[] bounds = new Rectangle[segments.size()];
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = segments.get(i).getBounds();
+		}
+		return bounds;
+	}
+
+	/**
+	 * Determines the outline of the given anchorage reference geometry in scene
+	 * coordinates, represented as a list of {@link ICurve}s (see
+	 * {@link #getOutlineSegments(IGeometry)}).
+	 * <p>
+	 * The outline is cached per anchorage, and only recomputed if the
+	 * anchorage reference geometry (identity) or the local-to-scene
+	 * transformation of the anchorage changes. The returned list (and the
+	 * contained {@link ICurve}s) may thus not be modified.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @param geometryInLocal
+	 *            The anchorage reference geometry within the local coordinate
+	 *            system of the anchorage visual.
+	 * @return An unmodifiable list of {@link ICurve}s representing the outline
+	 *         of the given {@link IGeometry} in scene coordinates.
+	 */
+	protected List<ICurve> getOutlineSegmentsInScene(Node anchorage,
+			IGeometry geometryInLocal) {
+		AffineTransform localToSceneTx = NodeUtils.getLocalToSceneTx(anchorage);
+		AnchorageOutline outline = anchorageOutlines.get(anchorage);
+		if (outline == null || outline.geometryInLocal != geometryInLocal
+				|| !outline.localToSceneTx.equals(localToSceneTx)) {
+			outline = new AnchorageOutline();
+			outline.geometryInLocal = geometryInLocal;
+			outline.localToSceneTx = localToSceneTx;
+			outline.segmentsInScene = Collections
+					.unmodifiableList(new ArrayList<>(getOutlineSegments(
+							geometryInLocal.getTransformed(localToSceneTx))));
+			anchorageOutlines.put(anchorage, outline);
+		}
+		lastAnchorageOutline = outline;
+		return outline.segmentsInScene;
+	}
+
 	@Override
 	public Set<Class<? extends Parameter<?>>> getRequiredParameters() {
 		Set<Class<? extends Parameter<?>>> parameters = new HashSet<>();
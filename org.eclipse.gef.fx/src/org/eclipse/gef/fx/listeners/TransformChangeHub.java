@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.listeners;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.transform.Transform;
+
+/**
+ * The {@link TransformChangeHub} is a shared registry for
+ * local-to-parent-transform observations. Instead of registering an individual
+ * listener at the local-to-parent-transform property of a {@link Node} per
+ * interested party, a single listener is registered per {@link Node}, which
+ * dispatches to all {@link ITransformChangeHandler}s that are subscribed for
+ * that {@link Node}.
+ * <p>
+ * Subscriptions are reference counted, i.e. a handler that is subscribed
+ * multiple times for the same {@link Node} is notified only once per change,
+ * and needs to be unsubscribed as many times as it was subscribed. The
+ * listener of a {@link Node} is removed as soon as the last handler is
+ * unsubscribed.
+ * <p>
+ * Changes are coalesced using dirty flags: a change marks the subscriptions of
+ * the changed {@link Node} as dirty, and dirty subscriptions are dispatched
+ * synchronously, before the change notification returns. Changes that are
+ * caused by handlers while dispatching (e.g. when an anchor relocates a node
+ * that is observed by other anchors) are not dispatched recursively, but only
+ * mark the respective subscriptions as dirty. These are dispatched after the
+ * current dispatch is finished, so that multiple changes of the same
+ * {@link Node} result in a single notification (providing the transform
+ * before the first and after the last change).
+ * <p>
+ * The subscriptions of a {@link Node} are stored within its properties (see
+ * {@link Node#getProperties()}), so that they do not outlive the {@link Node},
+ * even if it is never unsubscribed. As all JavaFX {@link Node}s, a
+ * {@link Node} may only be accessed from a single thread at a time (the JavaFX
+ * application thread once it is part of a scene), and the dispatch state is
+ * therefore confined to the thread that performs the change.
+ *
+ * @author agent
+ *
+ */
+public final class TransformChangeHub {
+
+	/**
+	 * An {@link ITransformChangeHandler} can be subscribed at the
+	 * {@link TransformChangeHub} to get notified about
+	 * local-to-parent-transform changes of specific {@link Node}s.
+	 */
+	public interface ITransformChangeHandler {
+
+		/**
+		 * Called upon a local-to-parent-transform change of a {@link Node} for
+		 * which this handler is subscribed.
+		 *
+		 * @param node
+		 *            The {@link Node} whose local-to-parent-transform changed.
+		 * @param oldTransform
+		 *            The old {@link Transform}.
+		 * @param newTransform
+		 *            The new {@link Transform}.
+		 */
+		public void localToParentTransformChanged(Node node,
+				Transform oldTransform, Transform newTransform);
+	}
+
+	/**
+	 * The subscriptions for a single {@link Node}, along with the listener that
+	 * is registered at its local-to-parent-transform property.
+	 */
+	private static class Subscriptions
+			implements ChangeListener<Transform> {
+
+		private final Node node;
+		// reference counts per handler (in subscription order)
+		private final Map<ITransformChangeHandler, Integer> handlers = new LinkedHashMap<>();
+		// snapshot of the handlers that is used for dispatching, so that
+		// handlers may (un-)subscribe during notification
+		private ITransformChangeHandler[] snapshot;
+		// whether a change is pending, and the transform before the first
+		// pending change
+		private boolean dirty;
+		private Transform oldTransform;
+
+		public Subscriptions(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public void changed(ObservableValue<? extends Transform> observable,
+				Transform oldValue, Transform newValue) {
+			Dispatcher dispatcher = DISPATCHER.get();
+			if (!dirty) {
+				dirty = true;
+				oldTransform = oldValue;
+				dispatcher.dirtySubscriptions.add(this);
+			}
+			dispatcher.flush();
+		}
+
+		private void dispatch() {
+			Transform oldValue = oldTransform;
+			dirty = false;
+			oldTransform = null;
+			// only dispatch if the new transform is valid
+			Transform newValue = node.getLocalToParentTransform();
+			if (!isValidTransform(newValue)) {
+				return;
+			}
+			if (snapshot == null) {
+				snapshot = handlers.keySet()
+						.toArray(new ITransformChangeHandler[handlers.size()]);
+			}
+			for (ITransformChangeHandler handler : snapshot) {
+				// skip handlers that were unsubscribed during notification
+				if (handlers.containsKey(handler)) {
+					handler.localToParentTransformChanged(node, oldValue,
+							newValue);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The dirty subscriptions of a single thread, which are dispatched by the
+	 * outermost change notification.
+	 */
+	private static class Dispatcher {
+
+		private final Deque<Subscriptions> dirtySubscriptions = new ArrayDeque<>();
+		private boolean dispatching = false;
+
+		/**
+		 * Dispatches all dirty subscriptions (in the order in which they
+		 * became dirty), unless a dispatch is already in progress, in which
+		 * case they are dispatched by the running dispatch.
+		 */
+		private void flush() {
+			if (dispatching) {
+				return;
+			}
+			dispatching = true;
+			try {
+				Subscriptions s;
+				while ((s = dirtySubscriptions.poll()) != null) {
+					s.dispatch();
+				}
+			} finally {
+				dispatching = false;
+				// drop pending changes in case a handler failed
+				for (Subscriptions s : dirtySubscriptions) {
+					s.dirty = false;
+					s.oldTransform = null;
+				}
+				dirtySubscriptions.clear();
+			}
+		}
+	}
+
+	// key of the subscriptions within the properties of an observed node
+	private static final Object SUBSCRIPTIONS_KEY = new Object();
+	private static final ThreadLocal<Dispatcher> DISPATCHER = new ThreadLocal<Dispatcher>() {
+		@Override
+		protected Dispatcher initialValue() {
+			return new Dispatcher();
+		}
+	};
+	private static final AtomicInteger listenerCount = new AtomicInteger();
+
+	/**
+	 * Returns the number of {@link ITransformChangeHandler}s that are
+	 * subscribed for the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} for which to return the number of subscribed
+	 *            handlers.
+	 * @return The number of (distinct) handlers that are subscribed for the
+	 *         given {@link Node}.
+	 */
+	public static int getHandlerCount(Node node) {
+		Subscriptions s = getSubscriptions(node);
+		return s == null ? 0 : s.handlers.size();
+	}
+
+	/**
+	 * Returns the number of listeners that are currently registered by the
+	 * {@link TransformChangeHub}, i.e. the number of {@link Node}s for which
+	 * handlers are subscribed. Listeners of {@link Node}s that were garbage
+	 * collected without unsubscribing their handlers are still counted.
+	 *
+	 * @return The number of registered listeners.
+	 */
+	public static int getListenerCount() {
+		return listenerCount.get();
+	}
+
+	private static Subscriptions getSubscriptions(Node node) {
+		return (Subscriptions) node.getProperties().get(SUBSCRIPTIONS_KEY);
+	}
+
+	private static boolean isValid(double value) {
+		return !Double.isNaN(value) && !Double.isInfinite(value);
+	}
+
+	/**
+	 * Checks if the given Transform contains NaN or infinite values. Returns
+	 * <code>true</code> if no such values are found, otherwise
+	 * <code>false</code>.
+	 */
+	private static boolean isValidTransform(Transform t) {
+		return isValid(t.getMxx()) && isValid(t.getMxy())
+				&& isValid(t.getMxz()) && isValid(t.getMyx())
+				&& isValid(t.getMyy()) && isValid(t.getMyz())
+				&& isValid(t.getMzx()) && isValid(t.getMzy())
+				&& isValid(t.getMzz()) && isValid(t.getTx())
+				&& isValid(t.getTy()) && isValid(t.getTz());
+	}
+
+	/**
+	 * Subscribes the given {@link ITransformChangeHandler} for
+	 * local-to-parent-transform changes of the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} to observe.
+	 * @param handler
+	 *            The {@link ITransformChangeHandler} to notify.
+	 */
+	public static void subscribe(Node node, ITransformChangeHandler handler) {
+		if (node == null) {
+			throw new IllegalArgumentException("Node may not be null.");
+		}
+		if (handler == null) {
+			throw new IllegalArgumentException("Handler may not be null.");
+		}
+		Subscriptions s = getSubscriptions(node);
+		if (s == null) {
+			s = new Subscriptions(node);
+			node.getProperties().put(SUBSCRIPTIONS_KEY, s);
+			node.localToParentTransformProperty().addListener(s);
+			listenerCount.incrementAndGet();
+		}
+		Integer count = s.handlers.get(handler);
+		if (count == null) {
+			s.handlers.put(handler, 1);
+			s.snapshot = null;
+		} else {
+			s.handlers.put(handler, count + 1);
+		}
+	}
+
+	/**
+	 * Unsubscribes the given {@link ITransformChangeHandler} from
+	 * local-to-parent-transform changes of the given {@link Node}. The handler
+	 * is not notified any longer when it was unsubscribed as many times as it
+	 * was subscribed.
+	 *
+	 * @param node
+	 *            The observed {@link Node}.
+	 * @param handler
+	 *            The {@link ITransformChangeHandler} to unsubscribe.
+	 */
+	public static void unsubscribe(Node node,
+			ITransformChangeHandler handler) {
+		Subscriptions s = getSubscriptions(node);
+		if (s == null) {
+			return;
+		}
+		Integer count = s.handlers.get(handler);
+		if (count == null) {
+			return;
+		}
+		if (count > 1) {
+			s.handlers.put(handler, count - 1);
+			return;
+		}
+		s.handlers.remove(handler);
+		s.snapshot = null;
+		if (s.handlers.isEmpty()) {
+			node.localToParentTransformProperty().removeListener(s);
+			node.getProperties().remove(SUBSCRIPTIONS_KEY);
+			listenerCount.decrementAndGet();
+		}
+	}
+
+	private TransformChangeHub() {
+		// not intended to be instantiated
+	}
+
+}
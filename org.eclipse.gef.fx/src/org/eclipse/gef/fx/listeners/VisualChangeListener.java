@@ -12,10 +12,12 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.listeners;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.eclipse.gef.fx.listeners.TransformChangeHub.ITransformChangeHandler;
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 
 import javafx.beans.value.ChangeListener;
@@ -34,8 +36,10 @@ import javafx.scene.transform.Transform;
  * called. A bounds-in-local change occurs when the target node's effect, clip,
  * stroke, local transformations, or geometric bounds change. A
  * local-to-parent-transform change occurs when the node undergoes a
- * transformation change. Transformation listeners are registered for all nodes
- * in the hierarchy up to a specific parent.
+ * transformation change. Transformation changes are observed for all nodes in
+ * the hierarchy up to a specific parent, using the shared
+ * {@link TransformChangeHub}, so that only a single listener is registered per
+ * ancestor node, independent of the number of {@link VisualChangeListener}s.
  *
  * @author anyssen
  * @author mwienand
@@ -45,13 +49,22 @@ public abstract class VisualChangeListener {
 
 	private Node observed;
 	private Node parent;
-	private HashMap<ChangeListener<Transform>, Node> localToParentTransformListeners = new HashMap<>();
+	private List<Node> transformObservedNodes = new ArrayList<>();
 	private boolean layoutBoundsChanged = false;
 	private boolean boundsInLocalChanged = false;
 	private boolean boundsInParentChanged = false;
 	private Bounds oldBoundsInLocal = null;
 	private Bounds newBoundsInLocal = null;
 
+	private final ITransformChangeHandler transformChangeHandler = new ITransformChangeHandler() {
+		@Override
+		public void localToParentTransformChanged(Node node,
+				Transform oldTransform, Transform newTransform) {
+			VisualChangeListener.this.localToParentTransformChanged(node,
+					oldTransform, newTransform);
+		}
+	};
+
 	private ChangeListener<? super Bounds> layoutBoundsListener = new ChangeListener<Bounds>() {
 		@Override
 		public void changed(ObservableValue<? extends Bounds> observable,
@@ -170,54 +183,6 @@ public abstract class VisualChangeListener {
 		return true;
 	}
 
-	/**
-	 * Checks if the given Transform contains NaN values. Returns
-	 * <code>true</code> if no NaN values are found, otherwise <code>false/
-	 * <code>.
-	 *
-	 * @param t
-	 * @return
-	 */
-	private boolean isValidTransform(Transform t) {
-		if (Double.isNaN(t.getMxx()) || Double.isInfinite(t.getMxx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMxy()) || Double.isInfinite(t.getMxy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMxz()) || Double.isInfinite(t.getMxz())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMyx()) || Double.isInfinite(t.getMyx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMyy()) || Double.isInfinite(t.getMyy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMyz()) || Double.isInfinite(t.getMyz())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMzx()) || Double.isInfinite(t.getMzx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMzy()) || Double.isInfinite(t.getMzy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getMzz()) || Double.isInfinite(t.getMzz())) {
-			return false;
-		}
-		if (Double.isNaN(t.getTx()) || Double.isInfinite(t.getTx())) {
-			return false;
-		}
-		if (Double.isNaN(t.getTy()) || Double.isInfinite(t.getTy())) {
-			return false;
-		}
-		if (Double.isNaN(t.getTz()) || Double.isInfinite(t.getTz())) {
-			return false;
-		}
-		return true;
-	}
-
 	/**
 	 * This method is called upon a local-to-parent-transform change.
 	 *
@@ -318,50 +283,17 @@ public abstract class VisualChangeListener {
 		observed.boundsInLocalProperty().addListener(boundsInLocalListener);
 		observed.boundsInParentProperty().addListener(boundsInParentListener);
 
-		// add transform listeners
-		tmp = observed;
-		while (tmp != null && tmp != parent) {
-			final Node current = tmp;
-			ChangeListener<Transform> transformChangeListener = new ChangeListener<Transform>() {
-				@Override
-				public void changed(
-						ObservableValue<? extends Transform> observable,
-						Transform oldValue, Transform newValue) {
-					// only fire a visual change event if the new transform is
-					// valid
-					if (isValidTransform(newValue)) {
-						localToParentTransformChanged(current, oldValue,
-								newValue);
-					}
-				}
-			};
-			tmp.localToParentTransformProperty()
-					.addListener(transformChangeListener);
-			localToParentTransformListeners.put(transformChangeListener, tmp);
-			tmp = tmp.getParent();
-		}
+		// subscribe for transform changes of the observed and observer
+		// hierarchies
+		subscribeTransformChanges(observed);
+		subscribeTransformChanges(observer);
+	}
 
-		// add transform listeners
-		// FIXME: Duplicate code!
-		tmp = observer;
+	private void subscribeTransformChanges(Node node) {
+		Node tmp = node;
 		while (tmp != null && tmp != parent) {
-			final Node current = tmp;
-			ChangeListener<Transform> transformChangeListener = new ChangeListener<Transform>() {
-				@Override
-				public void changed(
-						ObservableValue<? extends Transform> observable,
-						Transform oldValue, Transform newValue) {
-					// only fire a visual change event if the new transform is
-					// valid
-					if (isValidTransform(newValue)) {
-						localToParentTransformChanged(current, oldValue,
-								newValue);
-					}
-				}
-			};
-			tmp.localToParentTransformProperty()
-					.addListener(transformChangeListener);
-			localToParentTransformListeners.put(transformChangeListener, tmp);
+			TransformChangeHub.subscribe(tmp, transformChangeHandler);
+			transformObservedNodes.add(tmp);
 			tmp = tmp.getParent();
 		}
 	}
@@ -380,16 +312,14 @@ public abstract class VisualChangeListener {
 		observed.boundsInParentProperty()
 				.removeListener(boundsInParentListener);
 
-		// remove transform listeners
-		for (ChangeListener<Transform> l : localToParentTransformListeners
-				.keySet()) {
-			localToParentTransformListeners.get(l)
-					.localToParentTransformProperty().removeListener(l);
+		// unsubscribe from transform changes
+		for (Node node : transformObservedNodes) {
+			TransformChangeHub.unsubscribe(node, transformChangeHandler);
 		}
 
 		// reset fields
 		parent = null;
 		observed = null;
-		localToParentTransformListeners.clear();
+		transformObservedNodes.clear();
 	}
 }
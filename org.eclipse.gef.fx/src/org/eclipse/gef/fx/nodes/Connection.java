@@ -36,15 +36,18 @@ import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.Polyline;
 
 import com.google.common.collect.Iterators;
 
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanPropertyBase;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.ReadOnlyIntegerPropertyBase;
 import javafx.beans.property.ReadOnlyListProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -76,6 +79,11 @@ import javafx.scene.transform.Transform;
  * {@link Connection} can be controlled via start and end decorations. They will
  * be rendered 'on-top' of the curveProperty shape and the curveProperty shape
  * will be properly clipped at the decorations (so it does not paint through).
+ * <p>
+ * For the purpose of level-of-detail rendering, a {@link Connection} can be
+ * {@link #simplifiedProperty() simplified}, in which case its points are
+ * rendered as a straight {@link Polyline} without decorations, independent of
+ * the {@link IConnectionInterpolator}.
  *
  * @author anyssen
  * @author mwienand
@@ -242,6 +250,8 @@ public class Connection extends Group {
 			new StraightRouter());
 	private ObjectProperty<IConnectionInterpolator> interpolatorProperty = new SimpleObjectProperty<>(
 			new PolylineInterpolator());
+	private BooleanProperty simplifiedProperty = new SimpleBooleanProperty(
+			false);
 
 	// XXX: Maintain anchors in a sorted map, so we can use it to determine the
 	// mapping between anchor keys and anchor indexes.
@@ -345,6 +355,14 @@ public class Connection extends Group {
 					}
 				});
 
+		simplifiedProperty.addListener(new ChangeListener<Boolean>() {
+			@Override
+			public void changed(ObservableValue<? extends Boolean> observable,
+					Boolean oldValue, Boolean newValue) {
+				refresh();
+			}
+		});
+
 		curveProperty.addListener(new ChangeListener<Node>() {
 			private ChangeListener<Transform> transformListener = new ChangeListener<Transform>() {
 				@Override
@@ -1006,6 +1024,27 @@ public class Connection extends Group {
 		return interpolatorProperty;
 	}
 
+	/**
+	 * Updates the {@link #getCurve() curve node} to render a straight
+	 * {@link Polyline} through the points of this {@link Connection}, bypassing
+	 * the {@link IConnectionInterpolator} as well as the arrangement of the
+	 * decorations and the curve clip.
+	 */
+	private void interpolateSimplified() {
+		Node curve = getCurve();
+		if (!(curve instanceof GeometryNode)) {
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		GeometryNode<ICurve> curveNode = (GeometryNode<ICurve>) curve;
+		Polyline polyline = new Polyline(
+				getPointsUnmodifiable().toArray(new Point[] {}));
+		if (!polyline.equals(curveNode.getGeometry())) {
+			curveNode.setGeometry(polyline);
+		}
+		curveNode.setClip(null);
+	}
+
 	/**
 	 * Return <code>true</code> in case the anchor is bound to an anchorage
 	 * unequal to this connection.
@@ -1066,6 +1105,17 @@ public class Connection extends Group {
 		return isConnected(getEndAnchor());
 	}
 
+	/**
+	 * Returns the value of the {@link #simplifiedProperty() simplified
+	 * property}.
+	 *
+	 * @return <code>true</code> if this {@link Connection} is rendered
+	 *         simplified, otherwise <code>false</code>.
+	 */
+	public boolean isSimplified() {
+		return simplifiedProperty.get();
+	}
+
 	/**
 	 * Returns <code>true</code> if the currently assigned
 	 * {@link #getStartAnchor() start anchor} is bound to an anchorage.
@@ -1248,14 +1298,17 @@ public class Connection extends Group {
 		// clear visuals except for the curveProperty
 		getChildren().retainAll(getCurve());
 
-		// z-order: place decorations above curve
-		Node startDecoration = getStartDecoration();
-		if (startDecoration != null) {
-			getChildren().add(startDecoration);
-		}
-		Node endDecoration = getEndDecoration();
-		if (endDecoration != null) {
-			getChildren().add(endDecoration);
+		// z-order: place decorations above curve (decorations are not
+		// rendered when simplified)
+		if (!isSimplified()) {
+			Node startDecoration = getStartDecoration();
+			if (startDecoration != null) {
+				getChildren().add(startDecoration);
+			}
+			Node endDecoration = getEndDecoration();
+			if (endDecoration != null) {
+				getChildren().add(endDecoration);
+			}
 		}
 
 		// Transform tx = getCurve().getLocalToParentTransform();
@@ -1294,7 +1347,11 @@ public class Connection extends Group {
 		IConnectionInterpolator interpolator = getInterpolator();
 		if (interpolator != null) {
 			// apply new points to the visualization
-			interpolator.interpolate(this);
+			if (isSimplified()) {
+				interpolateSimplified();
+			} else {
+				interpolator.interpolate(this);
+			}
 			// XXX: Changing the visualization changes the
 			// curve-to-connection-transform, and since the PCLs are disabled,
 			// the points need to be refreshed again, in order to be up-to-date.
@@ -1837,6 +1894,18 @@ public class Connection extends Group {
 		routerProperty.set(router);
 	}
 
+	/**
+	 * Sets the value of the {@link #simplifiedProperty() simplified property}.
+	 *
+	 * @param simplified
+	 *            <code>true</code> to render this {@link Connection}
+	 *            simplified, <code>false</code> to render it with full
+	 *            fidelity.
+	 */
+	public void setSimplified(boolean simplified) {
+		simplifiedProperty.set(simplified);
+	}
+
 	/**
 	 * Sets the start {@link IAnchor} of this {@link Connection} to the given
 	 * value.
@@ -1907,6 +1976,22 @@ public class Connection extends Group {
 		refresh();
 	}
 
+	/**
+	 * Returns a (writable) property that controls whether this
+	 * {@link Connection} is rendered simplified, i.e. as a straight
+	 * {@link Polyline} through its points without decorations. The
+	 * {@link IConnectionRouter} is still applied, so that the points are not
+	 * affected, while the interpolation of the curve geometry, as well as the
+	 * arrangement of the decorations and the computation of the curve clip are
+	 * skipped.
+	 *
+	 * @return A property to control whether this {@link Connection} is
+	 *         rendered simplified.
+	 */
+	public BooleanProperty simplifiedProperty() {
+		return simplifiedProperty;
+	}
+
 	/**
 	 * Returns an {@link ObjectProperty} wrapping the start decoration
 	 * {@link Node}.
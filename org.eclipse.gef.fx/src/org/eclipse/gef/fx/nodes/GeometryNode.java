@@ -17,10 +17,12 @@ import org.eclipse.gef.fx.utils.Geometry2Shape;
 import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.Arc;
 import org.eclipse.gef.geometry.planar.Ellipse;
+import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.IScalable;
 import org.eclipse.gef.geometry.planar.IShape;
 import org.eclipse.gef.geometry.planar.ITranslatable;
+import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Pie;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
@@ -30,6 +32,7 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
@@ -67,6 +70,12 @@ import javafx.scene.shape.StrokeType;
  * notifications itself, changes to the underlying {@link IGeometry} will not be
  * recognized by the {@link GeometryNode} unless the {@link #geometryProperty()
  * geometry property} is changed.
+ * <p>
+ * For the purpose of level-of-detail rendering, a {@link GeometryNode} can be
+ * {@link #simplifiedProperty() simplified}, in which case a simplified shape
+ * is rendered instead of the {@link IGeometry}, i.e. the bounds of an
+ * {@link IShape} or the straight line between the end points of an
+ * {@link ICurve}.
  *
  * @author anyssen
  * @author mwienand
@@ -84,6 +93,8 @@ public class GeometryNode<T extends IGeometry> extends Region {
 	private Path clickableAreaShape = null;
 	private DoubleProperty clickableAreaWidth = new SimpleDoubleProperty();
 	private ObjectProperty<T> geometryProperty = new SimpleObjectProperty<>();
+	private BooleanProperty simplifiedProperty = new SimpleBooleanProperty(
+			false);
 
 	private ChangeListener<T> geometryChangeListener = new ChangeListener<T>() {
 		@Override
@@ -185,6 +196,17 @@ public class GeometryNode<T extends IGeometry> extends Region {
 		// update path elements whenever the geometry property is changed
 		geometryProperty.addListener(geometryChangeListener);
 
+		// update path elements whenever the level of detail is changed
+		simplifiedProperty.addListener(new ChangeListener<Boolean>() {
+			@Override
+			public void changed(ObservableValue<? extends Boolean> observable,
+					Boolean oldValue, Boolean newValue) {
+				if (geometryProperty.get() != null) {
+					updateShapes();
+				}
+			}
+		});
+
 		// stroke width and type affect the layout bounds, so we have to react
 		// to changes
 		strokeWidthProperty().addListener(new ChangeListener<Number>() {
@@ -418,7 +440,20 @@ public class GeometryNode<T extends IGeometry> extends Region {
 	}
 
 	private PathElement[] getPathElements() {
-		return Geometry2Shape.toPathElements(geometryProperty.get()
+		T geometry = geometryProperty.get();
+		if (isSimplified()) {
+			// render the end points line of a curve, or the bounds otherwise
+			if (geometry instanceof ICurve) {
+				ICurve curve = (ICurve) geometry;
+				return Geometry2Shape.toPathElements(
+						new Line(curve.getP1(), curve.getP2())
+								.getTranslated(-getLayoutX(), -getLayoutY())
+								.toPath());
+			}
+			return Geometry2Shape.toPathElements(geometry.getBounds()
+					.getTranslated(-getLayoutX(), -getLayoutY()).toPath());
+		}
+		return Geometry2Shape.toPathElements(geometry
 				.getTransformed(new AffineTransform()
 						.setToTranslation(-getLayoutX(), -getLayoutY()))
 				.toPath());
@@ -527,6 +562,17 @@ public class GeometryNode<T extends IGeometry> extends Region {
 		return true;
 	}
 
+	/**
+	 * Returns the value of the {@link #simplifiedProperty() simplified
+	 * property}.
+	 *
+	 * @return <code>true</code> if a simplified shape is rendered, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isSimplified() {
+		return simplifiedProperty.get();
+	}
+
 	/**
 	 * Retrieves the value of the smooth property.
 	 *
@@ -837,6 +883,17 @@ public class GeometryNode<T extends IGeometry> extends Region {
 		this.geometryProperty.setValue(geometry);
 	}
 
+	/**
+	 * Sets the value of the {@link #simplifiedProperty() simplified property}.
+	 *
+	 * @param simplified
+	 *            <code>true</code> to render a simplified shape, or
+	 *            <code>false</code> to render the {@link IGeometry}.
+	 */
+	public void setSimplified(boolean simplified) {
+		simplifiedProperty.set(simplified);
+	}
+
 	/**
 	 * Sets the value of the smooth property.
 	 *
@@ -933,6 +990,20 @@ public class GeometryNode<T extends IGeometry> extends Region {
 		geometricShape.setStrokeWidth(value);
 	}
 
+	/**
+	 * Returns a (writable) property that controls whether a simplified shape
+	 * is rendered instead of the {@link IGeometry}, i.e. the bounds of an
+	 * {@link IShape} or the straight line between the end points of an
+	 * {@link ICurve}. The simplified shape is cheaper to render and does not
+	 * require to convert the {@link IGeometry} into path elements, so that it
+	 * can be used for level-of-detail rendering.
+	 *
+	 * @return A property to control whether a simplified shape is rendered.
+	 */
+	public BooleanProperty simplifiedProperty() {
+		return simplifiedProperty;
+	}
+
 	/**
 	 * Provides a {@link Property} holding the smooth value to apply for this
 	 * {@link GeometryNode}.
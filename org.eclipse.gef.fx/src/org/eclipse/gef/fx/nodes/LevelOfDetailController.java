@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.transform.Affine;
+
+/**
+ * The {@link LevelOfDetailController} controls the level of detail of the
+ * {@link Connection}s and {@link GeometryNode}s within the
+ * {@link InfiniteCanvas#getContentGroup() content group} of an
+ * {@link InfiniteCanvas}, depending on the scale of its
+ * {@link InfiniteCanvas#getContentTransform() content transform}.
+ * <p>
+ * When the scale falls below the {@link #connectionThresholdProperty()
+ * connection threshold}, all {@link Connection}s are
+ * {@link Connection#simplifiedProperty() simplified}, i.e. rendered as straight
+ * polylines without decorations. When the scale falls below the
+ * {@link #geometryNodeThresholdProperty() geometry node threshold}, all
+ * {@link GeometryNode}s are {@link GeometryNode#simplifiedProperty()
+ * simplified}, i.e. rendered using simplified bounding shapes. Full fidelity is
+ * restored as soon as the scale reaches the respective threshold again.
+ * <p>
+ * The level of detail is only changed when a threshold is crossed, and it is
+ * applied to all {@link Connection}s and {@link GeometryNode}s that are added
+ * to the content group later on. The nested children of {@link Connection}s and
+ * {@link GeometryNode}s are not considered. Please note that the level of
+ * detail of all affected nodes is controlled by the
+ * {@link LevelOfDetailController} while it is {@link #install(InfiniteCanvas)
+ * installed}, i.e. it overrides the values that are set manually.
+ *
+ * @author agent
+ *
+ */
+public class LevelOfDetailController {
+
+	/**
+	 * The default content transform scale below which {@link Connection}s are
+	 * simplified.
+	 */
+	public static final double DEFAULT_CONNECTION_THRESHOLD = 0.5;
+
+	/**
+	 * The default content transform scale below which {@link GeometryNode}s
+	 * are simplified.
+	 */
+	public static final double DEFAULT_GEOMETRY_NODE_THRESHOLD = 0.25;
+
+	private DoubleProperty connectionThresholdProperty = new SimpleDoubleProperty(
+			DEFAULT_CONNECTION_THRESHOLD);
+	private DoubleProperty geometryNodeThresholdProperty = new SimpleDoubleProperty(
+			DEFAULT_GEOMETRY_NODE_THRESHOLD);
+
+	private Parent contents;
+	private Affine contentTransform;
+	private boolean connectionsSimplified = false;
+	private boolean geometryNodesSimplified = false;
+
+	private ChangeListener<Number> scaleListener = new ChangeListener<Number>() {
+		@Override
+		public void changed(ObservableValue<? extends Number> observable,
+				Number oldValue, Number newValue) {
+			update();
+		}
+	};
+
+	private ListChangeListener<Node> childrenListener = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> c) {
+			while (c.next()) {
+				for (Node removed : c.getRemoved()) {
+					unregister(removed);
+				}
+				for (Node added : c.getAddedSubList()) {
+					register(added);
+				}
+			}
+		}
+	};
+
+	/**
+	 * Applies the current level of detail to the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} to which the level of detail is applied.
+	 */
+	private void apply(Node node) {
+		if (node instanceof Connection) {
+			((Connection) node).setSimplified(connectionsSimplified);
+		} else if (node instanceof GeometryNode) {
+			((GeometryNode<?>) node).setSimplified(geometryNodesSimplified);
+		} else if (node instanceof Parent) {
+			for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+				apply(child);
+			}
+		}
+	}
+
+	/**
+	 * Returns a (writable) property that provides the content transform scale
+	 * below which {@link Connection}s are simplified.
+	 *
+	 * @return The property that provides the connection threshold.
+	 */
+	public DoubleProperty connectionThresholdProperty() {
+		return connectionThresholdProperty;
+	}
+
+	/**
+	 * Returns a (writable) property that provides the content transform scale
+	 * below which {@link GeometryNode}s are simplified.
+	 *
+	 * @return The property that provides the geometry node threshold.
+	 */
+	public DoubleProperty geometryNodeThresholdProperty() {
+		return geometryNodeThresholdProperty;
+	}
+
+	/**
+	 * Returns the content transform that determines the level of detail, or
+	 * <code>null</code> if this {@link LevelOfDetailController} is not
+	 * installed.
+	 *
+	 * @return The content transform that determines the level of detail.
+	 */
+	public Affine getContentTransform() {
+		return contentTransform;
+	}
+
+	/**
+	 * Returns the {@link Parent} whose descendants are controlled by this
+	 * {@link LevelOfDetailController}, or <code>null</code> if it is not
+	 * installed.
+	 *
+	 * @return The {@link Parent} whose descendants are controlled.
+	 */
+	public Parent getContents() {
+		return contents;
+	}
+
+	/**
+	 * Returns the value of the {@link #connectionThresholdProperty()}.
+	 *
+	 * @return The value of the {@link #connectionThresholdProperty()}.
+	 */
+	public double getConnectionThreshold() {
+		return connectionThresholdProperty.get();
+	}
+
+	/**
+	 * Returns the value of the {@link #geometryNodeThresholdProperty()}.
+	 *
+	 * @return The value of the {@link #geometryNodeThresholdProperty()}.
+	 */
+	public double getGeometryNodeThreshold() {
+		return geometryNodeThresholdProperty.get();
+	}
+
+	/**
+	 * Returns the (uniform) scale of the content transform, or <code>1</code>
+	 * if this {@link LevelOfDetailController} is not installed.
+	 *
+	 * @return The scale of the content transform.
+	 */
+	protected double getScale() {
+		if (contentTransform == null) {
+			return 1;
+		}
+		return Math.sqrt(contentTransform.getMxx() * contentTransform.getMxx()
+				+ contentTransform.getMyx() * contentTransform.getMyx());
+	}
+
+	/**
+	 * Installs this {@link LevelOfDetailController} on the given
+	 * {@link InfiniteCanvas}, so that the level of detail of the contents of
+	 * its {@link InfiniteCanvas#getContentGroup() content group} is controlled
+	 * by the scale of its {@link InfiniteCanvas#getContentTransform() content
+	 * transform}.
+	 *
+	 * @param canvas
+	 *            The {@link InfiniteCanvas} on which to install this
+	 *            {@link LevelOfDetailController}.
+	 */
+	public void install(InfiniteCanvas canvas) {
+		if (canvas == null) {
+			throw new IllegalArgumentException("Canvas may not be null.");
+		}
+		install(canvas.getContentGroup(), canvas.getContentTransform());
+	}
+
+	/**
+	 * Installs this {@link LevelOfDetailController}, so that the level of
+	 * detail of the descendants of the given {@link Parent} is controlled by
+	 * the scale of the given content transform.
+	 *
+	 * @param contents
+	 *            The {@link Parent} whose descendants are controlled.
+	 * @param contentTransform
+	 *            The {@link Affine} that determines the level of detail.
+	 */
+	public void install(Parent contents, Affine contentTransform) {
+		if (contents == null) {
+			throw new IllegalArgumentException("Contents may not be null.");
+		}
+		if (contentTransform == null) {
+			throw new IllegalArgumentException(
+					"Content transform may not be null.");
+		}
+		if (this.contents != null) {
+			throw new IllegalStateException(
+					"LevelOfDetailController is already installed.");
+		}
+		this.contents = contents;
+		this.contentTransform = contentTransform;
+		contentTransform.mxxProperty().addListener(scaleListener);
+		contentTransform.myxProperty().addListener(scaleListener);
+		connectionThresholdProperty.addListener(scaleListener);
+		geometryNodeThresholdProperty.addListener(scaleListener);
+		connectionsSimplified = false;
+		geometryNodesSimplified = false;
+		register(contents);
+		update();
+	}
+
+	/**
+	 * Returns <code>true</code> if {@link Connection}s are currently
+	 * simplified, otherwise <code>false</code>.
+	 *
+	 * @return <code>true</code> if {@link Connection}s are currently
+	 *         simplified, otherwise <code>false</code>.
+	 */
+	public boolean isConnectionsSimplified() {
+		return connectionsSimplified;
+	}
+
+	/**
+	 * Returns <code>true</code> if {@link GeometryNode}s are currently
+	 * simplified, otherwise <code>false</code>.
+	 *
+	 * @return <code>true</code> if {@link GeometryNode}s are currently
+	 *         simplified, otherwise <code>false</code>.
+	 */
+	public boolean isGeometryNodesSimplified() {
+		return geometryNodesSimplified;
+	}
+
+	/**
+	 * Registers the children listener at the given {@link Node} and its
+	 * descendants (if it is a {@link Parent}), and applies the current level
+	 * of detail.
+	 */
+	private void register(Node node) {
+		if (node instanceof Connection) {
+			((Connection) node).setSimplified(connectionsSimplified);
+		} else if (node instanceof GeometryNode) {
+			((GeometryNode<?>) node).setSimplified(geometryNodesSimplified);
+		} else if (node instanceof Parent) {
+			Parent parent = (Parent) node;
+			parent.getChildrenUnmodifiable().addListener(childrenListener);
+			for (Node child : parent.getChildrenUnmodifiable()) {
+				register(child);
+			}
+		}
+	}
+
+	/**
+	 * Sets the value of the {@link #connectionThresholdProperty()}.
+	 *
+	 * @param threshold
+	 *            The new connection threshold.
+	 */
+	public void setConnectionThreshold(double threshold) {
+		connectionThresholdProperty.set(threshold);
+	}
+
+	/**
+	 * Sets the value of the {@link #geometryNodeThresholdProperty()}.
+	 *
+	 * @param threshold
+	 *            The new geometry node threshold.
+	 */
+	public void setGeometryNodeThreshold(double threshold) {
+		geometryNodeThresholdProperty.set(threshold);
+	}
+
+	/**
+	 * Uninstalls this {@link LevelOfDetailController} and restores full
+	 * fidelity for the controlled contents.
+	 */
+	public void uninstall() {
+		if (contents == null) {
+			return;
+		}
+		contentTransform.mxxProperty().removeListener(scaleListener);
+		contentTransform.myxProperty().removeListener(scaleListener);
+		connectionThresholdProperty.removeListener(scaleListener);
+		geometryNodeThresholdProperty.removeListener(scaleListener);
+		unregister(contents);
+		connectionsSimplified = false;
+		geometryNodesSimplified = false;
+		apply(contents);
+		contents = null;
+		contentTransform = null;
+	}
+
+	/**
+	 * Unregisters the children listener from the given {@link Node} and its
+	 * descendants (if it is a {@link Parent}).
+	 */
+	private void unregister(Node node) {
+		if (node instanceof Connection || node instanceof GeometryNode) {
+			return;
+		}
+		if (node instanceof Parent) {
+			Parent parent = (Parent) node;
+			parent.getChildrenUnmodifiable().removeListener(childrenListener);
+			for (Node child : parent.getChildrenUnmodifiable()) {
+				unregister(child);
+			}
+		}
+	}
+
+	/**
+	 * Determines the level of detail for the current content transform scale
+	 * and applies it to the contents in case a threshold is crossed.
+	 */
+	protected void update() {
+		double scale = getScale();
+		boolean simplifyConnections = scale < getConnectionThreshold();
+		boolean simplifyGeometryNodes = scale < getGeometryNodeThreshold();
+		if (simplifyConnections == connectionsSimplified
+				&& simplifyGeometryNodes == geometryNodesSimplified) {
+			return;
+		}
+		connectionsSimplified = simplifyConnections;
+		geometryNodesSimplified = simplifyGeometryNodes;
+		apply(contents);
+	}
+
+}
@@ -0,0 +1,764 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.IShape;
+import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.transform.Scale;
+
+/**
+ * The {@link TiledCanvasLayer} is an optional rendering layer for an
+ * {@link InfiniteCanvas}, which draws the geometry of a (potentially very
+ * large) number of {@link GeometryNode} items into tiled {@link Canvas}es,
+ * instead of maintaining them as live nodes within the scene graph. This
+ * avoids the CSS and layout passes for the items, which dominate the frame
+ * time for large contents.
+ * <p>
+ * The items are not part of the scene graph. Their geometry is interpreted in
+ * the coordinate system of the {@link InfiniteCanvas#getContentGroup() content
+ * group}, taking into account their local-to-parent-transform (as if the
+ * content group was their parent), and is drawn using their fill, stroke, and
+ * stroke width (i.e. the stroke type and dash array are not considered). The
+ * layer itself is mouse transparent, i.e. the items are not interactive. An
+ * item can be {@link #promote(GeometryNode) promoted} though, in which case it
+ * is added to the content group as a live node (and is no longer drawn into
+ * the tiles), e.g. when it is hovered, selected, or focused. The
+ * {@link #getItemAt(Point)} method can be used to determine the item under
+ * the mouse.
+ * <p>
+ * The tiles are rendered on demand, i.e. when they become visible, and are
+ * cached per zoom level (a limited number of zoom levels is cached). The zoom
+ * levels are powers of two, i.e. the tiles are rendered for the next power of
+ * two that is greater than or equal to the current scale, and are scaled down
+ * to the current scale. When an item changes, only the tiles that are covered
+ * by its old and new bounds are invalidated. The items are indexed by a grid
+ * (of tile size cells within the content group), so that rendering a tile and
+ * determining the item at a position only consider nearby items. Please note
+ * that the layer assumes that the {@link InfiniteCanvas#getContentTransform()
+ * content transform} is composed of a (uniform) scaling and a translation, as
+ * is the case for zooming and panning.
+ * <p>
+ * The layer needs to be added to the {@link InfiniteCanvas} by the client,
+ * preferably to its {@link InfiniteCanvas#getScrolledUnderlayGroup() scrolled
+ * underlay group}, so that it is rendered below the live contents.
+ *
+ * @author agent
+ *
+ */
+public class TiledCanvasLayer extends Region {
+
+	/**
+	 * An item that is rendered by the {@link TiledCanvasLayer}, along with its
+	 * cached bounds in the coordinate system of the content group.
+	 */
+	private class Item implements InvalidationListener {
+
+		private final GeometryNode<?> node;
+		// position in z-order (increasing)
+		private final long order;
+		// bounds within content group (including the stroke), by which the
+		// item is indexed
+		private Rectangle bounds;
+
+		public Item(GeometryNode<?> node, long order) {
+			this.node = node;
+			this.order = order;
+		}
+
+		@Override
+		public void invalidated(Observable observable) {
+			if (bounds != null) {
+				invalidate(bounds);
+				unindex(this);
+				bounds = null;
+			}
+			dirtyItems.add(this);
+			requestLayout();
+		}
+	}
+
+	/**
+	 * The default tile size (in pixels).
+	 */
+	public static final int DEFAULT_TILE_SIZE = 256;
+
+	/**
+	 * The default number of zoom levels for which tiles are cached.
+	 */
+	public static final int DEFAULT_MAX_CACHED_ZOOM_LEVELS = 4;
+
+	// items that cover more grid cells are not indexed per cell
+	private static final int MAX_INDEXED_CELLS = 64;
+
+	private static final Comparator<Item> Z_ORDER = new Comparator<Item>() {
+		@Override
+		public int compare(Item a, Item b) {
+			return Long.compare(a.order, b.order);
+		}
+	};
+
+	private final Group contentGroup;
+	private final Region viewport;
+	private final int tileSize;
+	private final int maxCachedZoomLevels;
+
+	// items in z-order (last item on top)
+	private final Map<GeometryNode<?>, Item> items = new LinkedHashMap<>();
+	private final Set<Item> dirtyItems = new HashSet<>();
+	private final Set<GeometryNode<?>> promoted = new HashSet<>();
+	private long nextOrder = 0;
+
+	// indexed items per grid cell and items that cover too many cells (each
+	// in z-order)
+	private final Map<Long, List<Item>> cells = new HashMap<>();
+	private final List<Item> largeItems = new ArrayList<>();
+
+	// cached tiles per zoom level (in access order), and the scaling from the
+	// zoom level to the current scale
+	private final Map<Integer, Map<Long, Canvas>> tiles;
+	private final Scale tileScale = new Scale();
+
+	private final InvalidationListener viewportListener = new InvalidationListener() {
+		@Override
+		public void invalidated(Observable observable) {
+			requestLayout();
+		}
+	};
+
+	/**
+	 * Constructs a new {@link TiledCanvasLayer} for the given
+	 * {@link InfiniteCanvas}, using the {@link #DEFAULT_TILE_SIZE} and
+	 * {@link #DEFAULT_MAX_CACHED_ZOOM_LEVELS}.
+	 *
+	 * @param canvas
+	 *            The {@link InfiniteCanvas} for which to render items.
+	 */
+	public TiledCanvasLayer(InfiniteCanvas canvas) {
+		this(canvas.getContentGroup(), canvas, DEFAULT_TILE_SIZE,
+				DEFAULT_MAX_CACHED_ZOOM_LEVELS);
+	}
+
+	/**
+	 * Constructs a new {@link TiledCanvasLayer} that renders items for the
+	 * given content {@link Group}, within the visible area of the given
+	 * viewport {@link Region}, e.g. the {@link InfiniteCanvas#getContentGroup()
+	 * content group} and an {@link InfiniteCanvas}.
+	 *
+	 * @param contentGroup
+	 *            The {@link Group} in whose coordinate system the items are
+	 *            interpreted, and to which promoted items are added.
+	 * @param viewport
+	 *            The {@link Region} that determines the visible area.
+	 * @param tileSize
+	 *            The width and height of a tile (in pixels).
+	 * @param maxCachedZoomLevels
+	 *            The number of zoom levels for which tiles are cached.
+	 */
+	public TiledCanvasLayer(Group contentGroup, Region viewport,
+			int tileSize, int maxCachedZoomLevels) {
+		if (contentGroup == null) {
+			throw new IllegalArgumentException(
+					"Content group may not be null.");
+		}
+		if (viewport == null) {
+			throw new IllegalArgumentException("Viewport may not be null.");
+		}
+		if (tileSize <= 0) {
+			throw new IllegalArgumentException(
+					"Tile size needs to be positive.");
+		}
+		if (maxCachedZoomLevels <= 0) {
+			throw new IllegalArgumentException(
+					"Number of cached zoom levels needs to be positive.");
+		}
+		this.contentGroup = contentGroup;
+		this.viewport = viewport;
+		this.tileSize = tileSize;
+		this.maxCachedZoomLevels = maxCachedZoomLevels;
+		tiles = new LinkedHashMap<Integer, Map<Long, Canvas>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Integer, Map<Long, Canvas>> eldest) {
+				return size() > TiledCanvasLayer.this.maxCachedZoomLevels;
+			}
+		};
+
+		setMouseTransparent(true);
+
+		// update the visible tiles when the viewport changes
+		contentGroup.localToSceneTransformProperty()
+				.addListener(viewportListener);
+		localToSceneTransformProperty().addListener(viewportListener);
+		viewport.widthProperty().addListener(viewportListener);
+		viewport.heightProperty().addListener(viewportListener);
+	}
+
+	/**
+	 * Adds the given {@link GeometryNode} as an item (on top of all other
+	 * items) that is rendered by this {@link TiledCanvasLayer}. The given
+	 * {@link GeometryNode} may not be part of the scene graph.
+	 *
+	 * @param item
+	 *            The {@link GeometryNode} to add.
+	 */
+	public void addItem(GeometryNode<?> item) {
+		if (items.containsKey(item)) {
+			return;
+		}
+		Item i = new Item(item, nextOrder++);
+		items.put(item, i);
+		item.geometryProperty().addListener(i);
+		item.localToParentTransformProperty().addListener(i);
+		item.fillProperty().addListener(i);
+		item.strokeProperty().addListener(i);
+		item.strokeWidthProperty().addListener(i);
+		dirtyItems.add(i);
+		requestLayout();
+	}
+
+	/**
+	 * Clears the tile cache, so that all tiles are re-rendered.
+	 */
+	public void clearCache() {
+		tiles.clear();
+		getChildren().clear();
+		requestLayout();
+	}
+
+	/**
+	 * Computes the bounds of the given {@link Item} within the content group,
+	 * including its stroke. Returns <code>null</code> if the item does not
+	 * provide a geometry.
+	 */
+	private Rectangle computeBounds(Item item) {
+		IGeometry geometry = item.node.getGeometry();
+		if (geometry == null) {
+			return null;
+		}
+		double strokeWidth = item.node.getStroke() == null ? 0
+				: item.node.getStrokeWidth();
+		return geometry.getBounds().getExpanded(strokeWidth, strokeWidth)
+				.getTransformed(getGeometryToContentTx(item.node)).getBounds();
+	}
+
+	/**
+	 * Demotes the given (promoted) item, i.e. removes it from the content
+	 * group, so that it is rendered into the tiles again.
+	 *
+	 * @param item
+	 *            The item to demote.
+	 */
+	public void demote(GeometryNode<?> item) {
+		if (!promoted.remove(item)) {
+			return;
+		}
+		contentGroup.getChildren().remove(item);
+		invalidateItem(item);
+	}
+
+	/**
+	 * Draws the geometry of the given {@link GeometryNode} using the given
+	 * {@link GraphicsContext}, which is already transformed to the
+	 * coordinate system of the geometry.
+	 *
+	 * @param gc
+	 *            The {@link GraphicsContext} to draw to.
+	 * @param item
+	 *            The {@link GeometryNode} whose geometry is drawn.
+	 */
+	protected void drawItem(GraphicsContext gc, GeometryNode<?> item) {
+		IGeometry geometry = item.getGeometry();
+		Path path = geometry.toPath();
+		gc.beginPath();
+		for (Segment s : path.getSegments()) {
+			Point[] p = s.getPoints();
+			switch (s.getType()) {
+			case Segment.MOVE_TO:
+				gc.moveTo(p[0].x, p[0].y);
+				break;
+			case Segment.LINE_TO:
+				gc.lineTo(p[0].x, p[0].y);
+				break;
+			case Segment.QUAD_TO:
+				gc.quadraticCurveTo(p[0].x, p[0].y, p[1].x, p[1].y);
+				break;
+			case Segment.CUBIC_TO:
+				gc.bezierCurveTo(p[0].x, p[0].y, p[1].x, p[1].y, p[2].x,
+						p[2].y);
+				break;
+			case Segment.CLOSE:
+				gc.closePath();
+				break;
+			default:
+				throw new IllegalStateException(
+						"Unknown Path.Segment: <" + s + ">");
+			}
+		}
+		if (item.getFill() != null && geometry instanceof IShape) {
+			gc.setFillRule(item.getFillRule());
+			gc.setFill(item.getFill());
+			gc.fill();
+		}
+		if (item.getStroke() != null && item.getStrokeWidth() > 0) {
+			gc.setStroke(item.getStroke());
+			gc.setLineWidth(item.getStrokeWidth());
+			gc.setLineCap(item.getStrokeLineCap());
+			gc.setLineJoin(item.getStrokeLineJoin());
+			gc.setMiterLimit(item.getStrokeMiterLimit());
+			gc.stroke();
+		}
+	}
+
+	/**
+	 * Returns the transformation from the coordinate system of the geometry
+	 * of the given {@link GeometryNode} to the coordinate system of the
+	 * content group, i.e. its local-to-parent-transform, disregarding the
+	 * layout position (which is compensated within the {@link GeometryNode}).
+	 */
+	private AffineTransform getGeometryToContentTx(GeometryNode<?> node) {
+		return FX2Geometry.toAffineTransform(node.getLocalToParentTransform())
+				.concatenate(new AffineTransform(1, 0, 0, 1,
+						-node.getLayoutX(), -node.getLayoutY()));
+	}
+
+	/**
+	 * Returns the top-most (non-promoted) item at the given position, or
+	 * <code>null</code> if no item is found at the given position.
+	 *
+	 * @param pointInContent
+	 *            The position in the coordinate system of the content group.
+	 * @return The top-most item at the given position, or <code>null</code>.
+	 */
+	public GeometryNode<?> getItemAt(Point pointInContent) {
+		updateDirtyItems();
+		List<Item> cell = cells.get(
+				key(tileIndex(pointInContent.x), tileIndex(pointInContent.y)));
+		// merge the items of the cell and the large items in reverse z-order
+		int c = cell == null ? -1 : cell.size() - 1;
+		int l = largeItems.size() - 1;
+		while (c >= 0 || l >= 0) {
+			Item item;
+			if (l < 0 || c >= 0
+					&& cell.get(c).order > largeItems.get(l).order) {
+				item = cell.get(c--);
+			} else {
+				item = largeItems.get(l--);
+			}
+			if (promoted.contains(item.node)
+					|| !item.bounds.contains(pointInContent)) {
+				continue;
+			}
+			IGeometry geometry = item.node.getGeometry();
+			if (!(geometry instanceof IShape)) {
+				// curves are hit within their (stroke-expanded) bounds
+				return item.node;
+			}
+			Point pointInGeometry = getGeometryToContentTx(item.node)
+					.getInverse().getTransformed(pointInContent);
+			if (geometry.contains(pointInGeometry)) {
+				return item.node;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the (indexed) items that may intersect the given bounds (within
+	 * the content group) in z-order.
+	 */
+	private Iterable<Item> getItems(Rectangle boundsInContent) {
+		int i0 = tileIndex(boundsInContent.getX());
+		int j0 = tileIndex(boundsInContent.getY());
+		int i1 = tileIndex(boundsInContent.getX() + boundsInContent.getWidth());
+		int j1 = tileIndex(
+				boundsInContent.getY() + boundsInContent.getHeight());
+		if ((long) (i1 - i0 + 1) * (j1 - j0 + 1) > items.size()) {
+			// visiting the cells is more expensive than visiting all items
+			List<Item> indexed = new ArrayList<>();
+			for (Item item : items.values()) {
+				if (item.bounds != null) {
+					indexed.add(item);
+				}
+			}
+			return indexed;
+		}
+		Map<Item, Boolean> candidates = new IdentityHashMap<>();
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				List<Item> cell = cells.get(key(i, j));
+				if (cell != null) {
+					for (Item item : cell) {
+						candidates.put(item, Boolean.TRUE);
+					}
+				}
+			}
+		}
+		List<Item> result = new ArrayList<>(candidates.keySet());
+		result.addAll(largeItems);
+		Collections.sort(result, Z_ORDER);
+		return result;
+	}
+
+	/**
+	 * Returns an unmodifiable list containing all items in z-order, i.e. the
+	 * last item is rendered on top.
+	 *
+	 * @return An unmodifiable list containing all items.
+	 */
+	public List<GeometryNode<?>> getItems() {
+		return Collections
+				.unmodifiableList(new ArrayList<>(items.keySet()));
+	}
+
+	/**
+	 * Returns the number of zoom levels for which tiles are cached.
+	 *
+	 * @return The number of zoom levels for which tiles are cached.
+	 */
+	public int getMaxCachedZoomLevels() {
+		return maxCachedZoomLevels;
+	}
+
+	/**
+	 * Returns the width and height of a tile (in pixels).
+	 *
+	 * @return The width and height of a tile.
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Returns the zoom level for the given scale, i.e. the exponent of the
+	 * next power of two that is greater than or equal to the given scale.
+	 */
+	private static int getZoomLevel(double scale) {
+		int level = Math.getExponent(scale);
+		return Math.scalb(1.0, level) < scale ? level + 1 : level;
+	}
+
+	/**
+	 * Adds the given {@link Item} to the grid cells that are covered by its
+	 * bounds, or to the large items in case it covers too many cells.
+	 */
+	private void index(Item item) {
+		int i0 = tileIndex(item.bounds.getX());
+		int j0 = tileIndex(item.bounds.getY());
+		int i1 = tileIndex(item.bounds.getX() + item.bounds.getWidth());
+		int j1 = tileIndex(item.bounds.getY() + item.bounds.getHeight());
+		if ((long) (i1 - i0 + 1) * (j1 - j0 + 1) > MAX_INDEXED_CELLS) {
+			insert(largeItems, item);
+			return;
+		}
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				List<Item> cell = cells.get(key(i, j));
+				if (cell == null) {
+					cell = new ArrayList<>();
+					cells.put(key(i, j), cell);
+				}
+				insert(cell, item);
+			}
+		}
+	}
+
+	/**
+	 * Inserts the given {@link Item} into the given list, which is sorted in
+	 * z-order.
+	 */
+	private static void insert(List<Item> list, Item item) {
+		int index = Collections.binarySearch(list, item, Z_ORDER);
+		if (index < 0) {
+			list.add(-index - 1, item);
+		}
+	}
+
+	/**
+	 * Removes all cached tiles that intersect the given bounds (within the
+	 * content group).
+	 */
+	private void invalidate(Rectangle boundsInContent) {
+		for (Map.Entry<Integer, Map<Long, Canvas>> entry : tiles.entrySet()) {
+			double scale = Math.scalb(1.0, entry.getKey());
+			int i0 = tileIndex(boundsInContent.getX() * scale);
+			int j0 = tileIndex(boundsInContent.getY() * scale);
+			int i1 = tileIndex(
+					(boundsInContent.getX() + boundsInContent.getWidth())
+							* scale);
+			int j1 = tileIndex(
+					(boundsInContent.getY() + boundsInContent.getHeight())
+							* scale);
+			Iterator<Map.Entry<Long, Canvas>> it = entry.getValue().entrySet()
+					.iterator();
+			while (it.hasNext()) {
+				Map.Entry<Long, Canvas> tile = it.next();
+				int i = (int) (tile.getKey() >> 32);
+				int j = (int) (long) tile.getKey();
+				if (i >= i0 && i <= i1 && j >= j0 && j <= j1) {
+					getChildren().remove(tile.getValue());
+					it.remove();
+				}
+			}
+		}
+	}
+
+	private void invalidateItem(GeometryNode<?> item) {
+		Item i = items.get(item);
+		if (i != null) {
+			i.invalidated(null);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given item is promoted, i.e. rendered
+	 * as a live node within the content group.
+	 *
+	 * @param item
+	 *            The item to test.
+	 * @return <code>true</code> if the given item is promoted, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isPromoted(GeometryNode<?> item) {
+		return promoted.contains(item);
+	}
+
+	private static long key(int i, int j) {
+		return ((long) i << 32) | (j & 0xFFFFFFFFL);
+	}
+
+	@Override
+	protected void layoutChildren() {
+		updateDirtyItems();
+
+		// XXX: Query the observed transforms, so that the (lazily computed)
+		// properties are validated and report subsequent changes.
+		contentGroup.getLocalToSceneTransform();
+		getLocalToSceneTransform();
+
+		// determine the content-to-layer transformation
+		AffineTransform contentToLayerTx = NodeUtils
+				.getSceneToLocalTx(this).concatenate(
+						NodeUtils.getLocalToSceneTx(contentGroup));
+		double scale = contentToLayerTx.getScaleX();
+		if (scale <= 0 || Double.isNaN(scale) || Double.isInfinite(scale)) {
+			getChildren().clear();
+			return;
+		}
+		double tx = contentToLayerTx.getTranslateX();
+		double ty = contentToLayerTx.getTranslateY();
+		// render the tiles for the zoom level and scale them down
+		int level = getZoomLevel(scale);
+		double zoomScale = Math.scalb(1.0, level);
+		double factor = scale / zoomScale;
+		tileScale.setX(factor);
+		tileScale.setY(factor);
+
+		// determine the visible tiles
+		Bounds visibleBounds = sceneToLocal(
+				viewport.localToScene(viewport.getLayoutBounds()));
+		if (visibleBounds == null || visibleBounds.isEmpty()) {
+			getChildren().clear();
+			return;
+		}
+		int i0 = tileIndex((visibleBounds.getMinX() - tx) / factor);
+		int j0 = tileIndex((visibleBounds.getMinY() - ty) / factor);
+		int i1 = tileIndex((visibleBounds.getMaxX() - tx) / factor);
+		int j1 = tileIndex((visibleBounds.getMaxY() - ty) / factor);
+
+		// render missing tiles and arrange visible tiles
+		Map<Long, Canvas> tilesForLevel = tiles.get(level);
+		if (tilesForLevel == null) {
+			tilesForLevel = new LinkedHashMap<>();
+			tiles.put(level, tilesForLevel);
+		}
+		List<Node> visibleTiles = new ArrayList<>();
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				long key = key(i, j);
+				Canvas tile = tilesForLevel.get(key);
+				if (tile == null) {
+					tile = renderTile(zoomScale, i, j);
+					tile.getTransforms().add(tileScale);
+					tilesForLevel.put(key, tile);
+				}
+				tile.relocate(tx + i * tileSize * factor,
+						ty + j * tileSize * factor);
+				visibleTiles.add(tile);
+			}
+		}
+		if (!getChildren().equals(visibleTiles)) {
+			getChildren().setAll(visibleTiles);
+		}
+	}
+
+	/**
+	 * Promotes the given item, i.e. adds it to the content group, so that it
+	 * is rendered as a live (interactive) node instead of being rendered into
+	 * the tiles. The item is inserted in front of the promoted items that are
+	 * above it in z-order, so that the promoted items retain their z-order.
+	 *
+	 * @param item
+	 *            The item to promote.
+	 */
+	public void promote(GeometryNode<?> item) {
+		Item i = items.get(item);
+		if (i == null || !promoted.add(item)) {
+			return;
+		}
+		List<Node> children = contentGroup.getChildren();
+		int index = children.size();
+		for (int k = 0; k < children.size(); k++) {
+			Node child = children.get(k);
+			Item other = promoted.contains(child) ? items.get(child) : null;
+			if (other != null && other.order > i.order) {
+				index = k;
+				break;
+			}
+		}
+		children.add(index, item);
+		invalidateItem(item);
+	}
+
+	/**
+	 * Removes the given item from this {@link TiledCanvasLayer}. In case the
+	 * item is promoted, it is removed from the content group as well.
+	 *
+	 * @param item
+	 *            The item to remove.
+	 */
+	public void removeItem(GeometryNode<?> item) {
+		demote(item);
+		Item i = items.remove(item);
+		if (i == null) {
+			return;
+		}
+		item.geometryProperty().removeListener(i);
+		item.localToParentTransformProperty().removeListener(i);
+		item.fillProperty().removeListener(i);
+		item.strokeProperty().removeListener(i);
+		item.strokeWidthProperty().removeListener(i);
+		dirtyItems.remove(i);
+		if (i.bounds != null) {
+			invalidate(i.bounds);
+			unindex(i);
+		}
+		requestLayout();
+	}
+
+	/**
+	 * Renders the tile with the given indices for the given zoom level, i.e.
+	 * draws all (non-promoted) items that intersect the tile.
+	 *
+	 * @param scale
+	 *            The scale of the zoom level (a power of two).
+	 * @param i
+	 *            The horizontal tile index.
+	 * @param j
+	 *            The vertical tile index.
+	 * @return The {@link Canvas} that represents the tile.
+	 */
+	protected Canvas renderTile(double scale, int i, int j) {
+		Canvas tile = new Canvas(tileSize, tileSize);
+		GraphicsContext gc = tile.getGraphicsContext2D();
+		Rectangle tileBoundsInContent = new Rectangle(i * tileSize / scale,
+				j * tileSize / scale, tileSize / scale, tileSize / scale);
+		AffineTransform contentToTileTx = new AffineTransform(scale, 0, 0,
+				scale, -i * tileSize, -j * tileSize);
+		for (Item item : getItems(tileBoundsInContent)) {
+			if (promoted.contains(item.node)
+					|| !item.bounds.touches(tileBoundsInContent)) {
+				continue;
+			}
+			AffineTransform tx = contentToTileTx.getCopy()
+					.concatenate(getGeometryToContentTx(item.node));
+			gc.setTransform(tx.getM00(), tx.getM10(), tx.getM01(),
+					tx.getM11(), tx.getTranslateX(), tx.getTranslateY());
+			drawItem(gc, item.node);
+		}
+		return tile;
+	}
+
+	private int tileIndex(double coordinate) {
+		return (int) Math.floor(coordinate / tileSize);
+	}
+
+	/**
+	 * Removes the given {@link Item} from the grid cells that are covered by
+	 * its bounds, or from the large items.
+	 */
+	private void unindex(Item item) {
+		int i0 = tileIndex(item.bounds.getX());
+		int j0 = tileIndex(item.bounds.getY());
+		int i1 = tileIndex(item.bounds.getX() + item.bounds.getWidth());
+		int j1 = tileIndex(item.bounds.getY() + item.bounds.getHeight());
+		if ((long) (i1 - i0 + 1) * (j1 - j0 + 1) > MAX_INDEXED_CELLS) {
+			largeItems.remove(
+					Collections.binarySearch(largeItems, item, Z_ORDER));
+			return;
+		}
+		for (int i = i0; i <= i1; i++) {
+			for (int j = j0; j <= j1; j++) {
+				List<Item> cell = cells.get(key(i, j));
+				cell.remove(Collections.binarySearch(cell, item, Z_ORDER));
+				if (cell.isEmpty()) {
+					cells.remove(key(i, j));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the bounds of the changed items, indexes them, and invalidates
+	 * the tiles that are covered by them.
+	 */
+	private void updateDirtyItems() {
+		for (Item item : dirtyItems) {
+			item.bounds = computeBounds(item);
+			if (item.bounds != null) {
+				invalidate(item.bounds);
+				index(item);
+			}
+		}
+		dirtyItems.clear();
+	}
+
+}
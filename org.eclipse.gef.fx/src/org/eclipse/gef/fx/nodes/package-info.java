@@ -22,6 +22,11 @@
  * hover: {@link org.eclipse.gef.fx.nodes.HoverOverlayImageView}</li>
  * <li>a visual providing a scrollable infinite canvas with a background grid:
  * {@link org.eclipse.gef.fx.nodes.InfiniteCanvas}</li>
+ * <li>a controller for level-of-detail rendering of connections and geometry
+ * nodes depending on the zoom level:
+ * {@link org.eclipse.gef.fx.nodes.LevelOfDetailController}</li>
+ * <li>a layer that renders large numbers of geometry nodes into tiled canvases:
+ * {@link org.eclipse.gef.fx.nodes.TiledCanvasLayer}</li>
  * </ul>
  */
 package org.eclipse.gef.fx.nodes;
\ No newline at end of file
@@ -10,7 +10,22 @@
  *******************************************************************************/
 package org.eclipse.gef.layout.tests;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.OverlapRemovalAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper;
 import org.junit.Assert;
 import org.junit.Test;
@@ -83,4 +98,278 @@ public class LayoutAlgorithmTests {
 		Assert.assertFalse(node3.isAncestorOf(node4));
 		Assert.assertFalse(node4.isAncestorOf(node3));
 	}
+
+	private static Node createNode() {
+		Node node = new Node();
+		LayoutProperties.setLocation(node, new Point());
+		LayoutProperties.setSize(node, new Dimension(10, 10));
+		return node;
+	}
+
+	private static LayoutContext createLayoutContext(Graph graph,
+			ILayoutAlgorithm algorithm) {
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 500));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		return context;
+	}
+
+	/**
+	 * Tests that an incremental layout pass of the
+	 * {@link SpringLayoutAlgorithm} only moves the nodes that are affected by
+	 * the changes since the last layout pass.
+	 */
+	@Test
+	public void testIncrementalSpringLayout() {
+		Node a = createNode();
+		Node b = createNode();
+		Node c = createNode();
+		Node d = createNode();
+		Graph graph = new Graph.Builder().nodes(a, b, c, d)
+				.edges(new Edge(a, b), new Edge(c, d)).build();
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setIterations(50);
+		LayoutContext context = createLayoutContext(graph, algorithm);
+		context.applyLayout(true);
+		Point locationC = LayoutProperties.getLocation(c).getCopy();
+		Point locationD = LayoutProperties.getLocation(d).getCopy();
+
+		// add a node that is connected to a
+		Node e = createNode();
+		graph.getNodes().add(e);
+		graph.getEdges().add(new Edge(a, e));
+		context.applyLayout(false);
+
+		// unaffected nodes keep their location
+		Assert.assertEquals(locationC, LayoutProperties.getLocation(c));
+		Assert.assertEquals(locationD, LayoutProperties.getLocation(d));
+		Assert.assertFalse(
+				new Point().equals(LayoutProperties.getLocation(e)));
+		Assert.assertFalse(context.hasLayoutChanges());
+	}
+
+	/**
+	 * Tests that an incremental layout pass of the
+	 * {@link SugiyamaLayoutAlgorithm} assigns added nodes to a layer below
+	 * their predecessors.
+	 */
+	@Test
+	public void testIncrementalSugiyamaLayout() {
+		Node a = createNode();
+		Node b = createNode();
+		Node x = createNode();
+		Graph graph = new Graph.Builder().nodes(a, b, x).edges(new Edge(a, b))
+				.build();
+		LayoutContext context = createLayoutContext(graph,
+				new SugiyamaLayoutAlgorithm());
+		context.applyLayout(true);
+		Assert.assertTrue(LayoutProperties.getLocation(a).y < LayoutProperties
+				.getLocation(b).y);
+
+		// add a successor of b, which is a predecessor of x, so that x has to
+		// be pushed down
+		Node c = createNode();
+		graph.getNodes().add(c);
+		graph.getEdges().addAll(new Edge(b, c), new Edge(c, x));
+		context.applyLayout(false);
+
+		Assert.assertTrue(LayoutProperties.getLocation(a).y < LayoutProperties
+				.getLocation(b).y);
+		Assert.assertTrue(LayoutProperties.getLocation(b).y < LayoutProperties
+				.getLocation(c).y);
+		Assert.assertTrue(LayoutProperties.getLocation(c).y < LayoutProperties
+				.getLocation(x).y);
+	}
+
+	/**
+	 * Tests that an incremental layout pass of the
+	 * {@link SugiyamaLayoutAlgorithm} removes the dummy nodes of a removed
+	 * edge, so that the result equals a clean layout pass.
+	 */
+	@Test
+	public void testIncrementalSugiyamaLayoutRemovedEdge() {
+		Node a = createNode();
+		Node b = createNode();
+		Node c = createNode();
+		Edge ac = new Edge(a, c);
+		Graph graph = new Graph.Builder().nodes(a, b, c)
+				.edges(new Edge(a, b), new Edge(b, c), ac).build();
+		LayoutContext context = createLayoutContext(graph,
+				new SugiyamaLayoutAlgorithm());
+		context.applyLayout(true);
+
+		// the edge from a to c spans a dummy node next to b
+		graph.getEdges().remove(ac);
+		context.applyLayout(false);
+		Point[] incremental = getLocations(a, b, c);
+
+		createLayoutContext(graph, new SugiyamaLayoutAlgorithm())
+				.applyLayout(true);
+		Assert.assertArrayEquals(getLocations(a, b, c), incremental);
+	}
+
+	/**
+	 * Tests that an incremental layout pass of the
+	 * {@link SugiyamaLayoutAlgorithm} links an edge that is added between
+	 * existing nodes, pushing down the target and inserting dummy nodes, so
+	 * that the layers equal the ones of a clean layout pass.
+	 */
+	@Test
+	public void testIncrementalSugiyamaLayoutAddedEdge() {
+		Node a = createNode();
+		Node b = createNode();
+		Node c = createNode();
+		Graph graph = new Graph.Builder().nodes(a, b, c)
+				.edges(new Edge(a, b), new Edge(a, c)).build();
+		LayoutContext context = createLayoutContext(graph,
+				new SugiyamaLayoutAlgorithm());
+		context.applyLayout(true);
+		Assert.assertEquals(LayoutProperties.getLocation(b).y,
+				LayoutProperties.getLocation(c).y, 0);
+
+		// c has to be pushed below b, and the edge from a to c spans a dummy
+		// node next to b
+		graph.getEdges().add(new Edge(b, c));
+		context.applyLayout(false);
+		Point[] incremental = getLocations(a, b, c);
+		Assert.assertTrue(incremental[1].y < incremental[2].y);
+
+		// the order within a layer may differ, but the layers are the same
+		createLayoutContext(graph, new SugiyamaLayoutAlgorithm())
+				.applyLayout(true);
+		Point[] clean = getLocations(a, b, c);
+		for (int i = 0; i < clean.length; i++) {
+			Assert.assertEquals(clean[i].y, incremental[i].y, 0);
+		}
+	}
+
+	private static Point[] getLocations(Node... nodes) {
+		Point[] locations = new Point[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			locations[i] = LayoutProperties.getLocation(nodes[i]).getCopy();
+		}
+		return locations;
+	}
+
+	/**
+	 * Tests that the {@link OverlapRemovalAlgorithm} removes all overlaps
+	 * between nodes, without moving non-movable nodes.
+	 */
+	@Test
+	public void testOverlapRemoval() {
+		Graph graph = new Graph();
+		for (int i = 0; i < 400; i++) {
+			Node node = createNode();
+			// place all nodes on top of each other (with some variation)
+			LayoutProperties.setLocation(node,
+					new Point(250 + (i * 7) % 13, 250 + (i * 11) % 17));
+			graph.getNodes().add(node);
+		}
+		Node fixed = graph.getNodes().get(0);
+		fixed.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		Point fixedLocation = LayoutProperties.getLocation(fixed).getCopy();
+
+		OverlapRemovalAlgorithm algorithm = new OverlapRemovalAlgorithm();
+		algorithm.setGap(2);
+		algorithm.setMaxIterations(500);
+		createLayoutContext(graph, algorithm).applyLayout(true);
+
+		Assert.assertEquals(fixedLocation, LayoutProperties.getLocation(fixed));
+		// the node size (10) plus the gap (2) is the minimum distance
+		Node[] nodes = graph.getNodes().toArray(new Node[] {});
+		for (int i = 0; i < nodes.length; i++) {
+			Point p = LayoutProperties.getLocation(nodes[i]);
+			for (int j = i + 1; j < nodes.length; j++) {
+				Point q = LayoutProperties.getLocation(nodes[j]);
+				// allow for rounding errors
+				Assert.assertTrue(Math.abs(p.x - q.x) > 11.99
+						|| Math.abs(p.y - q.y) > 11.99);
+			}
+		}
+	}
+
+	/**
+	 * Tests that the {@link OverlapRemovalAlgorithm} removes all overlaps
+	 * within a dense random layout, where the relaxation alone does not
+	 * converge.
+	 */
+	@Test
+	public void testOverlapRemovalDenseRandomLayout() {
+		// the nodes (including the gap) cover more than the area of the layout
+		Node[] nodes = createRandomNodes(3000, 550, new Random(7));
+		OverlapRemovalAlgorithm algorithm = new OverlapRemovalAlgorithm();
+		algorithm.setGap(2);
+		Graph graph = new Graph();
+		graph.getNodes().addAll(nodes);
+		createLayoutContext(graph, algorithm).applyLayout(true);
+		assertNoOverlaps(nodes, 12);
+	}
+
+	/**
+	 * Tests that the {@link OverlapRemovalAlgorithm} removes all overlaps
+	 * within a large layout, without spreading the layout excessively.
+	 */
+	@Test(timeout = 60000)
+	public void testOverlapRemovalLargeLayout() {
+		// the nodes cover about half of the area of the layout
+		Node[] nodes = createRandomNodes(50000, 3100, new Random(11));
+		OverlapRemovalAlgorithm algorithm = new OverlapRemovalAlgorithm();
+		Graph graph = new Graph();
+		graph.getNodes().addAll(nodes);
+		createLayoutContext(graph, algorithm).applyLayout(true);
+		assertNoOverlaps(nodes, 10);
+		Rectangle bounds = getBounds(nodes);
+		Assert.assertTrue(bounds.toString(),
+				bounds.getWidth() * bounds.getHeight() < 1.5 * 3100 * 3100);
+	}
+
+	/**
+	 * Creates nodes of size 10x10 at random locations within a square of the
+	 * given size.
+	 */
+	private static Node[] createRandomNodes(int count, double size,
+			Random random) {
+		Node[] nodes = new Node[count];
+		for (int i = 0; i < count; i++) {
+			nodes[i] = createNode();
+			LayoutProperties.setLocation(nodes[i], new Point(
+					random.nextDouble() * size, random.nextDouble() * size));
+		}
+		return nodes;
+	}
+
+	/**
+	 * Asserts that the distance of the centers of all nodes is at least the
+	 * given distance along one of the axes, sweeping over the nodes ordered by
+	 * their x coordinates.
+	 */
+	private static void assertNoOverlaps(Node[] nodes, final double distance) {
+		final Point[] locations = getLocations(nodes);
+		Arrays.sort(locations, new Comparator<Point>() {
+			@Override
+			public int compare(Point p, Point q) {
+				return Double.compare(p.x, q.x);
+			}
+		});
+		for (int i = 0; i < locations.length; i++) {
+			Point p = locations[i];
+			for (int j = i + 1; j < locations.length
+					&& locations[j].x - p.x < distance - 0.01; j++) {
+				// allow for rounding errors
+				Assert.assertTrue(p + " overlaps " + locations[j],
+						Math.abs(locations[j].y - p.y) > distance - 0.01);
+			}
+		}
+	}
+
+	private static Rectangle getBounds(Node[] nodes) {
+		Rectangle bounds = null;
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			bounds = bounds == null ? new Rectangle(location, new Dimension())
+					: bounds.union(location);
+		}
+		return bounds;
+	}
 }
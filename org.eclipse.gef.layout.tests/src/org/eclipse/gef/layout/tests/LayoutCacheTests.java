@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutCache;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.junit.Test;
+
+public class LayoutCacheTests {
+
+	/**
+	 * Places all nodes on a diagonal and counts its invocations.
+	 */
+	public static class CountingLayoutAlgorithm
+			implements ICacheableLayoutAlgorithm {
+		private int invocations = 0;
+		private double gap;
+		private boolean locationDependent;
+
+		public CountingLayoutAlgorithm(double gap) {
+			this.gap = gap;
+		}
+
+		@Override
+		public void applyLayout(LayoutContext layoutContext, boolean clean) {
+			invocations++;
+			Node[] nodes = layoutContext.getNodes();
+			for (int i = 0; i < nodes.length; i++) {
+				LayoutProperties.setLocation(nodes[i],
+						new Point(i * gap, i * gap));
+			}
+		}
+
+		@Override
+		public Object getLayoutCacheKey() {
+			return Collections.singletonList(gap);
+		}
+
+		@Override
+		public boolean isLocationDependent() {
+			return locationDependent;
+		}
+	}
+
+	private static Graph createGraph() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		for (Node n : new Node[] { n1, n2, n3 }) {
+			LayoutProperties.setSize(n, new Dimension(10, 10));
+		}
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3)
+				.edges(new Edge(n1, n2), new Edge(n2, n3)).build();
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 100, 100));
+		return graph;
+	}
+
+	private static LayoutContext createLayoutContext(Graph graph,
+			ILayoutAlgorithm algorithm, LayoutCache cache) {
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.setLayoutCache(cache);
+		return context;
+	}
+
+	@Test
+	public void restoreStructurallyEquivalentGraph() {
+		LayoutCache cache = new LayoutCache();
+		CountingLayoutAlgorithm algorithm = new CountingLayoutAlgorithm(10);
+		Graph graph = createGraph();
+		createLayoutContext(graph, algorithm, cache).applyLayout(true);
+		assertEquals(1, algorithm.invocations);
+		assertEquals(1, cache.getEntryCount());
+
+		// structurally equivalent graph is restored from the cache
+		Graph copy = createGraph();
+		CountingLayoutAlgorithm algorithm2 = new CountingLayoutAlgorithm(10);
+		createLayoutContext(copy, algorithm2, cache).applyLayout(true);
+		assertEquals(0, algorithm2.invocations);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(
+					LayoutProperties.getLocation(graph.getNodes().get(i)),
+					LayoutProperties.getLocation(copy.getNodes().get(i)));
+		}
+	}
+
+	@Test
+	public void fingerprintDependsOnStructureAndParameters() {
+		LayoutCache cache = new LayoutCache();
+		Graph graph = createGraph();
+		CountingLayoutAlgorithm algorithm = new CountingLayoutAlgorithm(10);
+		LayoutContext context = createLayoutContext(graph, algorithm, cache);
+		context.applyLayout(true);
+		context.applyLayout(true);
+		assertEquals(1, algorithm.invocations);
+
+		// different node size
+		LayoutProperties.setSize(graph.getNodes().get(0),
+				new Dimension(20, 20));
+		context.applyLayout(true);
+		assertEquals(2, algorithm.invocations);
+
+		// different edges
+		graph.getEdges().add(
+				new Edge(graph.getNodes().get(0), graph.getNodes().get(2)));
+		context.applyLayout(true);
+		assertEquals(3, algorithm.invocations);
+
+		// different algorithm parameter
+		algorithm.gap = 20;
+		context.applyLayout(true);
+		assertEquals(4, algorithm.invocations);
+		assertEquals(4, cache.getEntryCount());
+	}
+
+	@Test
+	public void fingerprintDependsOnLocationsIfLocationDependent() {
+		LayoutCache cache = new LayoutCache();
+		Graph graph = createGraph();
+		CountingLayoutAlgorithm algorithm = new CountingLayoutAlgorithm(10);
+		LayoutContext context = createLayoutContext(graph, algorithm, cache);
+		LayoutProperties.setLocation(graph.getNodes().get(0),
+				new Point(50, 50));
+		context.applyLayout(true);
+		LayoutProperties.setLocation(graph.getNodes().get(0),
+				new Point(50, 50));
+		context.applyLayout(true);
+		assertEquals(1, algorithm.invocations);
+
+		// initial locations are part of the fingerprint
+		algorithm.locationDependent = true;
+		LayoutProperties.setLocation(graph.getNodes().get(0),
+				new Point(50, 50));
+		context.applyLayout(true);
+		assertEquals(2, algorithm.invocations);
+		LayoutProperties.setLocation(graph.getNodes().get(0),
+				new Point(50, 50));
+		context.applyLayout(true);
+		assertEquals(2, algorithm.invocations);
+		LayoutProperties.setLocation(graph.getNodes().get(0),
+				new Point(60, 50));
+		context.applyLayout(true);
+		assertEquals(3, algorithm.invocations);
+	}
+
+	@Test
+	public void nonCacheableAlgorithmIsNotCached() {
+		LayoutCache cache = new LayoutCache();
+		final int[] invocations = new int[1];
+		ILayoutAlgorithm algorithm = new ILayoutAlgorithm() {
+			@Override
+			public void applyLayout(LayoutContext layoutContext,
+					boolean clean) {
+				invocations[0]++;
+			}
+		};
+		LayoutContext context = createLayoutContext(createGraph(), algorithm,
+				cache);
+		context.applyLayout(true);
+		context.applyLayout(true);
+		assertEquals(2, invocations[0]);
+		assertEquals(0, cache.getEntryCount());
+	}
+
+	@Test
+	public void randomSpringLayoutIsNotCached() {
+		LayoutCache cache = new LayoutCache();
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		LayoutContext context = createLayoutContext(createGraph(), algorithm,
+				cache);
+		// a relayout has to compute a new random layout
+		context.applyLayout(true);
+		assertEquals(0, cache.getEntryCount());
+
+		// without random placement, the layout is determined by the initial
+		// locations
+		algorithm.setRandom(false);
+		context.applyLayout(true);
+		assertEquals(1, cache.getEntryCount());
+	}
+
+	@Test
+	public void restoreResetsIncrementalState() {
+		final int[] resets = new int[1];
+		class IncrementalLayoutAlgorithm extends CountingLayoutAlgorithm
+				implements IIncrementalLayoutAlgorithm {
+			public IncrementalLayoutAlgorithm(double gap) {
+				super(gap);
+			}
+
+			@Override
+			public void resetIncrementalState(LayoutContext layoutContext) {
+				resets[0]++;
+			}
+		}
+		LayoutCache cache = new LayoutCache();
+		CountingLayoutAlgorithm algorithm = new IncrementalLayoutAlgorithm(10);
+		LayoutContext context = createLayoutContext(createGraph(), algorithm,
+				cache);
+		context.applyLayout(true);
+		assertEquals(1, algorithm.invocations);
+		assertEquals(0, resets[0]);
+
+		// the restored layout was not computed by the algorithm, so that its
+		// incremental state is outdated
+		context.applyLayout(true);
+		assertEquals(1, algorithm.invocations);
+		assertEquals(1, resets[0]);
+		context.startProgressiveLayout(true);
+		assertEquals(1, algorithm.invocations);
+		assertEquals(2, resets[0]);
+	}
+
+	@Test
+	public void evictLeastRecentlyUsed() {
+		LayoutCache cache = new LayoutCache();
+		cache.setMaxEntries(2);
+		CountingLayoutAlgorithm algorithm = new CountingLayoutAlgorithm(10);
+		LayoutContext context = createLayoutContext(createGraph(), algorithm,
+				cache);
+		context.applyLayout(true);
+		algorithm.gap = 20;
+		context.applyLayout(true);
+		algorithm.gap = 30;
+		context.applyLayout(true);
+		assertEquals(2, cache.getEntryCount());
+		assertEquals(3, algorithm.invocations);
+
+		// first result was evicted
+		algorithm.gap = 10;
+		context.applyLayout(true);
+		assertEquals(4, algorithm.invocations);
+
+		// memory bound
+		cache.setMaxBytes(0);
+		assertEquals(0, cache.getEntryCount());
+		assertEquals(0, cache.getEstimatedSize());
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutFilter;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.junit.Test;
+
+public class LayoutContextTests {
+
+	/**
+	 * Filters the nodes contained in a set, as well as their edges, and counts
+	 * its invocations.
+	 */
+	private static class SetLayoutFilter implements ILayoutFilter {
+		private Set<Node> filtered = new HashSet<>();
+		private int invocations = 0;
+
+		@Override
+		public boolean isLayoutIrrelevant(Edge edge) {
+			invocations++;
+			return filtered.contains(edge.getSource())
+					|| filtered.contains(edge.getTarget());
+		}
+
+		@Override
+		public boolean isLayoutIrrelevant(Node node) {
+			invocations++;
+			return filtered.contains(node);
+		}
+	}
+
+	@Test
+	public void cachedLayoutRelevantElements() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		Edge e1 = new Edge(n1, n2);
+		Edge e2 = new Edge(n2, n3);
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3).edges(e1, e2)
+				.build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		SetLayoutFilter filter = new SetLayoutFilter();
+		context.addLayoutFilter(filter);
+
+		assertArrayEquals(new Node[] { n1, n2, n3 }, context.getNodes());
+		assertArrayEquals(new Edge[] { e1, e2 }, context.getEdges());
+		assertEquals(5, filter.invocations);
+
+		// cached
+		context.getNodes();
+		context.getEdges();
+		assertEquals(5, filter.invocations);
+		assertEquals(1, context.getNodeOrdinal(n2));
+
+		// explicit invalidation
+		filter.filtered.add(n1);
+		context.invalidateLayoutFilters();
+		assertArrayEquals(new Node[] { n2, n3 }, context.getNodes());
+		assertArrayEquals(new Edge[] { e2 }, context.getEdges());
+		assertEquals(0, context.getNodeOrdinal(n2));
+		assertEquals(-1, context.getNodeOrdinal(n1));
+
+		// invalidation by graph changes
+		Node n4 = new Node();
+		graph.getNodes().add(n4);
+		assertArrayEquals(new Node[] { n2, n3, n4 }, context.getNodes());
+		Edge e3 = new Edge(n3, n4);
+		graph.getEdges().add(e3);
+		assertArrayEquals(new Edge[] { e2, e3 }, context.getEdges());
+
+		// invalidation by filter changes
+		context.removeLayoutFilter(filter);
+		assertArrayEquals(new Node[] { n1, n2, n3, n4 }, context.getNodes());
+	}
+
+	@Test
+	public void progressiveLayout() {
+		Graph graph = new Graph();
+		for (int i = 0; i < 10; i++) {
+			Node node = new Node();
+			LayoutProperties.setLocation(node, new Point());
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+			graph.getNodes().add(node);
+		}
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 500));
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setIterations(20);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		final int[] snapshots = new int[1];
+		context.schedulePostLayoutPass(new Runnable() {
+			@Override
+			public void run() {
+				snapshots[0]++;
+			}
+		});
+
+		// one iteration per step (zero time budget)
+		assertTrue(context.startProgressiveLayout(true));
+		assertTrue(context.isProgressiveLayoutRunning());
+		int steps = 1;
+		while (context.advanceProgressiveLayout(0)) {
+			steps++;
+		}
+		assertFalse(context.isProgressiveLayoutRunning());
+		assertTrue(steps > 1);
+		assertEquals(steps, snapshots[0]);
+
+		// cancellation
+		assertTrue(context.startProgressiveLayout(true));
+		assertTrue(context.advanceProgressiveLayout(0));
+		context.cancelProgressiveLayout();
+		assertFalse(context.isProgressiveLayoutRunning());
+		assertFalse(context.advanceProgressiveLayout(0));
+	}
+
+	@Test
+	public void progressiveLayoutCompletedOnStart() {
+		Graph graph = new Graph();
+		for (int i = 0; i < 10; i++) {
+			Node node = new Node();
+			LayoutProperties.setLocation(node, new Point(i * 20, 0));
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+			graph.getNodes().add(node);
+		}
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 500));
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setIterations(20);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.applyLayout(true);
+		final int[] snapshots = new int[1];
+		context.schedulePostLayoutPass(new Runnable() {
+			@Override
+			public void run() {
+				snapshots[0]++;
+			}
+		});
+
+		// an added node is layouted incrementally when the pass is started
+		Node added = new Node();
+		LayoutProperties.setSize(added, new Dimension(10, 10));
+		graph.getNodes().add(added);
+		graph.getEdges().add(new Edge(added, graph.getNodes().get(0)));
+		assertFalse(context.startProgressiveLayout(false));
+		assertFalse(context.isProgressiveLayoutRunning());
+		assertEquals(1, snapshots[0]);
+	}
+}
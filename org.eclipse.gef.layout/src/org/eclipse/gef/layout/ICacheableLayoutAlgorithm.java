@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link ICacheableLayoutAlgorithm} is an {@link ILayoutAlgorithm} whose
+ * results can be stored in a {@link LayoutCache}. The results of layout
+ * algorithms that do not implement this interface are never cached.
+ *
+ * @author agent
+ *
+ */
+public interface ICacheableLayoutAlgorithm extends ILayoutAlgorithm {
+
+	/**
+	 * Returns a key that identifies the current parameterization of this
+	 * algorithm, i.e. two instances of the same algorithm type with equal keys
+	 * compute the same layout for the same input. The key has to implement
+	 * {@link Object#equals(Object)} and {@link Object#hashCode()}, and must
+	 * not change when the parameterization of this algorithm is changed later
+	 * on. May return <code>null</code> to indicate that the layout cannot be
+	 * cached for the current parameterization.
+	 *
+	 * @return A key that identifies the current parameterization of this
+	 *         algorithm, or <code>null</code>.
+	 */
+	public Object getLayoutCacheKey();
+
+	/**
+	 * Returns <code>true</code> if the layout computed by this algorithm
+	 * depends on the locations of the nodes before the layout pass, in which
+	 * case these locations are part of the fingerprint under which the result
+	 * is cached. Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the layout depends on the initial node
+	 *         locations, otherwise <code>false</code>.
+	 */
+	public boolean isLocationDependent();
+
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link IIncrementalLayoutAlgorithm} is an {@link ILayoutAlgorithm} that
+ * can apply the changes since the last layout pass incrementally, i.e. when
+ * {@link #applyLayout(LayoutContext, boolean)} is called with
+ * <code>clean</code> set to <code>false</code>, it updates the previous layout
+ * according to the changes reported by the {@link LayoutContext} (see
+ * {@link LayoutContext#getAddedNodes()} etc.), instead of ignoring the call.
+ * Clients should therefore perform relayouts that are triggered by changes
+ * with <code>clean</code> set to <code>false</code> if the algorithm
+ * implements this interface.
+ *
+ * @author agent
+ *
+ */
+public interface IIncrementalLayoutAlgorithm extends ILayoutAlgorithm {
+
+	/**
+	 * Discards any state that was retained from the last layout pass to
+	 * perform incremental layout passes. Called by the {@link LayoutContext}
+	 * when the layout was not computed by this algorithm, e.g. because it was
+	 * restored from the {@link LayoutCache}, so that the next non-clean pass
+	 * does not build on an outdated layout.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} whose layout was changed.
+	 */
+	public void resetIncrementalState(LayoutContext layoutContext);
+
+}
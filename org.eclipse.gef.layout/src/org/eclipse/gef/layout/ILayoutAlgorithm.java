@@ -33,8 +33,13 @@ public interface ILayoutAlgorithm {
 	 *            it keeps track of changes with listeners. False can be used
 	 *            after dynamic layout in a context is turned back on so that
 	 *            layout algorithm working in background can apply accumulated
-	 *            changes. Static layout algorithm can ignore this call entirely
-	 *            if clean is false.
+	 *            changes. The changes since the last layout pass are provided
+	 *            by {@link LayoutContext#getAddedNodes()},
+	 *            {@link LayoutContext#getRemovedNodes()},
+	 *            {@link LayoutContext#getMovedNodes()},
+	 *            {@link LayoutContext#getAddedEdges()}, and
+	 *            {@link LayoutContext#getRemovedEdges()}. Static layout
+	 *            algorithm can ignore this call entirely if clean is false.
 	 */
 	public void applyLayout(LayoutContext layoutContext, boolean clean);
 }
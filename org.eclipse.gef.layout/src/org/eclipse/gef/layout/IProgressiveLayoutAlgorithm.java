@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link IProgressiveLayoutAlgorithm} is an {@link ILayoutAlgorithm} that
+ * can compute its layout progressively, i.e. within a sequence of steps that
+ * are each limited by a time budget. After each step, an intermediate result
+ * (snapshot) is applied to the layout properties of the nodes, so that it can
+ * be displayed while the layout is still computed.
+ * <p>
+ * A progressive layout pass is driven by the {@link LayoutContext}, see
+ * {@link LayoutContext#startProgressiveLayout(boolean)},
+ * {@link LayoutContext#advanceProgressiveLayout(long)}, and
+ * {@link LayoutContext#cancelProgressiveLayout()}.
+ *
+ * @author agent
+ *
+ */
+public interface IProgressiveLayoutAlgorithm extends ILayoutAlgorithm {
+
+	/**
+	 * Cancels the current progressive layout pass. The snapshot that was
+	 * applied by the last step is retained.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} for which the progressive layout
+	 *            pass was started.
+	 */
+	public void cancelLayout(LayoutContext layoutContext);
+
+	/**
+	 * Performs the next step of the current progressive layout pass, which
+	 * should not take longer than the given time budget (the algorithm may
+	 * exceed the budget to make progress, e.g. to complete at least one
+	 * iteration). Applies the intermediate result to the layout properties of
+	 * the nodes.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} for which the progressive layout
+	 *            pass was started.
+	 * @param timeBudgetMillis
+	 *            The time (in milliseconds) that may be spent within this
+	 *            step.
+	 * @return <code>true</code> if further steps are needed to complete the
+	 *         layout pass, otherwise <code>false</code>.
+	 */
+	public boolean performLayoutStep(LayoutContext layoutContext,
+			long timeBudgetMillis);
+
+	/**
+	 * Starts a progressive layout pass. The layout is computed by subsequent
+	 * calls to {@link #performLayoutStep(LayoutContext, long)}. If no steps
+	 * are needed (e.g. because changes could be applied incrementally), the
+	 * layout pass is completed by this method.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} that provides all relevant
+	 *            information about what to layout.
+	 * @param clean
+	 *            Whether to fully re-compute the layout, see
+	 *            {@link #applyLayout(LayoutContext, boolean)}.
+	 * @return <code>true</code> if steps are needed to complete the layout
+	 *         pass, otherwise <code>false</code>.
+	 */
+	public boolean startLayout(LayoutContext layoutContext, boolean clean);
+
+}
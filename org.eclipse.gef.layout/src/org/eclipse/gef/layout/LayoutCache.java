@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * The {@link LayoutCache} stores the results of layout passes, so that the
+ * layout of a graph that was layouted before does not need to be re-computed.
+ * It can be set on a {@link LayoutContext} via
+ * {@link LayoutContext#setLayoutCache(LayoutCache)}.
+ * <p>
+ * Only the results of {@link ICacheableLayoutAlgorithm}s are cached. Layout
+ * results are stored under a structural fingerprint of the layouted graph,
+ * which consists of the layout relevant nodes and edges (their order, sizes,
+ * and layout properties), the layout bounds, and the algorithm (its type and
+ * {@link ICacheableLayoutAlgorithm#getLayoutCacheKey() key}). For
+ * {@link ICacheableLayoutAlgorithm#isLocationDependent() location dependent}
+ * algorithms, the fingerprint also contains the node locations before the
+ * layout pass. Therefore, a layout result is also re-used for a structurally
+ * equivalent graph, e.g. when an unchanged file is re-imported. As the
+ * fingerprint stores the structure itself (and not only a hash value of it),
+ * the result of a different graph is never applied.
+ * <p>
+ * The cache is bounded by the number of entries as well as by the (estimated)
+ * memory consumed by the stored results. The least recently used entries are
+ * evicted first.
+ *
+ * @author agent
+ *
+ */
+public class LayoutCache {
+
+	/**
+	 * The fingerprint under which a layout result is stored.
+	 */
+	static final class Fingerprint {
+		private final Class<?> algorithmType;
+		private final Object algorithmKey;
+		private final Object direction;
+		private final double[] graphData;
+		private final double[] nodeData;
+		private final int[] edges;
+		private final double[] edgeWeights;
+		private final int hashCode;
+
+		private Fingerprint(Class<?> algorithmType, Object algorithmKey,
+				Object direction, double[] graphData, double[] nodeData,
+				int[] edges, double[] edgeWeights) {
+			this.algorithmType = algorithmType;
+			this.algorithmKey = algorithmKey;
+			this.direction = direction;
+			this.graphData = graphData;
+			this.nodeData = nodeData;
+			this.edges = edges;
+			this.edgeWeights = edgeWeights;
+			long hash = hash(-3750763034362895579L, algorithmType.hashCode());
+			hash = hash(hash, algorithmKey.hashCode());
+			hash = hash(hash, direction == null ? 0 : direction.hashCode());
+			hash = hash(hash, Arrays.hashCode(graphData));
+			hash = hash(hash, Arrays.hashCode(nodeData));
+			hash = hash(hash, Arrays.hashCode(edges));
+			hash = hash(hash, Arrays.hashCode(edgeWeights));
+			this.hashCode = (int) (hash ^ (hash >>> 32));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Fingerprint)) {
+				return false;
+			}
+			// compare the complete structure, so that a hash collision does
+			// not lead to restoring the result of a different graph
+			Fingerprint other = (Fingerprint) obj;
+			return hashCode == other.hashCode
+					&& algorithmType == other.algorithmType
+					&& algorithmKey.equals(other.algorithmKey)
+					&& (direction == null ? other.direction == null
+							: direction.equals(other.direction))
+					&& Arrays.equals(graphData, other.graphData)
+					&& Arrays.equals(nodeData, other.nodeData)
+					&& Arrays.equals(edges, other.edges)
+					&& Arrays.equals(edgeWeights, other.edgeWeights);
+		}
+
+		private long getEstimatedSize() {
+			// arrays (including headers) plus fields and object header
+			return 8L * (graphData.length + nodeData.length
+					+ edgeWeights.length) + 4L * edges.length + 4 * 16 + 64;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * The locations and sizes of the layouted nodes (in the order of
+	 * {@link LayoutContext#getNodes()}).
+	 */
+	private static final class LayoutResult {
+		private final double[] values;
+		private final long fingerprintSize;
+
+		private LayoutResult(Node[] nodes, Fingerprint fingerprint) {
+			fingerprintSize = fingerprint.getEstimatedSize();
+			values = new double[nodes.length * 4];
+			for (int i = 0; i < nodes.length; i++) {
+				Point location = LayoutProperties.getLocation(nodes[i]);
+				Dimension size = LayoutProperties.getSize(nodes[i]);
+				values[4 * i] = location == null ? Double.NaN : location.x;
+				values[4 * i + 1] = location == null ? Double.NaN : location.y;
+				values[4 * i + 2] = size == null ? Double.NaN : size.width;
+				values[4 * i + 3] = size == null ? Double.NaN : size.height;
+			}
+		}
+
+		private void apply(Node[] nodes) {
+			for (int i = 0; i < nodes.length; i++) {
+				if (!Double.isNaN(values[4 * i])) {
+					LayoutProperties.setLocation(nodes[i],
+							new Point(values[4 * i], values[4 * i + 1]));
+				}
+				if (!Double.isNaN(values[4 * i + 2])) {
+					LayoutProperties.setSize(nodes[i], new Dimension(
+							values[4 * i + 2], values[4 * i + 3]));
+				}
+			}
+		}
+
+		private long getEstimatedSize() {
+			// array header, fields, and object header, as well as the
+			// fingerprint under which this result is stored
+			return 8L * values.length + 48 + fingerprintSize;
+		}
+	}
+
+	/**
+	 * The default maximum number of layout results that are stored.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	/**
+	 * The default maximum (estimated) number of bytes that are consumed by the
+	 * stored layout results.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+	private static final long PRIME = 1099511628211L;
+
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+	private long maxBytes = DEFAULT_MAX_BYTES;
+	private long bytes = 0;
+	private final LinkedHashMap<Fingerprint, LayoutResult> results = new LinkedHashMap<>(
+			16, 0.75f, true);
+
+	/**
+	 * Removes all layout results from this {@link LayoutCache}.
+	 */
+	public void clear() {
+		results.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * Computes the structural fingerprint for the layout that is performed by
+	 * the given {@link LayoutContext}. Needs to be called before the layout
+	 * pass, so that the initial node locations are captured for location
+	 * dependent algorithms.
+	 *
+	 * @param context
+	 *            The {@link LayoutContext} for which to compute the
+	 *            fingerprint.
+	 * @return The fingerprint, or <code>null</code> if the layout algorithm
+	 *         of the given {@link LayoutContext} is not cacheable.
+	 */
+	Fingerprint computeFingerprint(LayoutContext context) {
+		if (!(context.getLayoutAlgorithm() instanceof ICacheableLayoutAlgorithm)) {
+			return null;
+		}
+		ICacheableLayoutAlgorithm algorithm = (ICacheableLayoutAlgorithm) context
+				.getLayoutAlgorithm();
+		Object algorithmKey = algorithm.getLayoutCacheKey();
+		if (algorithmKey == null) {
+			return null;
+		}
+		boolean locationDependent = algorithm.isLocationDependent();
+
+		Graph graph = context.getGraph();
+		Rectangle bounds = LayoutProperties.getBounds(graph);
+		double[] graphData = bounds == null ? new double[0]
+				: new double[] { bounds.getX(), bounds.getY(),
+						bounds.getWidth(), bounds.getHeight() };
+		Object direction = graph.getAttributes()
+				.get(LayoutProperties.DIRECTION_PROPERTY);
+
+		Node[] nodes = context.getNodes();
+		int stride = locationDependent ? 7 : 5;
+		double[] nodeData = new double[nodes.length * stride];
+		Map<Node, Integer> ordinals = new IdentityHashMap<>();
+		for (int i = 0; i < nodes.length; i++) {
+			Node node = nodes[i];
+			ordinals.put(node, i);
+			Dimension size = LayoutProperties.getSize(node);
+			int offset = i * stride;
+			nodeData[offset] = size == null ? Double.NaN : size.width;
+			nodeData[offset + 1] = size == null ? Double.NaN : size.height;
+			nodeData[offset + 2] = LayoutProperties.isMovable(node) ? 1 : 0;
+			nodeData[offset + 3] = LayoutProperties.isResizable(node) ? 1 : 0;
+			nodeData[offset + 4] = LayoutProperties
+					.getPreferredAspectRatio(node);
+			if (locationDependent) {
+				Point location = LayoutProperties.getLocation(node);
+				nodeData[offset + 5] = location == null ? Double.NaN
+						: location.x;
+				nodeData[offset + 6] = location == null ? Double.NaN
+						: location.y;
+			}
+		}
+		Edge[] contextEdges = context.getEdges();
+		int[] edges = new int[contextEdges.length * 2];
+		double[] edgeWeights = new double[contextEdges.length];
+		for (int i = 0; i < contextEdges.length; i++) {
+			Integer source = ordinals.get(contextEdges[i].getSource());
+			Integer target = ordinals.get(contextEdges[i].getTarget());
+			edges[2 * i] = source == null ? -1 : source;
+			edges[2 * i + 1] = target == null ? -1 : target;
+			edgeWeights[i] = LayoutProperties.getWeight(contextEdges[i]);
+		}
+		return new Fingerprint(algorithm.getClass(), algorithmKey, direction,
+				graphData, nodeData, edges, edgeWeights);
+	}
+
+	/**
+	 * Returns the number of layout results that are stored in this
+	 * {@link LayoutCache}.
+	 *
+	 * @return The number of stored layout results.
+	 */
+	public int getEntryCount() {
+		return results.size();
+	}
+
+	/**
+	 * Returns the (estimated) number of bytes that are consumed by the layout
+	 * results stored in this {@link LayoutCache}.
+	 *
+	 * @return The estimated number of bytes that are consumed by the stored
+	 *         layout results.
+	 */
+	public long getEstimatedSize() {
+		return bytes;
+	}
+
+	/**
+	 * Returns the maximum (estimated) number of bytes that may be consumed by
+	 * the layout results stored in this {@link LayoutCache}.
+	 *
+	 * @return The maximum number of bytes.
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Returns the maximum number of layout results that are stored in this
+	 * {@link LayoutCache}.
+	 *
+	 * @return The maximum number of layout results.
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	private static long hash(long hash, long value) {
+		return (hash ^ value) * PRIME;
+	}
+
+	/**
+	 * Restores the layout result that was stored under the given fingerprint,
+	 * if available.
+	 *
+	 * @param context
+	 *            The {@link LayoutContext} whose layout is to be restored.
+	 * @param fingerprint
+	 *            The fingerprint that was computed for the current state of
+	 *            the given {@link LayoutContext}, or <code>null</code> if the
+	 *            layout is not cacheable.
+	 * @return <code>true</code> if a layout result was available and was
+	 *         restored, otherwise <code>false</code>.
+	 */
+	boolean restore(LayoutContext context, Fingerprint fingerprint) {
+		if (fingerprint == null) {
+			return false;
+		}
+		LayoutResult result = results.get(fingerprint);
+		if (result == null) {
+			return false;
+		}
+		result.apply(context.getNodes());
+		return true;
+	}
+
+	/**
+	 * Sets the maximum (estimated) number of bytes that may be consumed by the
+	 * layout results stored in this {@link LayoutCache}.
+	 *
+	 * @param maxBytes
+	 *            The maximum number of bytes.
+	 */
+	public void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+		trim();
+	}
+
+	/**
+	 * Sets the maximum number of layout results that are stored in this
+	 * {@link LayoutCache}.
+	 *
+	 * @param maxEntries
+	 *            The maximum number of layout results.
+	 */
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+		trim();
+	}
+
+	/**
+	 * Stores the current layout of the given {@link LayoutContext} under the
+	 * given fingerprint.
+	 *
+	 * @param context
+	 *            The {@link LayoutContext} whose layout is to be stored.
+	 * @param fingerprint
+	 *            The fingerprint that was computed before the layout pass, or
+	 *            <code>null</code> if the layout is not cacheable.
+	 */
+	void store(LayoutContext context, Fingerprint fingerprint) {
+		if (fingerprint == null) {
+			return;
+		}
+		LayoutResult result = new LayoutResult(context.getNodes(),
+				fingerprint);
+		if (result.getEstimatedSize() > maxBytes) {
+			return;
+		}
+		LayoutResult previous = results.put(fingerprint, result);
+		if (previous != null) {
+			bytes -= previous.getEstimatedSize();
+		}
+		bytes += result.getEstimatedSize();
+		trim();
+	}
+
+	private void trim() {
+		Iterator<LayoutResult> it = results.values().iterator();
+		while (it.hasNext()
+				&& (results.size() > maxEntries || bytes > maxBytes)) {
+			bytes -= it.next().getEstimatedSize();
+			it.remove();
+		}
+	}
+}
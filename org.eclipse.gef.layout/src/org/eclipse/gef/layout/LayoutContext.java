@@ -13,14 +13,21 @@
 package org.eclipse.gef.layout;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 /**
@@ -28,6 +35,18 @@ import javafx.collections.ObservableList;
  * {@link Graph}. It maintains an {@link ILayoutAlgorithm} that can be applied,
  * supports the handling and execution of pre and post {@link Runnable}s, and
  * filtering of layout objects using {@link ILayoutFilter}.
+ * <p>
+ * In addition, the {@link LayoutContext} keeps track of the layout relevant
+ * nodes and edges that were added, removed, or moved since the last layout
+ * pass, so that an {@link ILayoutAlgorithm} can perform an incremental layout
+ * when {@link #applyLayout(boolean)} is called with <code>false</code> (see
+ * {@link IIncrementalLayoutAlgorithm}).
+ * <p>
+ * The layout relevant nodes and edges are cached, and the cache is invalidated
+ * when the nodes or edges of the graph or the layout filters change. When the
+ * relevance of an element changes due to other circumstances, e.g. a change of
+ * state consulted by an {@link ILayoutFilter}, the cache has to be invalidated
+ * explicitly using {@link #invalidateLayoutFilters()}.
  * 
  * @author mwienand
  *
@@ -47,6 +66,40 @@ public class LayoutContext {
 	private final List<Runnable> postLayoutPass = new ArrayList<>();
 	private final List<Runnable> preLayoutPass = new ArrayList<>();
 	private final List<ILayoutFilter> layoutFilters = new ArrayList<>();
+	private LayoutCache layoutCache;
+
+	// cached layout relevant nodes and edges
+	private Node[] layoutRelevantNodes;
+	private Edge[] layoutRelevantEdges;
+	private Map<Node, Integer> nodeOrdinals;
+	private final ListChangeListener<Node> nodesChangeListener = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> c) {
+			invalidateLayoutFilters();
+		}
+	};
+	private final ListChangeListener<Edge> edgesChangeListener = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> c) {
+			layoutRelevantEdges = null;
+		}
+	};
+
+	// state of the last layout pass (used to compute changes)
+	private final Map<Node, Point> lastNodeLocations = new IdentityHashMap<>();
+	private final Set<Edge> lastEdges = Collections
+			.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+
+	// changes since the last layout pass
+	private final Set<Node> addedNodes = new LinkedHashSet<>();
+	private final Set<Node> removedNodes = new LinkedHashSet<>();
+	private final Set<Node> movedNodes = new LinkedHashSet<>();
+	private final Set<Edge> addedEdges = new LinkedHashSet<>();
+	private final Set<Edge> removedEdges = new LinkedHashSet<>();
+
+	// state of the running progressive layout pass (if any)
+	private IProgressiveLayoutAlgorithm progressiveLayoutAlgorithm;
+	private LayoutCache.Fingerprint progressiveLayoutFingerprint;
 
 	/**
 	 * Adds the given ILayoutFilter to this {@link LayoutContext}.
@@ -56,6 +109,38 @@ public class LayoutContext {
 	 */
 	public void addLayoutFilter(ILayoutFilter layoutFilter) {
 		layoutFilters.add(layoutFilter);
+		invalidateLayoutFilters();
+	}
+
+	/**
+	 * Performs the next step of the running progressive layout pass (see
+	 * {@link #startProgressiveLayout(boolean)}), i.e. the intermediate result
+	 * is computed within the given time budget and applied by executing the
+	 * post-layout pass. The result of a completed clean pass is stored in the
+	 * {@link #getLayoutCache() layout cache}.
+	 *
+	 * @param timeBudgetMillis
+	 *            The time (in milliseconds) that may be spent within this
+	 *            step.
+	 * @return <code>true</code> if further steps are needed to complete the
+	 *         progressive layout pass, otherwise <code>false</code>.
+	 */
+	public boolean advanceProgressiveLayout(long timeBudgetMillis) {
+		if (progressiveLayoutAlgorithm == null) {
+			return false;
+		}
+		preLayout();
+		boolean hasNextStep = progressiveLayoutAlgorithm
+				.performLayoutStep(this, timeBudgetMillis);
+		if (!hasNextStep) {
+			if (progressiveLayoutFingerprint != null && layoutCache != null) {
+				layoutCache.store(this, progressiveLayoutFingerprint);
+			}
+			progressiveLayoutAlgorithm = null;
+			progressiveLayoutFingerprint = null;
+		}
+		postLayout();
+		return hasNextStep;
 	}
 
 	/**
@@ -68,14 +153,225 @@ public class LayoutContext {
 	 *            re-compute the layout, otherwise <code>false</code>.
 	 */
 	public void applyLayout(boolean clear) {
+		cancelProgressiveLayout();
 		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
 		if (layoutAlgorithm != null) {
 			preLayout();
-			layoutAlgorithm.applyLayout(this, clear);
+			computeChanges();
+			if (clear && layoutCache != null) {
+				LayoutCache.Fingerprint fingerprint = layoutCache
+						.computeFingerprint(this);
+				if (layoutCache.restore(this, fingerprint)) {
+					resetIncrementalState(layoutAlgorithm);
+				} else {
+					layoutAlgorithm.applyLayout(this, clear);
+					layoutCache.store(this, fingerprint);
+				}
+			} else {
+				layoutAlgorithm.applyLayout(this, clear);
+			}
 			postLayout();
 		}
 	}
 
+	/**
+	 * Cancels the running progressive layout pass (if any). The intermediate
+	 * result of the last step is retained.
+	 */
+	public void cancelProgressiveLayout() {
+		if (progressiveLayoutAlgorithm != null) {
+			progressiveLayoutAlgorithm.cancelLayout(this);
+			progressiveLayoutAlgorithm = null;
+			progressiveLayoutFingerprint = null;
+		}
+	}
+
+	/**
+	 * Computes the layout relevant nodes and edges that were added, removed,
+	 * or moved since the last layout pass by comparing the current state of
+	 * the graph to the state that was recorded at the end of the last layout
+	 * pass.
+	 */
+	private void computeChanges() {
+		clearChanges();
+		if (graph == null) {
+			return;
+		}
+		Set<Node> currentNodes = Collections
+				.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		for (Node node : getLayoutRelevantNodes()) {
+			currentNodes.add(node);
+			if (!lastNodeLocations.containsKey(node)) {
+				addedNodes.add(node);
+			} else {
+				Point lastLocation = lastNodeLocations.get(node);
+				Point location = LayoutProperties.getLocation(node);
+				if (location != lastLocation && (location == null
+						|| !location.equals(lastLocation))) {
+					movedNodes.add(node);
+				}
+			}
+		}
+		for (Node node : lastNodeLocations.keySet()) {
+			if (!currentNodes.contains(node)) {
+				removedNodes.add(node);
+			}
+		}
+		Set<Edge> currentEdges = Collections
+				.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (Edge edge : getLayoutRelevantEdges()) {
+			currentEdges.add(edge);
+			if (!lastEdges.contains(edge)) {
+				addedEdges.add(edge);
+			}
+		}
+		for (Edge edge : lastEdges) {
+			if (!currentEdges.contains(edge)) {
+				removedEdges.add(edge);
+			}
+		}
+	}
+
+	private void clearChanges() {
+		addedNodes.clear();
+		removedNodes.clear();
+		movedNodes.clear();
+		addedEdges.clear();
+		removedEdges.clear();
+	}
+
+	/**
+	 * Records the state of the layout relevant nodes and edges, so that
+	 * changes can be computed for the next layout pass.
+	 */
+	private void recordLayoutState() {
+		clearChanges();
+		lastNodeLocations.clear();
+		lastEdges.clear();
+		if (graph == null) {
+			return;
+		}
+		for (Node node : getLayoutRelevantNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			lastNodeLocations.put(node,
+					location == null ? null : location.getCopy());
+		}
+		Collections.addAll(lastEdges, getLayoutRelevantEdges());
+	}
+
+	/**
+	 * Returns the layout relevant {@link Edge}s that were added since the last
+	 * layout pass. The returned set is only valid during a layout pass, i.e.
+	 * while an {@link ILayoutAlgorithm} is applied.
+	 *
+	 * @return An unmodifiable {@link Set} containing the {@link Edge}s that
+	 *         were added since the last layout pass.
+	 */
+	public Set<Edge> getAddedEdges() {
+		return Collections.unmodifiableSet(addedEdges);
+	}
+
+	/**
+	 * Returns the layout relevant {@link Node}s that were added since the last
+	 * layout pass. The returned set is only valid during a layout pass, i.e.
+	 * while an {@link ILayoutAlgorithm} is applied. For the initial layout
+	 * pass, all layout relevant {@link Node}s are reported as added.
+	 *
+	 * @return An unmodifiable {@link Set} containing the {@link Node}s that
+	 *         were added since the last layout pass.
+	 */
+	public Set<Node> getAddedNodes() {
+		return Collections.unmodifiableSet(addedNodes);
+	}
+
+	/**
+	 * Returns the layout relevant {@link Node}s whose location was changed
+	 * since the last layout pass, i.e. not by the last
+	 * {@link ILayoutAlgorithm}. The returned set is only valid during a layout
+	 * pass, i.e. while an {@link ILayoutAlgorithm} is applied.
+	 *
+	 * @return An unmodifiable {@link Set} containing the {@link Node}s that
+	 *         were moved since the last layout pass.
+	 */
+	public Set<Node> getMovedNodes() {
+		return Collections.unmodifiableSet(movedNodes);
+	}
+
+	/**
+	 * Resets the incremental state of the given {@link ILayoutAlgorithm} (if it
+	 * is an {@link IIncrementalLayoutAlgorithm}), because the layout was not
+	 * computed by it.
+	 */
+	private void resetIncrementalState(ILayoutAlgorithm layoutAlgorithm) {
+		if (layoutAlgorithm instanceof IIncrementalLayoutAlgorithm) {
+			((IIncrementalLayoutAlgorithm) layoutAlgorithm)
+					.resetIncrementalState(this);
+		}
+	}
+
+	/**
+	 * Returns the {@link Edge}s that were layout relevant during the last
+	 * layout pass, but are no longer layout relevant (or no longer contained
+	 * in the graph). The returned set is only valid during a layout pass, i.e.
+	 * while an {@link ILayoutAlgorithm} is applied.
+	 *
+	 * @return An unmodifiable {@link Set} containing the {@link Edge}s that
+	 *         were removed since the last layout pass.
+	 */
+	public Set<Edge> getRemovedEdges() {
+		return Collections.unmodifiableSet(removedEdges);
+	}
+
+	/**
+	 * Returns the {@link Node}s that were layout relevant during the last
+	 * layout pass, but are no longer layout relevant (or no longer contained
+	 * in the graph). The returned set is only valid during a layout pass, i.e.
+	 * while an {@link ILayoutAlgorithm} is applied.
+	 *
+	 * @return An unmodifiable {@link Set} containing the {@link Node}s that
+	 *         were removed since the last layout pass.
+	 */
+	public Set<Node> getRemovedNodes() {
+		return Collections.unmodifiableSet(removedNodes);
+	}
+
+	/**
+	 * Returns <code>true</code> if layout relevant nodes or edges were added,
+	 * removed, or moved since the last layout pass. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if layout relevant changes occurred since the
+	 *         last layout pass, otherwise <code>false</code>.
+	 */
+	public boolean hasLayoutChanges() {
+		return !addedNodes.isEmpty() || !removedNodes.isEmpty()
+				|| !movedNodes.isEmpty() || !addedEdges.isEmpty()
+				|| !removedEdges.isEmpty();
+	}
+
+	/**
+	 * Returns <code>true</code> if a layout pass was already performed for the
+	 * current graph, i.e. if the changes reported by this context are relative
+	 * to a previous layout. Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if a layout pass was already performed for the
+	 *         current graph, otherwise <code>false</code>.
+	 */
+	public boolean isIncrementalLayoutPossible() {
+		return !lastNodeLocations.isEmpty();
+	}
+
+	/**
+	 * Returns <code>true</code> if a progressive layout pass was started and
+	 * is not yet completed or cancelled. Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if a progressive layout pass is running,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isProgressiveLayoutRunning() {
+		return progressiveLayoutAlgorithm != null;
+	}
+
 	/**
 	 * Initiated by the context or by an {@link ILayoutAlgorithm} to perform
 	 * steps that are scheduled to be run after the layout pass. Should not be
@@ -85,6 +381,7 @@ public class LayoutContext {
 		for (Runnable r : new ArrayList<>(postLayoutPass)) {
 			r.run();
 		}
+		recordLayoutState();
 	}
 
 	/**
@@ -119,6 +416,20 @@ public class LayoutContext {
 		if (graph == null) {
 			graph = new Graph();
 		}
+		if (this.graph != graph) {
+			cancelProgressiveLayout();
+			// changes are tracked per graph
+			lastNodeLocations.clear();
+			lastEdges.clear();
+			clearChanges();
+			if (this.graph != null) {
+				this.graph.getNodes().removeListener(nodesChangeListener);
+				this.graph.getEdges().removeListener(edgesChangeListener);
+			}
+			graph.getNodes().addListener(nodesChangeListener);
+			graph.getEdges().addListener(edgesChangeListener);
+			invalidateLayoutFilters();
+		}
 		this.graph = graph;
 	}
 
@@ -130,14 +441,7 @@ public class LayoutContext {
 	 */
 	// TODO: remove this (algorithms should use getGraph().getNodes())
 	public Node[] getNodes() {
-		ObservableList<Node> nodes = graph.getNodes();
-		List<Node> layoutRelevantNodes = new ArrayList<>();
-		for (Node n : nodes) {
-			if (!isLayoutIrrelevant(n)) {
-				layoutRelevantNodes.add(n);
-			}
-		}
-		return layoutRelevantNodes.toArray(new Node[] {});
+		return getLayoutRelevantNodes().clone();
 	}
 
 	/**
@@ -147,14 +451,82 @@ public class LayoutContext {
 	 * @return array of connections between nodes
 	 */
 	public Edge[] getEdges() {
-		ObservableList<Edge> edges = graph.getEdges();
-		List<Edge> layoutRelevantEdges = new ArrayList<>();
-		for (Edge e : edges) {
-			if (!isLayoutIrrelevant(e)) {
-				layoutRelevantEdges.add(e);
+		return getLayoutRelevantEdges().clone();
+	}
+
+	private Edge[] getLayoutRelevantEdges() {
+		if (layoutRelevantEdges == null) {
+			ObservableList<Edge> edges = graph.getEdges();
+			List<Edge> relevantEdges = new ArrayList<>(edges.size());
+			for (Edge e : edges) {
+				if (!isLayoutIrrelevant(e)) {
+					relevantEdges.add(e);
+				}
+			}
+			layoutRelevantEdges = relevantEdges.toArray(new Edge[] {});
+		}
+		return layoutRelevantEdges;
+	}
+
+	private Node[] getLayoutRelevantNodes() {
+		if (layoutRelevantNodes == null) {
+			ObservableList<Node> nodes = graph.getNodes();
+			List<Node> relevantNodes = new ArrayList<>(nodes.size());
+			for (Node n : nodes) {
+				if (!isLayoutIrrelevant(n)) {
+					relevantNodes.add(n);
+				}
+			}
+			layoutRelevantNodes = relevantNodes.toArray(new Node[] {});
+		}
+		return layoutRelevantNodes;
+	}
+
+	/**
+	 * Returns the ordinal of the given {@link Node}, i.e. its index within the
+	 * array returned by {@link #getNodes()}, or <code>-1</code> if the given
+	 * {@link Node} is not relevant for layout. The ordinals remain stable until
+	 * the nodes of the graph or the layout filters change, so that they can be
+	 * used by an {@link ILayoutAlgorithm} to index arrays.
+	 * 
+	 * @param node
+	 *            The {@link Node} whose ordinal is returned.
+	 * @return The ordinal of the given {@link Node}, or <code>-1</code>.
+	 */
+	public int getNodeOrdinal(Node node) {
+		if (nodeOrdinals == null) {
+			Node[] nodes = getLayoutRelevantNodes();
+			nodeOrdinals = new IdentityHashMap<>(nodes.length);
+			for (int i = 0; i < nodes.length; i++) {
+				nodeOrdinals.put(nodes[i], i);
 			}
 		}
-		return layoutRelevantEdges.toArray(new Edge[] {});
+		Integer ordinal = nodeOrdinals.get(node);
+		return ordinal == null ? -1 : ordinal;
+	}
+
+	/**
+	 * Invalidates the cached layout relevant nodes and edges, so that the
+	 * {@link ILayoutFilter}s are consulted again. Needs to be called when the
+	 * result of an {@link ILayoutFilter} changes, for example, because an
+	 * element is hidden.
+	 */
+	public void invalidateLayoutFilters() {
+		layoutRelevantNodes = null;
+		layoutRelevantEdges = null;
+		nodeOrdinals = null;
+	}
+
+	/**
+	 * Returns the {@link LayoutCache} that is used by this
+	 * {@link LayoutContext}, or <code>null</code> if layout results are not
+	 * cached.
+	 *
+	 * @return The {@link LayoutCache} that is used by this
+	 *         {@link LayoutContext}, or <code>null</code>.
+	 */
+	public LayoutCache getLayoutCache() {
+		return layoutCache;
 	}
 
 	/**
@@ -228,6 +600,7 @@ public class LayoutContext {
 	 */
 	public void removeLayoutFilter(ILayoutFilter layoutFilter) {
 		layoutFilters.remove(layoutFilter);
+		invalidateLayoutFilters();
 	}
 
 	/**
@@ -266,6 +639,18 @@ public class LayoutContext {
 		}
 	}
 
+	/**
+	 * Sets the {@link LayoutCache} that is used by this {@link LayoutContext}
+	 * to store and restore the results of clean layout passes. Passing in
+	 * <code>null</code> disables caching.
+	 *
+	 * @param layoutCache
+	 *            The {@link LayoutCache} to use, or <code>null</code>.
+	 */
+	public void setLayoutCache(LayoutCache layoutCache) {
+		this.layoutCache = layoutCache;
+	}
+
 	/**
 	 * Sets the layout algorithm for this context.
 	 * 
@@ -274,9 +659,61 @@ public class LayoutContext {
 	 *            {@link LayoutContext}.
 	 */
 	public void setLayoutAlgorithm(ILayoutAlgorithm algorithm) {
+		if (algorithm != layoutAlgorithmProperty.get()) {
+			cancelProgressiveLayout();
+		}
 		layoutAlgorithmProperty.set(algorithm);
 	}
 
+	/**
+	 * Starts a progressive layout pass if the layout algorithm of this context
+	 * is an {@link IProgressiveLayoutAlgorithm}. The layout is then computed
+	 * by subsequent calls to {@link #advanceProgressiveLayout(long)}, each of
+	 * which applies an intermediate result. If the layout algorithm does not
+	 * support progressive layout, or if the result of a clean pass can be
+	 * restored from the {@link #getLayoutCache() layout cache}, the layout is
+	 * applied immediately instead (see {@link #applyLayout(boolean)}). The
+	 * same holds if the algorithm completes the layout pass when it is
+	 * started, e.g. because the changes can be applied incrementally.
+	 *
+	 * @param clear
+	 *            <code>true</code> to indicate that the algorithm has to fully
+	 *            re-compute the layout, otherwise <code>false</code>.
+	 * @return <code>true</code> if a progressive layout pass was started,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean startProgressiveLayout(boolean clear) {
+		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
+		if (!(layoutAlgorithm instanceof IProgressiveLayoutAlgorithm)) {
+			applyLayout(clear);
+			return false;
+		}
+		cancelProgressiveLayout();
+		preLayout();
+		computeChanges();
+		LayoutCache.Fingerprint fingerprint = null;
+		if (clear && layoutCache != null) {
+			fingerprint = layoutCache.computeFingerprint(this);
+			if (layoutCache.restore(this, fingerprint)) {
+				resetIncrementalState(layoutAlgorithm);
+				postLayout();
+				return false;
+			}
+		}
+		IProgressiveLayoutAlgorithm algorithm = (IProgressiveLayoutAlgorithm) layoutAlgorithm;
+		if (!algorithm.startLayout(this, clear)) {
+			// the layout pass was already completed
+			if (fingerprint != null) {
+				layoutCache.store(this, fingerprint);
+			}
+			postLayout();
+			return false;
+		}
+		progressiveLayoutAlgorithm = algorithm;
+		progressiveLayoutFingerprint = fingerprint;
+		return true;
+	}
+
 	/**
 	 * Removes the given {@link Runnable} from the list of runnables which are
 	 * called when this {@link LayoutContext} is asked to apply all changes made
@@ -12,6 +12,8 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
+
 /**
  * Layout algorithm that places all elements in one column or one row, depending
  * on set orientation.
@@ -87,4 +89,10 @@ public class BoxLayoutAlgorithm extends GridLayoutAlgorithm {
 		else
 			return new int[] { 1, numChildren };
 	}
+
+	@Override
+	public Object getLayoutCacheKey() {
+		return Arrays.asList(super.getLayoutCacheKey(), orientation);
+	}
+
 }
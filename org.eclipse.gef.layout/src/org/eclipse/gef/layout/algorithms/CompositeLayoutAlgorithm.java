@@ -12,6 +12,10 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 
@@ -24,7 +28,7 @@ import org.eclipse.gef.layout.LayoutContext;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class CompositeLayoutAlgorithm implements ILayoutAlgorithm {
+public class CompositeLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	private ILayoutAlgorithm[] algorithms = null;
 
@@ -40,10 +44,52 @@ public class CompositeLayoutAlgorithm implements ILayoutAlgorithm {
 		this.algorithms = algorithms;
 	}
 
+	/**
+	 * Returns the {@link ILayoutAlgorithm}s that are combined by this
+	 * {@link CompositeLayoutAlgorithm}.
+	 * 
+	 * @return The {@link ILayoutAlgorithm}s that are combined by this
+	 *         {@link CompositeLayoutAlgorithm}.
+	 */
+	public ILayoutAlgorithm[] getAlgorithms() {
+		return algorithms;
+	}
+
 	public void applyLayout(LayoutContext context, boolean clean) {
 		for (int i = 0; i < algorithms.length; i++) {
 			algorithms[i].applyLayout(context, clean);
 		}
 	}
 
+	@Override
+	public Object getLayoutCacheKey() {
+		// the layout is only cacheable if all combined algorithms are
+		List<Object> key = new ArrayList<>();
+		for (int i = 0; i < algorithms.length; i++) {
+			if (!(algorithms[i] instanceof ICacheableLayoutAlgorithm)) {
+				return null;
+			}
+			Object algorithmKey = ((ICacheableLayoutAlgorithm) algorithms[i])
+					.getLayoutCacheKey();
+			if (algorithmKey == null) {
+				return null;
+			}
+			key.add(algorithms[i].getClass());
+			key.add(algorithmKey);
+		}
+		return key;
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		for (int i = 0; i < algorithms.length; i++) {
+			if (algorithms[i] instanceof ICacheableLayoutAlgorithm
+					&& ((ICacheableLayoutAlgorithm) algorithms[i])
+							.isLocationDependent()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
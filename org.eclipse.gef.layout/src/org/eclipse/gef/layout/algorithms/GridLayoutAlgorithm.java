@@ -12,11 +12,13 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
+
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -29,7 +31,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class GridLayoutAlgorithm implements ILayoutAlgorithm {
+public class GridLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	private static final double PADDING_PERCENTAGE = 0.95;
 	private static final int MIN_ENTITY_SIZE = 5;
@@ -305,6 +307,24 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	/**
+	 * Returns the row padding of this {@link GridLayoutAlgorithm}.
+	 * 
+	 * @return The row padding.
+	 */
+	public int getRowPadding() {
+		return rowPadding;
+	}
+
+	/**
+	 * Returns the preferred aspect ratio for layout entities.
+	 * 
+	 * @return The preferred aspect ratio.
+	 */
+	public double getAspectRatio() {
+		return aspectRatio;
+	}
+
 	/**
 	 * 
 	 * @return true if this algorithm is set to resize elements
@@ -323,4 +343,14 @@ public class GridLayoutAlgorithm implements ILayoutAlgorithm {
 		resize = resizing;
 	}
 
+	@Override
+	public Object getLayoutCacheKey() {
+		return Arrays.<Object> asList(aspectRatio, rowPadding, resize);
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		return false;
+	}
+
 }
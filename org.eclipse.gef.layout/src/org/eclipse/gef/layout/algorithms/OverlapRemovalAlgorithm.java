@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link OverlapRemovalAlgorithm} removes overlaps between the bounds of
+ * nodes, while trying to preserve the overall layout. It is intended to be
+ * used as a post-processing step, e.g. after a force-directed layout, within a
+ * {@link CompositeLayoutAlgorithm}.
+ * <p>
+ * Overlapping nodes are detected using a uniform grid: every node is
+ * registered within the grid cells that are covered by its bounds, and only
+ * nodes that share a grid cell are tested against each other. The
+ * registrations are sorted by cell, so that one pass requires
+ * <code>O(n log n)</code> time for <code>n</code> nodes (of comparable size).
+ * Each overlap is resolved immediately by moving the involved nodes apart
+ * along the axis of the minimal overlap, so that they no longer overlap. The
+ * passes are repeated until no overlap remains, until the number of overlaps
+ * no longer decreases significantly, or until the maximum number of
+ * iterations is reached. Any remaining overlaps (e.g. within very dense
+ * clusters) are then removed by a final sweep, which processes the nodes from
+ * the top-left to the bottom-right and moves each node to the right of or
+ * below the already processed nodes that it overlaps.
+ *
+ * @author agent
+ *
+ */
+public class OverlapRemovalAlgorithm implements ICacheableLayoutAlgorithm {
+
+	/**
+	 * The default value for the maximum number of iterations.
+	 */
+	private static final int DEFAULT_MAX_ITERATIONS = 100;
+
+	/**
+	 * The number of passes after which the relaxation is stopped if the number
+	 * of overlaps did not decrease by at least ten percent. The remaining
+	 * overlaps are then removed by the (faster) final sweep.
+	 */
+	private static final int MAX_STAGNATING_ITERATIONS = 5;
+
+	/**
+	 * Overlaps up to this extent are ignored to compensate for rounding
+	 * errors.
+	 */
+	private static final double EPSILON = 1e-6;
+
+	private int maxIterations = DEFAULT_MAX_ITERATIONS;
+	private double gap = 0;
+
+	// node data, indexed by ordinal
+	private double[] x, y, halfWidth, halfHeight;
+	private boolean[] movable;
+
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean && !layoutContext.hasLayoutChanges()) {
+			return;
+		}
+		Node[] nodes = layoutContext.getNodes();
+		if (nodes.length < 2) {
+			return;
+		}
+		loadNodes(nodes);
+
+		boolean[] changed = new boolean[nodes.length];
+		int overlaps = -1;
+		int minOverlaps = Integer.MAX_VALUE;
+		int stagnatingIterations = 0;
+		for (int i = 0; i < maxIterations; i++) {
+			overlaps = removeOverlaps(changed);
+			if (overlaps == 0) {
+				break;
+			}
+			if (overlaps <= minOverlaps - minOverlaps / 10) {
+				minOverlaps = overlaps;
+				stagnatingIterations = 0;
+			} else if (++stagnatingIterations == MAX_STAGNATING_ITERATIONS) {
+				break;
+			}
+		}
+		if (overlaps != 0) {
+			sweep(changed);
+		}
+
+		for (int i = 0; i < nodes.length; i++) {
+			if (changed[i]) {
+				LayoutProperties.setLocation(nodes[i], new Point(x[i], y[i]));
+			}
+		}
+		x = y = halfWidth = halfHeight = null;
+		movable = null;
+	}
+
+	/**
+	 * Returns the minimum distance that is ensured between the bounds of
+	 * nodes.
+	 *
+	 * @return The minimum distance between nodes.
+	 */
+	public double getGap() {
+		return gap;
+	}
+
+	/**
+	 * Returns the maximum number of iterations, i.e. passes over all nodes,
+	 * that are performed to remove overlaps.
+	 *
+	 * @return The maximum number of iterations.
+	 */
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	private void loadNodes(Node[] nodes) {
+		int n = nodes.length;
+		x = new double[n];
+		y = new double[n];
+		halfWidth = new double[n];
+		halfHeight = new double[n];
+		movable = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Dimension size = LayoutProperties.getSize(nodes[i]);
+			x[i] = location == null ? 0 : location.x;
+			y[i] = location == null ? 0 : location.y;
+			halfWidth[i] = ((size == null ? 0 : size.width) + gap) / 2;
+			halfHeight[i] = ((size == null ? 0 : size.height) + gap) / 2;
+			movable[i] = location != null
+					&& LayoutProperties.isMovable(nodes[i]);
+		}
+	}
+
+	/**
+	 * Performs one pass, i.e. detects all overlaps and moves the overlapping
+	 * nodes apart.
+	 *
+	 * @param changed
+	 *            Flags that are set for all nodes that are moved.
+	 * @return The number of overlaps that were found.
+	 */
+	private int removeOverlaps(boolean[] changed) {
+		int n = x.length;
+		double cellSize = getCellSize();
+		if (cellSize <= 0) {
+			return 0;
+		}
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i] - halfWidth[i]);
+			minY = Math.min(minY, y[i] - halfHeight[i]);
+		}
+
+		// register nodes within the covered cells (cell key in the high bits,
+		// node ordinal in the low bits)
+		long[] entries = new long[n * 4];
+		int count = 0;
+		int[] cells = new int[4 * n];
+		for (int i = 0; i < n; i++) {
+			int cx0 = cell(x[i] - halfWidth[i], minX, cellSize);
+			int cy0 = cell(y[i] - halfHeight[i], minY, cellSize);
+			int cx1 = cell(x[i] + halfWidth[i], minX, cellSize);
+			int cy1 = cell(y[i] + halfHeight[i], minY, cellSize);
+			cells[4 * i] = cx0;
+			cells[4 * i + 1] = cy0;
+			cells[4 * i + 2] = cx1;
+			cells[4 * i + 3] = cy1;
+			for (int cx = cx0; cx <= cx1; cx++) {
+				for (int cy = cy0; cy <= cy1; cy++) {
+					if (count == entries.length) {
+						entries = Arrays.copyOf(entries, 2 * count);
+					}
+					entries[count++] = ((long) cellKey(cx, cy) << 32) | i;
+				}
+			}
+		}
+		Arrays.sort(entries, 0, count);
+
+		// test all nodes that share a cell
+		int overlaps = 0;
+		int start = 0;
+		while (start < count) {
+			int key = (int) (entries[start] >>> 32);
+			int end = start + 1;
+			while (end < count && (int) (entries[end] >>> 32) == key) {
+				end++;
+			}
+			for (int a = start; a < end; a++) {
+				int i = (int) entries[a];
+				for (int b = a + 1; b < end; b++) {
+					int j = (int) entries[b];
+					// only test a pair within the first cell that is shared
+					// by both nodes, so that each pair is tested once
+					int cx = Math.max(cells[4 * i], cells[4 * j]);
+					int cy = Math.max(cells[4 * i + 1], cells[4 * j + 1]);
+					if (cellKey(cx, cy) != key) {
+						continue;
+					}
+					if (separate(i, j)) {
+						changed[i] |= movable[i];
+						changed[j] |= movable[j];
+						overlaps++;
+					}
+				}
+			}
+			start = end;
+		}
+		return overlaps;
+	}
+
+	private static int cell(double coordinate, double min, double cellSize) {
+		return (int) ((coordinate - min) / cellSize);
+	}
+
+	private static int cellKey(int cx, int cy) {
+		// 16 bits per dimension suffice for the cell keys (collisions only
+		// lead to additional tests)
+		return ((cx & 0xFFFF) << 16) | (cy & 0xFFFF);
+	}
+
+	/**
+	 * Returns the average node extent, which is used as the size of the grid
+	 * cells.
+	 *
+	 * @return The average node extent.
+	 */
+	private double getCellSize() {
+		double cellSize = 0;
+		for (int i = 0; i < x.length; i++) {
+			cellSize += halfWidth[i] + halfHeight[i];
+		}
+		return cellSize / x.length;
+	}
+
+	private boolean overlap(int i, int j) {
+		return halfWidth[i] + halfWidth[j] - Math.abs(x[j] - x[i]) > EPSILON
+				&& halfHeight[i] + halfHeight[j]
+						- Math.abs(y[j] - y[i]) > EPSILON;
+	}
+
+	/**
+	 * Moves the two nodes with the given ordinals apart along the axis of the
+	 * minimal overlap, if they overlap, so that they no longer overlap
+	 * afterwards. If both nodes are movable, each node is moved by half of the
+	 * overlap, otherwise the movable node is moved by the full overlap.
+	 *
+	 * @param i
+	 *            The ordinal of the first node.
+	 * @param j
+	 *            The ordinal of the second node.
+	 * @return <code>true</code> if the nodes overlap, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean separate(int i, int j) {
+		if ((!movable[i] && !movable[j]) || !overlap(i, j)) {
+			return false;
+		}
+		double dx = x[j] - x[i];
+		double dy = y[j] - y[i];
+		double overlapX = halfWidth[i] + halfWidth[j] - Math.abs(dx);
+		double overlapY = halfHeight[i] + halfHeight[j] - Math.abs(dy);
+		double shareI = movable[i] ? movable[j] ? 0.5 : 1 : 0;
+		double shareJ = 1 - shareI;
+		if (overlapX < overlapY) {
+			// separate horizontally (break ties using the ordinals)
+			double sign = dx > 0 || (dx == 0 && i < j) ? 1 : -1;
+			x[i] -= sign * overlapX * shareI;
+			x[j] += sign * overlapX * shareJ;
+		} else {
+			// separate vertically
+			double sign = dy > 0 || (dy == 0 && i < j) ? 1 : -1;
+			y[i] -= sign * overlapY * shareI;
+			y[j] += sign * overlapY * shareJ;
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all remaining overlaps between movable nodes and other nodes.
+	 * The non-movable nodes are processed first, followed by the movable
+	 * nodes in the order of their top-left corners (sorted by the sum of their
+	 * coordinates). Each movable node is moved to the right of or below
+	 * (whichever is nearer) each processed node that it overlaps. As nodes
+	 * are only moved to the right or downwards, a node that was moved past a
+	 * processed node cannot overlap it again. Therefore, each node is moved at
+	 * most once per processed node, and no overlaps remain afterwards.
+	 *
+	 * @param changed
+	 *            Flags that are set for all nodes that are moved.
+	 */
+	private void sweep(boolean[] changed) {
+		int n = x.length;
+		double cellSize = getCellSize();
+		if (cellSize <= 0) {
+			return;
+		}
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				if (movable[i] != movable[j]) {
+					return movable[i] ? 1 : -1;
+				}
+				return Double.compare(x[i] - halfWidth[i] + y[i] - halfHeight[i],
+						x[j] - halfWidth[j] + y[j] - halfHeight[j]);
+			}
+		});
+
+		// register the processed nodes within the covered cells
+		Map<Long, List<Integer>> grid = new HashMap<>();
+		for (int i : order) {
+			if (movable[i]) {
+				int j;
+				while ((j = findOverlap(i, grid, cellSize)) >= 0) {
+					double right = x[j] + halfWidth[j] + halfWidth[i];
+					double below = y[j] + halfHeight[j] + halfHeight[i];
+					if (right - x[i] <= below - y[i]) {
+						x[i] = right;
+					} else {
+						y[i] = below;
+					}
+					changed[i] = true;
+				}
+			}
+			for (long key : sweepCells(i, cellSize)) {
+				List<Integer> registered = grid.get(key);
+				if (registered == null) {
+					registered = new ArrayList<>();
+					grid.put(key, registered);
+				}
+				registered.add(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the ordinal of a node within the given grid that overlaps the
+	 * node with the given ordinal, or <code>-1</code> if there is none.
+	 */
+	private int findOverlap(int i, Map<Long, List<Integer>> grid,
+			double cellSize) {
+		for (long key : sweepCells(i, cellSize)) {
+			List<Integer> registered = grid.get(key);
+			if (registered != null) {
+				for (int j : registered) {
+					if (overlap(i, j)) {
+						return j;
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the keys of the grid cells that are covered by the node with the
+	 * given ordinal. In contrast to the cells used by
+	 * {@link #removeOverlaps(boolean[])}, the cell keys do not collide.
+	 */
+	private long[] sweepCells(int i, double cellSize) {
+		long cx0 = (long) Math.floor((x[i] - halfWidth[i]) / cellSize);
+		long cy0 = (long) Math.floor((y[i] - halfHeight[i]) / cellSize);
+		long cx1 = (long) Math.floor((x[i] + halfWidth[i]) / cellSize);
+		long cy1 = (long) Math.floor((y[i] + halfHeight[i]) / cellSize);
+		long[] keys = new long[(int) ((cx1 - cx0 + 1) * (cy1 - cy0 + 1))];
+		int k = 0;
+		for (long cx = cx0; cx <= cx1; cx++) {
+			for (long cy = cy0; cy <= cy1; cy++) {
+				keys[k++] = (cx << 32) | (cy & 0xFFFFFFFFL);
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Sets the minimum distance that is ensured between the bounds of nodes.
+	 *
+	 * @param gap
+	 *            The minimum distance between nodes.
+	 */
+	public void setGap(double gap) {
+		this.gap = gap;
+	}
+
+	/**
+	 * Sets the maximum number of iterations, i.e. passes over all nodes, that
+	 * are performed to remove overlaps.
+	 *
+	 * @param maxIterations
+	 *            The maximum number of iterations.
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	@Override
+	public Object getLayoutCacheKey() {
+		return Arrays.<Object> asList(gap, maxIterations);
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		// overlaps are removed by moving nodes from their initial locations
+		return true;
+	}
+
+}
@@ -12,10 +12,12 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
+
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -29,7 +31,7 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
+public class RadialLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	private static final double MAX_DEGREES = Math.PI * 2;
 	private double startDegree = 0;
@@ -101,6 +103,24 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 		this.endDegree = endDegree;
 	}
 
+	/**
+	 * Returns the start angle of the range this algorithm uses (in degree).
+	 * 
+	 * @return The start angle for this algorithm (in degree).
+	 */
+	public double getStartDegree() {
+		return startDegree;
+	}
+
+	/**
+	 * Returns the end angle of the range this algorithm uses (in degree).
+	 * 
+	 * @return The end angle for this algorithm (in degree).
+	 */
+	public double getEndDegree() {
+		return endDegree;
+	}
+
 	/**
 	 * 
 	 * @return true if this algorithm is set to resize elements
@@ -119,4 +139,15 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 		resize = resizing;
 		treeLayout.setResizing(resize);
 	}
+
+	@Override
+	public Object getLayoutCacheKey() {
+		return Arrays.<Object> asList(startDegree, endDegree, resize);
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		return false;
+	}
+
 }
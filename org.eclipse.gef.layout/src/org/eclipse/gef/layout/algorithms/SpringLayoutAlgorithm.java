@@ -14,14 +14,21 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.IProgressiveLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -37,7 +44,8 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Mateusz Matela
  * @author mwienand
  */
-public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
+public class SpringLayoutAlgorithm implements IProgressiveLayoutAlgorithm,
+		ICacheableLayoutAlgorithm, IIncrementalLayoutAlgorithm {
 
 	/**
 	 * The default value for the spring layout number of iterations.
@@ -79,6 +87,12 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private static final double MIN_DISTANCE = 1.0d;
 
+	/**
+	 * The default value for the number of iterations used for an incremental
+	 * layout pass.
+	 */
+	private static final int DEFAULT_INCREMENTAL_ITERATIONS = 100;
+
 	/**
 	 * The variable can be customized to set the number of iterations used.
 	 */
@@ -117,6 +131,12 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private double sprGravitation = DEFAULT_SPRING_GRAVITATION;
 
+	/**
+	 * The variable can be customized to set the number of iterations used for
+	 * an incremental layout pass.
+	 */
+	private int incrementalIterations = DEFAULT_INCREMENTAL_ITERATIONS;
+
 	/**
 	 * Variable indicating whether the algorithm should resize elements.
 	 */
@@ -138,10 +158,11 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	// TODO: expose field
 	private boolean fitWithinBounds = true;
 
+	// whether a progressive layout pass is running
+	private boolean progressing;
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
-		this.layoutContext = layoutContext;
-		initLayout(layoutContext);
-		if (!clean) {
+		if (!startLayoutPass(layoutContext, clean)) {
 			return;
 		}
 
@@ -149,6 +170,19 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			computeOneIteration();
 		}
 
+		finishLayoutPass();
+	}
+
+	@Override
+	public void cancelLayout(LayoutContext layoutContext) {
+		progressing = false;
+	}
+
+	/**
+	 * Saves the locations, and resizes and fits the nodes within the layout
+	 * bounds (if enabled).
+	 */
+	private void finishLayoutPass() {
 		saveLocations();
 		if (resize)
 			AlgorithmHelper.maximizeSizes(entities);
@@ -164,6 +198,245 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	@Override
+	public boolean performLayoutStep(LayoutContext layoutContext,
+			long timeBudgetMillis) {
+		if (!progressing) {
+			return false;
+		}
+		// perform at least one iteration per step, so that progress is made
+		long stepStartTime = System.currentTimeMillis();
+		boolean hasNextIteration;
+		do {
+			computeOneIteration();
+			hasNextIteration = performAnotherNonContinuousIteration();
+		} while (hasNextIteration && System.currentTimeMillis()
+				- stepStartTime < timeBudgetMillis);
+
+		if (hasNextIteration) {
+			saveLocations();
+		} else {
+			finishLayoutPass();
+			progressing = false;
+		}
+		return progressing;
+	}
+
+	@Override
+	public boolean startLayout(LayoutContext layoutContext, boolean clean) {
+		progressing = false;
+		if (startLayoutPass(layoutContext, clean)) {
+			if (performAnotherNonContinuousIteration()) {
+				progressing = true;
+			} else {
+				finishLayoutPass();
+			}
+		}
+		return progressing;
+	}
+
+	/**
+	 * Initializes a layout pass. Changes are applied incrementally if
+	 * possible, in which case no further iterations are needed.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} that is layouted.
+	 * @param clean
+	 *            Whether to fully re-compute the layout or not.
+	 * @return <code>true</code> if iterations have to be computed, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean startLayoutPass(LayoutContext layoutContext,
+			boolean clean) {
+		this.layoutContext = layoutContext;
+		if (!clean) {
+			if (!layoutContext.hasLayoutChanges()) {
+				return false;
+			}
+			if (layoutContext.isIncrementalLayoutPossible()) {
+				applyIncrementalLayout(layoutContext);
+				return false;
+			}
+		}
+		initLayout(layoutContext);
+		return true;
+	}
+
+	/**
+	 * Performs an incremental layout pass, i.e. only the nodes that were added
+	 * since the last layout pass, as well as the neighbors of added, removed,
+	 * or moved nodes, are relaxed, while all other nodes keep their locations.
+	 * Moved nodes are not relaxed, so that their new locations are preserved.
+	 * Added nodes are initially placed at the barycenter of their neighbors.
+	 * 
+	 * @param context
+	 *            The {@link LayoutContext} that provides the changes since the
+	 *            last layout pass.
+	 */
+	private void applyIncrementalLayout(LayoutContext context) {
+		entities = context.getNodes();
+		bounds = LayoutProperties.getBounds(context.getGraph());
+		loadLocations();
+
+		// entities are indexed by their ordinals
+		// determine the nodes affected by the changes, i.e. the added,
+		// removed, or moved nodes and their neighbors
+		Set<Node> added = context.getAddedNodes();
+		Set<Node> moved = context.getMovedNodes();
+		Set<Node> seeds = new LinkedHashSet<>(added);
+		seeds.addAll(moved);
+		for (Edge edge : context.getAddedEdges()) {
+			seeds.add(edge.getSource());
+			seeds.add(edge.getTarget());
+		}
+		for (Edge edge : context.getRemovedEdges()) {
+			seeds.add(edge.getSource());
+			seeds.add(edge.getTarget());
+		}
+		Edge[] connections = context.getEdges();
+		Set<Node> affected = new LinkedHashSet<>();
+		for (Node seed : seeds) {
+			// removed (or layout irrelevant) nodes are not contained
+			if (context.getNodeOrdinal(seed) >= 0) {
+				affected.add(seed);
+			}
+		}
+		for (int i = 0; i < connections.length; i++) {
+			Node source = connections[i].getSource();
+			Node target = connections[i].getTarget();
+			if (context.getNodeOrdinal(source) < 0
+					|| context.getNodeOrdinal(target) < 0) {
+				continue;
+			}
+			if (seeds.contains(source)) {
+				affected.add(target);
+			}
+			if (seeds.contains(target)) {
+				affected.add(source);
+			}
+		}
+		affected.removeAll(moved);
+
+		// compute (sparse) edge weights for the affected nodes
+		int[] affectedPositions = new int[affected.size()];
+		Map<Integer, Map<Integer, Double>> weights = new HashMap<>();
+		int a = 0;
+		for (Node node : affected) {
+			int position = context.getNodeOrdinal(node);
+			affectedPositions[a++] = position;
+			weights.put(position, new HashMap<Integer, Double>());
+		}
+		for (int i = 0; i < connections.length; i++) {
+			int source = context.getNodeOrdinal(connections[i].getSource());
+			int target = context.getNodeOrdinal(connections[i].getTarget());
+			if (source < 0 || target < 0 || source == target) {
+				continue;
+			}
+			double weight = LayoutProperties.getWeight(connections[i]);
+			weight = (weight <= 0 ? 0.1 : weight);
+			addWeight(weights.get(source), target, weight);
+			addWeight(weights.get(target), source, weight);
+		}
+
+		// place added nodes at the barycenter of their (placed) neighbors
+		int placed = 0;
+		for (Node node : added) {
+			int position = context.getNodeOrdinal(node);
+			double sumX = 0, sumY = 0;
+			int count = 0;
+			for (Integer neighbor : weights.get(position).keySet()) {
+				if (!added.contains(entities[neighbor])) {
+					sumX += locationsX[neighbor];
+					sumY += locationsY[neighbor];
+					count++;
+				}
+			}
+			if (count > 0) {
+				// displace a bit, so that siblings do not coincide
+				double[] offset = getPlacementOffset(placed++);
+				locationsX[position] = sumX / count
+						+ offset[0] * sizeW[position];
+				locationsY[position] = sumY / count
+						+ offset[1] * sizeH[position];
+			} else if (sprRandom) {
+				locationsX[position] = bounds.getX()
+						+ Math.random() * bounds.getWidth();
+				locationsY[position] = bounds.getY()
+						+ Math.random() * bounds.getHeight();
+			} else {
+				double[] offset = getPlacementOffset(placed++);
+				locationsX[position] = bounds.getX() + 0.5 * bounds.getWidth()
+						+ offset[0] * sizeW[position];
+				locationsY[position] = bounds.getY()
+						+ 0.5 * bounds.getHeight()
+						+ offset[1] * sizeH[position];
+			}
+		}
+
+		// relax the affected nodes only
+		startTime = System.currentTimeMillis();
+		for (int k = 0; k < incrementalIterations; k++) {
+			if (maxTimeMS > 0
+					&& System.currentTimeMillis() - startTime > maxTimeMS) {
+				break;
+			}
+			for (int p = 0; p < affectedPositions.length; p++) {
+				int i = affectedPositions[p];
+				Map<Integer, Double> neighborWeights = weights.get(i);
+				double fx = 0, fy = 0;
+				for (int j = 0; j < entities.length; j++) {
+					if (i == j) {
+						continue;
+					}
+					double dx = (locationsX[i] - locationsX[j])
+							/ bounds.getWidth() / boundsScaleX;
+					double dy = (locationsY[i] - locationsY[j])
+							/ bounds.getHeight() / boundsScaleY;
+					double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
+							dx * dx + dy * dy);
+					double distance = Math.sqrt(distance_sq);
+					Double sumOfWeights = neighborWeights.get(j);
+					double f;
+					if (sumOfWeights != null) {
+						f = -sprStrain * Math.log(distance / sprLength)
+								* sumOfWeights;
+					} else {
+						f = sprGravitation / distance_sq;
+					}
+					fx += f * dx / distance;
+					fy += f * dy / distance;
+				}
+				forcesX[i] = fx;
+				forcesY[i] = fy;
+			}
+			for (int p = 0; p < affectedPositions.length; p++) {
+				int i = affectedPositions[p];
+				if (LayoutProperties.isMovable(entities[i])) {
+					double deltaX = sprMove * forcesX[i];
+					double deltaY = sprMove * forcesY[i];
+					double dist = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+					double maxMovement = 0.2d * sprMove;
+					if (dist > maxMovement) {
+						deltaX *= maxMovement / dist;
+						deltaY *= maxMovement / dist;
+					}
+					locationsX[i] += deltaX * bounds.getWidth() * boundsScaleX;
+					locationsY[i] += deltaY * bounds.getHeight() * boundsScaleY;
+				}
+			}
+		}
+
+		saveLocations();
+	}
+
+	private static void addWeight(Map<Integer, Double> weights,
+			Integer position, double weight) {
+		if (weights != null) {
+			Double sum = weights.get(position);
+			weights.put(position, sum == null ? weight : sum + weight);
+		}
+	}
+
 	/**
 	 * Performs the given number of iterations.
 	 * 
@@ -319,6 +592,28 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		return sprGravitation;
 	}
 
+	/**
+	 * Sets the number of iterations to be used for an incremental layout pass,
+	 * i.e. when {@link #applyLayout(LayoutContext, boolean)} is called with
+	 * <code>clean</code> set to <code>false</code>.
+	 * 
+	 * @param iterations
+	 *            The number of iterations for an incremental layout pass.
+	 */
+	public void setIncrementalIterations(int iterations) {
+		incrementalIterations = iterations;
+	}
+
+	/**
+	 * Returns the number of iterations to be used for an incremental layout
+	 * pass.
+	 * 
+	 * @return The number of iterations for an incremental layout pass.
+	 */
+	public int getIncrementalIterations() {
+		return incrementalIterations;
+	}
+
 	/**
 	 * Sets the number of iterations to be used.
 	 * 
@@ -368,24 +663,18 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		loadLocations();
 
 		srcDestToSumOfWeights = new double[entities.length][entities.length];
-		HashMap<Node, Integer> entityToPosition = new HashMap<>();
-		for (int i = 0; i < entities.length; i++) {
-			entityToPosition.put(entities[i], new Integer(i));
-		}
-
+		// entities are indexed by their ordinals
 		Edge[] connections = context.getEdges();
 		for (int i = 0; i < connections.length; i++) {
 			Edge connection = connections[i];
-			Integer source = entityToPosition.get(connection.getSource());
-			Integer target = entityToPosition.get(connection.getTarget());
-			if (source == null || target == null)
+			int source = context.getNodeOrdinal(connection.getSource());
+			int target = context.getNodeOrdinal(connection.getTarget());
+			if (source < 0 || target < 0)
 				continue;
 			double weight = LayoutProperties.getWeight(connection);
 			weight = (weight <= 0 ? 0.1 : weight);
-			srcDestToSumOfWeights[source.intValue()][target
-					.intValue()] += weight;
-			srcDestToSumOfWeights[target.intValue()][source
-					.intValue()] += weight;
+			srcDestToSumOfWeights[source][target] += weight;
+			srcDestToSumOfWeights[target][source] += weight;
 		}
 
 		if (sprRandom)
@@ -408,11 +697,11 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 		for (int i = 0; i < entities.length; i++) {
 			Point location = LayoutProperties.getLocation(entities[i]);
-			locationsX[i] = location.x;
-			locationsY[i] = location.y;
+			locationsX[i] = location == null ? 0 : location.x;
+			locationsY[i] = location == null ? 0 : location.y;
 			Dimension size = LayoutProperties.getSize(entities[i]);
-			sizeW[i] = size.width;
-			sizeH[i] = size.height;
+			sizeW[i] = size == null ? 0 : size.width;
+			sizeH[i] = size == null ? 0 : size.height;
 		}
 	}
 
@@ -493,6 +782,28 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		iteration++;
 	}
 
+	/**
+	 * Returns the offset (relative to the node size) by which the n-th added
+	 * node is displaced from its initial location during an incremental layout
+	 * pass. The offset is random if random placement is enabled (see
+	 * {@link #setRandom(boolean)}), and otherwise follows a spiral, so that
+	 * incremental layout passes are reproducible.
+	 * 
+	 * @param n
+	 *            The index of the added node.
+	 * @return The x and y offset, each between -0.5 and 0.5.
+	 */
+	private double[] getPlacementOffset(int n) {
+		if (sprRandom) {
+			return new double[] { Math.random() - 0.5, Math.random() - 0.5 };
+		}
+		// golden angle spiral
+		double angle = n * 2.399963229728653;
+		double radius = 0.5 * Math.sqrt((n + 1) / (n + 2d));
+		return new double[] { radius * Math.cos(angle),
+				radius * Math.sin(angle) };
+	}
+
 	/**
 	 * Puts vertices in random places, all between (0,0) and (1,1).
 	 */
@@ -696,4 +1007,29 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			locationsY[i] -= moveY;
 		}
 	}
+
+	@Override
+	public Object getLayoutCacheKey() {
+		// random initial placement is not reproducible (there is no seed), so
+		// that a relayout has to compute a new layout
+		if (sprRandom) {
+			return null;
+		}
+		return Arrays.<Object> asList(sprIterations, maxTimeMS, sprMove,
+				sprStrain, sprLength, sprGravitation, incrementalIterations,
+				resize, fitWithinBounds);
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		// the iterations start at the initial locations
+		return true;
+	}
+
+	@Override
+	public void resetIncrementalState(LayoutContext layoutContext) {
+		// incremental passes only depend on the current node locations, which
+		// are provided by the layout context
+	}
+
 }
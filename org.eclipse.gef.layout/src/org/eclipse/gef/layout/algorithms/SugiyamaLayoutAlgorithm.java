@@ -18,6 +18,7 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -35,7 +36,8 @@ import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -58,7 +60,8 @@ import org.eclipse.gef.layout.LayoutProperties;
  * @author Adam Kovacs
  * @author mwienand
  */
-public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
+public class SugiyamaLayoutAlgorithm
+		implements ICacheableLayoutAlgorithm, IIncrementalLayoutAlgorithm {
 
 	/**
 	 * Specifies the direction for the {@link SugiyamaLayoutAlgorithm}.
@@ -1218,6 +1221,9 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 	// index of the last element in a layer after padding process
 	private int last;
 
+	// number of sweeps to reduce crossings after incremental changes
+	private static final int INCREMENTAL_SWEEPS = 4;
+
 	private LayerProvider layerProvider;
 	private CrossingReducer crossingReducer;
 
@@ -1330,9 +1336,56 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		this(Direction.VERTICAL, null, null, null);
 	}
 
+	/**
+	 * Returns the {@link Direction} of this {@link SugiyamaLayoutAlgorithm}.
+	 * 
+	 * @return The {@link Direction} of this {@link SugiyamaLayoutAlgorithm}.
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the desired size of the layout area, or <code>null</code> if the
+	 * bounds of the graph are used.
+	 * 
+	 * @return The desired size of the layout area, or <code>null</code>.
+	 */
+	public Dimension getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Returns the {@link LayerProvider} of this
+	 * {@link SugiyamaLayoutAlgorithm}.
+	 * 
+	 * @return The {@link LayerProvider} of this
+	 *         {@link SugiyamaLayoutAlgorithm}.
+	 */
+	public LayerProvider getLayerProvider() {
+		return layerProvider;
+	}
+
+	/**
+	 * Returns the {@link CrossingReducer} of this
+	 * {@link SugiyamaLayoutAlgorithm}.
+	 * 
+	 * @return The {@link CrossingReducer} of this
+	 *         {@link SugiyamaLayoutAlgorithm}.
+	 */
+	public CrossingReducer getCrossingReducer() {
+		return crossingReducer;
+	}
+
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
-		if (!clean)
-			return;
+		if (!clean) {
+			if (!layoutContext.hasLayoutChanges())
+				return;
+			if (canApplyIncrementalLayout(layoutContext)) {
+				applyIncrementalLayout(layoutContext);
+				return;
+			}
+		}
 		layers.clear();
 		map.clear();
 
@@ -1355,6 +1408,394 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		calculatePositions(layoutContext);
 	}
 
+	/**
+	 * Returns <code>true</code> if the layers that were computed during the
+	 * last layout pass can be updated incrementally, i.e. if all nodes that
+	 * were not added since the last layout pass are contained in the layers.
+	 * 
+	 * @param context
+	 *            The {@link LayoutContext} that provides the changes since the
+	 *            last layout pass.
+	 * @return <code>true</code> if the layers can be updated incrementally,
+	 *         otherwise <code>false</code>.
+	 */
+	private boolean canApplyIncrementalLayout(LayoutContext context) {
+		if (map.isEmpty() || !context.isIncrementalLayoutPossible())
+			return false;
+		Set<Node> added = context.getAddedNodes();
+		for (Node node : context.getNodes()) {
+			if (!added.contains(node) && !map.containsKey(node))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Updates the layers that were computed during the last layout pass
+	 * according to the changes since then:
+	 * <ol>
+	 * <li>Removed nodes are taken out of their layers, together with the dummy
+	 * nodes of their edges.
+	 * <li>The dummy nodes of removed edges are taken out of their layers,
+	 * unless the nodes are still connected by another edge.
+	 * <li>Added nodes are assigned to the layer below their lowest predecessor
+	 * (at the barycenter of their neighbors), and added edges are linked
+	 * (inserting dummy nodes where needed).
+	 * <li>Successors that are no longer below their predecessors are pushed
+	 * down and re-linked.
+	 * <li>The crossings of the changed layers are reduced.
+	 * </ol>
+	 * All other layers keep their relative order.
+	 * 
+	 * @param context
+	 *            The {@link LayoutContext} that provides the changes since the
+	 *            last layout pass.
+	 */
+	private void applyIncrementalLayout(LayoutContext context) {
+		Set<List<NodeWrapper>> changedLayers = Collections
+				.newSetFromMap(new IdentityHashMap<List<NodeWrapper>, Boolean>());
+
+		// determine local adjacency of the layout relevant edges
+		Map<Node, List<Node>> predecessors = new IdentityHashMap<>();
+		Map<Node, List<Node>> successors = new IdentityHashMap<>();
+		for (Edge edge : context.getEdges()) {
+			Node source = edge.getSource();
+			Node target = edge.getTarget();
+			if (source == target)
+				continue;
+			if (!successors.containsKey(source))
+				successors.put(source, new ArrayList<Node>());
+			if (!successors.get(source).contains(target))
+				successors.get(source).add(target);
+			if (!predecessors.containsKey(target))
+				predecessors.put(target, new ArrayList<Node>());
+			if (!predecessors.get(target).contains(source))
+				predecessors.get(target).add(source);
+		}
+
+		// take removed nodes out of their layers
+		for (Node node : context.getRemovedNodes()) {
+			NodeWrapper nw = map.remove(node);
+			if (nw != null) {
+				unlink(nw, changedLayers);
+				layers.get(nw.layer).remove(nw);
+				changedLayers.add(layers.get(nw.layer));
+			}
+		}
+
+		// take removed edges out, unless the nodes are still connected
+		for (Edge edge : context.getRemovedEdges()) {
+			NodeWrapper source = map.get(edge.getSource());
+			NodeWrapper target = map.get(edge.getTarget());
+			if (source != null && target != null
+					&& !(successors.containsKey(edge.getSource())
+							&& successors.get(edge.getSource())
+									.contains(edge.getTarget())))
+				removeChain(source, target, changedLayers);
+		}
+
+		// add new nodes, predecessors first
+		List<Node> pending = new ArrayList<>(context.getAddedNodes());
+		while (!pending.isEmpty()) {
+			Node next = null;
+			for (Node node : pending) {
+				boolean ready = true;
+				if (predecessors.containsKey(node)) {
+					for (Node pred : predecessors.get(node)) {
+						if (pending.contains(pred)) {
+							ready = false;
+							break;
+						}
+					}
+				}
+				if (ready) {
+					next = node;
+					break;
+				}
+			}
+			if (next == null)
+				// cycle among added nodes
+				next = pending.get(0);
+			pending.remove(next);
+			int layer = 0;
+			if (predecessors.containsKey(next)) {
+				for (Node pred : predecessors.get(next)) {
+					NodeWrapper predWrapper = map.get(pred);
+					if (predWrapper != null && predWrapper.layer + 1 > layer)
+						layer = predWrapper.layer + 1;
+				}
+			}
+			NodeWrapper nw = new NodeWrapper(next, layer);
+			while (layers.size() <= layer)
+				layers.add(new ArrayList<NodeWrapper>());
+			List<NodeWrapper> layerList = layers.get(layer);
+			layerList.add(getBaryCenterIndex(next, layer, layerList.size(),
+					predecessors, successors), nw);
+			map.put(next, nw);
+			changedLayers.add(layerList);
+			link(nw, predecessors, successors, changedLayers);
+		}
+
+		// link added edges between nodes that were laid out before
+		for (Edge edge : context.getAddedEdges()) {
+			NodeWrapper source = map.get(edge.getSource());
+			NodeWrapper target = map.get(edge.getTarget());
+			if (source != null && target != null && source != target)
+				addChain(source, target, changedLayers);
+		}
+
+		// push down successors that are not below their predecessors anymore
+		List<Node> toCheck = new ArrayList<>(context.getAddedNodes());
+		for (Edge edge : context.getAddedEdges()) {
+			toCheck.add(edge.getSource());
+		}
+		Set<Node> visited = Collections
+				.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		while (!toCheck.isEmpty()) {
+			Node node = toCheck.remove(toCheck.size() - 1);
+			NodeWrapper nw = map.get(node);
+			if (nw == null || !successors.containsKey(node))
+				continue;
+			for (Node succ : successors.get(node)) {
+				NodeWrapper succWrapper = map.get(succ);
+				if (succWrapper == null || succWrapper.layer > nw.layer
+						|| !visited.add(succ))
+					// already below, or visited before (cycle)
+					continue;
+				relayer(succWrapper, nw.layer + 1, predecessors, successors,
+						changedLayers);
+				toCheck.add(succ);
+			}
+		}
+
+		// remove empty trailing layers
+		while (!layers.isEmpty() && layers.get(layers.size() - 1).isEmpty())
+			layers.remove(layers.size() - 1);
+
+		reduceCrossings(changedLayers);
+
+		last = 0;
+		for (List<NodeWrapper> layer : layers) {
+			if (layer.size() > last)
+				last = layer.size();
+		}
+		calculatePositions(context);
+	}
+
+	/**
+	 * Links the given source and target {@link NodeWrapper}s, inserting dummy
+	 * nodes into the layers in between. Does nothing if the target is not
+	 * below the source, or if both are already linked.
+	 */
+	private void addChain(NodeWrapper source, NodeWrapper target,
+			Set<List<NodeWrapper>> changedLayers) {
+		if (source.layer >= target.layer || findChain(source, target) != null)
+			return;
+		NodeWrapper pred = source;
+		for (int level = source.layer + 1; level < target.layer; level++) {
+			NodeWrapper dummy = new NodeWrapper(level);
+			dummy.addPredecessor(pred);
+			pred.addSuccessor(dummy);
+			// the position is determined by the crossing reduction
+			layers.get(level).add(dummy);
+			changedLayers.add(layers.get(level));
+			pred = dummy;
+		}
+		target.addPredecessor(pred);
+		pred.addSuccessor(target);
+		changedLayers.add(layers.get(source.layer));
+		changedLayers.add(layers.get(target.layer));
+	}
+
+	/**
+	 * Returns the first {@link NodeWrapper} (i.e. the target or a dummy) of
+	 * the chain that links the given source to the given target, or
+	 * <code>null</code> if they are not linked.
+	 */
+	private static NodeWrapper findChain(NodeWrapper source,
+			NodeWrapper target) {
+		for (NodeWrapper succ : source.succ) {
+			NodeWrapper end = succ;
+			while (end.isDummy())
+				end = end.succ.get(0);
+			if (end == target)
+				return succ;
+		}
+		return null;
+	}
+
+	private int getBaryCenterIndex(Node node, int layer, int size,
+			Map<Node, List<Node>> predecessors,
+			Map<Node, List<Node>> successors) {
+		double sum = 0;
+		int count = 0;
+		List<Node> neighbors = new ArrayList<>();
+		if (predecessors.containsKey(node))
+			neighbors.addAll(predecessors.get(node));
+		if (successors.containsKey(node))
+			neighbors.addAll(successors.get(node));
+		for (Node neighbor : neighbors) {
+			NodeWrapper nw = map.get(neighbor);
+			if (nw != null && nw.layer != layer) {
+				sum += nw.index;
+				count++;
+			}
+		}
+		if (count == 0)
+			return size;
+		return Math.min(size, (int) (sum / count));
+	}
+
+	private void link(NodeWrapper nw, Map<Node, List<Node>> predecessors,
+			Map<Node, List<Node>> successors,
+			Set<List<NodeWrapper>> changedLayers) {
+		if (predecessors.containsKey(nw.node)) {
+			for (Node pred : predecessors.get(nw.node)) {
+				NodeWrapper predWrapper = map.get(pred);
+				if (predWrapper != null)
+					addChain(predWrapper, nw, changedLayers);
+			}
+		}
+		if (successors.containsKey(nw.node)) {
+			for (Node succ : successors.get(nw.node)) {
+				NodeWrapper succWrapper = map.get(succ);
+				if (succWrapper != null)
+					addChain(nw, succWrapper, changedLayers);
+			}
+		}
+	}
+
+	/**
+	 * Reduces the crossings of the given (changed) layers by sorting them
+	 * according to the barycenters of their neighbors, alternating between
+	 * downward and upward sweeps. The other layers keep their order.
+	 */
+	private void reduceCrossings(Set<List<NodeWrapper>> changedLayers) {
+		for (List<NodeWrapper> layer : changedLayers)
+			updateIndex(layer);
+		for (int round = 0; round < INCREMENTAL_SWEEPS; round++) {
+			if ((round & 1) == 0) {
+				for (List<NodeWrapper> layer : layers) {
+					if (changedLayers.contains(layer))
+						sortByBaryCenter(layer, true);
+				}
+			} else {
+				for (int index = layers.size() - 1; index >= 0; index--) {
+					if (changedLayers.contains(layers.get(index)))
+						sortByBaryCenter(layers.get(index), false);
+				}
+			}
+		}
+	}
+
+	private NodeWrapper relayer(NodeWrapper nw, int layer,
+			Map<Node, List<Node>> predecessors,
+			Map<Node, List<Node>> successors,
+			Set<List<NodeWrapper>> changedLayers) {
+		unlink(nw, changedLayers);
+		List<NodeWrapper> oldLayer = layers.get(nw.layer);
+		int index = oldLayer.indexOf(nw);
+		oldLayer.remove(index);
+		changedLayers.add(oldLayer);
+		while (layers.size() <= layer)
+			layers.add(new ArrayList<NodeWrapper>());
+		List<NodeWrapper> newLayer = layers.get(layer);
+		NodeWrapper moved = new NodeWrapper(nw.node, layer);
+		newLayer.add(Math.min(index, newLayer.size()), moved);
+		changedLayers.add(newLayer);
+		map.put(nw.node, moved);
+		link(moved, predecessors, successors, changedLayers);
+		return moved;
+	}
+
+	/**
+	 * Removes the chain that links the given source to the given target,
+	 * including its dummy nodes.
+	 */
+	private void removeChain(NodeWrapper source, NodeWrapper target,
+			Set<List<NodeWrapper>> changedLayers) {
+		NodeWrapper first = findChain(source, target);
+		if (first == null)
+			return;
+		source.succ.remove(first);
+		NodeWrapper above = source;
+		NodeWrapper current = first;
+		while (current.isDummy()) {
+			removeDummy(current, changedLayers);
+			above = current;
+			current = current.succ.get(0);
+		}
+		target.pred.remove(above);
+		changedLayers.add(layers.get(source.layer));
+		changedLayers.add(layers.get(target.layer));
+	}
+
+	private void removeDummy(NodeWrapper dummy,
+			Set<List<NodeWrapper>> changedLayers) {
+		List<NodeWrapper> layer = layers.get(dummy.layer);
+		layer.remove(dummy);
+		changedLayers.add(layer);
+	}
+
+	private static void sortByBaryCenter(List<NodeWrapper> layer,
+			boolean down) {
+		final Map<NodeWrapper, Double> baryCenters = new IdentityHashMap<>();
+		for (NodeWrapper nw : layer) {
+			List<NodeWrapper> neighbors = down ? nw.pred : nw.succ;
+			double baryCenter = nw.index;
+			if (!neighbors.isEmpty()) {
+				baryCenter = 0;
+				for (NodeWrapper neighbor : neighbors)
+					baryCenter += neighbor.index;
+				baryCenter /= neighbors.size();
+			}
+			baryCenters.put(nw, baryCenter);
+		}
+		Collections.sort(layer, new Comparator<NodeWrapper>() {
+			public int compare(NodeWrapper node1, NodeWrapper node2) {
+				return Double.compare(baryCenters.get(node1),
+						baryCenters.get(node2));
+			}
+		});
+		updateIndex(layer);
+	}
+
+	/**
+	 * Removes all links of the given {@link NodeWrapper}, including the dummy
+	 * nodes that connect it to its predecessors and successors.
+	 */
+	private void unlink(NodeWrapper nw, Set<List<NodeWrapper>> changedLayers) {
+		for (NodeWrapper pred : nw.pred) {
+			NodeWrapper below = nw;
+			NodeWrapper current = pred;
+			while (current.isDummy()) {
+				removeDummy(current, changedLayers);
+				below = current;
+				current = current.pred.get(0);
+			}
+			current.succ.remove(below);
+			changedLayers.add(layers.get(current.layer));
+		}
+		for (NodeWrapper succ : nw.succ) {
+			NodeWrapper above = nw;
+			NodeWrapper current = succ;
+			while (current.isDummy()) {
+				removeDummy(current, changedLayers);
+				above = current;
+				current = current.succ.get(0);
+			}
+			current.pred.remove(above);
+			changedLayers.add(layers.get(current.layer));
+		}
+		nw.pred.clear();
+		nw.succ.clear();
+	}
+
+	private static void updateIndex(List<NodeWrapper> list) {
+		for (int index = 0; index < list.size(); index++)
+			list.get(index).index = index;
+	}
+
 	private void calculatePositions(LayoutContext context) {
 		Rectangle boundary = LayoutProperties.getBounds(context.getGraph());
 		if (dimension != null)
@@ -1376,4 +1817,38 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			}
 	}
 
-}
\ No newline at end of file
+	@Override
+	public Object getLayoutCacheKey() {
+		// custom layer providers and crossing reducers might be parameterized,
+		// and the DFSLayerProvider might have nodes assigned to layers, so
+		// that only the stateless built-in strategies can be identified by
+		// their type
+		if (!isBuiltIn(layerProvider) || !isBuiltIn(crossingReducer)
+				|| (layerProvider instanceof DFSLayerProvider
+						&& !((DFSLayerProvider) layerProvider)
+								.getAssignedNodes().isEmpty())) {
+			return null;
+		}
+		return Arrays.<Object> asList(direction,
+				dimension == null ? null : dimension.getCopy(),
+				layerProvider.getClass(), crossingReducer.getClass());
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		return false;
+	}
+
+	@Override
+	public void resetIncrementalState(LayoutContext layoutContext) {
+		// the layers no longer correspond to the node locations
+		layers.clear();
+		map.clear();
+	}
+
+	private boolean isBuiltIn(Object strategy) {
+		return strategy.getClass()
+				.getEnclosingClass() == SugiyamaLayoutAlgorithm.class;
+	}
+
+}
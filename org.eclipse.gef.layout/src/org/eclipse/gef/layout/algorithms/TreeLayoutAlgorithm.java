@@ -14,13 +14,14 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
-import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ICacheableLayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
@@ -37,7 +38,7 @@ import org.eclipse.gef.layout.algorithms.TreeLayoutHelper.TreeNode;
  * @author Miles Parker
  * @author mwienand
  */
-public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
+public class TreeLayoutAlgorithm implements ICacheableLayoutAlgorithm {
 
 	/**
 	 * Tree direction constant for which root is placed at the top and branches
@@ -295,4 +296,16 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 		// TODO: include node space??
 		return sb.toString();
 	}
+
+	@Override
+	public Object getLayoutCacheKey() {
+		return Arrays.<Object> asList(direction, resize,
+				nodeSpace == null ? null : nodeSpace.getCopy());
+	}
+
+	@Override
+	public boolean isLocationDependent() {
+		return false;
+	}
+
 }
@@ -79,6 +79,7 @@ import org.eclipse.gef.mvc.fx.policies.ViewportPolicy;
 import org.eclipse.gef.mvc.fx.providers.TransformProvider;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.fx.viewer.RefreshVisualScheduler;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Binder;
@@ -777,6 +778,7 @@ public class MvcFxModule extends AbstractModule {
 		bindSnappingModelAsContentViewerAdapter(adapterMapBinder);
 
 		bindRootPartAsContentViewerAdapter(adapterMapBinder);
+		bindRefreshVisualSchedulerAsContentViewerAdapter(adapterMapBinder);
 
 		bindFocusFeedbackPartFactoryAsContentViewerAdapter(adapterMapBinder);
 		bindHoverFeedbackPartFactoryAsContentViewerAdapter(adapterMapBinder);
@@ -894,6 +896,38 @@ public class MvcFxModule extends AbstractModule {
 				.to(PinchSpreadGesture.class);
 	}
 
+	/**
+	 * Adds a binding for {@link RefreshVisualScheduler} to the adapter map
+	 * binder for {@link IViewer}. The {@link RefreshVisualScheduler} is
+	 * disabled by default. Sub-classes may enable it for all content viewers
+	 * by overriding this method as follows:
+	 *
+	 * <pre>
+	 * adapterMapBinder.addBinding(AdapterKey.defaultRole())
+	 * 		.toProvider(new Provider&lt;RefreshVisualScheduler&gt;() {
+	 * 			&#64;Override
+	 * 			public RefreshVisualScheduler get() {
+	 * 				RefreshVisualScheduler scheduler = new RefreshVisualScheduler();
+	 * 				scheduler.setEnabled(true);
+	 * 				return scheduler;
+	 * 			}
+	 * 		});
+	 * </pre>
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IViewer} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindRefreshVisualSchedulerAsContentViewerAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(RefreshVisualScheduler.class);
+	}
+
 	/**
 	 * Adds a binding for {@link RevealPrimarySelectionBehavior}, parameterized
 	 * by {@link Node}, to the adapter map binder for {@link IRootPart}.
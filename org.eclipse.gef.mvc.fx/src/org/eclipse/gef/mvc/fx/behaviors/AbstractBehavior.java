@@ -183,6 +183,67 @@ public abstract class AbstractBehavior implements IBehavior {
 		}
 	}
 
+	/**
+	 * Adds feedback for each of the given target parts individually, i.e. the
+	 * result is equivalent to calling {@link #addFeedback(IVisualPart)} for
+	 * each of the given target parts. However, the feedback parts that are
+	 * generated for all target parts are added to the root part at once, so
+	 * that only a single children change results.
+	 *
+	 * @param targets
+	 *            The target parts for which to add feedback individually.
+	 */
+	protected void addFeedbackIndividually(
+			List<? extends IVisualPart<? extends Node>> targets) {
+		if (targets == null) {
+			throw new IllegalArgumentException(
+					"The given target parts may not be null.");
+		}
+		if (targets.isEmpty()) {
+			return;
+		}
+
+		// determine feedback part factory for the target parts
+		IFeedbackPartFactory factory = getFeedbackPartFactory(
+				targets.get(0).getRoot().getViewer());
+
+		// generate feedback parts for each target part
+		List<IFeedbackPart<? extends Node>> allFeedbackParts = new ArrayList<>();
+		List<IVisualPart<? extends Node>> anchorages = new ArrayList<>();
+		for (IVisualPart<? extends Node> target : targets) {
+			List<IVisualPart<? extends Node>> singleTarget = Collections
+					.singletonList(target);
+			Set<IVisualPart<? extends Node>> targetSet = createTargetSet(
+					singleTarget);
+			if (hasFeedback(targetSet)) {
+				throw new IllegalStateException(
+						"Feedback was already added for the target part "
+								+ target + ".");
+			}
+			List<IFeedbackPart<? extends Node>> feedbackParts = null;
+			if (factory != null) {
+				feedbackParts = factory.createFeedbackParts(singleTarget,
+						Collections.emptyMap());
+			}
+			if (feedbackParts == null) {
+				feedbackParts = Collections.emptyList();
+			}
+			getFeedbackPerTargetSet().put(targetSet, feedbackParts);
+			for (IFeedbackPart<? extends Node> fp : feedbackParts) {
+				allFeedbackParts.add(fp);
+				anchorages.add(target);
+			}
+		}
+
+		// add all feedback parts to the viewer at once
+		if (!allFeedbackParts.isEmpty()) {
+			targets.get(0).getRoot().addChildren(allFeedbackParts);
+			for (int i = 0; i < allFeedbackParts.size(); i++) {
+				allFeedbackParts.get(i).attachToAnchorage(anchorages.get(i));
+			}
+		}
+	}
+
 	/**
 	 * Adds handles for the given target part.
 	 *
@@ -589,6 +650,48 @@ public abstract class AbstractBehavior implements IBehavior {
 				: createTargetSet(targets));
 	}
 
+	/**
+	 * Removes the feedback that was added for each of the given target parts
+	 * individually, i.e. the result is equivalent to calling
+	 * {@link #removeFeedback(IVisualPart)} for each of the given target parts.
+	 * However, the feedback parts of all target parts are removed from the
+	 * root part at once, so that only a single children change results.
+	 *
+	 * @param targets
+	 *            The target parts for which to remove feedback individually.
+	 */
+	protected void removeFeedbackIndividually(
+			Collection<? extends IVisualPart<? extends Node>> targets) {
+		if (targets == null) {
+			throw new IllegalArgumentException(
+					"The given target parts may not be null.");
+		}
+		List<IFeedbackPart<? extends Node>> allFeedbackParts = new ArrayList<>();
+		for (IVisualPart<? extends Node> target : targets) {
+			Set<IVisualPart<? extends Node>> targetSet = createTargetSet(
+					Collections.singletonList(target));
+			if (!hasFeedback(targetSet)) {
+				throw new IllegalStateException(
+						"Feedback was not added for the target part " + target
+								+ ".");
+			}
+			List<IFeedbackPart<? extends Node>> feedbackParts = getFeedbackPerTargetSet()
+					.remove(targetSet);
+			for (IFeedbackPart<? extends Node> fp : feedbackParts) {
+				fp.detachFromAnchorage(target);
+				allFeedbackParts.add(fp);
+			}
+		}
+
+		// remove all feedback parts from the viewer at once
+		if (!allFeedbackParts.isEmpty()) {
+			allFeedbackParts.get(0).getRoot().removeChildren(allFeedbackParts);
+		}
+		for (IFeedbackPart<? extends Node> fp : allFeedbackParts) {
+			fp.dispose();
+		}
+	}
+
 	/**
 	 * Removes feedback for the given target.
 	 *
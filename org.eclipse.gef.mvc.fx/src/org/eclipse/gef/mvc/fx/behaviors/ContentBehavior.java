@@ -16,6 +16,7 @@ package org.eclipse.gef.mvc.fx.behaviors;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -213,6 +214,9 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 			IVisualPart<? extends Node> parent,
 			final List<? extends Object> contentChildren) {
 		List<IContentPart<? extends Node>> toRemove = new ArrayList<>();
+		// XXX: Use a hash set for the containment test, so that the
+		// synchronization is linear in the number of content children.
+		Set<Object> contentChildrenSet = new HashSet<>(contentChildren);
 		// only synchronize IContentPart children
 		// find all content parts for which no content element exists in
 		// contentChildren, and therefore have to be removed
@@ -220,7 +224,7 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 				.filterParts(parent.getChildrenUnmodifiable(),
 						IContentPart.class)) {
 			// mark for removal
-			if (!contentChildren.contains(contentPart.getContent())) {
+			if (!contentChildrenSet.contains(contentPart.getContent())) {
 				toRemove.addAll(
 						detachAll(contentPart, Collections.emptyList()));
 				toRemove.add(contentPart);
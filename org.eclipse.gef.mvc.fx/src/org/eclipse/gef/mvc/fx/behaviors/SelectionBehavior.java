@@ -13,7 +13,9 @@
 package org.eclipse.gef.mvc.fx.behaviors;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.common.collections.CollectionUtils;
 import org.eclipse.gef.mvc.fx.models.SelectionModel;
@@ -57,8 +59,7 @@ public class SelectionBehavior extends AbstractBehavior {
 					c.getList());
 			List<? extends IContentPart<? extends Node>> oldSelection = CollectionUtils
 					.getPreviousContents(c);
-			removeFeedbackAndHandles(oldSelection);
-			addFeedbackAndHandles(newSelection);
+			updateFeedbackAndHandles(oldSelection, newSelection);
 		}
 	};
 
@@ -71,9 +72,7 @@ public class SelectionBehavior extends AbstractBehavior {
 			List<? extends IContentPart<? extends Node>> selected) {
 		if (!selected.isEmpty()) {
 			// add feedback individually for the selected parts
-			for (IContentPart<? extends Node> sel : selected) {
-				addFeedback(sel);
-			}
+			addFeedbackIndividually(selected);
 			// XXX: For a multi selection, handles are generated for the whole
 			// selection and not for each part individually. For a single
 			// selection, handles are generated for the only selected part.
@@ -142,9 +141,7 @@ public class SelectionBehavior extends AbstractBehavior {
 			List<? extends IContentPart<? extends Node>> selected) {
 		if (!selected.isEmpty()) {
 			// remove feedback individually for all parts
-			for (IContentPart<? extends Node> sel : selected) {
-				removeFeedback(sel);
-			}
+			removeFeedbackIndividually(selected);
 			// XXX: For a multi selection, handles are generated for the whole
 			// selection and not for each part individually. For a single
 			// selection, handles are generated for the only selected part.
@@ -157,4 +154,77 @@ public class SelectionBehavior extends AbstractBehavior {
 			}
 		}
 	}
+
+	/**
+	 * Updates the feedback and handles in response to a selection change.
+	 * Feedback is only removed for the deselected parts and only added for the
+	 * newly selected parts, so that a large selection delta is processed in a
+	 * single pass. As the feedback of the primary selection (i.e. the first
+	 * selected part) differs from the feedback of the other selected parts,
+	 * feedback is re-generated for the previous and the new primary selection
+	 * if the primary selection changed. The handles are re-generated for the
+	 * new selection if the set of selected parts or the primary selection
+	 * changed.
+	 *
+	 * @param oldSelection
+	 *            The previous selection.
+	 * @param newSelection
+	 *            The new selection.
+	 */
+	protected void updateFeedbackAndHandles(
+			List<? extends IContentPart<? extends Node>> oldSelection,
+			List<? extends IContentPart<? extends Node>> newSelection) {
+		Set<IContentPart<? extends Node>> oldSet = new HashSet<>(oldSelection);
+		Set<IContentPart<? extends Node>> newSet = new HashSet<>(newSelection);
+		IContentPart<? extends Node> oldPrimary = oldSelection.isEmpty() ? null
+				: oldSelection.get(0);
+		IContentPart<? extends Node> newPrimary = newSelection.isEmpty() ? null
+				: newSelection.get(0);
+		if (oldPrimary == newPrimary && oldSet.equals(newSet)) {
+			// permutation of the secondary selection only
+			return;
+		}
+
+		// remove handles for the old selection
+		if (oldSelection.size() == 1) {
+			removeHandles(oldSelection.get(0));
+		} else if (!oldSelection.isEmpty()) {
+			removeHandles(oldSelection);
+		}
+
+		// update feedback for the selection delta
+		List<IContentPart<? extends Node>> deselected = new ArrayList<>();
+		for (IContentPart<? extends Node> p : oldSelection) {
+			if (!newSet.contains(p)) {
+				deselected.add(p);
+			}
+		}
+		List<IContentPart<? extends Node>> selected = new ArrayList<>();
+		for (IContentPart<? extends Node> p : newSelection) {
+			if (!oldSet.contains(p)) {
+				selected.add(p);
+			}
+		}
+		// re-generate the feedback of the previous and the new primary
+		// selection in case they remain selected
+		if (oldPrimary != newPrimary) {
+			if (oldPrimary != null && newSet.contains(oldPrimary)) {
+				deselected.add(oldPrimary);
+				selected.add(oldPrimary);
+			}
+			if (newPrimary != null && oldSet.contains(newPrimary)) {
+				deselected.add(newPrimary);
+				selected.add(newPrimary);
+			}
+		}
+		removeFeedbackIndividually(deselected);
+		addFeedbackIndividually(selected);
+
+		// add handles for the new selection
+		if (newSelection.size() == 1) {
+			addHandles(newSelection.get(0));
+		} else if (!newSelection.isEmpty()) {
+			addHandles(newSelection);
+		}
+	}
 }
@@ -39,6 +39,7 @@ public abstract class AbstractGesture implements IGesture {
 
 	private ActivatableSupport acs = new ActivatableSupport(this);
 	private ReadOnlyObjectWrapper<IDomain> domainProperty = new ReadOnlyObjectWrapper<>();
+	// unmodifiable lists of active handlers per viewer
 	private Map<IViewer, List<IHandler>> activeHandlers = new IdentityHashMap<>();
 
 	@Override
@@ -96,8 +97,9 @@ public abstract class AbstractGesture implements IGesture {
 
 	@Override
 	public List<? extends IHandler> getActiveHandlers(IViewer viewer) {
-		if (activeHandlers.containsKey(viewer)) {
-			return Collections.unmodifiableList(activeHandlers.get(viewer));
+		List<IHandler> handlers = activeHandlers.get(viewer);
+		if (handlers != null) {
+			return handlers;
 		} else {
 			return Collections.emptyList();
 		}
@@ -155,7 +157,8 @@ public abstract class AbstractGesture implements IGesture {
 			}
 		}
 		clearActiveHandlers(viewer);
-		this.activeHandlers.put(viewer, new ArrayList<>(activeHandlers));
+		this.activeHandlers.put(viewer, Collections
+				.unmodifiableList(new ArrayList<IHandler>(activeHandlers)));
 	}
 
 	@Override
@@ -177,7 +177,7 @@ public class ClickDragGesture extends AbstractGesture {
 	private final IOnDragHandler indicationCursorPolicy[] = new IOnDragHandler[] {
 			null };
 	@SuppressWarnings("unchecked")
-	private final List<IOnDragHandler> possibleDragPolicies[] = new ArrayList[] {
+	private final List<? extends IOnDragHandler> possibleDragPolicies[] = new List[] {
 			null };
 
 	private EventHandler<MouseEvent> indicationCursorMouseMoveFilter = new EventHandler<MouseEvent>() {
@@ -194,13 +194,14 @@ public class ClickDragGesture extends AbstractGesture {
 				// notified about events
 				Node target = (Node) eventTarget;
 				IViewer viewer = PartUtils.retrieveViewer(getDomain(), target);
+				// XXX: The resolved list is unmodifiable, so it does not need
+				// to be copied.
 				if (viewer != null) {
-					possibleDragPolicies[0] = new ArrayList<>(
-							getHandlerResolver().resolve(
-									ClickDragGesture.this, target, viewer,
-									ON_DRAG_POLICY_KEY));
+					possibleDragPolicies[0] = getHandlerResolver().resolve(
+							ClickDragGesture.this, target, viewer,
+							ON_DRAG_POLICY_KEY);
 				} else {
-					possibleDragPolicies[0] = new ArrayList<>();
+					possibleDragPolicies[0] = Collections.emptyList();
 				}
 
 				// search drag policies in reverse order first,
@@ -12,9 +12,14 @@
 package org.eclipse.gef.mvc.fx.gestures;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.common.adapt.IAdaptable;
 import org.eclipse.gef.mvc.fx.domain.IDomain;
 import org.eclipse.gef.mvc.fx.handlers.IHandler;
@@ -25,6 +30,9 @@ import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
 import com.google.common.reflect.TypeToken;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.MapChangeListener;
 import javafx.scene.Node;
 
 /**
@@ -42,6 +50,14 @@ import javafx.scene.Node;
  * have been located before, the {@link IRootPart} is queried last. The
  * retrieved handlers (if more than one) are (lexicographically) sorted by their
  * role, so that the target handler selection is deterministic.
+ * <p>
+ * The handlers that are determined by searching the visual part hierarchy are
+ * cached per target part and handler type. The cache is invalidated when the
+ * adapters or the parent of any of the visual parts that were examined during
+ * the search change. Similarly, the gestures of the {@link IDomain} are cached
+ * until the adapters of the {@link IDomain} change. Therefore, no objects are
+ * allocated for a resolution that can be answered from the cache. The
+ * returned lists are unmodifiable.
  *
  * @author mwienand
  *
@@ -49,8 +65,118 @@ import javafx.scene.Node;
 public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 		implements IHandlerResolver {
 
+	// gestures of the observed domain (reset when the domain adapters change)
+	private IDomain observedDomain;
+	private List<IGesture> gestures;
+	private MapChangeListener<AdapterKey<?>, Object> domainAdaptersChangeListener = new MapChangeListener<AdapterKey<?>, Object>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends AdapterKey<?>, ? extends Object> change) {
+			gestures = null;
+		}
+	};
+
+	// target handlers per target part and handler type (cleared when the
+	// adapters or the parent of an observed part change)
+	private Map<IVisualPart<? extends Node>, Map<Class<?>, List<? extends IHandler>>> targetHandlers = new IdentityHashMap<>();
+	private Set<IVisualPart<? extends Node>> observedParts = Collections
+			.newSetFromMap(
+					new IdentityHashMap<IVisualPart<? extends Node>, Boolean>());
+	private MapChangeListener<AdapterKey<?>, Object> partAdaptersChangeListener = new MapChangeListener<AdapterKey<?>, Object>() {
+		@Override
+		public void onChanged(
+				MapChangeListener.Change<? extends AdapterKey<?>, ? extends Object> change) {
+			clearTargetHandlers();
+		}
+	};
+	private ChangeListener<IVisualPart<? extends Node>> partParentChangeListener = new ChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void changed(
+				ObservableValue<? extends IVisualPart<? extends Node>> observable,
+				IVisualPart<? extends Node> oldValue,
+				IVisualPart<? extends Node> newValue) {
+			clearTargetHandlers();
+		}
+	};
+
+	/**
+	 * Clears the cached target handlers and unregisters all listeners from the
+	 * observed visual parts.
+	 */
+	private void clearTargetHandlers() {
+		for (IVisualPart<? extends Node> part : observedParts) {
+			part.adaptersProperty()
+					.removeListener(partAdaptersChangeListener);
+			part.parentProperty().removeListener(partParentChangeListener);
+		}
+		observedParts.clear();
+		targetHandlers.clear();
+	}
+
+	/**
+	 * Searches the visual part hierarchy for handlers of the given type,
+	 * starting at the given target part, and registers listeners at all
+	 * examined parts, so that the cached result is invalidated when the
+	 * hierarchy or the adapters change.
+	 *
+	 * @param targetPart
+	 *            The {@link IVisualPart} at which the search starts.
+	 * @param handlerType
+	 *            The type of the handlers to return.
+	 * @return An unmodifiable list containing the handlers of the first part
+	 *         within the hierarchy that provides handlers of the given type.
+	 */
+	private <T extends IHandler> List<T> computeTargetHandlers(
+			IVisualPart<? extends Node> targetPart, Class<T> handlerType) {
+		// search handlers up the hierarchy
+		IVisualPart<? extends Node> part = targetPart;
+		List<T> handlers = new ArrayList<>();
+		while (part != null && handlers.isEmpty()) {
+			// System.out.println("[find handlers for " + part + "]");
+			if (observedParts.add(part)) {
+				part.adaptersProperty()
+						.addListener(partAdaptersChangeListener);
+				part.parentProperty().addListener(partParentChangeListener);
+			}
+			// determine handlers
+			handlers.addAll(part.getAdapters(handlerType).values());
+
+			// go one level up in the hierarchy
+			part = part.getParent();
+		}
+		return handlers.isEmpty() ? Collections.<T> emptyList()
+				: Collections.unmodifiableList(handlers);
+	}
+
+	/**
+	 * Returns the {@link IGesture}s of the given {@link IDomain}.
+	 *
+	 * @param domain
+	 *            The {@link IDomain} for which to return the gestures.
+	 * @return The {@link IGesture}s of the given {@link IDomain}.
+	 */
+	@SuppressWarnings("serial")
+	private List<IGesture> getGestures(IDomain domain) {
+		if (domain != observedDomain) {
+			if (observedDomain != null) {
+				observedDomain.adaptersProperty()
+						.removeListener(domainAdaptersChangeListener);
+			}
+			observedDomain = domain;
+			domain.adaptersProperty()
+					.addListener(domainAdaptersChangeListener);
+			gestures = null;
+		}
+		if (gestures == null) {
+			gestures = new ArrayList<>(
+					domain.getAdapters(new TypeToken<IGesture>() {
+					}).values());
+		}
+		return gestures;
+	}
+
 	@Override
-	@SuppressWarnings({ "serial", "unchecked" })
+	@SuppressWarnings("unchecked")
 	public <T extends IHandler> List<? extends T> resolve(IGesture gesture,
 			Node target, IViewer viewer, Class<T> handlerType) {
 		// System.out.println("\n=== determine target handlers ===");
@@ -61,17 +187,17 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 		// determine outer targets, i.e. already running/active handlers of
 		// other gestures
 		// System.out.println("Outer target handlers:");
-		List<T> outerTargetHandlers = new ArrayList<>();
-		Collection<IGesture> gestures = viewer.getDomain()
-				.getAdapters(new TypeToken<IGesture>() {
-				}).values();
-		for (IGesture g : gestures) {
+		List<T> outerTargetHandlers = null;
+		for (IGesture g : getGestures(viewer.getDomain())) {
 			// System.out.println("[find active handlers of " + gesture + "]");
 			if (g != gesture) {
 				for (IHandler handler : g.getActiveHandlers(viewer)) {
 					if (handler.getClass().isAssignableFrom(handlerType)) {
 						// System.out.println("add active handler " + handler);
 						try {
+							if (outerTargetHandlers == null) {
+								outerTargetHandlers = new ArrayList<>();
+							}
 							outerTargetHandlers.add((T) handler);
 						} catch (ClassCastException e) {
 							// ignore target handler if type parameter is not
@@ -84,12 +210,12 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 
 		// already active handlers that can process the events take precedence
 		// over scene graph related target handlers
-		if (!outerTargetHandlers.isEmpty()) {
+		if (outerTargetHandlers != null) {
 			// System.out.println("RETURN outer target handlers:");
 			// for (T p : outerTargetHandlers) {
 			// System.out.println(p.getHost() + " -> " + p);
 			// }
-			return outerTargetHandlers;
+			return Collections.unmodifiableList(outerTargetHandlers);
 		}
 
 		// determine target part as the part that controls the first node in the
@@ -100,16 +226,17 @@ public class DefaultHandlerResolver extends IAdaptable.Bound.Impl<IDomain>
 
 		// System.out.println("target part = " + targetPart);
 
-		// search handlers up the hierarchy
-		IVisualPart<? extends Node> part = targetPart;
-		List<T> handlers = new ArrayList<>();
-		while (part != null && handlers.isEmpty()) {
-			// System.out.println("[find handlers for " + part + "]");
-			// determine handlers
-			handlers.addAll(part.getAdapters(handlerType).values());
-
-			// go one level up in the hierarchy
-			part = part.getParent();
+		// look up cached handlers, or search handlers up the hierarchy
+		Map<Class<?>, List<? extends IHandler>> handlersByType = targetHandlers
+				.get(targetPart);
+		if (handlersByType == null) {
+			handlersByType = new HashMap<>();
+			targetHandlers.put(targetPart, handlersByType);
+		}
+		List<T> handlers = (List<T>) handlersByType.get(handlerType);
+		if (handlers == null) {
+			handlers = computeTargetHandlers(targetPart, handlerType);
+			handlersByType.put(handlerType, handlers);
 		}
 
 		// System.out.println("RETURN in reverse order:");
@@ -29,7 +29,6 @@ import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.policies.BendConnectionPolicy;
 
-import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.input.KeyEvent;
@@ -153,10 +152,11 @@ public class BendOnSegmentDragHandler extends AbstractHandler
 			isInvalid = true;
 		} else {
 			IVisualPart<? extends Node> host = getHost();
-			ObservableList<IContentPart<? extends Node>> selection = host
-					.getRoot().getViewer().getAdapter(SelectionModel.class)
-					.getSelectionUnmodifiable();
-			if (selection.size() > 1 && selection.contains(host)) {
+			SelectionModel selectionModel = host.getRoot().getViewer()
+					.getAdapter(SelectionModel.class);
+			if (selectionModel.getSelectionUnmodifiable().size() > 1
+					&& host instanceof IContentPart && selectionModel
+							.isSelected((IContentPart<? extends Node>) host)) {
 				// abort if part of multiple selection
 				isInvalid = true;
 			} else if (!getHost().getVisual().isStartConnected()
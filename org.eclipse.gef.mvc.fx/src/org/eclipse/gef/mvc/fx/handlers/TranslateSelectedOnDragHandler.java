@@ -331,10 +331,12 @@ public class TranslateSelectedOnDragHandler extends AbstractHandler
 
 		// snapping only for single selection
 		snapToSupport = null;
-		if (getHost().getViewer().getAdapter(SelectionModel.class)
-				.getSelectionUnmodifiable().size() == 1
-				&& getHost().getViewer().getAdapter(SelectionModel.class)
-						.getSelectionUnmodifiable().contains(getHost())) {
+		SelectionModel selectionModel = getHost().getViewer()
+				.getAdapter(SelectionModel.class);
+		if (selectionModel.getSelectionUnmodifiable().size() == 1
+				&& getHost() instanceof IContentPart
+				&& selectionModel.isSelected(
+						(IContentPart<? extends Node>) getHost())) {
 			snapToSupport = getHost().getViewer()
 					.getAdapter(SnapToSupport.class);
 			if (snapToSupport != null) {
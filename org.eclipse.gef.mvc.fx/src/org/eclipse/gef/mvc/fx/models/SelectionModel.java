@@ -17,7 +17,10 @@ package org.eclipse.gef.mvc.fx.models;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.common.beans.property.ReadOnlyListWrapperEx;
 import org.eclipse.gef.common.collections.CollectionUtils;
@@ -38,6 +41,12 @@ import javafx.scene.Node;
  * It represents the selection as an ordered list of {@link IContentPart}s.
  * Thereby, it supports a multi-selection and allows to identify a primary
  * selection (the head element of the list) that may be treated specially.
+ * <p>
+ * In addition to the list, the selected {@link IContentPart}s are maintained
+ * in a hash-based index, so that {@link #isSelected(IContentPart)} can be
+ * evaluated in constant time. All changes are applied to the list atomically,
+ * so that listeners are notified by a single change, even when thousands of
+ * parts are (de-)selected at once.
  *
  * @author anyssen
  * @author mwienand
@@ -58,6 +67,9 @@ public class SelectionModel
 	private ObservableList<IContentPart<? extends Node>> selection = CollectionUtils
 			.observableArrayList();
 
+	// index of the selected parts for constant-time membership tests
+	private Set<IContentPart<? extends Node>> selectionIndex = new HashSet<>();
+
 	private ObservableList<IContentPart<? extends Node>> selectionUnmodifiable = FXCollections
 			.unmodifiableObservableList(selection);
 	private ReadOnlyListWrapper<IContentPart<? extends Node>> selectionUnmodifiableProperty = new ReadOnlyListWrapperEx<>(
@@ -71,7 +83,7 @@ public class SelectionModel
 			if (change.wasRemoved()) {
 				IVisualPart<? extends Node> valueRemoved = change
 						.getValueRemoved();
-				if (selection.contains(valueRemoved)) {
+				if (selectionIndex.remove(valueRemoved)) {
 					selection.remove(valueRemoved);
 				}
 			}
@@ -114,26 +126,22 @@ public class SelectionModel
 	 */
 	public void appendToSelection(
 			List<? extends IContentPart<? extends Node>> toBeAppended) {
-		List<IContentPart<? extends Node>> newSelection = getSelectionCopy();
-		newSelection.removeAll(toBeAppended);
-		for (IContentPart<? extends Node> p : toBeAppended) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
+		Set<IContentPart<? extends Node>> appended = toSet(toBeAppended);
+		Set<IContentPart<? extends Node>> newSelection = new LinkedHashSet<>();
+		for (IContentPart<? extends Node> p : selection) {
+			if (!appended.contains(p)) {
+				newSelection.add(p);
 			}
-			newSelection.add(p);
-		}
-		// XXX: ObservableList.setAll() is not properly guarded against not
-		// having an effect (and will always notify attached listeners)
-		if (!selection.equals(newSelection)) {
-			selection.setAll(newSelection);
 		}
+		newSelection.addAll(appended);
+		doSetSelection(newSelection);
 	}
 
 	/**
 	 * Clears the current selection.
 	 */
 	public void clearSelection() {
+		selectionIndex.clear();
 		selection.clear();
 	}
 
@@ -146,14 +154,36 @@ public class SelectionModel
 	}
 
 	/**
-	 * Returns a modifiable list of the currently selected {@link IContentPart}
-	 * s.
+	 * Replaces the current selection with the given (duplicate-free) ordered
+	 * collection of {@link IContentPart}s by a single atomic change, unless
+	 * the selection would not be changed.
 	 *
-	 * @return A modifiable list of the currently selected {@link IContentPart}
-	 *         s.
+	 * @param newSelection
+	 *            The ordered collection of {@link IContentPart}s constituting
+	 *            the new selection.
 	 */
-	private List<IContentPart<? extends Node>> getSelectionCopy() {
-		return new ArrayList<>(selection);
+	private void doSetSelection(
+			Collection<IContentPart<? extends Node>> newSelection) {
+		// XXX: ObservableList.setAll() is not properly guarded against not
+		// having an effect (and will always notify attached listeners)
+		if (newSelection.size() == selection.size()) {
+			boolean equal = true;
+			int i = 0;
+			for (IContentPart<? extends Node> p : newSelection) {
+				if (selection.get(i++) != p) {
+					equal = false;
+					break;
+				}
+			}
+			if (equal) {
+				return;
+			}
+		}
+		// XXX: Update the index before the list, so that it is up-to-date
+		// when listeners are notified about the change.
+		selectionIndex.clear();
+		selectionIndex.addAll(newSelection);
+		selection.setAll(new ArrayList<>(newSelection));
 	}
 
 	/**
@@ -177,7 +207,7 @@ public class SelectionModel
 	 *         current selection.
 	 */
 	public boolean isSelected(IContentPart<? extends Node> contentPart) {
-		return selection.contains(contentPart);
+		return selectionIndex.contains(contentPart);
 	}
 
 	/**
@@ -216,19 +246,13 @@ public class SelectionModel
 	 */
 	public void prependToSelection(
 			List<? extends IContentPart<? extends Node>> toBePrepended) {
-		List<IContentPart<? extends Node>> newSelection = getSelectionCopy();
-		newSelection.removeAll(toBePrepended);
-		int i = 0;
-		for (IContentPart<? extends Node> p : toBePrepended) {
-			if (newSelection.contains(p)) {
-				throw new IllegalArgumentException("The content part " + p
-						+ " is provided more than once in the given list.");
+		Set<IContentPart<? extends Node>> newSelection = toSet(toBePrepended);
+		for (IContentPart<? extends Node> p : selection) {
+			if (!newSelection.contains(p)) {
+				newSelection.add(p);
 			}
-			newSelection.add(i++, p);
-		}
-		if (!selection.equals(newSelection)) {
-			selection.setAll(newSelection);
 		}
+		doSetSelection(newSelection);
 	}
 
 	/**
@@ -242,7 +266,13 @@ public class SelectionModel
 	 */
 	public void removeFromSelection(
 			Collection<? extends IContentPart<? extends Node>> contentParts) {
-		selection.removeAll(contentParts);
+		// XXX: Use a hash set for the containment test performed by
+		// ObservableList.removeAll(), so that removal is linear.
+		Set<IContentPart<? extends Node>> toBeRemoved = new HashSet<>(
+				contentParts);
+		if (selectionIndex.removeAll(toBeRemoved)) {
+			selection.removeAll(toBeRemoved);
+		}
 	}
 
 	/**
@@ -254,7 +284,9 @@ public class SelectionModel
 	 *            selection.
 	 */
 	public void removeFromSelection(IContentPart<? extends Node> contentPart) {
-		selection.remove(contentPart);
+		if (selectionIndex.remove(contentPart)) {
+			selection.remove(contentPart);
+		}
 	}
 
 	/**
@@ -305,17 +337,26 @@ public class SelectionModel
 	 */
 	public void setSelection(
 			List<? extends IContentPart<? extends Node>> selection) {
-		List<IContentPart<? extends Node>> newSelection = new ArrayList<>();
-		int i = 0;
-		for (IContentPart<? extends Node> p : selection) {
-			if (newSelection.contains(p)) {
+		doSetSelection(toSet(selection));
+	}
+
+	/**
+	 * Converts the given list of {@link IContentPart}s into an ordered set,
+	 * ensuring that the list does not contain duplicates.
+	 *
+	 * @param contentParts
+	 *            The list of {@link IContentPart}s to convert.
+	 * @return An ordered set containing the given {@link IContentPart}s.
+	 */
+	private Set<IContentPart<? extends Node>> toSet(
+			List<? extends IContentPart<? extends Node>> contentParts) {
+		Set<IContentPart<? extends Node>> set = new LinkedHashSet<>();
+		for (IContentPart<? extends Node> p : contentParts) {
+			if (!set.add(p)) {
 				throw new IllegalArgumentException("The content part " + p
 						+ " is provided more than once in the given list.");
 			}
-			newSelection.add(i++, p);
-		}
-		if (!this.selection.equals(newSelection)) {
-			this.selection.setAll(newSelection);
 		}
+		return set;
 	}
 }
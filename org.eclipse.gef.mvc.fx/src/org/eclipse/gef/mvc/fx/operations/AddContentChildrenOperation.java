@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.operations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.AbstractOperation;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+
+import com.google.common.collect.ImmutableList;
+
+import javafx.scene.Node;
+
+/**
+ * The {@link AddContentChildrenOperation} uses the {@link IContentPart} API to
+ * add multiple content objects to an {@link IContentPart} at once. In contrast
+ * to a composite of {@link AddContentChildOperation}s, the content children of
+ * the {@link IContentPart} are changed atomically, so that its content part
+ * children are only synchronized once.
+ *
+ * @author agent
+ *
+ */
+public class AddContentChildrenOperation extends AbstractOperation
+		implements ITransactionalOperation {
+
+	private final IContentPart<? extends Node> parent;
+	private final List<Object> contentChildren;
+	private int index;
+
+	// capture initial content children (for no-op test)
+	private Set<Object> initialContentChildren;
+
+	/**
+	 * Creates a new {@link AddContentChildrenOperation} for adding the given
+	 * <i>contentChildren</i> to the content children of the given
+	 * <i>parent</i> {@link IContentPart}.
+	 *
+	 * @param parent
+	 *            The {@link IContentPart} to which the content children are to
+	 *            be added.
+	 * @param contentChildren
+	 *            The content {@link Object}s which are to be added to the
+	 *            content children of the <i>parent</i>.
+	 * @param index
+	 *            The index of the first of the <i>contentChildren</i> within
+	 *            the <i>parent</i>'s list of content children.
+	 */
+	public AddContentChildrenOperation(IContentPart<? extends Node> parent,
+			List<? extends Object> contentChildren, int index) {
+		super("Add Content Children");
+		this.parent = parent;
+		this.contentChildren = ImmutableList.copyOf(contentChildren);
+		this.index = index;
+		this.initialContentChildren = new HashSet<>(
+				parent.getContentChildrenUnmodifiable());
+	}
+
+	@Override
+	public IStatus execute(IProgressMonitor monitor, IAdaptable info)
+			throws ExecutionException {
+		if (parent.getContent() != null) {
+			Set<Object> currentContentChildren = new HashSet<>(
+					parent.getContentChildrenUnmodifiable());
+			List<Object> toAdd = new ArrayList<>();
+			for (Object contentChild : contentChildren) {
+				if (!currentContentChildren.contains(contentChild)) {
+					toAdd.add(contentChild);
+				}
+			}
+			if (!toAdd.isEmpty()) {
+				parent.addContentChildren(toAdd, index);
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+	@Override
+	public boolean isContentRelevant() {
+		return true;
+	}
+
+	@Override
+	public boolean isNoOp() {
+		return initialContentChildren.containsAll(contentChildren);
+	}
+
+	@Override
+	public IStatus redo(IProgressMonitor monitor, IAdaptable info)
+			throws ExecutionException {
+		return execute(monitor, info);
+	}
+
+	@Override
+	public IStatus undo(IProgressMonitor monitor, IAdaptable info)
+			throws ExecutionException {
+		if (parent.getContent() != null) {
+			Set<Object> currentContentChildren = new HashSet<>(
+					parent.getContentChildrenUnmodifiable());
+			List<Object> toRemove = new ArrayList<>();
+			for (Object contentChild : contentChildren) {
+				if (currentContentChildren.contains(contentChild)) {
+					toRemove.add(contentChild);
+				}
+			}
+			if (!toRemove.isEmpty()) {
+				parent.removeContentChildren(toRemove);
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.operations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.AbstractOperation;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+
+import com.google.common.collect.ImmutableList;
+
+import javafx.scene.Node;
+
+/**
+ * The {@link RemoveContentChildrenOperation} uses the {@link IContentPart} API
+ * to remove multiple content objects from an {@link IContentPart} at once. In
+ * contrast to a composite of {@link RemoveContentChildOperation}s, the content
+ * children of the {@link IContentPart} are changed atomically, so that its
+ * content part children are only synchronized once.
+ * <p>
+ * When the operation is undone, the content children are re-added at their
+ * initial indices by a single atomic change as well.
+ *
+ * @author agent
+ *
+ */
+public class RemoveContentChildrenOperation extends AbstractOperation
+		implements ITransactionalOperation {
+
+	private final IContentPart<? extends Node> parent;
+	private final Set<Object> contentChildren;
+
+	// capture initial content children (for no-op test and undo)
+	private List<Object> initialContentChildren;
+
+	/**
+	 * Creates a new {@link RemoveContentChildrenOperation} for removing the
+	 * given <i>contentChildren</i> from the content children of the given
+	 * <i>parent</i> {@link IContentPart}.
+	 *
+	 * @param parent
+	 *            The {@link IContentPart} from which the content children are
+	 *            to be removed.
+	 * @param contentChildren
+	 *            The content {@link Object}s which are to be removed from the
+	 *            content children of the <i>parent</i>.
+	 */
+	public RemoveContentChildrenOperation(IContentPart<? extends Node> parent,
+			List<? extends Object> contentChildren) {
+		super("Remove Content Children");
+		this.parent = parent;
+		this.contentChildren = new HashSet<>(contentChildren);
+		this.initialContentChildren = ImmutableList
+				.copyOf(parent.getContentChildrenUnmodifiable());
+	}
+
+	@Override
+	public IStatus execute(IProgressMonitor monitor, IAdaptable info)
+			throws ExecutionException {
+		if (parent.getContent() != null) {
+			// preserve the order of the content children
+			List<Object> toRemove = new ArrayList<>();
+			for (Object contentChild : parent
+					.getContentChildrenUnmodifiable()) {
+				if (contentChildren.contains(contentChild)) {
+					toRemove.add(contentChild);
+				}
+			}
+			if (!toRemove.isEmpty()) {
+				parent.removeContentChildren(toRemove);
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+	@Override
+	public boolean isContentRelevant() {
+		return true;
+	}
+
+	@Override
+	public boolean isNoOp() {
+		for (Object contentChild : initialContentChildren) {
+			if (contentChildren.contains(contentChild)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public IStatus redo(IProgressMonitor monitor, IAdaptable info)
+			throws ExecutionException {
+		return execute(monitor, info);
+	}
+
+	@Override
+	public IStatus undo(IProgressMonitor monitor, IAdaptable info)
+			throws ExecutionException {
+		if (parent.getContent() == null) {
+			return Status.OK_STATUS;
+		}
+		// re-add the removed content children at their initial indices
+		Set<Object> currentContentChildren = new HashSet<>(
+				parent.getContentChildrenUnmodifiable());
+		List<Object> toAdd = new ArrayList<>();
+		int[] indices = new int[initialContentChildren.size()];
+		for (int i = 0; i < initialContentChildren.size(); i++) {
+			Object contentChild = initialContentChildren.get(i);
+			if (contentChildren.contains(contentChild)
+					&& !currentContentChildren.contains(contentChild)) {
+				indices[toAdd.size()] = i;
+				toAdd.add(contentChild);
+			}
+		}
+		if (!toAdd.isEmpty()) {
+			parent.addContentChildren(toAdd,
+					Arrays.copyOf(indices, toAdd.size()));
+		}
+		return Status.OK_STATUS;
+	}
+
+}
@@ -12,8 +12,10 @@
 package org.eclipse.gef.mvc.fx.parts;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.common.beans.property.ReadOnlyListWrapperEx;
 import org.eclipse.gef.common.beans.property.ReadOnlySetMultimapProperty;
@@ -132,6 +134,89 @@ public abstract class AbstractContentPart<V extends Node>
 		contentChildren.setAll(newContentChildren);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Delegates to {@link #doAddContentChildren(List, int)}, which may be
+	 * overwritten by subclasses.
+	 */
+	@Override
+	public final void addContentChildren(
+			List<? extends Object> contentChildren, int index) {
+		if (contentChildren == null) {
+			throw new IllegalArgumentException(
+					"contentChildren may not be null.");
+		}
+		int[] indices = new int[contentChildren.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = index + i;
+		}
+		addContentChildren(contentChildren, indices);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Delegates to {@link #doAddContentChildren(List, int)} for each
+	 * contiguous range of the given <i>indices</i>, which may be overwritten
+	 * by subclasses.
+	 */
+	@Override
+	public final void addContentChildren(
+			List<? extends Object> contentChildren, int[] indices) {
+		if (contentChildren == null) {
+			throw new IllegalArgumentException(
+					"contentChildren may not be null.");
+		}
+		if (indices == null || indices.length != contentChildren.size()) {
+			throw new IllegalArgumentException(
+					"indices need to be provided for all contentChildren.");
+		}
+		if (contentChildren.isEmpty()) {
+			return;
+		}
+		for (int i = 1; i < indices.length; i++) {
+			if (indices[i] <= indices[i - 1]) {
+				throw new IllegalArgumentException(
+						"indices need to be in ascending order.");
+			}
+		}
+		Set<Object> oldContentChildren = new HashSet<>(
+				doGetContentChildren());
+		for (Object contentChild : contentChildren) {
+			if (oldContentChildren.contains(contentChild)) {
+				throw new IllegalArgumentException("Cannot add " + contentChild
+						+ " because its already a content child.");
+			}
+		}
+		// add contiguous ranges in ascending order, so that the indices of
+		// the preceding content children are already valid
+		int start = 0;
+		for (int i = 1; i <= indices.length; i++) {
+			if (i == indices.length || indices[i] != indices[i - 1] + 1) {
+				doAddContentChildren(contentChildren.subList(start, i),
+						indices[start]);
+				start = i;
+			}
+		}
+		// check doAddContentChildren(List, int) does not violate
+		// postconditions
+		List<? extends Object> newContentChildren = doGetContentChildren();
+		for (int i = 0; i < contentChildren.size(); i++) {
+			if (indices[i] >= newContentChildren.size()
+					|| !contentChildren.get(i)
+							.equals(newContentChildren.get(indices[i]))) {
+				throw new IllegalStateException(
+						"doAddContentChildren(List, int) did not add content child "
+								+ contentChildren.get(i) + " at index "
+								+ indices[i] + ".");
+			}
+		}
+		// XXX: Use an atomic operation so that a single change notification
+		// results for all added content children.
+		this.contentChildren.setAll(newContentChildren);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -258,6 +343,29 @@ public abstract class AbstractContentPart<V extends Node>
 						+ this.getClass());
 	}
 
+	/**
+	 * Adds the given <i>contentChildren</i> to this part's content children,
+	 * starting at the given <i>index</i>, so that they will be returned by
+	 * subsequent calls to {@link #doGetContentChildren()}.
+	 * <p>
+	 * The default implementation delegates to
+	 * {@link #doAddContentChild(Object, int)} for each of the given content
+	 * children. Subclasses may overwrite this method to add all content
+	 * children to their model at once.
+	 *
+	 * @param contentChildren
+	 *            The {@link Object}s which should be added to this part's
+	 *            content children.
+	 * @param index
+	 *            The index of the first of the <i>contentChildren</i>.
+	 */
+	protected void doAddContentChildren(List<? extends Object> contentChildren,
+			int index) {
+		for (int i = 0; i < contentChildren.size(); i++) {
+			doAddContentChild(contentChildren.get(i), index + i);
+		}
+	}
+
 	/**
 	 * Attaches this part's content to the given <i>contentAnchorage</i> under
 	 * the specified <i>role</i>, so that it will be returned by subsequent
@@ -325,6 +433,27 @@ public abstract class AbstractContentPart<V extends Node>
 						+ this.getClass());
 	}
 
+	/**
+	 * Removes the given <i>contentChildren</i> from this part's content
+	 * children, so that they will no longer be returned by subsequent calls to
+	 * {@link #doGetContentChildren()}.
+	 * <p>
+	 * The default implementation delegates to
+	 * {@link #doRemoveContentChild(Object)} for each of the given content
+	 * children. Subclasses may overwrite this method to remove all content
+	 * children from their model at once.
+	 *
+	 * @param contentChildren
+	 *            The {@link Object}s which should be removed from this part's
+	 *            content children.
+	 */
+	protected void doRemoveContentChildren(
+			List<? extends Object> contentChildren) {
+		for (Object contentChild : contentChildren) {
+			doRemoveContentChild(contentChild);
+		}
+	}
+
 	/**
 	 * Rearranges the given <i>contentChild</i> to the new index position.
 	 *
@@ -473,6 +602,46 @@ public abstract class AbstractContentPart<V extends Node>
 		contentChildren.setAll(newContentChildren);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Delegates to {@link #doRemoveContentChildren(List)}, which may be
+	 * overwritten by subclasses.
+	 */
+	@Override
+	public final void removeContentChildren(
+			List<? extends Object> contentChildren) {
+		if (contentChildren == null) {
+			throw new IllegalArgumentException(
+					"contentChildren may not be null.");
+		}
+		if (contentChildren.isEmpty()) {
+			return;
+		}
+		Set<Object> oldContentChildren = new HashSet<>(
+				doGetContentChildren());
+		for (Object contentChild : contentChildren) {
+			if (!oldContentChildren.contains(contentChild)) {
+				throw new IllegalArgumentException("Cannot remove "
+						+ contentChild + " because its not a content child.");
+			}
+		}
+		doRemoveContentChildren(contentChildren);
+		// check doRemoveContentChildren(List) does not violate postconditions
+		List<? extends Object> newContentChildren = doGetContentChildren();
+		Set<Object> newContentChildrenSet = new HashSet<>(newContentChildren);
+		for (Object contentChild : contentChildren) {
+			if (newContentChildrenSet.contains(contentChild)) {
+				throw new IllegalStateException(
+						"doRemoveContentChildren(List) did not remove content child "
+								+ contentChild + " .");
+			}
+		}
+		// XXX: Use an atomic operation so that a single change notification
+		// results for all removed content children.
+		this.contentChildren.setAll(newContentChildren);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
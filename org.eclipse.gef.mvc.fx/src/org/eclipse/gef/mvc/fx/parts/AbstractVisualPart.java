@@ -37,6 +37,7 @@ import org.eclipse.gef.mvc.fx.behaviors.IBehavior;
 import org.eclipse.gef.mvc.fx.handlers.IHandler;
 import org.eclipse.gef.mvc.fx.policies.IPolicy;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.RefreshVisualScheduler;
 
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
@@ -98,6 +99,10 @@ public abstract class AbstractVisualPart<V extends Node>
 
 	private ReadOnlyObjectWrapper<IViewer> viewerProperty = new ReadOnlyObjectWrapper<>();
 
+	// refresh visual scheduler of the viewer (resolved lazily per viewer)
+	private IViewer schedulerViewer;
+	private RefreshVisualScheduler scheduler;
+
 	/**
 	 * Activates this {@link IVisualPart} (if it is not already active) by
 	 * setting (and propagating) the new active state first and delegating to
@@ -633,14 +638,36 @@ public abstract class AbstractVisualPart<V extends Node>
 		return parentProperty.getReadOnlyProperty();
 	}
 
+	/**
+	 * Returns the {@link RefreshVisualScheduler} of the {@link IViewer} of this
+	 * {@link IVisualPart}, or <code>null</code> if no scheduler is available.
+	 *
+	 * @return The {@link RefreshVisualScheduler} of the {@link IViewer}.
+	 */
+	private RefreshVisualScheduler getRefreshVisualScheduler() {
+		IViewer viewer = getViewer();
+		if (viewer != schedulerViewer) {
+			schedulerViewer = viewer;
+			scheduler = viewer == null ? null
+					: viewer.getAdapter(RefreshVisualScheduler.class);
+		}
+		return scheduler;
+	}
+
 	/**
 	 * Refreshes this {@link IVisualPart}'s <i>visuals</i>. Delegates to
 	 * {@link #doRefreshVisual(Node)} in case {@link #isRefreshVisual()} is not
-	 * set to <code>false</code>.
+	 * set to <code>false</code>. In case the {@link RefreshVisualScheduler} of
+	 * the {@link IViewer} is enabled, the refresh is deferred to the next
+	 * pulse.
 	 */
 	@Override
 	public final void refreshVisual() {
 		if (visual != null && isRefreshVisual()) {
+			RefreshVisualScheduler scheduler = getRefreshVisualScheduler();
+			if (scheduler != null && scheduler.schedule(this)) {
+				return;
+			}
 			// System.out.println("Refresh visual of " + this);
 			doRefreshVisual(visual);
 		}
@@ -11,7 +11,6 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.parts;
 
-import java.util.List;
 import java.util.Set;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
@@ -105,8 +104,9 @@ public class FocusFeedbackPart
 
 		// determine selection
 		IViewer viewer = root.getViewer();
-		List<IContentPart<? extends Node>> selected = viewer
-				.getAdapter(SelectionModel.class).getSelectionUnmodifiable();
+		boolean selected = anchorage instanceof IContentPart
+				&& viewer.getAdapter(SelectionModel.class)
+						.isSelected((IContentPart<? extends Node>) anchorage);
 
 		// FIXME: Investigate why the StrokeType needs to be set before setting
 		// the geometry in order to prevent a vertical offset.
@@ -116,7 +116,7 @@ public class FocusFeedbackPart
 			// stroke centered
 			visual.setStrokeType(StrokeType.CENTERED);
 			// increase geometry size if selected
-			if (selected.contains(anchorage)) {
+			if (selected) {
 				visual.setStrokeWidth(
 						SelectionFeedbackPart.DEFAULT_STROKE_WIDTH * 2);
 			} else {
@@ -133,7 +133,7 @@ public class FocusFeedbackPart
 		// adjust feedback depending on geometry
 		if (!(feedbackGeometry instanceof ICurve)) {
 			// increase geometry size if selected
-			if (selected.contains(anchorage)) {
+			if (selected) {
 				Rectangle feedbackBounds = feedbackGeometry.getBounds();
 				visual.resizeGeometry(feedbackBounds.getWidth()
 						+ SelectionFeedbackPart.DEFAULT_STROKE_WIDTH * 2,
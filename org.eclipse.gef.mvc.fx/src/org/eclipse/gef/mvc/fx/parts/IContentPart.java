@@ -69,6 +69,42 @@ public interface IContentPart<V extends Node> extends IVisualPart<V> {
 	 */
 	public void addContentChild(Object contentChild, int index);
 
+	/**
+	 * Inserts the given <i>contentChildren</i> as children to this part's
+	 * content, starting at the given <i>index</i>, so that they will be
+	 * returned by subsequent calls to {@link #getContentChildrenUnmodifiable()}.
+	 * In contrast to {@link #addContentChild(Object, int)}, the content
+	 * children are updated by a single (atomic) change.
+	 *
+	 * @param contentChildren
+	 *            The {@link Object}s which should be added as children to this
+	 *            part's content.
+	 * @param index
+	 *            The index at which the first of the <i>contentChildren</i>
+	 *            should be added.
+	 */
+	public void addContentChildren(List<? extends Object> contentChildren,
+			int index);
+
+	/**
+	 * Inserts the given <i>contentChildren</i> as children to this part's
+	 * content at the given <i>indices</i>, so that they will be returned by
+	 * subsequent calls to {@link #getContentChildrenUnmodifiable()}. The
+	 * indices refer to the content children after the insertion, and need to
+	 * be given in ascending order. In contrast to
+	 * {@link #addContentChild(Object, int)}, the content children are updated
+	 * by a single (atomic) change.
+	 *
+	 * @param contentChildren
+	 *            The {@link Object}s which should be added as children to this
+	 *            part's content.
+	 * @param indices
+	 *            The indices at which the <i>contentChildren</i> should be
+	 *            added (one per content child, in ascending order).
+	 */
+	public void addContentChildren(List<? extends Object> contentChildren,
+			int[] indices);
+
 	/**
 	 * Attaches this part's content to the given <i>contentAnchorage</i> under
 	 * the specified <i>role</i>, so that it will be returned by subsequent
@@ -204,6 +240,19 @@ public interface IContentPart<V extends Node> extends IVisualPart<V> {
 	 */
 	public void removeContentChild(Object contentChild);
 
+	/**
+	 * Removes the given <i>contentChildren</i> from this part's content
+	 * children, so that they will no longer be returned by subsequent calls to
+	 * {@link #getContentChildrenUnmodifiable()}. In contrast to
+	 * {@link #removeContentChild(Object)}, the content children are updated by
+	 * a single (atomic) change.
+	 *
+	 * @param contentChildren
+	 *            The {@link Object}s which should be removed from this part's
+	 *            content children.
+	 */
+	public void removeContentChildren(List<? extends Object> contentChildren);
+
 	/**
 	 * Rearranges the given <i>contentChild</i> to the new index position. Fires
 	 * property change events using {@link #CONTENT_CHILDREN_PROPERTY} as
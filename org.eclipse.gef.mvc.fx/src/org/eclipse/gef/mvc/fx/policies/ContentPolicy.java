@@ -11,12 +11,16 @@
  *******************************************************************************/
 package org.eclipse.gef.mvc.fx.policies;
 
+import java.util.List;
+
 import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
 import org.eclipse.gef.mvc.fx.operations.AddContentChildOperation;
+import org.eclipse.gef.mvc.fx.operations.AddContentChildrenOperation;
 import org.eclipse.gef.mvc.fx.operations.AttachToContentAnchorageOperation;
 import org.eclipse.gef.mvc.fx.operations.DetachFromContentAnchorageOperation;
 import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
 import org.eclipse.gef.mvc.fx.operations.RemoveContentChildOperation;
+import org.eclipse.gef.mvc.fx.operations.RemoveContentChildrenOperation;
 import org.eclipse.gef.mvc.fx.operations.ReverseUndoCompositeOperation;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
@@ -35,9 +39,15 @@ import javafx.scene.Node;
  * <li>{@link #addContentChild(Object, int)} will delegate through a
  * {@link AddContentChildOperation} to
  * {@link IContentPart#addContentChild(Object, int)}</li>
+ * <li>{@link #addContentChildren(List, int)} will delegate through a
+ * {@link AddContentChildrenOperation} to
+ * {@link IContentPart#addContentChildren(List, int)}</li>
  * <li>{@link #removeContentChild(Object)} will delegate through a
  * {@link RemoveContentChildOperation} to
  * {@link IContentPart#removeContentChild(Object)}</li>
+ * <li>{@link #removeContentChildren(List)} will delegate through a
+ * {@link RemoveContentChildrenOperation} to
+ * {@link IContentPart#removeContentChildren(List)}</li>
  * <li>{@link #attachToContentAnchorage(Object, String)} will delegate through a
  * {@link AttachToContentAnchorageOperation} to
  * {@link IContentPart#attachToContentAnchorage(Object, String)}</li>
@@ -71,6 +81,28 @@ public class ContentPolicy extends AbstractPolicy {
 		locallyExecuteOperation();
 	}
 
+	/**
+	 * Creates and records an operation to add the given
+	 * <i>contentChildren</i> to the {@link #getHost() host} of this
+	 * {@link ContentPolicy}, starting at the specified <i>index</i>. All
+	 * content children are added by a single atomic change, which is
+	 * preferable to multiple {@link #addContentChild(Object, int)} calls when
+	 * a large number of content children is to be added.
+	 *
+	 * @param contentChildren
+	 *            The content {@link Object}s that are to be added to the
+	 *            {@link #getHost() host} of this {@link ContentPolicy}.
+	 * @param index
+	 *            The index of the first of the new content children.
+	 */
+	public void addContentChildren(List<? extends Object> contentChildren,
+			int index) {
+		checkInitialized();
+		getCompositeOperation().add(new AddContentChildrenOperation(getHost(),
+				contentChildren, index));
+		locallyExecuteOperation();
+	}
+
 	/**
 	 * Creates and records operations to attach the {@link #getHost() host} of
 	 * this {@link ContentPolicy} to the specified <i>contentAnchorage</i> under
@@ -148,6 +180,26 @@ public class ContentPolicy extends AbstractPolicy {
 		locallyExecuteOperation();
 	}
 
+	/**
+	 * Creates and records an operation to remove the given
+	 * <i>contentChildren</i> from the content children of the
+	 * {@link #getHost() host} of this {@link ContentPolicy}. All content
+	 * children are removed by a single atomic change, which is preferable to
+	 * multiple {@link #removeContentChild(Object)} calls when a large number of
+	 * content children is to be removed.
+	 *
+	 * @param contentChildren
+	 *            The content {@link Object}s that are removed from the content
+	 *            children of the {@link #getHost() host} of this
+	 *            {@link ContentPolicy}.
+	 */
+	public void removeContentChildren(List<? extends Object> contentChildren) {
+		checkInitialized();
+		getCompositeOperation().add(
+				new RemoveContentChildrenOperation(getHost(), contentChildren));
+		locallyExecuteOperation();
+	}
+
 	@Override
 	public void setAdaptable(IVisualPart<? extends Node> adaptable) {
 		if (adaptable != null && !(adaptable instanceof IContentPart)) {
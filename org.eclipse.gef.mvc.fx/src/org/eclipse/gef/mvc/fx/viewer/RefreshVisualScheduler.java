@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.viewer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+
+/**
+ * The {@link RefreshVisualScheduler} is an {@link IViewer} adapter that can be
+ * used to batch visual refreshes. When it is {@link #setEnabled(boolean)
+ * enabled}, calls to {@link IVisualPart#refreshVisual()} do not refresh the
+ * visual immediately, but mark the part as dirty instead. All dirty parts are
+ * refreshed once per pulse, so that multiple refresh requests for the same
+ * part (e.g. due to anchorage changes, child additions, or multiple attribute
+ * changes) result in a single refresh.
+ * <p>
+ * The dirty parts are refreshed in parent-before-child order, i.e. a part is
+ * refreshed after its (dirty) ancestors and anchorages. The dirty parts can be
+ * refreshed immediately using {@link #flush()}, e.g. from within tests or
+ * operations that depend on up-to-date visuals.
+ * <p>
+ * Please note that the {@link RefreshVisualScheduler} is disabled by default
+ * (i.e. it is opt-in), because code that relies on the visuals being
+ * refreshed synchronously needs to call {@link #flush()} when it is enabled.
+ * It is bound to the content viewer by the <code>MvcFxModule</code>, and can
+ * be enabled for a viewer as follows:
+ *
+ * <pre>
+ * viewer.getAdapter(RefreshVisualScheduler.class).setEnabled(true);
+ * </pre>
+ *
+ * @author agent
+ *
+ */
+public class RefreshVisualScheduler extends IAdaptable.Bound.Impl<IViewer>
+		implements IDisposable {
+
+	/**
+	 * Name of the "enabled" property.
+	 */
+	public static final String ENABLED_PROPERTY = "enabled";
+
+	private BooleanProperty enabledProperty = new SimpleBooleanProperty(this,
+			ENABLED_PROPERTY, false);
+	private Set<IVisualPart<? extends Node>> dirtyParts = new LinkedHashSet<>();
+	private boolean flushing = false;
+	private AnimationTimer pulseTimer;
+
+	/**
+	 * Constructs a new {@link RefreshVisualScheduler}.
+	 */
+	public RefreshVisualScheduler() {
+		// refresh dirty parts when batching is disabled
+		enabledProperty.addListener(new ChangeListener<Boolean>() {
+			@Override
+			public void changed(ObservableValue<? extends Boolean> observable,
+					Boolean oldValue, Boolean newValue) {
+				if (!newValue) {
+					flush();
+				}
+			}
+		});
+	}
+
+	@Override
+	public void dispose() {
+		stopPulseTimer();
+		dirtyParts.clear();
+	}
+
+	/**
+	 * Returns a boolean property that determines whether visual refreshes are
+	 * batched.
+	 *
+	 * @return A boolean property named {@link #ENABLED_PROPERTY}.
+	 */
+	public BooleanProperty enabledProperty() {
+		return enabledProperty;
+	}
+
+	/**
+	 * Refreshes all dirty parts immediately, in parent-before-child order.
+	 */
+	public void flush() {
+		stopPulseTimer();
+		if (flushing || dirtyParts.isEmpty()) {
+			return;
+		}
+		flushing = true;
+		try {
+			// parts that are marked dirty during the flush are refreshed
+			// immediately
+			List<IVisualPart<? extends Node>> parts = new ArrayList<>(
+					dirtyParts);
+			Set<IVisualPart<? extends Node>> visited = new HashSet<>();
+			for (IVisualPart<? extends Node> part : parts) {
+				flush(part, visited);
+			}
+		} finally {
+			dirtyParts.clear();
+			flushing = false;
+		}
+	}
+
+	/**
+	 * Refreshes the given dirty part after its dirty ancestors and anchorages.
+	 */
+	private void flush(IVisualPart<? extends Node> part,
+			Set<IVisualPart<? extends Node>> visited) {
+		if (!visited.add(part)) {
+			return;
+		}
+		// refresh the nearest dirty ancestor first
+		IVisualPart<? extends Node> ancestor = part.getParent();
+		while (ancestor != null && !dirtyParts.contains(ancestor)) {
+			ancestor = ancestor.getParent();
+		}
+		if (ancestor != null) {
+			flush(ancestor, visited);
+		}
+		// refresh dirty anchorages first
+		for (IVisualPart<? extends Node> anchorage : part
+				.getAnchoragesUnmodifiable().keySet()) {
+			if (dirtyParts.contains(anchorage)) {
+				flush(anchorage, visited);
+			}
+		}
+		// skip parts that were removed from the viewer in the meantime
+		if (part.getViewer() == getAdaptable()) {
+			part.refreshVisual();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given part is marked dirty, i.e. its
+	 * visual will be refreshed within the next pulse.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} to test.
+	 * @return <code>true</code> if the given part is dirty, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isDirty(IVisualPart<? extends Node> part) {
+		return dirtyParts.contains(part);
+	}
+
+	/**
+	 * Returns the value of the {@link #enabledProperty()}.
+	 *
+	 * @return <code>true</code> if visual refreshes are batched, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isEnabled() {
+		return enabledProperty.get();
+	}
+
+	/**
+	 * Marks the given part as dirty, so that its visual is refreshed within the
+	 * next pulse. Returns <code>false</code> if the refresh cannot be deferred,
+	 * i.e. if batching is disabled or the dirty parts are currently flushed, in
+	 * which case the visual needs to be refreshed immediately by the caller.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} whose visual is to be refreshed.
+	 * @return <code>true</code> if the refresh is deferred, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean schedule(IVisualPart<? extends Node> part) {
+		if (!isEnabled() || flushing) {
+			return false;
+		}
+		if (dirtyParts.add(part) && dirtyParts.size() == 1) {
+			startPulseTimer();
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the value of the {@link #enabledProperty()}. When batching is
+	 * disabled, all dirty parts are refreshed immediately.
+	 *
+	 * @param enabled
+	 *            <code>true</code> to batch visual refreshes, otherwise
+	 *            <code>false</code>.
+	 */
+	public void setEnabled(boolean enabled) {
+		enabledProperty.set(enabled);
+	}
+
+	private void startPulseTimer() {
+		if (pulseTimer == null) {
+			pulseTimer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					flush();
+				}
+			};
+		}
+		pulseTimer.start();
+	}
+
+	private void stopPulseTimer() {
+		if (pulseTimer != null) {
+			pulseTimer.stop();
+		}
+	}
+
+}
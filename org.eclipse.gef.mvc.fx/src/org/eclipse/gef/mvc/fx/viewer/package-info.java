@@ -12,6 +12,8 @@
 /**
  * This package contains a JavaFX-specific
  * {@link org.eclipse.gef.mvc.fx.viewer.IViewer} implementation:
- * {@link org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer}.
+ * {@link org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer}, as well as an
+ * {@link org.eclipse.gef.mvc.fx.viewer.IViewer} adapter to batch visual
+ * refreshes: {@link org.eclipse.gef.mvc.fx.viewer.RefreshVisualScheduler}.
  */
 package org.eclipse.gef.mvc.fx.viewer;
\ No newline at end of file
@@ -15,18 +15,27 @@ package org.eclipse.gef.mvc.tests.fx;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.mvc.fx.MvcFxModule;
 import org.eclipse.gef.mvc.fx.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.operations.AddContentChildrenOperation;
+import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
+import org.eclipse.gef.mvc.fx.operations.RemoveContentChildrenOperation;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.policies.ContentPolicy;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
 import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
@@ -38,6 +47,7 @@ import org.junit.Test;
 
 import com.google.inject.Guice;
 
+import javafx.collections.ListChangeListener;
 import javafx.scene.Node;
 
 /**
@@ -81,6 +91,154 @@ public class ContentSynchronizationTests {
 		});
 	}
 
+	/**
+	 * This scenario tests if a batch of content children is added and removed
+	 * by a single content children change, and if the content part children are
+	 * synchronized accordingly.
+	 */
+	@Test
+	public void bulkAddAndRemoveContentChildren() throws Throwable {
+		Cell parent = new Cell("0", new Cell("1"), new Cell("2"));
+		List<Cell> batch = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			batch.add(new Cell("B" + i));
+		}
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(parent));
+		});
+		IContentPart<? extends Node> parentPart = viewer.getContentPartMap().get(parent);
+		AtomicInteger changes = new AtomicInteger();
+		parentPart.getContentChildrenUnmodifiable().addListener((ListChangeListener<Object>) c -> {
+			changes.incrementAndGet();
+		});
+
+		AddContentChildrenOperation addOperation = new AddContentChildrenOperation(parentPart, batch, 1);
+		ctx.runAndWait(() -> {
+			try {
+				addOperation.execute(new NullProgressMonitor(), null);
+			} catch (ExecutionException e) {
+				fail(e.getMessage());
+			}
+		});
+		assertEquals(1, changes.get());
+		assertEquals(102, parent.children.size());
+		assertEquals(batch, parent.children.subList(1, 101));
+		assertEquals(102, parentPart.getChildrenUnmodifiable().size());
+		for (Cell c : batch) {
+			assertNotNull(viewer.getContentPartMap().get(c));
+		}
+
+		// remove a non-contiguous subset of the batch
+		List<Cell> toRemove = new ArrayList<>();
+		for (int i = 0; i < batch.size(); i += 2) {
+			toRemove.add(batch.get(i));
+		}
+		List<Cell> beforeRemove = new ArrayList<>(parent.children);
+		RemoveContentChildrenOperation removeOperation = new RemoveContentChildrenOperation(parentPart, toRemove);
+		changes.set(0);
+		ctx.runAndWait(() -> {
+			try {
+				removeOperation.execute(new NullProgressMonitor(), null);
+			} catch (ExecutionException e) {
+				fail(e.getMessage());
+			}
+		});
+		assertEquals(1, changes.get());
+		assertEquals(52, parent.children.size());
+		for (Cell c : toRemove) {
+			assertNull(viewer.getContentPartMap().get(c));
+		}
+
+		// undo restores the initial positions by a single change
+		changes.set(0);
+		ctx.runAndWait(() -> {
+			try {
+				removeOperation.undo(new NullProgressMonitor(), null);
+			} catch (ExecutionException e) {
+				fail(e.getMessage());
+			}
+		});
+		assertEquals(1, changes.get());
+		assertEquals(beforeRemove, parent.children);
+		assertEquals(102, parentPart.getChildrenUnmodifiable().size());
+
+		// undo of the add operation removes the whole batch at once
+		changes.set(0);
+		ctx.runAndWait(() -> {
+			try {
+				addOperation.undo(new NullProgressMonitor(), null);
+			} catch (ExecutionException e) {
+				fail(e.getMessage());
+			}
+		});
+		assertEquals(1, changes.get());
+		assertEquals(2, parent.children.size());
+		assertEquals(2, parentPart.getChildrenUnmodifiable().size());
+	}
+
+	/**
+	 * This scenario tests if the {@link ContentPolicy} adds and removes a batch
+	 * of content children by a single content children change, and if the
+	 * committed operations are undone by a single change as well.
+	 */
+	@Test
+	public void bulkContentPolicyOperations() throws Throwable {
+		Cell parent = new Cell("0", new Cell("1"), new Cell("2"));
+		List<Cell> batch = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			batch.add(new Cell("B" + i));
+		}
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(parent));
+		});
+		IContentPart<? extends Node> parentPart = viewer.getContentPartMap().get(parent);
+		ContentPolicy policy = new ContentPolicy();
+		ctx.runAndWait(() -> {
+			parentPart.setAdapter(policy);
+		});
+		AtomicInteger changes = new AtomicInteger();
+		parentPart.getContentChildrenUnmodifiable().addListener((ListChangeListener<Object>) c -> {
+			changes.incrementAndGet();
+		});
+
+		ctx.runAndWait(() -> {
+			policy.init();
+			policy.addContentChildren(batch, 2);
+			assertNotNull(policy.commit());
+		});
+		assertEquals(1, changes.get());
+		assertEquals(batch, parent.children.subList(2, 102));
+
+		// remove every third content child, including the initial ones
+		List<Cell> toRemove = new ArrayList<>();
+		for (int i = 0; i < parent.children.size(); i += 3) {
+			toRemove.add(parent.children.get(i));
+		}
+		List<Cell> beforeRemove = new ArrayList<>(parent.children);
+		AtomicReference<ITransactionalOperation> removeOperation = new AtomicReference<>();
+		changes.set(0);
+		ctx.runAndWait(() -> {
+			policy.init();
+			policy.removeContentChildren(toRemove);
+			removeOperation.set(policy.commit());
+		});
+		assertEquals(1, changes.get());
+		assertEquals(beforeRemove.size() - toRemove.size(), parent.children.size());
+		assertEquals(parent.children.size(), parentPart.getChildrenUnmodifiable().size());
+
+		changes.set(0);
+		ctx.runAndWait(() -> {
+			try {
+				removeOperation.get().undo(new NullProgressMonitor(), null);
+			} catch (ExecutionException e) {
+				fail(e.getMessage());
+			}
+		});
+		assertEquals(1, changes.get());
+		assertEquals(beforeRemove, parent.children);
+		assertEquals(beforeRemove.size(), parentPart.getChildrenUnmodifiable().size());
+	}
+
 	/**
 	 * This scenario tests if the synchronization works correctly, when the
 	 * contents are replaced with a previously nested content element.
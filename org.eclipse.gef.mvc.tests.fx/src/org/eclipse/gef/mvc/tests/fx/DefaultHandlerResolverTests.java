@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.gestures.AbstractGesture;
+import org.eclipse.gef.mvc.fx.gestures.DefaultHandlerResolver;
+import org.eclipse.gef.mvc.fx.gestures.IGesture;
+import org.eclipse.gef.mvc.fx.gestures.IHandlerResolver;
+import org.eclipse.gef.mvc.fx.handlers.AbstractHandler;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPartFactory;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+import javafx.scene.Node;
+
+/**
+ * Tests for the caching of the {@link DefaultHandlerResolver}.
+ *
+ * @author agent
+ *
+ */
+public class DefaultHandlerResolverTests {
+
+	private static class HandlerStub extends AbstractHandler {
+	}
+
+	/**
+	 * An {@link IGesture} whose active handlers can be set by the test.
+	 */
+	private static class GestureStub extends AbstractGesture {
+		public void setActiveHandlers(IViewer viewer, HandlerStub handler) {
+			setActiveHandlers(viewer, Collections.singletonList(handler));
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	private IDomain domain;
+	private IViewer viewer;
+	private IHandlerResolver resolver;
+	private IGesture gesture;
+
+	/**
+	 * Creates a domain whose viewer contains the parts for three top-level
+	 * cells, the first of which contains a child cell.
+	 */
+	private void createViewer() throws Throwable {
+		domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(CellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+		viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		resolver = domain.getAdapter(IHandlerResolver.class);
+		gesture = domain.getAdapters(IGesture.class).values().iterator().next();
+		ctx.createScene(viewer.getCanvas(), 100, 100);
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Arrays.asList(new Cell("C0", new Cell("C1")), new Cell("C2")));
+		});
+	}
+
+	private IContentPart<? extends Node> getPart(String name) {
+		for (Object content : viewer.getContentPartMap().keySet()) {
+			if (content instanceof Cell && ((Cell) content).name.equals(name)) {
+				return viewer.getContentPartMap().get(content);
+			}
+		}
+		return null;
+	}
+
+	private List<? extends HandlerStub> resolve(IContentPart<? extends Node> targetPart) {
+		return resolver.resolve(gesture, targetPart.getVisual(), viewer, HandlerStub.class);
+	}
+
+	@Test
+	public void cachedHandlersAreReturned() throws Throwable {
+		createViewer();
+		ctx.runAndWait(() -> {
+			IContentPart<? extends Node> parentPart = getPart("C0");
+			HandlerStub handler = new HandlerStub();
+			parentPart.setAdapter(handler);
+
+			List<? extends HandlerStub> handlers = resolve(getPart("C1"));
+			assertEquals(Arrays.asList(handler), handlers);
+			// the cached list is returned
+			assertSame(handlers, resolve(getPart("C1")));
+		});
+	}
+
+	@Test
+	public void adapterChangeInvalidatesCache() throws Throwable {
+		createViewer();
+		ctx.runAndWait(() -> {
+			IContentPart<? extends Node> parentPart = getPart("C0");
+			IContentPart<? extends Node> childPart = getPart("C1");
+			HandlerStub parentHandler = new HandlerStub();
+			parentPart.setAdapter(parentHandler, "a");
+			List<? extends HandlerStub> handlers = resolve(childPart);
+			assertEquals(Arrays.asList(parentHandler), handlers);
+
+			// register another handler at the ancestor
+			HandlerStub otherParentHandler = new HandlerStub();
+			parentPart.setAdapter(otherParentHandler, "b");
+			assertEquals(2, resolve(childPart).size());
+			assertNotSame(handlers, resolve(childPart));
+
+			// register a handler at the target part
+			HandlerStub childHandler = new HandlerStub();
+			childPart.setAdapter(childHandler);
+			assertEquals(Arrays.asList(childHandler), resolve(childPart));
+		});
+	}
+
+	@Test
+	public void reparentingInvalidatesCache() throws Throwable {
+		createViewer();
+		ctx.runAndWait(() -> {
+			IContentPart<? extends Node> oldParentPart = getPart("C0");
+			IContentPart<? extends Node> newParentPart = getPart("C2");
+			IContentPart<? extends Node> childPart = getPart("C1");
+			HandlerStub oldParentHandler = new HandlerStub();
+			oldParentPart.setAdapter(oldParentHandler);
+			HandlerStub newParentHandler = new HandlerStub();
+			newParentPart.setAdapter(newParentHandler);
+			assertEquals(Arrays.asList(oldParentHandler), resolve(childPart));
+
+			oldParentPart.removeChild(childPart);
+			newParentPart.addChild(childPart);
+			assertEquals(Arrays.asList(newParentHandler), resolve(childPart));
+		});
+	}
+
+	@Test
+	public void gestureChangeInvalidatesCache() throws Throwable {
+		createViewer();
+		ctx.runAndWait(() -> {
+			IContentPart<? extends Node> parentPart = getPart("C0");
+			IContentPart<? extends Node> childPart = getPart("C1");
+			HandlerStub partHandler = new HandlerStub();
+			childPart.setAdapter(partHandler);
+			assertEquals(Arrays.asList(partHandler), resolve(childPart));
+
+			// active handlers of a newly registered gesture take precedence
+			HandlerStub activeHandler = new HandlerStub();
+			parentPart.setAdapter(activeHandler);
+			GestureStub otherGesture = new GestureStub();
+			domain.setAdapter(otherGesture);
+			otherGesture.setActiveHandlers(viewer, activeHandler);
+			assertEquals(Arrays.asList(activeHandler), resolve(childPart));
+
+			// and are no longer considered once the gesture is unregistered
+			domain.unsetAdapter(otherGesture);
+			assertEquals(Arrays.asList(partHandler), resolve(childPart));
+		});
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.mvc.fx.MvcFxModule;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.RefreshVisualScheduler;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
+import org.eclipse.gef.mvc.tests.fx.stubs.CellContentPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+
+import javafx.scene.Node;
+
+/**
+ * Tests for the {@link RefreshVisualScheduler}.
+ *
+ * @author agent
+ *
+ */
+public class RefreshVisualSchedulerTests {
+
+	private static List<Object> refreshedContents = new ArrayList<>();
+
+	private static class RefreshRecordingCellContentPart extends CellContentPart {
+		@Override
+		protected void doRefreshVisual(Node visual) {
+			refreshedContents.add(getContent());
+		}
+	}
+
+	private static class RefreshRecordingCellContentPartFactory implements IContentPartFactory {
+		@Override
+		public IContentPart<? extends Node> createContentPart(Object content, Map<Object, Object> contextMap) {
+			return new RefreshRecordingCellContentPart();
+		}
+	}
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Test
+	public void batchedRefresh() throws Throwable {
+		IDomain domain = Guice.createInjector(new MvcFxModule() {
+			@Override
+			protected void configure() {
+				binder().bind(IContentPartFactory.class).to(RefreshRecordingCellContentPartFactory.class);
+				super.configure();
+			}
+		}).getInstance(IDomain.class);
+		IViewer viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		ctx.createScene(viewer.getCanvas(), 100, 100);
+
+		Cell child = new Cell("C1");
+		Cell parent = new Cell("C0", child);
+		ctx.runAndWait(() -> {
+			domain.activate();
+			viewer.getContents().setAll(Arrays.asList(parent));
+		});
+
+		RefreshVisualScheduler scheduler = viewer.getAdapter(RefreshVisualScheduler.class);
+		IContentPart<? extends Node> parentPart = viewer.getContentPartMap().get(parent);
+		IContentPart<? extends Node> childPart = viewer.getContentPartMap().get(child);
+		ctx.runAndWait(() -> {
+			scheduler.setEnabled(true);
+			refreshedContents.clear();
+
+			// refreshes are deferred
+			childPart.refreshVisual();
+			parentPart.refreshVisual();
+			childPart.refreshVisual();
+			parentPart.refreshVisual();
+			assertTrue(scheduler.isDirty(parentPart));
+			assertTrue(scheduler.isDirty(childPart));
+			assertTrue(refreshedContents.isEmpty());
+
+			// each part is refreshed once, the parent before the child
+			scheduler.flush();
+			assertFalse(scheduler.isDirty(parentPart));
+			assertEquals(Arrays.asList(parent, child), refreshedContents);
+
+			// dirty parts are refreshed when batching is disabled
+			refreshedContents.clear();
+			childPart.refreshVisual();
+			scheduler.setEnabled(false);
+			assertEquals(Arrays.asList(child), refreshedContents);
+
+			// refreshes are performed immediately when batching is disabled
+			parentPart.refreshVisual();
+			assertEquals(Arrays.asList(child, parent), refreshedContents);
+		});
+
+		ctx.runAndWait(() -> {
+			viewer.getContents().clear();
+			domain.deactivate();
+		});
+	}
+}
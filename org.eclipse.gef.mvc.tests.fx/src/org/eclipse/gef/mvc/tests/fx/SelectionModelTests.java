@@ -13,16 +13,25 @@
 package org.eclipse.gef.mvc.tests.fx;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.gef.mvc.fx.behaviors.SelectionBehavior;
 import org.eclipse.gef.mvc.fx.models.SelectionModel;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -63,6 +72,46 @@ public class SelectionModelTests {
 		}
 	}
 
+	private class FeedbackRecordingSelectionBehavior extends SelectionBehavior {
+
+		private Map<IVisualPart<? extends Node>, Integer> feedbackCreations = new HashMap<>();
+		private Set<IVisualPart<? extends Node>> feedbackTargets = new HashSet<>();
+
+		@Override
+		protected void addFeedbackIndividually(List<? extends IVisualPart<? extends Node>> targets) {
+			for (IVisualPart<? extends Node> target : targets) {
+				assertTrue(feedbackTargets.add(target));
+				Integer count = feedbackCreations.get(target);
+				feedbackCreations.put(target, count == null ? 1 : count + 1);
+			}
+		}
+
+		@Override
+		protected void addHandles(List<? extends IVisualPart<? extends Node>> targets) {
+		}
+
+		public int getFeedbackCreations(IVisualPart<? extends Node> target) {
+			Integer count = feedbackCreations.get(target);
+			return count == null ? 0 : count;
+		}
+
+		@Override
+		protected void removeFeedbackIndividually(Collection<? extends IVisualPart<? extends Node>> targets) {
+			for (IVisualPart<? extends Node> target : targets) {
+				assertTrue(feedbackTargets.remove(target));
+			}
+		}
+
+		@Override
+		protected void removeHandles(Collection<? extends IVisualPart<? extends Node>> targets) {
+		}
+
+		public void update(List<? extends IContentPart<? extends Node>> oldSelection,
+				List<? extends IContentPart<? extends Node>> newSelection) {
+			updateFeedbackAndHandles(oldSelection, newSelection);
+		}
+	}
+
 	private class ListChangeExpector<E> implements ListChangeListener<E> {
 
 		private ObservableList<? extends E> source;
@@ -126,6 +175,47 @@ public class SelectionModelTests {
 		}
 	}
 
+	@Test
+	public void testBulkSelection() {
+		SelectionModel selectionModel = new SelectionModel();
+		List<IContentPart<Node>> parts = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			parts.add(new ContentPartStub());
+		}
+		int[] changes = new int[1];
+		selectionModel.getSelectionUnmodifiable()
+				.addListener((ListChangeListener<IContentPart<? extends Node>>) c -> {
+					// membership is up-to-date when listeners are notified
+					for (IContentPart<? extends Node> p : c.getList()) {
+						Assert.assertTrue(selectionModel.isSelected(p));
+					}
+					changes[0]++;
+				});
+
+		// select all by a single change
+		selectionModel.setSelection(parts);
+		assertEquals(1, changes[0]);
+		assertEquals(parts, selectionModel.getSelectionUnmodifiable());
+		for (IContentPart<Node> p : parts) {
+			Assert.assertTrue(selectionModel.isSelected(p));
+		}
+
+		// deselect half by a single change
+		List<IContentPart<Node>> toBeRemoved = new ArrayList<>(parts.subList(0, 5000));
+		selectionModel.removeFromSelection(toBeRemoved);
+		assertEquals(2, changes[0]);
+		assertEquals(parts.subList(5000, 10000), selectionModel.getSelectionUnmodifiable());
+		Assert.assertFalse(selectionModel.isSelected(parts.get(0)));
+		Assert.assertTrue(selectionModel.isSelected(parts.get(5000)));
+
+		// setting the same selection does not result in a change
+		selectionModel.setSelection(new ArrayList<>(parts.subList(5000, 10000)));
+		assertEquals(2, changes[0]);
+
+		selectionModel.clearSelection();
+		Assert.assertFalse(selectionModel.isSelected(parts.get(5000)));
+	}
+
 	@Test
 	public void testChangeEvents() {
 		SelectionModel selectionModel = new SelectionModel();
@@ -250,6 +340,46 @@ public class SelectionModelTests {
 		}
 	}
 
+	@Test
+	public void testPrependUpdatesPrimaryFeedback() {
+		SelectionModel selectionModel = new SelectionModel();
+		FeedbackRecordingSelectionBehavior behavior = new FeedbackRecordingSelectionBehavior();
+		IContentPart<Node> c1 = new ContentPartStub();
+		IContentPart<Node> c2 = new ContentPartStub();
+		IContentPart<Node> c3 = new ContentPartStub();
+		selectionModel.setSelection(Arrays.asList(c1, c2));
+		behavior.update(Collections.<IContentPart<Node>> emptyList(), selectionModel.getSelectionUnmodifiable());
+		assertEquals(1, behavior.getFeedbackCreations(c1));
+		assertEquals(1, behavior.getFeedbackCreations(c2));
+
+		// the feedback of the previous primary selection is re-generated
+		List<IContentPart<? extends Node>> oldSelection = new ArrayList<>(selectionModel.getSelectionUnmodifiable());
+		selectionModel.prependToSelection(c3);
+		behavior.update(oldSelection, selectionModel.getSelectionUnmodifiable());
+		assertEquals(new HashSet<>(Arrays.asList(c1, c2, c3)), behavior.feedbackTargets);
+		assertEquals(2, behavior.getFeedbackCreations(c1));
+		assertEquals(1, behavior.getFeedbackCreations(c2));
+		assertEquals(1, behavior.getFeedbackCreations(c3));
+
+		// re-ordering the selection re-generates the feedback of the previous
+		// and the new primary selection
+		oldSelection = new ArrayList<>(selectionModel.getSelectionUnmodifiable());
+		selectionModel.prependToSelection(c2);
+		behavior.update(oldSelection, selectionModel.getSelectionUnmodifiable());
+		assertEquals(new HashSet<>(Arrays.asList(c1, c2, c3)), behavior.feedbackTargets);
+		assertEquals(2, behavior.getFeedbackCreations(c1));
+		assertEquals(2, behavior.getFeedbackCreations(c2));
+		assertEquals(2, behavior.getFeedbackCreations(c3));
+
+		// re-ordering the secondary selection does not affect the feedback
+		oldSelection = new ArrayList<>(selectionModel.getSelectionUnmodifiable());
+		selectionModel.setSelection(Arrays.asList(c2, c1, c3));
+		behavior.update(oldSelection, selectionModel.getSelectionUnmodifiable());
+		assertEquals(2, behavior.getFeedbackCreations(c1));
+		assertEquals(2, behavior.getFeedbackCreations(c2));
+		assertEquals(2, behavior.getFeedbackCreations(c3));
+	}
+
 	@Test
 	public void testSelect() {
 		SelectionModel selectionModel = new SelectionModel();
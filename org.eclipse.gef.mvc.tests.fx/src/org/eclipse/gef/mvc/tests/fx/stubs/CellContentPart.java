@@ -24,6 +24,11 @@ import javafx.scene.shape.Rectangle;
 
 public class CellContentPart extends AbstractContentPart<Node> {
 
+	@Override
+	protected void doAddContentChild(Object contentChild, int index) {
+		((Cell) getContent()).children.add(index, (Cell) contentChild);
+	}
+
 	@Override
 	protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
 	}
@@ -47,6 +52,11 @@ public class CellContentPart extends AbstractContentPart<Node> {
 	protected void doRefreshVisual(Node visual) {
 	}
 
+	@Override
+	protected void doRemoveContentChild(Object contentChild) {
+		((Cell) getContent()).children.remove(contentChild);
+	}
+
 	@Override
 	protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
 	}
@@ -15,6 +15,7 @@ package org.eclipse.gef.zest.fx;
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.common.adapt.inject.AdaptableScopes;
 import org.eclipse.gef.common.adapt.inject.AdapterMaps;
+import org.eclipse.gef.layout.LayoutCache;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.mvc.fx.MvcFxModule;
 import org.eclipse.gef.mvc.fx.behaviors.ConnectionClickableAreaBehavior;
@@ -302,6 +303,21 @@ public class ZestFxModule extends MvcFxModule {
 		bindNavigationModelAsContentViewerAdapter(adapterMapBinder);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(HidingModel.class);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LabelOffsetSupport.class);
+		bindLayoutCacheAsContentViewerAdapter(adapterMapBinder);
+	}
+
+	/**
+	 * Adds a binding for {@link LayoutCache} to the given adapter map binder
+	 * that will insert the bindings into {@link IViewer}s. The
+	 * {@link LayoutCache} is shared by the {@link LayoutContext}s of all
+	 * {@link GraphPart}s, so that layout results can be restored when
+	 * navigating between nested graphs.
+	 *
+	 * @param adapterMapBinder
+	 *            The adapter map binder to which the binding is added.
+	 */
+	protected void bindLayoutCacheAsContentViewerAdapter(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LayoutCache.class);
 	}
 
 	/**
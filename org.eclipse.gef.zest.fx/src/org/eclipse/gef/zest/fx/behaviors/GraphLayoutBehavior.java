@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,8 +20,11 @@ import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutFilter;
+import org.eclipse.gef.layout.IProgressiveLayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutCache;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
@@ -35,9 +39,12 @@ import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import javafx.animation.AnimationTimer;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
 import javafx.collections.SetChangeListener;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
@@ -46,6 +53,13 @@ import javafx.scene.Parent;
 /**
  * The {@link GraphLayoutBehavior} is responsible for initiating layout passes.
  * It is only applicable to {@link GraphPart}.
+ * <p>
+ * If the layout algorithm is an {@link IProgressiveLayoutAlgorithm} and the
+ * graph contains at least {@link #getProgressiveLayoutThreshold()} nodes, the
+ * layout is computed progressively, i.e. one layout step is performed per
+ * frame (limited by {@link #getProgressiveLayoutStepDuration()}), and the
+ * intermediate results are applied to the visuals, so that the graph is
+ * displayed and can be interacted with while the layout is computed.
  *
  * @author mwienand
  *
@@ -53,6 +67,30 @@ import javafx.scene.Parent;
 // only applicable for GraphPart (see #getHost())
 public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
+	/**
+	 * The default number of nodes from which on layouts are computed
+	 * progressively.
+	 */
+	public static final int DEFAULT_PROGRESSIVE_LAYOUT_THRESHOLD = 500;
+
+	/**
+	 * The default time (in milliseconds) that may be spent per frame to
+	 * compute a progressive layout.
+	 */
+	public static final long DEFAULT_PROGRESSIVE_LAYOUT_STEP_DURATION = 10;
+
+	private int progressiveLayoutThreshold = DEFAULT_PROGRESSIVE_LAYOUT_THRESHOLD;
+	private long progressiveLayoutStepDuration = DEFAULT_PROGRESSIVE_LAYOUT_STEP_DURATION;
+
+	private AnimationTimer progressiveLayoutTimer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			if (!getLayoutContext().advanceProgressiveLayout(progressiveLayoutStepDuration)) {
+				stop();
+			}
+		}
+	};
+
 	private Runnable postLayout = new Runnable() {
 		@Override
 		public void run() {
@@ -88,14 +126,54 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
-			applyLayout(true, null);
+			while (c.next()) {
+				for (IVisualPart<? extends Node> child : c.getRemoved()) {
+					unobserveLayoutRelevance(child);
+				}
+				for (IVisualPart<? extends Node> child : c.getAddedSubList()) {
+					observeLayoutRelevance(child);
+				}
+			}
+			getLayoutContext().invalidateLayoutFilters();
+			// apply the changes incrementally (if supported)
+			applyLayout(false, null);
+		}
+	};
+
+	// the layout filter depends on the content part map, the activation state
+	// of the child parts, and the layout irrelevance attributes of their
+	// contents, so that it is re-evaluated when any of these change
+	private MapChangeListener<Object, IContentPart<? extends Node>> contentPartMapObserver = new MapChangeListener<Object, IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends Object, ? extends IContentPart<? extends Node>> change) {
+			getLayoutContext().invalidateLayoutFilters();
+		}
+	};
+
+	private ChangeListener<Boolean> childActiveObserver = new ChangeListener<Boolean>() {
+		@Override
+		public void changed(ObservableValue<? extends Boolean> observable, Boolean oldActive, Boolean newActive) {
+			getLayoutContext().invalidateLayoutFilters();
 		}
 	};
 
+	private MapChangeListener<String, Object> layoutIrrelevanceObserver = new MapChangeListener<String, Object>() {
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			if (ZestProperties.LAYOUT_IRRELEVANT__NE.equals(change.getKey())) {
+				getLayoutContext().invalidateLayoutFilters();
+			}
+		}
+	};
+
+	private Map<IVisualPart<? extends Node>, ObservableMap<String, Object>> observedAttributes = new IdentityHashMap<>();
+
 	private SetChangeListener<org.eclipse.gef.graph.Node> hidingModelObserver = new SetChangeListener<org.eclipse.gef.graph.Node>() {
 		@Override
 		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
-			applyLayout(true, null);
+			// hidden elements are filtered out by the layout filter
+			getLayoutContext().invalidateLayoutFilters();
+			applyLayout(false, null);
 		}
 	};
 
@@ -103,7 +181,11 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 	/**
 	 * Performs one layout pass using the static layout algorithm that is
-	 * configured for the layout context.
+	 * configured for the layout context. A non-clean layout pass is only
+	 * performed if the layout algorithm is an
+	 * {@link IIncrementalLayoutAlgorithm} that already layouted the graph, so
+	 * that the changes since then can be applied incrementally. Otherwise, the
+	 * layout is fully re-computed.
 	 *
 	 * @param clean
 	 *            Whether to fully re-compute the layout or not.
@@ -136,23 +218,31 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		// update layout algorithm (apply layout will depend on it)
 		LayoutContext layoutContext = getLayoutContext();
 		ILayoutAlgorithm layoutAlgorithm = ZestProperties.getLayoutAlgorithm(graph);
-		if (layoutAlgorithm != null) {
-			if (layoutContext.getLayoutAlgorithm() != layoutAlgorithm) {
-				layoutContext.setLayoutAlgorithm(layoutAlgorithm);
-			}
-		} else {
-			if (layoutContext.getLayoutAlgorithm() != null) {
-				layoutContext.setLayoutAlgorithm(null);
-			}
+		if (layoutContext.getLayoutAlgorithm() != layoutAlgorithm) {
+			layoutContext.setLayoutAlgorithm(layoutAlgorithm);
+			clean = true;
 		}
 
 		// update the graph
 		if (layoutContext.getGraph() != graph) {
 			layoutContext.setGraph(graph);
+			clean = true;
+		}
+
+		// only apply changes incrementally if supported
+		if (!(layoutAlgorithm instanceof IIncrementalLayoutAlgorithm) || !layoutContext.isIncrementalLayoutPossible()) {
+			clean = true;
 		}
 
 		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
+		if (isProgressiveLayout(graph)) {
+			if (layoutContext.startProgressiveLayout(clean)) {
+				progressiveLayoutTimer.start();
+			}
+		} else {
+			// cancels a running progressive layout
+			layoutContext.applyLayout(clean);
+		}
 	}
 
 	/**
@@ -184,11 +274,19 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	@Override
 	protected void doActivate() {
 		getHost().getChildrenUnmodifiable().addListener(childrenObserver);
+		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
+			observeLayoutRelevance(child);
+		}
+		getHost().getViewer().contentPartMapProperty().addListener(contentPartMapObserver);
 
 		LayoutContext layoutContext = getLayoutContext();
 		layoutContext.schedulePreLayoutPass(preLayout);
 		layoutContext.schedulePostLayoutPass(postLayout);
 
+		// use the layout cache of the viewer (if any) to restore layout results
+		// when navigating between graphs
+		layoutContext.setLayoutCache(getHost().getRoot().getViewer().getAdapter(LayoutCache.class));
+
 		// register listener for bounds changes
 		if (getHost().getParent() == getHost().getRoot()) {
 			/*
@@ -265,6 +363,10 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	@Override
 	protected void doDeactivate() {
 		getHost().getChildrenUnmodifiable().removeListener(childrenObserver);
+		for (IVisualPart<? extends Node> child : getHost().getChildrenUnmodifiable()) {
+			unobserveLayoutRelevance(child);
+		}
+		getHost().getViewer().contentPartMapProperty().removeListener(contentPartMapObserver);
 
 		final HidingModel hidingModel = getHost().getRoot().getViewer().getAdapter(HidingModel.class);
 		if (hidingModel != null) {
@@ -272,8 +374,11 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 
 		LayoutContext layoutContext = getLayoutContext();
+		progressiveLayoutTimer.stop();
+		layoutContext.cancelProgressiveLayout();
 		layoutContext.unschedulePreLayoutPass(preLayout);
 		layoutContext.unschedulePostLayoutPass(postLayout);
+		layoutContext.setLayoutCache(null);
 		if (nestingVisual != null) {
 			// remove layout change listener from nesting visual
 			nestingVisual.layoutBoundsProperty().removeListener(nestingVisualLayoutBoundsChangeListener);
@@ -319,6 +424,70 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return null;
 	}
 
+	/**
+	 * Returns the time (in milliseconds) that may be spent per frame to compute
+	 * a progressive layout.
+	 *
+	 * @return The time that may be spent per frame to compute a progressive
+	 *         layout.
+	 */
+	public long getProgressiveLayoutStepDuration() {
+		return progressiveLayoutStepDuration;
+	}
+
+	/**
+	 * Returns the number of nodes from which on layouts are computed
+	 * progressively. A negative value indicates that layouts are never
+	 * computed progressively.
+	 *
+	 * @return The number of nodes from which on layouts are computed
+	 *         progressively.
+	 */
+	public int getProgressiveLayoutThreshold() {
+		return progressiveLayoutThreshold;
+	}
+
+	/**
+	 * Returns <code>true</code> if the layout for the given {@link Graph} is
+	 * to be computed progressively, i.e. if the layout algorithm supports
+	 * progressive layout and the number of nodes reaches the
+	 * {@link #getProgressiveLayoutThreshold() threshold}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} that is layouted.
+	 * @return <code>true</code> if the layout is to be computed progressively,
+	 *         otherwise <code>false</code>.
+	 */
+	protected boolean isProgressiveLayout(Graph graph) {
+		return getLayoutContext().getLayoutAlgorithm() instanceof IProgressiveLayoutAlgorithm
+				&& progressiveLayoutThreshold >= 0 && graph.getNodes().size() >= progressiveLayoutThreshold;
+	}
+
+	/**
+	 * Registers listeners at the given child part and its content, so that the
+	 * layout filter is invalidated when the child part is (de-)activated or
+	 * when the layout irrelevance of its content changes.
+	 *
+	 * @param child
+	 *            The child part to observe.
+	 */
+	private void observeLayoutRelevance(IVisualPart<? extends Node> child) {
+		child.activeProperty().addListener(childActiveObserver);
+		if (child instanceof IContentPart) {
+			Object content = ((IContentPart<? extends Node>) child).getContent();
+			ObservableMap<String, Object> attributes = null;
+			if (content instanceof org.eclipse.gef.graph.Node) {
+				attributes = ((org.eclipse.gef.graph.Node) content).attributesProperty();
+			} else if (content instanceof Edge) {
+				attributes = ((Edge) content).attributesProperty();
+			}
+			if (attributes != null) {
+				attributes.addListener(layoutIrrelevanceObserver);
+				observedAttributes.put(child, attributes);
+			}
+		}
+	}
+
 	@Override
 	protected void postLayout() {
 		// execute post-layout of all nodes and edges
@@ -351,6 +520,45 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 	}
 
+	/**
+	 * Sets the time (in milliseconds) that may be spent per frame to compute a
+	 * progressive layout.
+	 *
+	 * @param progressiveLayoutStepDuration
+	 *            The time that may be spent per frame to compute a progressive
+	 *            layout.
+	 */
+	public void setProgressiveLayoutStepDuration(long progressiveLayoutStepDuration) {
+		this.progressiveLayoutStepDuration = progressiveLayoutStepDuration;
+	}
+
+	/**
+	 * Sets the number of nodes from which on layouts are computed
+	 * progressively. A negative value disables progressive layout.
+	 *
+	 * @param progressiveLayoutThreshold
+	 *            The number of nodes from which on layouts are computed
+	 *            progressively.
+	 */
+	public void setProgressiveLayoutThreshold(int progressiveLayoutThreshold) {
+		this.progressiveLayoutThreshold = progressiveLayoutThreshold;
+	}
+
+	/**
+	 * Removes the listeners that were registered by
+	 * {@link #observeLayoutRelevance(IVisualPart)}.
+	 *
+	 * @param child
+	 *            The child part to no longer observe.
+	 */
+	private void unobserveLayoutRelevance(IVisualPart<? extends Node> child) {
+		child.activeProperty().removeListener(childActiveObserver);
+		ObservableMap<String, Object> attributes = observedAttributes.remove(child);
+		if (attributes != null) {
+			attributes.removeListener(layoutIrrelevanceObserver);
+		}
+	}
+
 	/**
 	 * Updates the bounds property from the visual (viewport or nesting node)
 	 */
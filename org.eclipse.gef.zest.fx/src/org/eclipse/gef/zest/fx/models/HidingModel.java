@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2017 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -18,6 +18,8 @@ import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
@@ -25,12 +27,19 @@ import org.eclipse.gef.zest.fx.parts.NodePart;
 import javafx.beans.property.ReadOnlySetProperty;
 import javafx.beans.property.ReadOnlySetWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.SetChangeListener;
 
 /**
  * The {@link HidingModel} manages a {@link Set} of currently hidden
  * {@link org.eclipse.gef.graph.Node}s. The hidden neighbors of a
  * {@link org.eclipse.gef.graph.Node} can be identified using
  * {@link #getHiddenNeighbors(org.eclipse.gef.graph.Node)}.
+ * <p>
+ * The hidden neighbors of all nodes are indexed, i.e. they are updated when a
+ * node is hidden or shown, or when the edges of a graph that contains hidden
+ * nodes change. Changes to the source or target of an {@link Edge} that is
+ * already contained in a graph are not tracked.
  *
  * @author mwienand
  *
@@ -46,6 +55,80 @@ public class HidingModel {
 	private ReadOnlySetWrapper<org.eclipse.gef.graph.Node> hiddenProperty = new ReadOnlySetWrapper<>(this,
 			HIDDEN_PROPERTY, FXCollections.observableSet(new HashSet<org.eclipse.gef.graph.Node>()));
 
+	// number of edges to each hidden neighbor per node
+	private Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> hiddenNeighbors =
+			new IdentityHashMap<>();
+
+	// graph of each hidden node at the time it was hidden
+	private Map<org.eclipse.gef.graph.Node, Graph> hiddenNodeGraphs = new IdentityHashMap<>();
+
+	// number of hidden nodes per graph, whose edges are observed
+	private Map<Graph, Integer> hiddenNodeCounts = new IdentityHashMap<>();
+
+	private ListChangeListener<Edge> edgesChangeListener = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> c) {
+			while (c.next()) {
+				for (Edge edge : c.getRemoved()) {
+					removeHiddenNeighbors(edge);
+				}
+				for (Edge edge : c.getAddedSubList()) {
+					addHiddenNeighbors(edge);
+				}
+			}
+		}
+	};
+
+	/**
+	 * Constructs a new {@link HidingModel}.
+	 */
+	public HidingModel() {
+		hiddenProperty.addListener(new SetChangeListener<org.eclipse.gef.graph.Node>() {
+			@Override
+			public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+				if (change.wasAdded()) {
+					onHidden(change.getElementAdded());
+				} else if (change.wasRemoved()) {
+					onShown(change.getElementRemoved());
+				}
+			}
+		});
+	}
+
+	private void addHiddenNeighbor(org.eclipse.gef.graph.Node node, org.eclipse.gef.graph.Node hiddenNeighbor) {
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = hiddenNeighbors.get(node);
+		if (neighbors == null) {
+			neighbors = new IdentityHashMap<>();
+			hiddenNeighbors.put(node, neighbors);
+		}
+		Integer edgeCount = neighbors.get(hiddenNeighbor);
+		neighbors.put(hiddenNeighbor, edgeCount == null ? 1 : edgeCount + 1);
+	}
+
+	private void addHiddenNeighbors(Edge edge) {
+		if (hiddenNodeGraphs.containsKey(edge.getSource())) {
+			addHiddenNeighbor(edge.getTarget(), edge.getSource());
+		}
+		if (hiddenNodeGraphs.containsKey(edge.getTarget())) {
+			addHiddenNeighbor(edge.getSource(), edge.getTarget());
+		}
+	}
+
+	/**
+	 * Returns the number of hidden neighbors of the given
+	 * {@link org.eclipse.gef.graph.Node}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the hidden
+	 *            neighbors are counted.
+	 * @return The number of hidden neighbors of the given
+	 *         {@link org.eclipse.gef.graph.Node}.
+	 */
+	public int getHiddenNeighborCount(org.eclipse.gef.graph.Node node) {
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = hiddenNeighbors.get(node);
+		return neighbors == null ? 0 : neighbors.size();
+	}
+
 	/**
 	 * Returns a {@link Set} containing all {@link NodePart}s corresponding to
 	 * the hidden neighbors of the content of the given {@link NodePart}.
@@ -68,8 +151,8 @@ public class HidingModel {
 	}
 
 	/**
-	 * Returns a {@link Set} containing all hidden neighbors of the given
-	 * {@link org.eclipse.gef.graph.Node}.
+	 * Returns an unmodifiable {@link Set} containing all hidden neighbors of
+	 * the given {@link org.eclipse.gef.graph.Node}.
 	 *
 	 * @param node
 	 *            The {@link org.eclipse.gef.graph.Node} of which the hidden
@@ -78,15 +161,11 @@ public class HidingModel {
 	 *         {@link org.eclipse.gef.graph.Node}.
 	 */
 	public Set<org.eclipse.gef.graph.Node> getHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		Set<org.eclipse.gef.graph.Node> neighbors = node.getNeighbors();
-		Set<org.eclipse.gef.graph.Node> hiddenNeighbors = Collections
-				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
-		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
-			if (isHidden(neighbor)) {
-				hiddenNeighbors.add(neighbor);
-			}
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = hiddenNeighbors.get(node);
+		if (neighbors == null) {
+			return Collections.emptySet();
 		}
-		return hiddenNeighbors;
+		return Collections.unmodifiableSet(neighbors.keySet());
 	}
 
 	/**
@@ -128,7 +207,7 @@ public class HidingModel {
 	 *         <code>false</code>.
 	 */
 	public boolean hasHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		return getHiddenNeighbors(node).size() > 0;
+		return getHiddenNeighborCount(node) > 0;
 	}
 
 	/**
@@ -200,6 +279,80 @@ public class HidingModel {
 		return hiddenProperty.contains(node);
 	}
 
+	private void onHidden(org.eclipse.gef.graph.Node node) {
+		Graph graph = node.getGraph();
+		if (graph == null) {
+			return;
+		}
+		hiddenNodeGraphs.put(node, graph);
+		Integer count = hiddenNodeCounts.get(graph);
+		if (count == null) {
+			graph.getEdges().addListener(edgesChangeListener);
+			count = 0;
+		}
+		hiddenNodeCounts.put(graph, count + 1);
+		for (Edge edge : graph.getEdges()) {
+			if (edge.getSource() == node) {
+				addHiddenNeighbor(edge.getTarget(), node);
+			}
+			if (edge.getTarget() == node) {
+				addHiddenNeighbor(edge.getSource(), node);
+			}
+		}
+	}
+
+	private void onShown(org.eclipse.gef.graph.Node node) {
+		// the node may have been removed from its graph while it was hidden
+		Graph graph = hiddenNodeGraphs.remove(node);
+		if (graph == null) {
+			return;
+		}
+		int count = hiddenNodeCounts.get(graph) - 1;
+		if (count == 0) {
+			graph.getEdges().removeListener(edgesChangeListener);
+			hiddenNodeCounts.remove(graph);
+		} else {
+			hiddenNodeCounts.put(graph, count);
+		}
+		for (Edge edge : graph.getEdges()) {
+			if (edge.getSource() == node) {
+				removeHiddenNeighbor(edge.getTarget(), node);
+			}
+			if (edge.getTarget() == node) {
+				removeHiddenNeighbor(edge.getSource(), node);
+			}
+		}
+	}
+
+	private void removeHiddenNeighbor(org.eclipse.gef.graph.Node node, org.eclipse.gef.graph.Node hiddenNeighbor) {
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = hiddenNeighbors.get(node);
+		if (neighbors == null) {
+			return;
+		}
+		// the nodes remain neighbors as long as another edge connects them
+		Integer edgeCount = neighbors.get(hiddenNeighbor);
+		if (edgeCount == null) {
+			return;
+		}
+		if (edgeCount > 1) {
+			neighbors.put(hiddenNeighbor, edgeCount - 1);
+		} else {
+			neighbors.remove(hiddenNeighbor);
+			if (neighbors.isEmpty()) {
+				hiddenNeighbors.remove(node);
+			}
+		}
+	}
+
+	private void removeHiddenNeighbors(Edge edge) {
+		if (hiddenNodeGraphs.containsKey(edge.getSource())) {
+			removeHiddenNeighbor(edge.getTarget(), edge.getSource());
+		}
+		if (hiddenNodeGraphs.containsKey(edge.getTarget())) {
+			removeHiddenNeighbor(edge.getSource(), edge.getTarget());
+		}
+	}
+
 	/**
 	 * Remove the content of the given {@link NodePart} from the {@link Set} of
 	 * hidden {@link org.eclipse.gef.graph.Node} s. Notifies all property change
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2016 itemis AG and others.
+ * Copyright (c) 2014, 2017 itemis AG and others.
  *
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
@@ -90,7 +90,7 @@ public class HiddenNeighborsFeedbackPart extends AbstractFeedbackPart<Group> {
 
 		// update text
 		HidingModel hidingModel = getViewer().getAdapter(HidingModel.class);
-		int count = hidingModel.getHiddenNeighbors(((NodePart) anchorage).getContent()).size();
+		int count = hidingModel.getHiddenNeighborCount(((NodePart) anchorage).getContent());
 		text.setText(Integer.toString(count));
 
 		Bounds textLayoutBounds = text.getLayoutBounds();
@@ -17,6 +17,6 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ NodeLayoutBehaviorTests.class })
+@SuiteClasses({ HidingModelTests.class, NodeLayoutBehaviorTests.class })
 public class AllTests {
 }
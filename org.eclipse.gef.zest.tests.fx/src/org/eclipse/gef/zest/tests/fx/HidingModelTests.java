@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     agent - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.junit.Test;
+
+public class HidingModelTests {
+
+	@Test
+	public void hiddenNeighbors() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Node n3 = new Node();
+		Edge e12 = new Edge(n1, n2);
+		Edge e13 = new Edge(n1, n3);
+		Edge e32 = new Edge(n3, n2);
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3).edges(e12, e13, e32).build();
+
+		HidingModel hidingModel = new HidingModel();
+		assertEquals(0, hidingModel.getHiddenNeighborCount(n1));
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+
+		hidingModel.hide(n2);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n3));
+		assertEquals(0, hidingModel.getHiddenNeighborCount(n2));
+
+		hidingModel.hide(n3);
+		assertEquals(2, hidingModel.getHiddenNeighborCount(n1));
+		assertEquals(1, hidingModel.getHiddenNeighborCount(n2));
+
+		// removing one of multiple edges between two nodes keeps the neighbor
+		graph.getEdges().add(new Edge(n2, n1));
+		graph.getEdges().remove(e12);
+		assertEquals(2, hidingModel.getHiddenNeighborCount(n1));
+
+		// removing the last edge between two nodes removes the neighbor
+		graph.getEdges().remove(e13);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+
+		// adding an edge to a hidden node adds the neighbor
+		Node n4 = new Node();
+		graph.getNodes().add(n4);
+		graph.getEdges().add(new Edge(n4, n3));
+		assertEquals(Collections.singleton(n3), hidingModel.getHiddenNeighbors(n4));
+
+		hidingModel.show(n2);
+		hidingModel.show(n3);
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+		assertFalse(hidingModel.hasHiddenNeighbors(n2));
+		assertFalse(hidingModel.hasHiddenNeighbors(n3));
+		assertFalse(hidingModel.hasHiddenNeighbors(n4));
+		assertTrue(hidingModel.getHiddenNeighbors(n4).isEmpty());
+	}
+
+	@Test
+	public void showNodeRemovedFromGraph() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Edge e12 = new Edge(n1, n2);
+		Graph graph = new Graph.Builder().nodes(n1, n2).edges(e12).build();
+
+		HidingModel hidingModel = new HidingModel();
+		hidingModel.hide(n2);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+
+		// the neighbor is removed when the node is shown, even if it is no
+		// longer contained in the graph
+		graph.getNodes().remove(n2);
+		hidingModel.show(n2);
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+
+		// the edges of the graph are no longer observed
+		hidingModel.hide(n2);
+		graph.getEdges().add(new Edge(n1, n2));
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+	}
+
+	@Test
+	public void multipleEdgesBetweenNodes() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Edge e1 = new Edge(n1, n2);
+		Edge e2 = new Edge(n2, n1);
+		Edge e3 = new Edge(n1, n2);
+		Graph graph = new Graph.Builder().nodes(n1, n2).edges(e1, e2, e3).build();
+
+		HidingModel hidingModel = new HidingModel();
+		hidingModel.hide(n2);
+		graph.getEdges().removeAll(e1, e3);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+		graph.getEdges().setAll(e1);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+		graph.getEdges().clear();
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+
+		// an edge added while the node is hidden is considered when it is shown
+		graph.getEdges().add(e2);
+		hidingModel.show(n2);
+		assertFalse(hidingModel.hasHiddenNeighbors(n1));
+		hidingModel.hide(n2);
+		assertEquals(Collections.singleton(n2), hidingModel.getHiddenNeighbors(n1));
+	}
+}